@@ -50,6 +50,13 @@ public class SetupApp {
                 "You have misconfigured your application! It should not " + "run with both the 'dev' and 'cloud' profiles at the same time."
             );
         }
+        if (activeProfiles.contains(Constants.SPRING_PROFILE_VIRTUAL_THREADS) && Runtime.version().feature() < 21) {
+            LOG.warn(
+                "The '{}' profile is active but the runtime is Java {}, requests keep running on platform threads.",
+                Constants.SPRING_PROFILE_VIRTUAL_THREADS,
+                Runtime.version().feature()
+            );
+        }
     }
 
     /**
@@ -0,0 +1,195 @@
+package com.dazzle.asklepios.aop.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect timing repositories, services and Web REST endpoints into Micrometer timers.
+ * <p>
+ * Timers are tagged by bean type and method name only, so their number is bounded by the code base. A fraction
+ * of the calls ({@code setup.method-timing.sample-rate}) additionally logs arguments and results at DEBUG level,
+ * using the logger of the called type.
+ * <p>
+ * Both parts can be switched at runtime through the {@code loggers} management endpoint: timing is active while
+ * this aspect's logger is at INFO or finer, argument capture while the called type's logger is at DEBUG.
+ * <p>
+ * With {@code setup.method-timing.log-exceptions} (on in dev) every exception leaving an advised method is logged at
+ * ERROR with its stack trace, sampled or not.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodTimingAspect.class);
+
+    public static final String METER_NAME = "method.timed";
+    public static final String METER_DESCRIPTION = "Execution time of repository, service and REST methods.";
+    public static final String CLASS_DIMENSION = "class";
+    public static final String METHOD_DIMENSION = "method";
+    public static final String EXCEPTION_DIMENSION = "exception";
+
+    private static final String NO_EXCEPTION = "none";
+    private static final String APPLICATION_PACKAGE = "com.dazzle.asklepios.";
+
+    private final MeterRegistry registry;
+    private final double sampleRate;
+    private final boolean logExceptions;
+
+    // Keyed by proxy class, as repositories share Method instances inherited from the Spring Data interfaces.
+    private final ClassValue<Map<Method, Timer>> timersByProxyClass = new ClassValue<>() {
+        @Override
+        protected Map<Method, Timer> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final ClassValue<Map<FailureKey, Timer>> failureTimersByProxyClass = new ClassValue<>() {
+        @Override
+        protected Map<FailureKey, Timer> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private record FailureKey(Method method, Class<? extends Throwable> exception) {}
+
+    public MethodTimingAspect(MeterRegistry registry, double sampleRate, boolean logExceptions) {
+        this.registry = registry;
+        this.sampleRate = sampleRate;
+        this.logExceptions = logExceptions;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(com.dazzle.asklepios.repository..*)" +
+        " || within(com.dazzle.asklepios.service..*)" +
+        " || within(com.dazzle.asklepios.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice timing the method and, for sampled calls, logging its arguments and result.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!LOG.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+        Logger sampledLog = sampledLogger(joinPoint);
+        if (sampledLog != null) {
+            sampledLog.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            timer(joinPoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (sampledLog != null) {
+                sampledLog.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+            }
+            return result;
+        } catch (Throwable e) {
+            failureTimer(joinPoint, e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (logExceptions) {
+                LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName()).error(
+                    "Exception in {}() with cause = '{}' and exception = '{}'",
+                    joinPoint.getSignature().getName(),
+                    e.getCause() != null ? e.getCause() : "NULL",
+                    e.getMessage(),
+                    e
+                );
+            } else if (sampledLog != null) {
+                sampledLog.debug("Exception in {}() with cause = {}", joinPoint.getSignature().getName(), String.valueOf(e.getCause()), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the logger of the called type if this call is sampled and that logger is at DEBUG, {@code null} otherwise.
+     */
+    private Logger sampledLogger(JoinPoint joinPoint) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        Logger log = LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return log.isDebugEnabled() ? log : null;
+    }
+
+    private Timer timer(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, Timer> timers = timersByProxyClass.get(joinPoint.getThis().getClass());
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, m -> buildTimer(joinPoint, NO_EXCEPTION));
+        }
+        return timer;
+    }
+
+    private Timer failureTimer(JoinPoint joinPoint, Throwable e) {
+        FailureKey key = new FailureKey(((MethodSignature) joinPoint.getSignature()).getMethod(), e.getClass());
+        Map<FailureKey, Timer> timers = failureTimersByProxyClass.get(joinPoint.getThis().getClass());
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> buildTimer(joinPoint, k.exception().getSimpleName()));
+        }
+        return timer;
+    }
+
+    private Timer buildTimer(JoinPoint joinPoint, String exception) {
+        return Timer.builder(METER_NAME)
+            .description(METER_DESCRIPTION)
+            .tag(CLASS_DIMENSION, beanTypeName(joinPoint.getThis().getClass()))
+            .tag(METHOD_DIMENSION, joinPoint.getSignature().getName())
+            .tag(EXCEPTION_DIMENSION, exception)
+            .register(registry);
+    }
+
+    /**
+     * Name of the application type behind a proxy: the repository interface for JDK proxies, the bean class for
+     * CGLIB proxies.
+     */
+    private static String beanTypeName(Class<?> proxyClass) {
+        if (Proxy.isProxyClass(proxyClass)) {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getName().startsWith(APPLICATION_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(proxyClass).getSimpleName();
+    }
+}
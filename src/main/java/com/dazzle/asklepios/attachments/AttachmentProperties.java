@@ -17,4 +17,42 @@ public class AttachmentProperties {
     private java.util.Set<String> allowed;
     private String accessKeyId;
     private String secretAccessKey;
+    /** Address buckets as {@code endpoint/bucket} instead of {@code bucket.endpoint}; required by MinIO. */
+    private boolean pathStyleAccess;
+    /** Edge lengths, in pixels, of the square thumbnails generated for profile pictures. */
+    private java.util.List<Integer> thumbnailSizes = java.util.List.of(64, 128, 256);
+    /** Part size of uploads streamed from the request body; S3 requires at least 5 MiB for every part but the last. */
+    private int streamingPartSize = 8 * 1024 * 1024;
+    /** Parts of one streamed upload sent to the bucket while the next one is read. */
+    private int streamingMaxInFlightParts = 2;
+    private Purge purge = new Purge();
+    private PresignPool presignPool = new PresignPool();
+
+    /**
+     * Removal of soft-deleted attachments, see {@code AttachmentPurgeJob}. The schedule itself is read from
+     * {@code setup.attachments.purge.interval} and {@code setup.attachments.purge.initial-delay}.
+     */
+    @Data
+    public static class Purge {
+        private boolean enabled = true;
+        /** How long soft-deleted attachments stay restorable before their rows and objects are removed. */
+        private java.time.Duration retention = java.time.Duration.ofDays(30);
+        /** Rows locked and deleted per transaction. */
+        private int batchSize = 500;
+        /** Batches per run across all tables; the rest is left for the next run. */
+        private int maxBatchesPerRun = 40;
+        private java.time.Duration pauseBetweenBatches = java.time.Duration.ofMillis(500);
+    }
+
+    /**
+     * Threads signing the download URLs of large attachment manifests, see {@code AttachmentManifestService}.
+     */
+    @Data
+    public static class PresignPool {
+        private int size = 4;
+        /** Chunks waiting for a thread; once full, requests sign their own chunks. */
+        private int queueCapacity = 64;
+        /** URLs signed per task. */
+        private int chunkSize = 64;
+    }
 }
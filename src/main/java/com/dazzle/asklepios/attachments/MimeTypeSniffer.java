@@ -0,0 +1,56 @@
+package com.dazzle.asklepios.attachments;
+
+/**
+ * Checks the first bytes of an upload against the MIME type the client declared, so that a renamed executable
+ * cannot be stored as a PDF or an image.
+ */
+public final class MimeTypeSniffer {
+
+    private static final byte[] PDF = { '%', 'P', 'D', 'F', '-' };
+    private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] JPEG = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+    // Office Open XML documents are ZIP archives.
+    private static final byte[] ZIP = { 'P', 'K', 0x03, 0x04 };
+
+    private MimeTypeSniffer() {}
+
+    /**
+     * @param declaredMime the MIME type sent by the client, without parameters.
+     * @param head         the first bytes of the content.
+     * @return {@code false} if the content is known not to be of the declared type. Types without a known signature
+     * are accepted as declared.
+     */
+    public static boolean matches(String declaredMime, byte[] head) {
+        return switch (declaredMime) {
+            case "application/pdf" -> startsWith(head, PDF);
+            case "image/png" -> startsWith(head, PNG);
+            case "image/jpeg" -> startsWith(head, JPEG);
+            case "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+                 "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet" -> startsWith(head, ZIP);
+            case "text/plain" -> isText(head);
+            default -> true;
+        };
+    }
+
+    private static boolean startsWith(byte[] head, byte[] signature) {
+        if (head.length < signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isText(byte[] head) {
+        int limit = Math.min(head.length, 8192);
+        for (int i = 0; i < limit; i++) {
+            if (head[i] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
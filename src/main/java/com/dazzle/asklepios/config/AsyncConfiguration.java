@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async}; methods run on Spring Boot's {@code applicationTaskExecutor}
+ * (configured under {@code spring.task.execution}, virtual threads when the profile is active).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {}
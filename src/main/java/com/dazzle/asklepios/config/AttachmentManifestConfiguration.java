@@ -0,0 +1,32 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AttachmentManifestConfiguration {
+
+    public static final String PRESIGN_TASK_EXECUTOR = "presignTaskExecutor";
+
+    /**
+     * Pool signing manifest URLs, sized under {@code setup.attachments.presign-pool}. Not a default candidate, so
+     * Spring Boot's {@code applicationTaskExecutor} still backs {@code @Async}; inject it by name.
+     */
+    @Bean(name = PRESIGN_TASK_EXECUTOR, defaultCandidate = false)
+    public ThreadPoolTaskExecutor presignTaskExecutor(AttachmentProperties props) {
+        AttachmentProperties.PresignPool pool = props.getPresignPool();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("setup-presign-");
+        executor.setDaemon(true);
+        executor.setCorePoolSize(pool.getSize());
+        executor.setMaxPoolSize(pool.getSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        // A request whose chunks do not fit in the queue signs them itself instead of failing
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.ConditionalGetMetersService;
+import com.dazzle.asklepios.service.ResourceVersionService;
+import com.dazzle.asklepios.web.filter.ConditionalGetFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ETag validation of reference lists: {@code 304 Not Modified} answers without reading or serializing the rows.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "setup.conditional-get", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConditionalGetConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ConditionalGetFilter> conditionalGetFilter(
+        ConditionalGetProperties properties,
+        ResourceVersionService versionService,
+        ConditionalGetMetersService metersService
+    ) {
+        properties.getResources().forEach(resource -> versionService.validate(resource.getEntities()));
+        FilterRegistrationBean<ConditionalGetFilter> registration = new FilterRegistrationBean<>(
+            new ConditionalGetFilter(properties, versionService, metersService)
+        );
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.dazzle.asklepios.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "setup.conditional-get")
+public class ConditionalGetProperties {
+
+    private boolean enabled = true;
+    // Body sizes remembered per ETag to report the bytes a 304 saved
+    private int maxRememberedSizes = 10_000;
+    private List<Resource> resources = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Resource {
+
+        // Ant patterns of the GET endpoints, e.g. /api/setup/allergen/**
+        private List<String> paths = new ArrayList<>();
+        // Auditing entities the responses are read from; any write to them changes the ETag
+        private List<String> entities = new ArrayList<>();
+
+    }
+}
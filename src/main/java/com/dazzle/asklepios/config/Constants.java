@@ -14,6 +14,7 @@ public final class Constants {
     public static final String SPRING_PROFILE_STAGE = "stage";
     public static final String SPRING_PROFILE_API_DOCS = "api-docs";
     public static final String SPRING_PROFILE_CLOUD = "cloud";
+    public static final String SPRING_PROFILE_VIRTUAL_THREADS = "virtual-threads";
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
@@ -1,16 +1,20 @@
 package com.dazzle.asklepios.config;
 
-import com.dazzle.asklepios.aop.logging.LoggingAspect;
+import com.dazzle.asklepios.aop.logging.MethodTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
-import org.springframework.core.env.Environment;
 
 @Configuration
 @EnableAspectJAutoProxy
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(Constants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public MethodTimingAspect methodTimingAspect(
+        MeterRegistry registry,
+        @Value("${setup.method-timing.sample-rate:0.01}") double sampleRate,
+        @Value("${setup.method-timing.log-exceptions:false}") boolean logExceptions
+    ) {
+        return new MethodTimingAspect(registry, sampleRate, logExceptions);
     }
 }
@@ -0,0 +1,21 @@
+package com.dazzle.asklepios.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "setup.price-quotes")
+public class PriceQuoteProperties {
+
+    // Between polls, only rows modified since the previous poll are reloaded
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    // Full reloads also drop price list rows deleted on other instances
+    private Duration fullRefreshInterval = Duration.ofMinutes(30);
+
+}
@@ -0,0 +1,89 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.ReadReplicaMetersService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only transactions on replicas: replaces the auto-configured pool by a {@link ReplicaRoutingDataSource} over
+ * the primary pool, still configured under {@code spring.datasource}, and one pool per {@code setup.read-replicas}
+ * entry. Every pool publishes the {@code hikaricp.*} metrics under its own {@code pool} tag.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "setup.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource primaryDataSource,
+        ReadReplicaProperties properties,
+        ReadReplicaMetersService metersService,
+        MeterRegistry meterRegistry
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaPool(primaryDataSource, properties, configured.get(i), name, meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties, metersService);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /**
+     * A read-only pool with the primary's settings, which does not fail startup when the replica is down: the lag
+     * check keeps it out of rotation until it answers. Connections are awaited and validated for
+     * {@code lag-check-timeout} only, so a replica that does not answer gives up its reads to the primary quickly.
+     */
+    static HikariDataSource replicaPool(
+        HikariDataSource primary,
+        ReadReplicaProperties properties,
+        ReadReplicaProperties.Replica replica,
+        String name,
+        MeterRegistry meterRegistry
+    ) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+            config.setPassword(replica.getPassword());
+        }
+        if (replica.getMaximumPoolSize() != null) {
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        }
+        config.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "Hikari") + "-" + name);
+        config.setReadOnly(true);
+        config.setConnectionTimeout(properties.getLagCheckTimeout().toMillis());
+        config.setValidationTimeout(properties.getLagCheckTimeout().toMillis());
+        config.setInitializationFailTimeout(-1);
+        config.setMetricRegistry(null);
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
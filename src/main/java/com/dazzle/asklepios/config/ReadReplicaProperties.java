@@ -0,0 +1,43 @@
+package com.dazzle.asklepios.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "setup.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    // A replica lagging more than this is skipped until it catches up
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+    // Longest wait for a replica connection or lag query, so an unreachable replica is skipped quickly
+    private Duration lagCheckTimeout = Duration.ofSeconds(1);
+    // Read-only transactions of a user go to the primary for this long after the user's last write committed
+    private Duration stickiness = Duration.ofSeconds(5);
+    // Replay lag in seconds: 0 on a primary, or on a replica that has replayed all the WAL it received
+    private String lagQuery = """
+        select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+        else extract(epoch from now() - pg_last_xact_replay_timestamp()) end""";
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Setter
+    @Getter
+    public static class Replica {
+
+        private String url;
+        // Default to the primary's credentials and pool size
+        private String username;
+        private String password;
+        private Integer maximumPoolSize;
+
+    }
+}
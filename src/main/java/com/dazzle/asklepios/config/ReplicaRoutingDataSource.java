@@ -0,0 +1,188 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.ReadReplicaMetersService;
+import com.dazzle.asklepios.security.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round robin, and everything else to the primary.
+ * <p>
+ * A replica is skipped while its measured lag exceeds {@code setup.read-replicas.max-lag} or it cannot be reached
+ * within {@code lag-check-timeout}; with no replica left, reads fall back to the primary. Replicas are first measured
+ * by the scheduler, not at startup, and take no reads until then. After a user's write commits, that user's reads stay on the
+ * primary for {@code stickiness}, so they see their own writes. The read-only flag is only known once the transaction
+ * started, so this data source must sit behind a {@link LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    // Login -> System.nanoTime() of the last committed write
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final ReadReplicaProperties properties;
+    private final ReadReplicaMetersService metersService;
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        ReadReplicaProperties properties,
+        ReadReplicaMetersService metersService
+    ) {
+        this.properties = properties;
+        this.metersService = metersService;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            targets.put(name, dataSource);
+            metersService.registerLag(name, () -> replica.lagSeconds);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            metersService.trackRouted(PRIMARY, "write");
+            return PRIMARY;
+        }
+        String login = SecurityUtils.getCurrentUserLogin().orElse(null);
+        if (login != null && wroteRecently(login)) {
+            metersService.trackRouted(PRIMARY, "sticky");
+            return PRIMARY;
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            metersService.trackRouted(PRIMARY, "lagging");
+            return PRIMARY;
+        }
+        metersService.trackRouted(replica.name, "read");
+        return replica.name;
+    }
+
+    /**
+     * Measures the lag of every replica and forgets writes older than the stickiness window.
+     */
+    @Scheduled(
+        initialDelay = 0,
+        fixedDelayString = "${setup.read-replicas.lag-check-interval:PT2S}"
+    )
+    public void checkReplicas() {
+        double maxLagSeconds = maxLagSeconds();
+        for (Replica replica : replicas) {
+            double lag = measureLag(replica);
+            boolean wasAvailable = replica.lagSeconds <= maxLagSeconds;
+            boolean available = lag <= maxLagSeconds;
+            replica.lagSeconds = lag;
+            if (wasAvailable != available) {
+                LOG.warn("Replica {} {} reads (lag {} s)", replica.name, available ? "takes" : "no longer takes", lag);
+            }
+        }
+        long cutoff = System.nanoTime() - properties.getStickiness().toNanos();
+        lastWrites.values().removeIf(writtenAt -> writtenAt - cutoff < 0);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // Helpers
+
+    private double measureLag(Replica replica) {
+        try (
+            Connection connection = replica.dataSource.getConnection();
+            Statement statement = connection.createStatement()
+        ) {
+            statement.setQueryTimeout((int) Math.max(1, properties.getLagCheckTimeout().toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                return resultSet.next() ? Math.max(0, resultSet.getDouble(1)) : Double.POSITIVE_INFINITY;
+            }
+        } catch (Exception e) {
+            LOG.debug("Cannot measure the lag of replica {}: {}", replica.name, e.getMessage());
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private Replica pickReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        double maxLagSeconds = maxLagSeconds();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.lagSeconds <= maxLagSeconds) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void rememberWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        SecurityUtils.getCurrentUserLogin().ifPresent(login ->
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        lastWrites.put(login, System.nanoTime());
+                    }
+                }
+            )
+        );
+    }
+
+    private double maxLagSeconds() {
+        return properties.getMaxLag().toMillis() / 1000.0;
+    }
+
+    private boolean wroteRecently(String login) {
+        Long writtenAt = lastWrites.get(login);
+        return writtenAt != null && System.nanoTime() - writtenAt < properties.getStickiness().toNanos();
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // No reads before the first measure
+        private volatile double lagSeconds = Double.POSITIVE_INFINITY;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
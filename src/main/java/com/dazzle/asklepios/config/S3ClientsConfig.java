@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -20,7 +21,16 @@ public class S3ClientsConfig {
                         AwsBasicCredentials.create(p.getAccessKeyId(), p.getSecretAccessKey())))
                 .region(p.getRegion())
                 .endpointOverride(URI.create(p.getEndpoint()))
-                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(false).build())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(p.isPathStyleAccess()).build())
+                .build();
+    }
+    @Bean S3AsyncClient s3Async(AttachmentProperties p) {
+        return S3AsyncClient.builder()
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(p.getAccessKeyId(), p.getSecretAccessKey())))
+                .region(p.getRegion())
+                .endpointOverride(URI.create(p.getEndpoint()))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(p.isPathStyleAccess()).build())
                 .build();
     }
     @Bean S3Presigner presigner(AttachmentProperties p) {
@@ -29,6 +39,7 @@ public class S3ClientsConfig {
                         AwsBasicCredentials.create(p.getAccessKeyId(), p.getSecretAccessKey())))
                 .region(p.getRegion())
                 .endpointOverride(URI.create(p.getEndpoint()))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(p.isPathStyleAccess()).build())
                 .build();
     }
 }
@@ -0,0 +1,39 @@
+package com.dazzle.asklepios.config;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Enables {@code @Scheduled}; jobs run on Spring Boot's {@code taskScheduler} (configured under {@code spring.task.scheduling}).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+    /**
+     * Keep beans declaring {@code @Scheduled} methods eager under {@code spring.main.lazy-initialization}
+     * (see the "fast-startup" profile): their jobs are only registered once the bean is created.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(
+                beanType,
+                method -> scheduled.set(true),
+                method ->
+                    !scheduled.get() &&
+                    (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class) ||
+                        AnnotatedElementUtils.hasAnnotation(method, Schedules.class))
+            );
+            return scheduled.get();
+        };
+    }
+}
@@ -3,6 +3,9 @@ package com.dazzle.asklepios.config;
 import static com.dazzle.asklepios.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.dazzle.asklepios.management.SecurityMetersService;
+import com.dazzle.asklepios.security.CachingJwtDecoder;
+import com.dazzle.asklepios.security.JwtFailureCause;
+import com.dazzle.asklepios.security.JwtLifetimeValidator;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import javax.crypto.SecretKey;
@@ -14,6 +17,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
@@ -25,29 +29,24 @@ public class SecurityJwtConfiguration {
     @Value("${setup.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
+    @Value("${setup.security.authentication.jwt.cache-max-entries:10000}")
+    private int jwtCacheMaxEntries;
+
     @Bean
     public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        jwtDecoder.setJwtValidator(new JwtLifetimeValidator());
+        JwtDecoder verifyingDecoder = token -> {
             try {
                 return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
+            } catch (JwtException e) {
+                if (!metersService.trackInvalidToken(JwtFailureCause.of(e))) {
                     LOG.error("Unknown JWT error {}", e.getMessage());
                 }
                 throw e;
             }
         };
+        return new CachingJwtDecoder(verifyingDecoder, metersService, jwtCacheMaxEntries);
     }
 
     @Bean
@@ -0,0 +1,43 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.SqlBudgetAspect;
+import com.dazzle.asklepios.management.SqlBudgetFilter;
+import com.dazzle.asklepios.management.SqlMetersService;
+import com.dazzle.asklepios.management.SqlStatementInspector;
+import com.dazzle.asklepios.management.SqlTimingSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-request SQL instrumentation: statement, row and JDBC time counts published per endpoint and per service method.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "setup.sql-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlBudgetHibernatePropertiesCustomizer() {
+        SqlStatementInspector inspector = new SqlStatementInspector();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+            hibernateProperties.put(AvailableSettings.INTERCEPTOR, inspector);
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlMetersService metersService, SqlBudgetProperties properties) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter(metersService, properties));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public SqlBudgetAspect sqlBudgetAspect(SqlMetersService metersService) {
+        return new SqlBudgetAspect(metersService);
+    }
+}
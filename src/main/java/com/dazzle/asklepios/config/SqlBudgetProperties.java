@@ -0,0 +1,20 @@
+package com.dazzle.asklepios.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "setup.sql-budget")
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+    // Requests running more statements than this are logged and counted as over budget
+    private int maxStatementsPerRequest = 50;
+    // The same statement executed this many times in one request is reported as a possible N+1
+    private int repeatedStatementThreshold = 10;
+
+}
@@ -0,0 +1,49 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Virtual thread support, active with {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime
+ * (see the "virtual-threads" profile).
+ * <p>
+ * Spring Boot switches the task and scheduling executors by itself but only does so for Tomcat and Jetty,
+ * so Undertow's servlet dispatch is moved off the worker pool here.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("setup-request-")));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "setup.virtual-threads", name = "pinning-detection", havingValue = "true")
+    public static LazyInitializationExcludeFilter virtualThreadPinningMonitorLazyInitializationExcludeFilter() {
+        // The monitor starts its JFR stream when created, nothing else asks for it.
+        return LazyInitializationExcludeFilter.forBeanTypes(VirtualThreadPinningMonitor.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "setup.virtual-threads", name = "pinning-detection", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        MeterRegistry registry,
+        @Value("${setup.virtual-threads.pinning-threshold:20ms}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(registry, threshold);
+    }
+}
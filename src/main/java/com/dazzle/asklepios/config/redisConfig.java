@@ -1,6 +1,8 @@
 package com.dazzle.asklepios.config;
 
+import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
 import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.repository.MedicationCategoriesRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -21,12 +23,18 @@ public class redisConfig {
                 .disableCachingNullValues();
 
         Set<String> cacheNames = Set.of(
-                FacilityRepository.FACILITIES
+                FacilityRepository.FACILITIES,
+                ActiveIngredientsRepository.MONOGRAPHS,
+                MedicationCategoriesRepository.HIERARCHY
         );
 
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
                 .initialCacheNames(cacheNames)
+                // put and evict calls made inside a transaction are deferred until it commits, for every cache above;
+                // this alone does not stop a read that overlapped a write from caching what it read, which the
+                // services guard against themselves
+                .transactionAware()
                 .build();
     }
 }
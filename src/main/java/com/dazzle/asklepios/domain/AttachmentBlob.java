@@ -0,0 +1,75 @@
+package com.dazzle.asklepios.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Attachment content stored once in the bucket under a key derived from its SHA-256 digest.
+ * {@code referenceCount} is the number of live attachment rows (patient, encounter, inventory transaction
+ * and inventory transfer) pointing at it.
+ * <p>
+ * The schema is not managed by the application; the table and the columns pointing at it are:
+ * <pre>
+ * create table attachment_blobs (
+ *     sha256 varchar(64) primary key,
+ *     space_key varchar(255) not null,
+ *     mime_type text not null,
+ *     size_bytes bigint not null,
+ *     reference_count bigint not null,
+ *     created_at timestamp(6) with time zone not null
+ * );
+ * alter table patient_attachments add column content_sha256 varchar(64);
+ * alter table encounter_attachments add column content_sha256 varchar(64);
+ * alter table inventory_transaction_attachments add column content_sha256 varchar(64);
+ * alter table inventory_transfer_attachments add column content_sha256 varchar(64);
+ * create index patient_attachments_content_sha256_idx on patient_attachments (content_sha256);
+ * create index encounter_attachments_content_sha256_idx on encounter_attachments (content_sha256);
+ * create index inventory_transaction_attachments_content_sha256_idx on inventory_transaction_attachments (content_sha256);
+ * create index inventory_transfer_attachments_content_sha256_idx on inventory_transfer_attachments (content_sha256);
+ * </pre>
+ * Rows stored before content addressing keep a null digest and their own object. The indexes serve the purge, which
+ * checks that no attachment row points at a blob.
+ */
+@Entity
+@Table(name = "attachment_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class AttachmentBlob implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "sha256", length = 64, nullable = false)
+    @EqualsAndHashCode.Include
+    private String sha256;
+
+    @Column(name = "space_key", nullable = false)
+    private String spaceKey;
+
+    @Column(name = "mime_type", nullable = false, columnDefinition = "text")
+    private String mimeType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "reference_count", nullable = false)
+    private Long referenceCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
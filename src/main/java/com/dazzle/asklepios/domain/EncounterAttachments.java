@@ -40,6 +40,10 @@ public class EncounterAttachments extends AbstractAuditingEntity<Long> implement
     @Column(name = "space_key", nullable = false)
     private String spaceKey;
 
+    /** SHA-256 of the content, see {@link AttachmentBlob}; {@code null} for objects stored before deduplication. */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(name = "filename", nullable = false, columnDefinition = "text")
     private String filename;
 
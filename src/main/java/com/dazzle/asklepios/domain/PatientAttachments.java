@@ -41,6 +41,10 @@ public class PatientAttachments  extends  AbstractAuditingEntity<Long>  implemen
     @Column(name = "space_key", nullable = false)
     private String spaceKey;
 
+    /** SHA-256 of the content, see {@link AttachmentBlob}; {@code null} for objects stored before deduplication. */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
     @Column(name = "filename", nullable = false, columnDefinition = "text")
     private String filename;
 
@@ -63,6 +67,10 @@ public class PatientAttachments  extends  AbstractAuditingEntity<Long>  implemen
     @Enumerated(EnumType.STRING)
     private PatientAttachmentSource source;
 
+    /** When the profile picture thumbnails were stored; {@code null} until they exist. */
+    @Column(name = "thumbnails_generated_at")
+    private Instant thumbnailsGeneratedAt;
+
 
 }
 
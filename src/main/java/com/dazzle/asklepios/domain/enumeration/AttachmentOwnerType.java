@@ -0,0 +1,7 @@
+package com.dazzle.asklepios.domain.enumeration;
+public enum AttachmentOwnerType {
+    PATIENT,
+    ENCOUNTER,
+    INVENTORY_TRANSACTION,
+    INVENTORY_TRANSFER;
+}
@@ -0,0 +1,10 @@
+package com.dazzle.asklepios.domain.enumeration;
+
+/**
+ * Mutation applied by one operation of {@code POST /api/setup/batch}.
+ */
+public enum BatchAction {
+    CREATE,
+    UPDATE,
+    DELETE;
+}
@@ -0,0 +1,17 @@
+package com.dazzle.asklepios.domain.enumeration;
+
+/**
+ * Entities accepted by {@code POST /api/setup/batch}, with the meaning of the operation's {@code parentId}.
+ */
+public enum BatchEntity {
+    /** Parent: facility. */
+    AGE_GROUP,
+    /** No parent. */
+    VISIT_DURATION,
+    /** Parent: vaccine, on create. No delete. */
+    VACCINE_DOSE,
+    /** Parent: service, taken from the payload's {@code serviceId}. */
+    SERVICE_ITEM,
+    /** Parent: procedure. Create and delete only. */
+    PROCEDURE_CODING;
+}
@@ -0,0 +1,9 @@
+package com.dazzle.asklepios.domain.enumeration;
+
+/**
+ * Kinds of items a price quote can contain.
+ */
+public enum PricedItemType {
+    SERVICE,
+    PROCEDURE;
+}
@@ -0,0 +1,13 @@
+package com.dazzle.asklepios.domain.enumeration;
+
+/**
+ * State of a dose not administered yet, as computed by the vaccination schedule.
+ */
+public enum VaccineDoseStatus {
+    /** Can be given now. */
+    DUE,
+    /** Past the latest age of the dose. */
+    OVERDUE,
+    /** Too early, or waiting for an earlier dose. */
+    UPCOMING;
+}
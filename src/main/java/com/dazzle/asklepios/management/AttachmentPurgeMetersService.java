@@ -0,0 +1,59 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AttachmentPurgeMetersService {
+
+    public static final String ROWS_METER_NAME = "attachments.purge.rows";
+    public static final String OBJECTS_METER_NAME = "attachments.purge.objects";
+    public static final String BYTES_METER_NAME = "attachments.purge.bytes";
+    public static final String FAILED_OBJECTS_METER_NAME = "attachments.purge.failed-objects";
+    public static final String LAG_METER_NAME = "attachments.purge.lag";
+
+    public static final String TABLE_DIMENSION = "table";
+
+    private final MeterRegistry registry;
+    // Gauges only hold weak references to their state, so the values are kept here.
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+
+    public AttachmentPurgeMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void trackBatch(String table, int rows, int objects, long bytes, int failedObjects) {
+        counter(ROWS_METER_NAME, "Attachment rows hard-deleted by the purge.", "rows", table).increment(rows);
+        counter(OBJECTS_METER_NAME, "Bucket objects deleted by the purge.", "objects", table).increment(objects);
+        counter(BYTES_METER_NAME, "Bucket bytes released by the purge.", "bytes", table).increment(bytes);
+        counter(FAILED_OBJECTS_METER_NAME, "Bucket objects the purge failed to delete; retried on the next run.", "objects", table)
+            .increment(failedObjects);
+    }
+
+    /**
+     * @param lag how long the oldest soft-deleted row of the table has been purgeable, zero if none is.
+     */
+    public void trackLag(String table, Duration lag) {
+        lagSeconds
+            .computeIfAbsent(table, t -> {
+                AtomicLong value = new AtomicLong();
+                Gauge.builder(LAG_METER_NAME, value, AtomicLong::get)
+                    .description("Age of the oldest soft-deleted attachment past retention and not purged yet.")
+                    .baseUnit("seconds")
+                    .tag(TABLE_DIMENSION, t)
+                    .register(registry);
+                return value;
+            })
+            .set(Math.max(0, lag.toSeconds()));
+    }
+
+    private Counter counter(String name, String description, String baseUnit, String table) {
+        return Counter.builder(name).description(description).baseUnit(baseUnit).tag(TABLE_DIMENSION, table).register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ConditionalGetMetersService {
+
+    public static final String REQUESTS_METER_NAME = "http.conditional.requests";
+    public static final String BYTES_SAVED_METER_NAME = "http.conditional.bytes.saved";
+
+    public static final String RESULT_DIMENSION = "result";
+    public static final String RESOURCE_DIMENSION = "resource";
+
+    private final MeterRegistry registry;
+
+    public ConditionalGetMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param resource the first path pattern of the resource, so that raw paths do not become tags.
+     */
+    public void trackNotModified(String resource, long bytesSaved) {
+        requests(resource, "not_modified").increment();
+        if (bytesSaved > 0) {
+            DistributionSummary.builder(BYTES_SAVED_METER_NAME)
+                .description("Response bytes not sent thanks to 304 Not Modified answers.")
+                .baseUnit("bytes")
+                .tag(RESOURCE_DIMENSION, resource)
+                .register(registry)
+                .record(bytesSaved);
+        }
+    }
+
+    public void trackModified(String resource) {
+        requests(resource, "modified").increment();
+    }
+
+    private Counter requests(String resource, String result) {
+        return Counter.builder(REQUESTS_METER_NAME)
+            .description("GET requests on ETag-validated resources, by result.")
+            .tag(RESOURCE_DIMENSION, resource)
+            .tag(RESULT_DIMENSION, result)
+            .register(registry);
+    }
+}
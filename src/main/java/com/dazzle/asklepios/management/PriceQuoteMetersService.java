@@ -0,0 +1,82 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class PriceQuoteMetersService {
+
+    public static final String QUOTE_METER_NAME = "prices.quote";
+    public static final String QUOTE_ITEMS_METER_NAME = "prices.quote.items";
+    public static final String REFRESH_METER_NAME = "prices.index.refresh";
+    public static final String INDEX_AGE_METER_NAME = "prices.index.age";
+    public static final String INDEX_ENTRIES_METER_NAME = "prices.index.entries";
+
+    public static final String MODE_DIMENSION = "mode";
+    public static final String TYPE_DIMENSION = "type";
+
+    private final Timer quoteTimer;
+    private final DistributionSummary quoteItems;
+    private final Timer fullRefreshTimer;
+    private final Timer incrementalRefreshTimer;
+    // Gauges only hold weak references to their state, so the values are kept here.
+    private final AtomicLong refreshedAtMillis = new AtomicLong(-1);
+    private final AtomicLong serviceEntries = new AtomicLong();
+    private final AtomicLong procedureEntries = new AtomicLong();
+
+    public PriceQuoteMetersService(MeterRegistry registry) {
+        this.quoteTimer = Timer.builder(QUOTE_METER_NAME)
+            .description("Time to answer a price quote.")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(registry);
+        this.quoteItems = DistributionSummary.builder(QUOTE_ITEMS_METER_NAME)
+            .description("Services and procedures requested per price quote.")
+            .baseUnit("items")
+            .register(registry);
+        this.fullRefreshTimer = refreshTimer(registry, "full");
+        this.incrementalRefreshTimer = refreshTimer(registry, "incremental");
+
+        Gauge.builder(INDEX_AGE_METER_NAME, refreshedAtMillis, PriceQuoteMetersService::ageSeconds)
+            .description("Time since the price index was last refreshed from the database.")
+            .baseUnit("seconds")
+            .register(registry);
+        Gauge.builder(INDEX_ENTRIES_METER_NAME, serviceEntries, AtomicLong::get)
+            .description("Priced items held by the price index.")
+            .tag(TYPE_DIMENSION, "service")
+            .register(registry);
+        Gauge.builder(INDEX_ENTRIES_METER_NAME, procedureEntries, AtomicLong::get)
+            .description("Priced items held by the price index.")
+            .tag(TYPE_DIMENSION, "procedure")
+            .register(registry);
+    }
+
+    public void trackQuote(Duration duration, int items) {
+        quoteTimer.record(duration);
+        quoteItems.record(items);
+    }
+
+    public void trackRefresh(boolean full, Duration duration, Instant refreshedAt, int services, int procedures) {
+        (full ? fullRefreshTimer : incrementalRefreshTimer).record(duration);
+        refreshedAtMillis.set(refreshedAt.toEpochMilli());
+        serviceEntries.set(services);
+        procedureEntries.set(procedures);
+    }
+
+    private static Timer refreshTimer(MeterRegistry registry, String mode) {
+        return Timer.builder(REFRESH_METER_NAME)
+            .description("Time to reload prices into the price index.")
+            .tag(MODE_DIMENSION, mode)
+            .register(registry);
+    }
+
+    private static double ageSeconds(AtomicLong refreshedAtMillis) {
+        long millis = refreshedAtMillis.get();
+        return millis < 0 ? Double.NaN : (System.currentTimeMillis() - millis) / 1000.0;
+    }
+}
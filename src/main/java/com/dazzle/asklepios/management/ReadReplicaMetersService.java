@@ -0,0 +1,50 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+@Service
+public class ReadReplicaMetersService {
+
+    public static final String ROUTED_METER_NAME = "datasource.routing.transactions";
+    public static final String LAG_METER_NAME = "datasource.replica.lag";
+
+    public static final String TARGET_DIMENSION = "target";
+    public static final String REASON_DIMENSION = "reason";
+    public static final String REPLICA_DIMENSION = "replica";
+
+    private final MeterRegistry registry;
+
+    public ReadReplicaMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param target the pool the transaction runs on, {@code primary} or a replica.
+     * @param reason {@code write}, {@code read}, {@code sticky} (the user wrote recently) or {@code lagging} (no
+     *               replica is fresh enough).
+     */
+    public void trackRouted(String target, String reason) {
+        Counter.builder(ROUTED_METER_NAME)
+            .description("Transactions by the pool they were routed to.")
+            .tag(TARGET_DIMENSION, target)
+            .tag(REASON_DIMENSION, reason)
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * @param lagSeconds the last measured lag, or infinity while the replica cannot be reached.
+     */
+    public void registerLag(String replica, Supplier<Number> lagSeconds) {
+        Gauge.builder(LAG_METER_NAME, lagSeconds)
+            .description("Replication lag of the replica, as last measured.")
+            .baseUnit("seconds")
+            .tag(REPLICA_DIMENSION, replica)
+            .register(registry);
+    }
+}
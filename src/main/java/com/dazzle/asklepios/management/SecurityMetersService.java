@@ -1,5 +1,6 @@
 package com.dazzle.asklepios.management;
 
+import com.dazzle.asklepios.security.JwtFailureCause;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
@@ -13,16 +14,28 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION = "Indicates lookups of verified tokens in the decoder cache.";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
+    private final Counter tokenNotYetValidCounter;
+    private final Counter tokenInvalidClaimsCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
+        this.tokenNotYetValidCounter = invalidTokensCounterForCauseBuilder("not-yet-valid").register(registry);
+        this.tokenInvalidClaimsCounter = invalidTokensCounterForCauseBuilder("invalid-claims").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +45,33 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Track a rejected token under the counter matching its cause.
+     *
+     * @param cause the classified failure.
+     * @return {@code false} if the cause is {@link JwtFailureCause#UNKNOWN} and nothing was tracked.
+     */
+    public boolean trackInvalidToken(JwtFailureCause cause) {
+        switch (cause) {
+            case INVALID_SIGNATURE -> trackTokenInvalidSignature();
+            case EXPIRED -> trackTokenExpired();
+            case NOT_YET_VALID -> trackTokenNotYetValid();
+            case INVALID_CLAIMS -> trackTokenInvalidClaims();
+            case MALFORMED -> trackTokenMalformed();
+            case UNSUPPORTED -> trackTokenUnsupported();
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -40,6 +80,14 @@ public class SecurityMetersService {
         this.tokenExpiredCounter.increment();
     }
 
+    public void trackTokenNotYetValid() {
+        this.tokenNotYetValidCounter.increment();
+    }
+
+    public void trackTokenInvalidClaims() {
+        this.tokenInvalidClaimsCounter.increment();
+    }
+
     public void trackTokenUnsupported() {
         this.tokenUnsupportedCounter.increment();
     }
@@ -47,4 +95,12 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
 }
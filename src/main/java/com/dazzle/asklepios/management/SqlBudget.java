@@ -0,0 +1,101 @@
+package com.dazzle.asklepios.management;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL activity recorded for the unit of work (HTTP request or test) running on the current thread.
+ * <p>
+ * Hibernate reports into the open budget through {@link SqlStatementInspector} and {@link SqlTimingSessionListener};
+ * nothing is recorded when no budget is open, so those hooks stay allocation free outside of a request.
+ */
+public final class SqlBudget {
+
+    private static final ThreadLocal<SqlBudget> CURRENT = new ThreadLocal<>();
+
+    // Distinct statement shapes kept for N+1 detection, further shapes are only counted.
+    private static final int MAX_TRACKED_STATEMENTS = 256;
+
+    private final SqlBudget previous;
+    private final Map<String, Integer> countsByStatement = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlBudget(SqlBudget previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Open a budget on the current thread. Budgets nest: {@link #close()} restores the enclosing one.
+     *
+     * @return the opened budget.
+     */
+    public static SqlBudget open() {
+        SqlBudget budget = new SqlBudget(CURRENT.get());
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * @return the budget open on the current thread, or {@code null} if there is none.
+     */
+    public static SqlBudget current() {
+        return CURRENT.get();
+    }
+
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    static void recordStatement(String sql) {
+        for (SqlBudget budget = CURRENT.get(); budget != null; budget = budget.previous) {
+            budget.statements++;
+            if (budget.countsByStatement.size() < MAX_TRACKED_STATEMENTS || budget.countsByStatement.containsKey(sql)) {
+                budget.countsByStatement.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void recordRow() {
+        for (SqlBudget budget = CURRENT.get(); budget != null; budget = budget.previous) {
+            budget.rows++;
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        for (SqlBudget budget = CURRENT.get(); budget != null; budget = budget.previous) {
+            budget.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return the statement executed most often in this budget with its count, a typical N+1 signature when the
+     * count is high.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeatedStatement() {
+        return countsByStatement.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+}
@@ -0,0 +1,44 @@
+package com.dazzle.asklepios.management;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Attributes the SQL of the current {@link SqlBudget} to service methods.
+ * <p>
+ * Counts are taken as the difference before and after the call, so they include nested service calls. Calls made
+ * outside of a budget (schedulers, startup) are not measured.
+ */
+@Aspect
+public class SqlBudgetAspect {
+
+    private final SqlMetersService metersService;
+
+    public SqlBudgetAspect(SqlMetersService metersService) {
+        this.metersService = metersService;
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && within(com.dazzle.asklepios.service..*)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        SqlBudget budget = SqlBudget.current();
+        if (budget == null) {
+            return joinPoint.proceed();
+        }
+        int statementsBefore = budget.getStatements();
+        long jdbcNanosBefore = budget.getJdbcNanos();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            int statements = budget.getStatements() - statementsBefore;
+            if (statements > 0) {
+                metersService.trackMethod(
+                    joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    joinPoint.getSignature().getName(),
+                    statements,
+                    budget.getJdbcNanos() - jdbcNanosBefore
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.dazzle.asklepios.management;
+
+import com.dazzle.asklepios.config.SqlBudgetProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link SqlBudget} around each HTTP request and publishes it, tagged by the matched endpoint pattern.
+ * Requests over the statement budget or repeating one statement are logged and counted.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlMetersService metersService;
+    private final SqlBudgetProperties properties;
+
+    public SqlBudgetFilter(SqlMetersService metersService, SqlBudgetProperties properties) {
+        this.metersService = metersService;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlBudget budget = SqlBudget.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            budget.close();
+            // Only the matched pattern is used as a tag, raw paths would carry ids and explode cardinality.
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+            report(request.getMethod(), uri, budget);
+        }
+    }
+
+    private void report(String method, String uri, SqlBudget budget) {
+        if (budget.getStatements() == 0) {
+            return;
+        }
+        metersService.trackRequest(method, uri, budget);
+        if (budget.getStatements() > properties.getMaxStatementsPerRequest()) {
+            metersService.trackRequestOverBudget(method, uri);
+            LOG.warn(
+                "SQL budget exceeded on {} {}: {} statements (budget {}), {} rows, {} ms in JDBC",
+                method,
+                uri,
+                budget.getStatements(),
+                properties.getMaxStatementsPerRequest(),
+                budget.getRows(),
+                budget.getJdbcTime().toMillis()
+            );
+        }
+        budget
+            .mostRepeatedStatement()
+            .filter(entry -> entry.getValue() >= properties.getRepeatedStatementThreshold())
+            .ifPresent(entry -> reportRepeated(method, uri, entry));
+    }
+
+    private void reportRepeated(String method, String uri, Map.Entry<String, Integer> entry) {
+        metersService.trackRequestRepeatedStatement(method, uri);
+        LOG.warn("Possible N+1 on {} {}: statement executed {} times: {}", method, uri, entry.getValue(), entry.getKey());
+    }
+}
@@ -0,0 +1,82 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SqlMetersService {
+
+    public static final String REQUEST_STATEMENTS_METER_NAME = "sql.request.statements";
+    public static final String REQUEST_ROWS_METER_NAME = "sql.request.rows";
+    public static final String REQUEST_JDBC_TIME_METER_NAME = "sql.request.jdbc-time";
+    public static final String REQUEST_OVER_BUDGET_METER_NAME = "sql.request.over-budget";
+    public static final String REQUEST_REPEATED_STATEMENT_METER_NAME = "sql.request.repeated-statement";
+    public static final String METHOD_STATEMENTS_METER_NAME = "sql.method.statements";
+    public static final String METHOD_JDBC_TIME_METER_NAME = "sql.method.jdbc-time";
+
+    public static final String METHOD_DIMENSION = "method";
+    public static final String URI_DIMENSION = "uri";
+    public static final String CLASS_DIMENSION = "class";
+
+    private final MeterRegistry registry;
+
+    public SqlMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void trackRequest(String method, String uri, SqlBudget budget) {
+        DistributionSummary.builder(REQUEST_STATEMENTS_METER_NAME)
+            .description("SQL statements prepared per HTTP request.")
+            .baseUnit("statements")
+            .tag(METHOD_DIMENSION, method)
+            .tag(URI_DIMENSION, uri)
+            .register(registry)
+            .record(budget.getStatements());
+        DistributionSummary.builder(REQUEST_ROWS_METER_NAME)
+            .description("Entity rows loaded by Hibernate per HTTP request.")
+            .baseUnit("rows")
+            .tag(METHOD_DIMENSION, method)
+            .tag(URI_DIMENSION, uri)
+            .register(registry)
+            .record(budget.getRows());
+        Timer.builder(REQUEST_JDBC_TIME_METER_NAME)
+            .description("Time spent executing JDBC statements per HTTP request.")
+            .tag(METHOD_DIMENSION, method)
+            .tag(URI_DIMENSION, uri)
+            .register(registry)
+            .record(budget.getJdbcTime());
+    }
+
+    public void trackRequestOverBudget(String method, String uri) {
+        requestCounter(REQUEST_OVER_BUDGET_METER_NAME, "HTTP requests exceeding the SQL statement budget.", method, uri).increment();
+    }
+
+    public void trackRequestRepeatedStatement(String method, String uri) {
+        requestCounter(REQUEST_REPEATED_STATEMENT_METER_NAME, "HTTP requests repeating one SQL statement (possible N+1).", method, uri)
+            .increment();
+    }
+
+    public void trackMethod(String className, String method, int statements, long jdbcNanos) {
+        DistributionSummary.builder(METHOD_STATEMENTS_METER_NAME)
+            .description("SQL statements prepared per service method call, including nested calls.")
+            .baseUnit("statements")
+            .tag(CLASS_DIMENSION, className)
+            .tag(METHOD_DIMENSION, method)
+            .register(registry)
+            .record(statements);
+        Timer.builder(METHOD_JDBC_TIME_METER_NAME)
+            .description("Time spent executing JDBC statements per service method call, including nested calls.")
+            .tag(CLASS_DIMENSION, className)
+            .tag(METHOD_DIMENSION, method)
+            .register(registry)
+            .record(Duration.ofNanos(jdbcNanos));
+    }
+
+    private Counter requestCounter(String name, String description, String method, String uri) {
+        return Counter.builder(name).description(description).tag(METHOD_DIMENSION, method).tag(URI_DIMENSION, uri).register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dazzle.asklepios.management;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate hook counting prepared statements and loaded entity rows into the current {@link SqlBudget}.
+ */
+public class SqlStatementInspector implements StatementInspector, Interceptor {
+
+    @Override
+    public String inspect(String sql) {
+        SqlBudget.recordStatement(sql);
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        SqlBudget.recordRow();
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package com.dazzle.asklepios.management;
+
+import org.hibernate.engine.spi.SessionEventListener;
+
+/**
+ * Adds the time spent executing JDBC statements and batches to the current {@link SqlBudget}.
+ * <p>
+ * Hibernate creates one instance per session, see {@code hibernate.session.events.auto}.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlBudget.recordJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlBudget.recordJdbcTime(System.nanoTime() - batchStart);
+    }
+}
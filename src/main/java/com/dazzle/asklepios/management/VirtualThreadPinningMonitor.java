@@ -0,0 +1,113 @@
+package com.dazzle.asklepios.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events into Micrometer timers.
+ * <p>
+ * A virtual thread is pinned when it blocks inside a {@code synchronized} block or a native frame, which ties up its
+ * carrier thread. The timers are tagged by the library that held the monitor ({@code jdbc}, {@code s3} or
+ * {@code other}) so the tag cardinality stays fixed.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    public static final String PINNED_METER_NAME = "jvm.threads.virtual.pinned";
+    public static final String PINNED_METER_DESCRIPTION = "Time virtual threads spent pinned to their carrier thread.";
+    public static final String PINNED_METER_SOURCE_DIMENSION = "source";
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.dazzle.asklepios.";
+
+    private final Duration threshold;
+    private final Timer jdbcTimer;
+    private final Timer s3Timer;
+    private final Timer otherTimer;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry, Duration threshold) {
+        this.threshold = threshold;
+        this.jdbcTimer = pinnedTimerForSource("jdbc", registry);
+        this.s3Timer = pinnedTimerForSource("s3", registry);
+        this.otherTimer = pinnedTimerForSource("other", registry);
+    }
+
+    private static Timer pinnedTimerForSource(String source, MeterRegistry registry) {
+        return Timer.builder(PINNED_METER_NAME)
+            .description(PINNED_METER_DESCRIPTION)
+            .tag(PINNED_METER_SOURCE_DIMENSION, source)
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        LOG.info("Virtual thread pinning detection started (threshold {})", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        timerFor(frames).record(event.getDuration());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Virtual thread pinned for {} at {}", event.getDuration(), applicationFrame(event.getStackTrace()));
+        }
+    }
+
+    private Timer timerFor(List<RecordedFrame> frames) {
+        return switch (sourceOf(frames.stream().map(frame -> frame.getMethod().getType().getName()).toList())) {
+            case "jdbc" -> jdbcTimer;
+            case "s3" -> s3Timer;
+            default -> otherTimer;
+        };
+    }
+
+    /**
+     * Source tag for a pinned stack, from the declaring types of its frames, innermost first.
+     */
+    static String sourceOf(List<String> frameTypes) {
+        for (String type : frameTypes) {
+            if (type.startsWith("org.postgresql.") || type.startsWith("com.zaxxer.hikari.") || type.startsWith("org.hibernate.")) {
+                return "jdbc";
+            }
+            if (type.startsWith("software.amazon.awssdk.") || type.startsWith("org.apache.http.")) {
+                return "s3";
+            }
+        }
+        return "other";
+    }
+
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        return stackTrace.getFrames()
+            .stream()
+            .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+            .orElse("unknown");
+    }
+}
@@ -3,8 +3,10 @@ package com.dazzle.asklepios.repository;
 import com.dazzle.asklepios.domain.ActiveIngredientContraindications;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ActiveIngredientContraindicationsRepository extends JpaRepository<ActiveIngredientContraindications, Long> {
     List<ActiveIngredientContraindications> findByActiveIngredientId(Long activeIngredientId);
+    List<ActiveIngredientContraindications> findByActiveIngredientIdIn(Collection<Long> activeIngredientIds);
 }
@@ -3,8 +3,10 @@ package com.dazzle.asklepios.repository;
 import com.dazzle.asklepios.domain.ActiveIngredientDrugInteractions;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ActiveIngredientDrugInteractionsRepository extends JpaRepository<ActiveIngredientDrugInteractions, Long> {
     List<ActiveIngredientDrugInteractions> findByActiveIngredientId(Long activeIngredientId);
+    List<ActiveIngredientDrugInteractions> findByActiveIngredientIdIn(Collection<Long> activeIngredientIds);
 }
\ No newline at end of file
@@ -3,8 +3,10 @@ package com.dazzle.asklepios.repository;
 import com.dazzle.asklepios.domain.ActiveIngredientPreRequestedTest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ActiveIngredientPreRequestedTestRepository  extends JpaRepository<ActiveIngredientPreRequestedTest, Long> {
     List<ActiveIngredientPreRequestedTest> findByActiveIngredientId(Long activeIngredientId);
+    List<ActiveIngredientPreRequestedTest> findByActiveIngredientIdIn(Collection<Long> activeIngredientIds);
 }
@@ -0,0 +1,22 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * List columns of an {@link com.dazzle.asklepios.domain.ActiveIngredients}, selected without loading the entity.
+ */
+public interface ActiveIngredientSummary {
+    Long getId();
+
+    String getName();
+
+    Long getDrugClassId();
+
+    String getAtcCode();
+
+    Boolean getOtc();
+
+    Boolean getHighRiskMed();
+
+    Boolean getIsControlled();
+
+    Boolean getIsActive();
+}
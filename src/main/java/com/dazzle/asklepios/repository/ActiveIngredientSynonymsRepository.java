@@ -3,8 +3,10 @@ package com.dazzle.asklepios.repository;
 import com.dazzle.asklepios.domain.ActiveIngredientSynonyms;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ActiveIngredientSynonymsRepository extends JpaRepository<ActiveIngredientSynonyms, Long> {
     List<ActiveIngredientSynonyms> findByActiveIngredientId(Long activeIngredientId);
+    List<ActiveIngredientSynonyms> findByActiveIngredientIdIn(Collection<Long> activeIngredientIds);
 }
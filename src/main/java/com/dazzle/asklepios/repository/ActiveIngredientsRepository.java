@@ -5,11 +5,45 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 
 import java.util.List;
 
 public interface ActiveIngredientsRepository  extends JpaRepository<ActiveIngredients, Long> {
+    String MONOGRAPHS = "activeIngredientMonographs";
+
+    // drugClass.id is read from the foreign key column, without joining the class.
+    String SUMMARY = "select a.id as id, a.name as name, a.drugClass.id as drugClassId, a.atcCode as atcCode, a.otc as otc, "
+            + "a.highRiskMed as highRiskMed, a.isControlled as isControlled, a.isActive as isActive from ActiveIngredients a";
+
     Page<ActiveIngredients> findByDrugClassIdIn(List<Long> drugClassId, Pageable pageable);
     Page<ActiveIngredients> findByNameContainsIgnoreCase(String name, Pageable pageable);
     Page<ActiveIngredients> findByAtcCodeContainsIgnoreCase(String atcCode, Pageable pageable);
+
+    @Query(value = SUMMARY, countQuery = "select count(a) from ActiveIngredients a")
+    Page<ActiveIngredientSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY + " where a.drugClass.id in ?1",
+            countQuery = "select count(a) from ActiveIngredients a where a.drugClass.id in ?1")
+    Page<ActiveIngredientSummary> findSummariesByDrugClassIdIn(List<Long> drugClassIds, Pageable pageable);
+
+    @Query(value = SUMMARY + " where upper(a.name) like upper(?1) escape '\\'",
+            countQuery = "select count(a) from ActiveIngredients a where upper(a.name) like upper(?1) escape '\\'")
+    Page<ActiveIngredientSummary> findSummariesByNameLike(String pattern, Pageable pageable);
+
+    @Query(value = SUMMARY + " where upper(a.atcCode) like upper(?1) escape '\\'",
+            countQuery = "select count(a) from ActiveIngredients a where upper(a.atcCode) like upper(?1) escape '\\'")
+    Page<ActiveIngredientSummary> findSummariesByAtcCodeLike(String pattern, Pageable pageable);
+
+    default Page<ActiveIngredientSummary> findSummariesByNameContainsIgnoreCase(String name, Pageable pageable) {
+        return findSummariesByNameLike("%" + EscapeCharacter.DEFAULT.escape(name) + "%", pageable);
+    }
+
+    default Page<ActiveIngredientSummary> findSummariesByAtcCodeContainsIgnoreCase(String atcCode, Pageable pageable) {
+        return findSummariesByAtcCodeLike("%" + EscapeCharacter.DEFAULT.escape(atcCode) + "%", pageable);
+    }
+
+    @Query("select a.drugClass.id as drugClassId, count(a) as activeIngredients from ActiveIngredients a "
+            + "where a.drugClass is not null group by a.drugClass.id")
+    List<DrugClassIngredientCount> countByDrugClass();
 }
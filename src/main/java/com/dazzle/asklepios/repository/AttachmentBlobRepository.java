@@ -0,0 +1,70 @@
+package com.dazzle.asklepios.repository;
+
+import com.dazzle.asklepios.domain.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    /**
+     * Insert the blob with one reference, or add a reference if it already exists.
+     * A concurrent caller for the same digest blocks on the row until this transaction ends.
+     *
+     * @return {@code true} if the row was inserted, i.e. the content still has to be uploaded.
+     */
+    @Query(value = """
+            INSERT INTO attachment_blobs (sha256, space_key, mime_type, size_bytes, reference_count, created_at)
+            VALUES (:sha256, :spaceKey, :mimeType, :sizeBytes, 1, :createdAt)
+            ON CONFLICT (sha256) DO UPDATE SET reference_count = attachment_blobs.reference_count + 1
+            RETURNING (xmax = 0)
+            """, nativeQuery = true)
+    boolean acquire(@Param("sha256") String sha256,
+                    @Param("spaceKey") String spaceKey,
+                    @Param("mimeType") String mimeType,
+                    @Param("sizeBytes") long sizeBytes,
+                    @Param("createdAt") Instant createdAt);
+
+    /**
+     * Insert the blob without any reference, so the purge deletes its object; an existing row is left unchanged.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO attachment_blobs (sha256, space_key, mime_type, size_bytes, reference_count, created_at)
+            VALUES (:sha256, :spaceKey, :mimeType, :sizeBytes, 0, :createdAt)
+            ON CONFLICT (sha256) DO NOTHING
+            """, nativeQuery = true)
+    int register(@Param("sha256") String sha256,
+                 @Param("spaceKey") String spaceKey,
+                 @Param("mimeType") String mimeType,
+                 @Param("sizeBytes") long sizeBytes,
+                 @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query("update AttachmentBlob b set b.referenceCount = b.referenceCount - 1 where b.sha256 = :sha256 and b.referenceCount > 0")
+    int release(@Param("sha256") String sha256);
+
+    /**
+     * Lock the next blobs, in digest order after {@code afterSha256}, that no attachment row points at any more,
+     * soft-deleted rows included: a blob only becomes purgeable once its last row has been purged after retention.
+     * Locking makes a concurrent {@link #acquire} of the same content wait, then insert a fresh row and upload again.
+     */
+    @Query(value = """
+            SELECT b.* FROM attachment_blobs b
+            WHERE b.reference_count = 0 AND b.sha256 > :afterSha256
+              AND NOT EXISTS (SELECT 1 FROM patient_attachments a WHERE a.content_sha256 = b.sha256)
+              AND NOT EXISTS (SELECT 1 FROM encounter_attachments a WHERE a.content_sha256 = b.sha256)
+              AND NOT EXISTS (SELECT 1 FROM inventory_transaction_attachments a WHERE a.content_sha256 = b.sha256)
+              AND NOT EXISTS (SELECT 1 FROM inventory_transfer_attachments a WHERE a.content_sha256 = b.sha256)
+            ORDER BY b.sha256
+            LIMIT :limit
+            FOR UPDATE OF b SKIP LOCKED
+            """, nativeQuery = true)
+    List<AttachmentBlob> findPurgeCandidates(@Param("afterSha256") String afterSha256, @Param("limit") int limit);
+}
@@ -0,0 +1,16 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * Soft-deleted attachment row as seen by the purge; column aliases are quoted in the native queries to match.
+ */
+public interface AttachmentPurgeCandidate {
+    Long getId();
+
+    String getSpaceKey();
+
+    String getContentSha256();
+
+    Long getSizeBytes();
+
+    Boolean getThumbnailsGenerated();
+}
@@ -5,12 +5,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface BrandMedicationRepository  extends JpaRepository<BrandMedication, Long> {
+public interface BrandMedicationRepository  extends JpaRepository<BrandMedication, Long>, BrandMedicationSearchRepository {
 Page<BrandMedication> findByNameContainsIgnoreCase(String name, Pageable pageable);
 Page<BrandMedication> findByManufacturerContainsIgnoreCase(String manufacturer, Pageable pageable);
 Page<BrandMedication> findByDosageFormContainsIgnoreCase(String dosageForm, Pageable pageable);
@@ -19,6 +20,21 @@ Page<BrandMedication> findByRoaContainsIgnoreCase(String roa, Pageable pageable)
 Page<BrandMedication> findByExpiresAfterOpening(Boolean expiresAfter, Pageable pageable);
 Page<BrandMedication> findByUseSinglePatient(Boolean useSinglePatient, Pageable pageable);
 Page<BrandMedication> findByIsActive(Boolean isActive, Pageable pageable);
+
+    // Selecting the columns keeps the eager uomGroup / uomGroupUnit associations from being loaded.
+    String SUMMARY = "select b.id as id, b.name as name, b.code as code, b.manufacturer as manufacturer, "
+            + "b.dosageForm as dosageForm, b.roa as roa, b.isActive as isActive from BrandMedication b";
+
+    @Query(value = SUMMARY, countQuery = "select count(b) from BrandMedication b")
+    Page<BrandMedicationSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY + " where upper(b.name) like upper(?1) escape '\\'",
+            countQuery = "select count(b) from BrandMedication b where upper(b.name) like upper(?1) escape '\\'")
+    Page<BrandMedicationSummary> findSummariesByNameLike(String pattern, Pageable pageable);
+
+    default Page<BrandMedicationSummary> findSummariesByNameContainsIgnoreCase(String name, Pageable pageable) {
+        return findSummariesByNameLike("%" + EscapeCharacter.DEFAULT.escape(name) + "%", pageable);
+    }
 //    @Query("""
 //    SELECT DISTINCT bai2.brandMedication
 //    FROM BrandMedicationActiveIngredient bai1
@@ -0,0 +1,31 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * Filters of the brand medication search; {@code null} or blank filters are ignored.
+ *
+ * @param q                   free text, matched against name, manufacturer and dosage form by full-text search, and
+ *                            against name and code as a substring.
+ * @param name                substring of the name, ignoring case.
+ * @param manufacturer        substring of the manufacturer, ignoring case.
+ * @param dosageForm          substring of the dosage form, ignoring case.
+ * @param usageInstructions   substring of the usage instructions, ignoring case.
+ * @param roa                 substring of the route of administration, ignoring case.
+ * @param expiresAfterOpening exact value.
+ * @param useSinglePatient    exact value.
+ * @param isActive            exact value.
+ */
+public record BrandMedicationSearchCriteria(
+        String q,
+        String name,
+        String manufacturer,
+        String dosageForm,
+        String usageInstructions,
+        String roa,
+        Boolean expiresAfterOpening,
+        Boolean useSinglePatient,
+        Boolean isActive
+) {
+    public boolean hasText() {
+        return q != null && !q.isBlank();
+    }
+}
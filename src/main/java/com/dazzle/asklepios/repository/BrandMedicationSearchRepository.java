@@ -0,0 +1,33 @@
+package com.dazzle.asklepios.repository;
+
+import java.util.List;
+
+/**
+ * Combined brand medication search, implemented with a native query built from the filters present.
+ */
+public interface BrandMedicationSearchRepository {
+
+    /**
+     * List columns of a match; {@code rank} is the full-text relevance, {@code 0} without free text.
+     */
+    record SearchRow(
+            Long id,
+            String name,
+            String code,
+            String manufacturer,
+            String dosageForm,
+            String roa,
+            Boolean isActive,
+            float rank
+    ) {}
+
+    /**
+     * Position after the last row of the previous page.
+     */
+    record Cursor(float rank, long id) {}
+
+    /**
+     * Matches ordered by relevance, then id, starting after {@code after} ({@code null} for the first page).
+     */
+    List<SearchRow> search(BrandMedicationSearchCriteria criteria, Cursor after, int limit);
+}
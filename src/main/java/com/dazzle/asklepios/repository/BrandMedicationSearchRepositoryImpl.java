@@ -0,0 +1,133 @@
+package com.dazzle.asklepios.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Only the filters present end up in the statement, so the planner sees the exact predicates and can pick the
+ * matching index. The queries are written to use these indexes:
+ * <pre>
+ * create extension if not exists pg_trgm;
+ * create index brand_medication_search_idx on brand_medication using gin ((
+ *     setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+ *     || setweight(to_tsvector('simple', coalesce(manufacturer, '')), 'B')
+ *     || setweight(to_tsvector('simple', coalesce(dosage_form, '')), 'C')));
+ * create index brand_medication_name_trgm_idx on brand_medication using gin (name gin_trgm_ops);
+ * create index brand_medication_code_trgm_idx on brand_medication using gin (code gin_trgm_ops);
+ * create index brand_medication_active_idx on brand_medication (is_active, id)
+ *     include (name, code, manufacturer, dosage_form, roa);
+ * create index brand_medication_single_patient_idx on brand_medication (single_patient_use, id)
+ *     include (name, code, manufacturer, dosage_form, roa, is_active);
+ * create index brand_medication_expires_idx on brand_medication (expires_after_opening, id)
+ *     include (name, code, manufacturer, dosage_form, roa, is_active);
+ * </pre>
+ * The full-text expression must stay identical to the indexed one. The {@code simple} configuration does no
+ * stemming, which suits drug and company names.
+ */
+class BrandMedicationSearchRepositoryImpl implements BrandMedicationSearchRepository {
+
+    static final String SEARCH_VECTOR = """
+            (setweight(to_tsvector('simple', coalesce(b.name, '')), 'A') \
+            || setweight(to_tsvector('simple', coalesce(b.manufacturer, '')), 'B') \
+            || setweight(to_tsvector('simple', coalesce(b.dosage_form, '')), 'C'))""";
+
+    private static final String COLUMNS = "b.id, b.name, b.code, b.manufacturer, b.dosage_form, b.roa, b.is_active";
+
+    private final EntityManager entityManager;
+
+    BrandMedicationSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<SearchRow> search(BrandMedicationSearchCriteria criteria, Cursor after, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        String sql = sql(criteria, after, params);
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        List<SearchRow> rows = new ArrayList<>();
+        for (Object result : query.getResultList()) {
+            Object[] row = (Object[]) result;
+            rows.add(new SearchRow(
+                    ((Number) row[0]).longValue(),
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    (String) row[5],
+                    (Boolean) row[6],
+                    ((Number) row[7]).floatValue()
+            ));
+        }
+        return rows;
+    }
+
+    static String sql(BrandMedicationSearchCriteria criteria, Cursor after, Map<String, Object> params) {
+        List<String> where = new ArrayList<>();
+        if (criteria.hasText()) {
+            params.put("q", criteria.q().trim());
+            params.put("qPattern", contains(criteria.q().trim()));
+            where.add("(" + SEARCH_VECTOR + " @@ websearch_to_tsquery('simple', :q)"
+                    + " or b.name ilike :qPattern escape '\\'"
+                    + " or b.code ilike :qPattern escape '\\')");
+        }
+        like(where, params, "name", "b.name", criteria.name());
+        like(where, params, "manufacturer", "b.manufacturer", criteria.manufacturer());
+        like(where, params, "dosageForm", "b.dosage_form", criteria.dosageForm());
+        like(where, params, "usageInstructions", "b.usage_instructions", criteria.usageInstructions());
+        like(where, params, "roa", "b.roa", criteria.roa());
+        equal(where, params, "expiresAfterOpening", "b.expires_after_opening", criteria.expiresAfterOpening());
+        equal(where, params, "useSinglePatient", "b.single_patient_use", criteria.useSinglePatient());
+        equal(where, params, "isActive", "b.is_active", criteria.isActive());
+        String filters = where.isEmpty() ? "" : " where " + String.join(" and ", where);
+
+        if (!criteria.hasText()) {
+            // Without relevance the order is the id alone, which the (flag, id) indexes serve directly.
+            String keyset = "";
+            if (after != null) {
+                params.put("afterId", after.id());
+                keyset = (where.isEmpty() ? " where " : " and ") + "b.id > :afterId";
+            }
+            return "select " + COLUMNS + ", cast(0 as real) as rank from brand_medication b"
+                    + filters + keyset + " order by b.id limit :limit";
+        }
+
+        String keyset = "";
+        if (after != null) {
+            params.put("afterRank", after.rank());
+            params.put("afterId", after.id());
+            keyset = " where (s.rank < :afterRank or (s.rank = :afterRank and s.id > :afterId))";
+        }
+        return "select s.* from (select " + COLUMNS + ", ts_rank(" + SEARCH_VECTOR
+                + ", websearch_to_tsquery('simple', :q)) as rank from brand_medication b" + filters + ") s"
+                + keyset + " order by s.rank desc, s.id limit :limit";
+    }
+
+    // Helpers
+
+    private static void like(List<String> where, Map<String, Object> params, String param, String column, String value) {
+        if (value != null && !value.isBlank()) {
+            params.put(param, contains(value.trim()));
+            where.add(column + " ilike :" + param + " escape '\\'");
+        }
+    }
+
+    private static void equal(List<String> where, Map<String, Object> params, String param, String column, Boolean value) {
+        if (value != null) {
+            params.put(param, value);
+            where.add(column + " = :" + param);
+        }
+    }
+
+    private static String contains(String value) {
+        return "%" + EscapeCharacter.DEFAULT.escape(value) + "%";
+    }
+}
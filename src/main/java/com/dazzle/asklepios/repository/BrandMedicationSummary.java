@@ -0,0 +1,21 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * List columns of a {@link com.dazzle.asklepios.domain.BrandMedication}, selected without loading the entity
+ * and its eagerly fetched unit of measure associations.
+ */
+public interface BrandMedicationSummary {
+    Long getId();
+
+    String getName();
+
+    String getCode();
+
+    String getManufacturer();
+
+    String getDosageForm();
+
+    String getRoa();
+
+    Boolean getIsActive();
+}
@@ -1,15 +1,62 @@
 package com.dazzle.asklepios.repository;
 
 import com.dazzle.asklepios.domain.CdtServiceMapping;
+import com.dazzle.asklepios.domain.ServiceSetup;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CdtServiceMappingRepository extends JpaRepository<CdtServiceMapping, Long> {
-    List<CdtServiceMapping> findByCdtCode_Id(Long cdtId);
-    void deleteAllByCdtCode_Id(Long cdtId);
-    void deleteByCdtCode_IdAndService_IdNotIn(Long cdtId, Collection<Long> keepIds);
+    @Query("select m.service.id from CdtServiceMapping m where m.cdtCode.id = :cdtId order by m.service.id")
+    List<Long> findServiceIdsByCdtId(@Param("cdtId") Long cdtId);
+
+    @Query("select s from CdtServiceMapping m join m.service s where m.cdtCode.id = :cdtId order by s.id")
+    List<ServiceSetup> findServicesByCdtId(@Param("cdtId") Long cdtId);
+
+    /**
+     * Make the services of a CDT code exactly {@code serviceIds} in one statement: mappings to other services are
+     * deleted, missing ones inserted. Unknown service ids are skipped. Every part of the statement sees the rows as
+     * they were before it, so {@code before} is the count prior to the sync.
+     */
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM cdt_service WHERE cdt_id = :cdtId AND service_id NOT IN (:serviceIds)
+                RETURNING service_id
+            ), added AS (
+                INSERT INTO cdt_service (cdt_id, service_id, created_by, created_date, last_modified_by, last_modified_date)
+                SELECT :cdtId, s.id, :login, :now, :login, :now
+                FROM service s
+                WHERE s.id IN (:serviceIds)
+                  AND NOT EXISTS (SELECT 1 FROM cdt_service m WHERE m.cdt_id = :cdtId AND m.service_id = s.id)
+                ON CONFLICT DO NOTHING
+                RETURNING service_id
+            )
+            SELECT (SELECT count(*) FROM cdt_service WHERE cdt_id = :cdtId) AS "before",
+                   (SELECT count(*) FROM removed) AS "removed",
+                   (SELECT count(*) FROM added) AS "added"
+            """, nativeQuery = true)
+    CdtServiceMappingSyncCounts sync(@Param("cdtId") Long cdtId,
+                                     @Param("serviceIds") Collection<Long> serviceIds,
+                                     @Param("login") String login,
+                                     @Param("now") Instant now);
+
+    /**
+     * {@link #sync} to an empty set of services; {@code NOT IN ()} is not valid SQL.
+     */
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM cdt_service WHERE cdt_id = :cdtId
+                RETURNING service_id
+            )
+            SELECT (SELECT count(*) FROM removed) AS "before",
+                   (SELECT count(*) FROM removed) AS "removed",
+                   CAST(0 AS bigint) AS "added"
+            """, nativeQuery = true)
+    CdtServiceMappingSyncCounts clear(@Param("cdtId") Long cdtId);
 }
@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * Row counts of a CDT-to-service mapping sync; column aliases are quoted in the native queries to match.
+ */
+public interface CdtServiceMappingSyncCounts {
+    Long getBefore();
+
+    Long getRemoved();
+
+    Long getAdded();
+}
@@ -0,0 +1,10 @@
+package com.dazzle.asklepios.repository;
+
+/**
+ * Number of active ingredients in a drug class ({@link com.dazzle.asklepios.domain.MedicationCategoriesClass}).
+ */
+public interface DrugClassIngredientCount {
+    Long getDrugClassId();
+
+    Long getActiveIngredients();
+}
@@ -2,20 +2,39 @@ package com.dazzle.asklepios.repository;
 
 import com.dazzle.asklepios.domain.EncounterAttachments;
 import com.dazzle.asklepios.domain.enumeration.EncounterAttachmentSource;
-import io.lettuce.core.dynamic.annotation.Param;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EncounterAttachementsRepository extends JpaRepository<EncounterAttachments, Long> {
+public interface EncounterAttachementsRepository extends PurgeableAttachmentRepository<EncounterAttachments> {
     List<EncounterAttachments> findByEncounterIdInAndDeletedAtIsNullOrderByCreatedDateDesc(List<Long> encounterId);
+    List<EncounterAttachments> findByEncounterIdInAndDeletedAtIsNullOrderByCreatedDateDesc(Collection<Long> encounterIds, Limit limit);
     List<EncounterAttachments> findByEncounterIdAndSourceAndDeletedAtIsNullOrderByCreatedDateDesc(Long encounterId, EncounterAttachmentSource source);
     List<EncounterAttachments> findByEncounterIdAndSourceAndSourceIdAndDeletedAtIsNullOrderByCreatedDateDesc(Long encounterId, EncounterAttachmentSource source, Long sourceId);
 
     Optional<EncounterAttachments> findByIdAndDeletedAtIsNull(Long id);
-    }
+
+    @Override
+    @Query(value = """
+            SELECT id AS "id", space_key AS "spaceKey", content_sha256 AS "contentSha256", size_bytes AS "sizeBytes",
+                   false AS "thumbnailsGenerated"
+            FROM encounter_attachments
+            WHERE deleted_at < :cutoff AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AttachmentPurgeCandidate> findPurgeCandidates(@Param("cutoff") Instant cutoff, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Override
+    @Query("select min(a.deletedAt) from EncounterAttachments a")
+    Optional<Instant> findOldestDeletedAt();
+}
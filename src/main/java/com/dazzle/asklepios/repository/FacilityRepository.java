@@ -17,5 +17,7 @@ public interface FacilityRepository extends JpaRepository<Facility, Long> {
     @Query("SELECT f FROM Facility f WHERE f.ruleId IS NULL OR f.ruleId = ?1")
     List<Facility> findUnlinkedOrLinkedToRule( Long ruleId);
 
+    List<Facility> findByIsActiveTrueOrderByIdAsc();
+
 
 }
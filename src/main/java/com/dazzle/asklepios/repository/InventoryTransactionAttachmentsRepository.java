@@ -1,18 +1,39 @@
 package com.dazzle.asklepios.repository;
 
 import com.dazzle.asklepios.domain.InventoryTransactionAttachments;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryTransactionAttachmentsRepository extends JpaRepository<InventoryTransactionAttachments, Long> {
+public interface InventoryTransactionAttachmentsRepository extends PurgeableAttachmentRepository<InventoryTransactionAttachments> {
 
     List<InventoryTransactionAttachments> findByTransactionIdAndDeletedAtIsNullOrderByCreatedDateDesc(Long transactionId);
 
+    List<InventoryTransactionAttachments> findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(Collection<Long> transactionIds, Limit limit);
+
     Optional<InventoryTransactionAttachments> findByIdAndDeletedAtIsNull(Long id);
+
+    @Override
+    @Query(value = """
+            SELECT id AS "id", space_key AS "spaceKey", content_sha256 AS "contentSha256", size_bytes AS "sizeBytes",
+                   false AS "thumbnailsGenerated"
+            FROM inventory_transaction_attachments
+            WHERE deleted_at < :cutoff AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AttachmentPurgeCandidate> findPurgeCandidates(@Param("cutoff") Instant cutoff, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Override
+    @Query("select min(a.deletedAt) from InventoryTransactionAttachments a")
+    Optional<Instant> findOldestDeletedAt();
 }
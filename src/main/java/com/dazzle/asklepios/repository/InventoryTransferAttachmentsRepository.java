@@ -1,18 +1,39 @@
 package com.dazzle.asklepios.repository;
 
 import com.dazzle.asklepios.domain.InventoryTransferAttachments;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryTransferAttachmentsRepository extends JpaRepository<InventoryTransferAttachments, Long> {
+public interface InventoryTransferAttachmentsRepository extends PurgeableAttachmentRepository<InventoryTransferAttachments> {
 
     List<InventoryTransferAttachments> findByTransactionIdAndDeletedAtIsNullOrderByCreatedDateDesc(Long transactionId);
 
+    List<InventoryTransferAttachments> findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(Collection<Long> transactionIds, Limit limit);
+
     Optional<InventoryTransferAttachments> findByIdAndDeletedAtIsNull(Long id);
+
+    @Override
+    @Query(value = """
+            SELECT id AS "id", space_key AS "spaceKey", content_sha256 AS "contentSha256", size_bytes AS "sizeBytes",
+                   false AS "thumbnailsGenerated"
+            FROM inventory_transfer_attachments
+            WHERE deleted_at < :cutoff AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AttachmentPurgeCandidate> findPurgeCandidates(@Param("cutoff") Instant cutoff, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Override
+    @Query("select min(a.deletedAt) from InventoryTransferAttachments a")
+    Optional<Instant> findOldestDeletedAt();
 }
@@ -9,5 +9,7 @@ import java.util.List;
 
 @Repository
 public interface MedicationCategoriesRepository extends JpaRepository<MedicationCategories, Long> {
+    String HIERARCHY = "medicationCategoryHierarchy";
+
     List<MedicationCategories> findByNameContainingIgnoreCase(String name);
 }
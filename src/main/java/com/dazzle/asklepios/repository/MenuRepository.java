@@ -29,4 +29,21 @@ public interface MenuRepository extends JpaRepository<Role, Long> {
     """, nativeQuery = true)
     List<MenuRow> findScreensForUserAndFacility(Long userId, Long facilityId);
 
+    /**
+     * Same as {@link #findScreensForUserAndFacility} but keyed by the login of the JWT subject, so the menu is
+     * resolved without looking the user up first. Rows are distinct: a screen granted by several roles is
+     * returned once per operation.
+     */
+    @Query(value = """
+    select distinct rs.screen    as screen,
+                    rs.operation as operation
+      from app_user u
+      join user_role ur  on ur.user_id = u.id
+      join role r        on r.id = ur.role_id
+      join role_screen rs on rs.role_id = r.id
+     where u.login = ?1
+       and r.facility_id = ?2
+    """, nativeQuery = true)
+    List<MenuRow> findScreensForLoginAndFacility(String login, Long facilityId);
+
 }
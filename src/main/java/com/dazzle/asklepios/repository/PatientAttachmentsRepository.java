@@ -2,22 +2,53 @@ package com.dazzle.asklepios.repository;
 
 import com.dazzle.asklepios.domain.PatientAttachments;
 import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
-import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PatientAttachmentsRepository extends JpaRepository<PatientAttachments,Long> {
+public interface PatientAttachmentsRepository extends PurgeableAttachmentRepository<PatientAttachments> {
     List<PatientAttachments> findByPatientIdAndDeletedAtIsNullOrderByCreatedDateDesc(Long patientId);
 
+    List<PatientAttachments> findByPatientIdInAndDeletedAtIsNullOrderByCreatedDateDesc(Collection<Long> patientIds, Limit limit);
+
     Optional<PatientAttachments> findByIdAndDeletedAtIsNull(Long id);
 
     Optional<PatientAttachments> findFirstByPatientIdAndSourceAndDeletedAtIsNullOrderByCreatedDateDesc( Long patientId, PatientAttachmentSource source);
+
+    boolean existsByContentSha256AndThumbnailsGeneratedAtIsNotNull(String contentSha256);
+
+    /**
+     * Thumbnails are keyed by content, so every row sharing the digest gets them at once.
+     */
+    @Transactional
+    @Modifying
+    @Query("update PatientAttachments a set a.thumbnailsGeneratedAt = :generatedAt where a.id = :id or a.contentSha256 = :contentSha256")
+    int markThumbnailsGenerated(@Param("id") Long id, @Param("contentSha256") String contentSha256, @Param("generatedAt") Instant generatedAt);
+
+    @Override
+    @Query(value = """
+            SELECT id AS "id", space_key AS "spaceKey", content_sha256 AS "contentSha256", size_bytes AS "sizeBytes",
+                   thumbnails_generated_at IS NOT NULL AS "thumbnailsGenerated"
+            FROM patient_attachments
+            WHERE deleted_at < :cutoff AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AttachmentPurgeCandidate> findPurgeCandidates(@Param("cutoff") Instant cutoff, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Override
+    @Query("select min(a.deletedAt) from PatientAttachments a")
+    Optional<Instant> findOldestDeletedAt();
 }
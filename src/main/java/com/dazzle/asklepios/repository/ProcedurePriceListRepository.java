@@ -4,7 +4,29 @@ import com.dazzle.asklepios.domain.ProcedurePriceList;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface ProcedurePriceListRepository extends JpaRepository<ProcedurePriceList, Long> {
+
+    String PRICE_ROW = "select pr.id as procedureId, pr.facility.id as facilityId, pr.isActive as active, p.currency as currency, p.price as price "
+            + "from ProcedurePriceList p join p.procedure pr";
+
     Page<ProcedurePriceList> findByProcedureId(Long procedureId, Pageable pageable);
+
+    /**
+     * Rows are ordered by modification date, so the last row read for a currency is the latest one.
+     */
+    @Query(PRICE_ROW + " order by p.lastModifiedDate, p.id")
+    List<ProcedurePriceRow> findPriceRows();
+
+    @Query(PRICE_ROW + " where pr.id in :procedureIds order by p.lastModifiedDate, p.id")
+    List<ProcedurePriceRow> findPriceRowsByProcedureIdIn(@Param("procedureIds") Collection<Long> procedureIds);
+
+    @Query("select distinct pr.id from ProcedurePriceList p join p.procedure pr where p.lastModifiedDate > :since or pr.lastModifiedDate > :since")
+    List<Long> findProcedureIdsModifiedSince(@Param("since") Instant since);
 }
@@ -0,0 +1,19 @@
+package com.dazzle.asklepios.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * A procedure price list row with the procedure columns needed to quote it, as indexed by
+ * {@link com.dazzle.asklepios.service.PriceQuoteService}.
+ */
+public interface ProcedurePriceRow {
+    Long getProcedureId();
+
+    Long getFacilityId();
+
+    Boolean getActive();
+
+    String getCurrency();
+
+    BigDecimal getPrice();
+}
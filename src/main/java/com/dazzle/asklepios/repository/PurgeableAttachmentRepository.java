@@ -0,0 +1,24 @@
+package com.dazzle.asklepios.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Queries used by {@link com.dazzle.asklepios.service.AttachmentPurgeService} to remove soft-deleted attachments.
+ * Each attachment repository declares the native queries against its own table.
+ */
+@NoRepositoryBean
+public interface PurgeableAttachmentRepository<T> extends JpaRepository<T, Long> {
+
+    /**
+     * Lock the next rows soft-deleted before {@code cutoff}, in id order after {@code afterId}.
+     * Rows locked by another instance are skipped, so concurrent purges never work on the same rows.
+     */
+    List<AttachmentPurgeCandidate> findPurgeCandidates(Instant cutoff, long afterId, int limit);
+
+    Optional<Instant> findOldestDeletedAt();
+}
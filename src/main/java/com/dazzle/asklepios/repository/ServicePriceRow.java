@@ -0,0 +1,20 @@
+package com.dazzle.asklepios.repository;
+
+import com.dazzle.asklepios.domain.enumeration.Currency;
+
+import java.math.BigDecimal;
+
+/**
+ * Price columns of a service, as indexed by {@link com.dazzle.asklepios.service.PriceQuoteService}.
+ */
+public interface ServicePriceRow {
+    Long getId();
+
+    Long getFacilityId();
+
+    Currency getCurrency();
+
+    BigDecimal getPrice();
+
+    Boolean getActive();
+}
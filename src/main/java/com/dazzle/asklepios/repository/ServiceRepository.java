@@ -5,13 +5,20 @@ import com.dazzle.asklepios.domain.enumeration.ServiceCategory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<ServiceSetup, Long> {
 
+    String PRICE_ROW = "select s.id as id, s.facility.id as facilityId, s.currency as currency, s.price as price, s.isActive as active "
+            + "from ServiceSetup s";
+
     Page<ServiceSetup> findAll(Pageable pageable);
 
     Page<ServiceSetup> findByCategory(ServiceCategory category, Pageable pageable);
@@ -21,4 +28,13 @@ public interface ServiceRepository extends JpaRepository<ServiceSetup, Long> {
     Page<ServiceSetup> findByCodeContainingIgnoreCase(String code, Pageable pageable);
 
     Page<ServiceSetup> findByFacility_Id(Long facilityId, Pageable pageable);
+
+    @Query(PRICE_ROW)
+    List<ServicePriceRow> findPriceRows();
+
+    @Query(PRICE_ROW + " where s.lastModifiedDate > :since")
+    List<ServicePriceRow> findPriceRowsModifiedSince(@Param("since") Instant since);
+
+    @Query(PRICE_ROW + " where s.id in :ids")
+    List<ServicePriceRow> findPriceRowsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -4,10 +4,21 @@ import com.dazzle.asklepios.domain.VaccineDosesInterval;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface VaccineDosesIntervalRepository extends JpaRepository<VaccineDosesInterval, Long> {
 
     Page<VaccineDosesInterval> findByVaccine_Id(Long vaccineId, Pageable pageable);
+
+    @Query("select i from VaccineDosesInterval i where i.isActive = true and i.vaccine.isActive = true")
+    List<VaccineDosesInterval> findActiveOfActiveVaccines();
+
+    @Query("select max(i.lastModifiedDate) from VaccineDosesInterval i")
+    Optional<Instant> findLastModifiedDate();
 }
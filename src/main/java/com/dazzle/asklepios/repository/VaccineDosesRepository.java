@@ -4,9 +4,12 @@ import com.dazzle.asklepios.domain.VaccineDoses;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VaccineDosesRepository extends JpaRepository<VaccineDoses, Long> {
@@ -14,4 +17,10 @@ public interface VaccineDosesRepository extends JpaRepository<VaccineDoses, Long
 
     Page<VaccineDoses> findByVaccine_Id(Long vaccineId, Pageable pageable);
     List<VaccineDoses> findByVaccine_Id(Long vaccineId);
+
+    @Query("select d from VaccineDoses d join fetch d.vaccine v where d.isActive = true and v.isActive = true")
+    List<VaccineDoses> findActiveOfActiveVaccines();
+
+    @Query("select max(d.lastModifiedDate) from VaccineDoses d")
+    Optional<Instant> findLastModifiedDate();
 }
@@ -6,8 +6,12 @@ import com.dazzle.asklepios.domain.enumeration.VaccineType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Optional;
+
 @Repository
 public interface VaccineRepository extends JpaRepository<Vaccine, Long> {
 
@@ -17,4 +21,11 @@ public interface VaccineRepository extends JpaRepository<Vaccine, Long> {
 
     Page<Vaccine> findByType(VaccineType type, Pageable pageable);
 
+    /**
+     * Vaccines, doses and intervals are deactivated rather than deleted, so the latest modification dates of the
+     * three tables together identify a version of every vaccination schedule.
+     */
+    @Query("select max(v.lastModifiedDate) from Vaccine v")
+    Optional<Instant> findLastModifiedDate();
+
 }
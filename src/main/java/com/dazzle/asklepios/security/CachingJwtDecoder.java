@@ -0,0 +1,98 @@
+package com.dazzle.asklepios.security;
+
+import com.dazzle.asklepios.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} keeping recently verified tokens in a bounded in-memory cache.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the raw token, so the bearer value itself is never held as a map key,
+ * and an entry never outlives the token's {@code exp} claim. Failed decodes are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final SecurityMetersService metersService;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, Jwt> cache = new ConcurrentHashMap<>();
+
+    public CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maxEntries) {
+        this(delegate, metersService, maxEntries, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (maxEntries <= 0 || token == null) {
+            return delegate.decode(token);
+        }
+        String key = digest(token);
+        Instant now = clock.instant();
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (isLive(cached, now)) {
+                metersService.trackTokenCacheHit();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && isLive(jwt, now)) {
+            if (cache.size() >= maxEntries) {
+                evict(now);
+            }
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static boolean isLive(Jwt jwt, Instant now) {
+        return jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt());
+    }
+
+    /**
+     * Drop expired entries first; if the cache is still full, drop arbitrary entries down to 90% of the capacity
+     * so that a burst of new tokens does not trigger an eviction pass on every request.
+     */
+    private void evict(Instant now) {
+        cache.values().removeIf(jwt -> !isLive(jwt, now));
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = cache.keySet().iterator();
+        while (cache.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dazzle.asklepios.security;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.text.ParseException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Reasons a presented JWT can be rejected, derived from the exception types raised by
+ * {@link org.springframework.security.oauth2.jwt.NimbusJwtDecoder} rather than from their messages.
+ * <p>
+ * Claim validation failures all share one exception type; they are told apart by the codes of the {@link OAuth2Error}s
+ * it carries, which is why the decoder validates {@code exp} and {@code nbf} with {@link JwtLifetimeValidator}.
+ */
+public enum JwtFailureCause {
+    INVALID_SIGNATURE,
+    EXPIRED,
+    NOT_YET_VALID,
+    INVALID_CLAIMS,
+    MALFORMED,
+    UNSUPPORTED,
+    UNKNOWN;
+
+    /**
+     * Classify a decoding failure.
+     *
+     * @param e the exception thrown by the decoder.
+     * @return the matching cause, or {@link #UNKNOWN} if the exception is not a token problem.
+     */
+    public static JwtFailureCause of(Throwable e) {
+        if (e instanceof JwtValidationException validation) {
+            return ofErrors(validation);
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BadJWSException) {
+                return INVALID_SIGNATURE;
+            }
+            if (cause instanceof ParseException) {
+                return MALFORMED;
+            }
+            if (cause instanceof BadJOSEException) {
+                return UNSUPPORTED;
+            }
+        }
+        // Remaining BadJwtExceptions are raised without a cause, mostly for unparsable payloads.
+        if (e instanceof BadJwtException) {
+            return MALFORMED;
+        }
+        return UNKNOWN;
+    }
+
+    // Helpers
+
+    /**
+     * Anything but the {@link JwtLifetimeValidator} codes (issuer, audience, custom validators) is an invalid claim.
+     */
+    private static JwtFailureCause ofErrors(JwtValidationException e) {
+        boolean notYetValid = false;
+        for (OAuth2Error error : e.getErrors()) {
+            if (JwtLifetimeValidator.EXPIRED.equals(error.getErrorCode())) {
+                return EXPIRED;
+            }
+            notYetValid |= JwtLifetimeValidator.NOT_YET_VALID.equals(error.getErrorCode());
+        }
+        return notYetValid ? NOT_YET_VALID : INVALID_CLAIMS;
+    }
+}
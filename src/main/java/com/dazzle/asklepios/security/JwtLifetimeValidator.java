@@ -0,0 +1,51 @@
+package com.dazzle.asklepios.security;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Validates the {@code exp} and {@code nbf} claims like
+ * {@link org.springframework.security.oauth2.jwt.JwtTimestampValidator}, with the same 60 second clock skew, but
+ * reports each failure with its own error code so {@link JwtFailureCause} can tell them apart.
+ */
+public class JwtLifetimeValidator implements OAuth2TokenValidator<Jwt> {
+
+    public static final String EXPIRED = "jwt_expired";
+
+    public static final String NOT_YET_VALID = "jwt_not_yet_valid";
+
+    private static final Duration DEFAULT_MAX_CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final String ERROR_URI = "https://tools.ietf.org/html/rfc6750#section-3.1";
+
+    private final Duration clockSkew;
+    private final Clock clock;
+
+    public JwtLifetimeValidator() {
+        this(DEFAULT_MAX_CLOCK_SKEW, Clock.systemUTC());
+    }
+
+    JwtLifetimeValidator(Duration clockSkew, Clock clock) {
+        this.clockSkew = clockSkew;
+        this.clock = clock;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt jwt) {
+        Instant now = clock.instant();
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && now.minus(clockSkew).isAfter(expiresAt)) {
+            return OAuth2TokenValidatorResult.failure(new OAuth2Error(EXPIRED, "Jwt expired at " + expiresAt, ERROR_URI));
+        }
+        Instant notBefore = jwt.getNotBefore();
+        if (notBefore != null && now.plus(clockSkew).isBefore(notBefore)) {
+            return OAuth2TokenValidatorResult.failure(new OAuth2Error(NOT_YET_VALID, "Jwt used before " + notBefore, ERROR_URI));
+        }
+        return OAuth2TokenValidatorResult.success();
+    }
+}
@@ -21,18 +21,21 @@ public class ActiveIngredientAdverseEffectsService {
 
     private final ActiveIngredientAdverseEffectsRepository activeIngredientAdverseEffectsRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientAdverseEffects";
 
-    public ActiveIngredientAdverseEffectsService(ActiveIngredientAdverseEffectsRepository activeIngredientAdverseEffectsRepository, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientAdverseEffectsService(ActiveIngredientAdverseEffectsRepository activeIngredientAdverseEffectsRepository, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.activeIngredientAdverseEffectsRepository = activeIngredientAdverseEffectsRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientAdverseEffects create(ActiveIngredientAdverseEffectsCreateVM activeIngredientAdverseEffectsCreateVM) {
         LOG.debug("create active ingredient adverse effect {}", activeIngredientAdverseEffectsCreateVM);
         ActiveIngredientAdverseEffects entity = toEntityForCreate(activeIngredientAdverseEffectsCreateVM);
         ActiveIngredientAdverseEffects saved = activeIngredientAdverseEffectsRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -41,8 +44,10 @@ public class ActiveIngredientAdverseEffectsService {
         LOG.debug("update active ingredient adverse effect : {} ", activeIngredientAdverseEffectsUpdateVM);
         ActiveIngredientAdverseEffects entity = activeIngredientAdverseEffectsRepository.findById(activeIngredientAdverseEffectsUpdateVM.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientAdverseEffects not found: " + activeIngredientAdverseEffectsUpdateVM.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, activeIngredientAdverseEffectsUpdateVM);
         ActiveIngredientAdverseEffects saved = activeIngredientAdverseEffectsRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -56,6 +61,7 @@ public class ActiveIngredientAdverseEffectsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete active ingredient adverse effect by id : '{}'", id);
+        activeIngredientAdverseEffectsRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         activeIngredientAdverseEffectsRepository.deleteById(id);
     }
 
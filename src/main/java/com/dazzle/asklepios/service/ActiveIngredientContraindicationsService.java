@@ -24,19 +24,22 @@ public class ActiveIngredientContraindicationsService {
     private final ActiveIngredientContraindicationsRepository activeIngredientContraindicationsRepo;
     private final Icd10Repository icd10CodeRepo;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientContraindications";
 
-    public ActiveIngredientContraindicationsService(ActiveIngredientContraindicationsRepository activeIngredientContraindicationsRepo, Icd10Repository icd10CodeRepo, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientContraindicationsService(ActiveIngredientContraindicationsRepository activeIngredientContraindicationsRepo, Icd10Repository icd10CodeRepo, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.activeIngredientContraindicationsRepo = activeIngredientContraindicationsRepo;
         this.icd10CodeRepo = icd10CodeRepo;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientContraindications create(ActiveIngredientContraindicationsCreateVM activeIngredientContraindicationsCreateVM) {
         LOG.debug("create active ingredient contraindication {}", activeIngredientContraindicationsCreateVM);
         ActiveIngredientContraindications entity = toEntityForCreate(activeIngredientContraindicationsCreateVM);
         ActiveIngredientContraindications saved = activeIngredientContraindicationsRepo.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -45,8 +48,10 @@ public class ActiveIngredientContraindicationsService {
         LOG.debug("update active ingredient contraindication : {} ", activeIngredientContraindicationsUpdateVM);
         ActiveIngredientContraindications entity = activeIngredientContraindicationsRepo.findById(activeIngredientContraindicationsUpdateVM.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientContraindications not found: " + activeIngredientContraindicationsUpdateVM.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, activeIngredientContraindicationsUpdateVM);
         ActiveIngredientContraindications saved = activeIngredientContraindicationsRepo.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -60,6 +65,7 @@ public class ActiveIngredientContraindicationsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete active ingredient contraindication by id : '{}'", id);
+        activeIngredientContraindicationsRepo.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         activeIngredientContraindicationsRepo.deleteById(id);
     }
 
@@ -22,18 +22,21 @@ public class ActiveIngredientDrugInteractionsService {
 
     private final ActiveIngredientDrugInteractionsRepository drugInteractionsRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientDrugInteractions";
 
-    public ActiveIngredientDrugInteractionsService(ActiveIngredientDrugInteractionsRepository drugInteractionsRepository, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientDrugInteractionsService(ActiveIngredientDrugInteractionsRepository drugInteractionsRepository, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.drugInteractionsRepository = drugInteractionsRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientDrugInteractions create(ActiveIngredientDrugInteractionsCreateVM vm) {
         LOG.debug("create ActiveIngredientDrugInteractions {}", vm);
         ActiveIngredientDrugInteractions entity = toEntityForCreate(vm);
         ActiveIngredientDrugInteractions saved = drugInteractionsRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -42,8 +45,10 @@ public class ActiveIngredientDrugInteractionsService {
         LOG.debug("update ActiveIngredientDrugInteractions {}", vm);
         ActiveIngredientDrugInteractions entity = drugInteractionsRepository.findById(vm.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientDrugInteractions not found: " + vm.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, vm);
         ActiveIngredientDrugInteractions saved = drugInteractionsRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -57,6 +62,7 @@ public class ActiveIngredientDrugInteractionsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete ActiveIngredientDrugInteractions id={}", id);
+        drugInteractionsRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         drugInteractionsRepository.deleteById(id);
     }
 
@@ -22,12 +22,14 @@ public class ActiveIngredientFoodInteractionsService {
 
     private final ActiveIngredientFoodInteractionsRepository foodInteractionsRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientFoodInteractions";
 
-    public ActiveIngredientFoodInteractionsService(ActiveIngredientFoodInteractionsRepository foodInteractionsRepository, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientFoodInteractionsService(ActiveIngredientFoodInteractionsRepository foodInteractionsRepository, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.foodInteractionsRepository = foodInteractionsRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     // 1) create
@@ -35,6 +37,7 @@ public class ActiveIngredientFoodInteractionsService {
         LOG.debug("create ActiveIngredientFoodInteractions {}", vm);
         ActiveIngredientFoodInteractions entity = toEntityForCreate(vm);
         ActiveIngredientFoodInteractions saved = foodInteractionsRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -44,8 +47,10 @@ public class ActiveIngredientFoodInteractionsService {
         LOG.debug("update ActiveIngredientFoodInteractions {}", vm);
         ActiveIngredientFoodInteractions entity = foodInteractionsRepository.findById(vm.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientFoodInteractions not found: " + vm.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, vm);
         ActiveIngredientFoodInteractions saved = foodInteractionsRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -61,6 +66,7 @@ public class ActiveIngredientFoodInteractionsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete ActiveIngredientFoodInteractions id={}", id);
+        foodInteractionsRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         foodInteractionsRepository.deleteById(id);
     }
 
@@ -25,19 +25,22 @@ public class ActiveIngredientIndicationsService {
     private final ActiveIngredientIndicationsRepository activeIngredientIndicationsRepo;
     private final Icd10Repository icd10CodeRepo;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientIndications";
 
-    public ActiveIngredientIndicationsService(ActiveIngredientIndicationsRepository activeIngredientIndicationsRepo, Icd10Repository icd10CodeRepo, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientIndicationsService(ActiveIngredientIndicationsRepository activeIngredientIndicationsRepo, Icd10Repository icd10CodeRepo, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.activeIngredientIndicationsRepo = activeIngredientIndicationsRepo;
         this.icd10CodeRepo = icd10CodeRepo;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientIndications create(ActiveIngredientIndicationsCreateVM activeIngredientIndicationsCreateVM) {
         LOG.debug("create active ingredient indication {}", activeIngredientIndicationsCreateVM);
         ActiveIngredientIndications entity = toEntityForCreate(activeIngredientIndicationsCreateVM);
         ActiveIngredientIndications saved = activeIngredientIndicationsRepo.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -46,8 +49,10 @@ public class ActiveIngredientIndicationsService {
         LOG.debug("update active ingredient indication : {} ", activeIngredientIndicationsUpdateVM);
         ActiveIngredientIndications entity = activeIngredientIndicationsRepo.findById(activeIngredientIndicationsUpdateVM.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientIndications not found: " + activeIngredientIndicationsUpdateVM.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, activeIngredientIndicationsUpdateVM);
         ActiveIngredientIndications saved = activeIngredientIndicationsRepo.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -61,6 +66,7 @@ public class ActiveIngredientIndicationsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete active ingredient indication by id : '{}'", id);
+        activeIngredientIndicationsRepo.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         activeIngredientIndicationsRepo.deleteById(id);
     }
 
@@ -0,0 +1,266 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.ActiveIngredients;
+import com.dazzle.asklepios.repository.ActiveIngredientAdverseEffectsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientContraindicationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientDrugInteractionsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientFoodInteractionsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientIndicationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientPreRequestedTestRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientSpecialPopulationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientSynonymsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientAdverseEffects.ActiveIngredientAdverseEffectsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientContraindications.ActiveIngredientContraindicationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientDrugInteractions.ActiveIngredientDrugInteractionsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientFoodInteractions.ActiveIngredientFoodInteractionsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientIndications.ActiveIngredientIndicationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientPreRequestedTest.ActiveIngredientPreRequestedTestResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientSpecialPopulations.ActiveIngredientSpecialPopulationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientSynonyms.ActiveIngredientSynonymsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientMonographVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsResponseVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Assembles {@link ActiveIngredientMonographVM drug monographs}.
+ * <p>
+ * A monograph is loaded with one query per child table whatever the number of requested ingredients,
+ * and cached per ingredient in {@link ActiveIngredientsRepository#MONOGRAPHS}. Services writing any of the
+ * child tables must call {@link #evict(Long...)} for the affected ingredients; the monographs are dropped once the
+ * write commits. Loaded monographs are not cached if an eviction happened in this instance while they were loaded,
+ * as they may hold the rows as they were before that write; other instances are bounded by the cache TTL.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ActiveIngredientMonographService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActiveIngredientMonographService.class);
+
+    private static final String ENTITY_NAME = "ActiveIngredients";
+
+    public static final int MAX_BULK_SIZE = 200;
+
+    private final ActiveIngredientsRepository activeRepo;
+    private final ActiveIngredientAdverseEffectsRepository adverseEffectsRepo;
+    private final ActiveIngredientContraindicationsRepository contraindicationsRepo;
+    private final ActiveIngredientDrugInteractionsRepository drugInteractionsRepo;
+    private final ActiveIngredientFoodInteractionsRepository foodInteractionsRepo;
+    private final ActiveIngredientIndicationsRepository indicationsRepo;
+    private final ActiveIngredientPreRequestedTestRepository preRequestedTestRepo;
+    private final ActiveIngredientSpecialPopulationsRepository specialPopulationsRepo;
+    private final ActiveIngredientSynonymsRepository synonymsRepo;
+    private final CacheManager cacheManager;
+
+    // Bumped by every eviction, so monographs loaded while one happened are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public ActiveIngredientMonographService(
+            ActiveIngredientsRepository activeRepo,
+            ActiveIngredientAdverseEffectsRepository adverseEffectsRepo,
+            ActiveIngredientContraindicationsRepository contraindicationsRepo,
+            ActiveIngredientDrugInteractionsRepository drugInteractionsRepo,
+            ActiveIngredientFoodInteractionsRepository foodInteractionsRepo,
+            ActiveIngredientIndicationsRepository indicationsRepo,
+            ActiveIngredientPreRequestedTestRepository preRequestedTestRepo,
+            ActiveIngredientSpecialPopulationsRepository specialPopulationsRepo,
+            ActiveIngredientSynonymsRepository synonymsRepo,
+            CacheManager cacheManager
+    ) {
+        this.activeRepo = activeRepo;
+        this.adverseEffectsRepo = adverseEffectsRepo;
+        this.contraindicationsRepo = contraindicationsRepo;
+        this.drugInteractionsRepo = drugInteractionsRepo;
+        this.foodInteractionsRepo = foodInteractionsRepo;
+        this.indicationsRepo = indicationsRepo;
+        this.preRequestedTestRepo = preRequestedTestRepo;
+        this.specialPopulationsRepo = specialPopulationsRepo;
+        this.synonymsRepo = synonymsRepo;
+        this.cacheManager = cacheManager;
+    }
+
+    public Optional<ActiveIngredientMonographVM> findOne(Long activeIngredientId) {
+        LOG.debug("get monograph for active ingredient: id={}", activeIngredientId);
+        return findAll(List.of(activeIngredientId)).stream().findFirst();
+    }
+
+    /**
+     * Get the monographs of several active ingredients.
+     *
+     * @param activeIngredientIds the ingredient ids, at most {@link #MAX_BULK_SIZE}.
+     * @return the monographs in request order; unknown ids are skipped.
+     */
+    public List<ActiveIngredientMonographVM> findAll(Collection<Long> activeIngredientIds) {
+        Set<Long> ids = new LinkedHashSet<>(activeIngredientIds);
+        ids.remove(null);
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new BadRequestAlertException(
+                    "At most " + MAX_BULK_SIZE + " active ingredients can be requested at once",
+                    ENTITY_NAME,
+                    "monograph.tooManyIds"
+            );
+        }
+        LOG.debug("get monographs for active ingredients: ids={}", ids);
+
+        Cache cache = cacheManager.getCache(ActiveIngredientsRepository.MONOGRAPHS);
+        Map<Long, ActiveIngredientMonographVM> found = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            ActiveIngredientMonographVM cached = cache != null ? cache.get(id, ActiveIngredientMonographVM.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            long startedAt = generation.get();
+            List<ActiveIngredientMonographVM> loaded = load(misses);
+            for (ActiveIngredientMonographVM monograph : loaded) {
+                found.put(monograph.activeIngredient().id(), monograph);
+            }
+            if (cache != null) {
+                store(cache, loaded, startedAt);
+            }
+        }
+
+        List<ActiveIngredientMonographVM> result = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ActiveIngredientMonographVM monograph = found.get(id);
+            if (monograph != null) {
+                result.add(monograph);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop the monographs of the given ingredients once the current transaction commits.
+     */
+    public void evict(Long... activeIngredientIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop(activeIngredientIds);
+                }
+            });
+        } else {
+            drop(activeIngredientIds);
+        }
+    }
+
+    // Helpers
+
+    private void drop(Long... activeIngredientIds) {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(ActiveIngredientsRepository.MONOGRAPHS);
+        if (cache == null) {
+            return;
+        }
+        for (Long id : activeIngredientIds) {
+            if (id != null) {
+                LOG.debug("evict monograph for active ingredient: id={}", id);
+                cache.evictIfPresent(id);
+            }
+        }
+    }
+
+    /**
+     * Cache loaded monographs unless an eviction happened since {@code startedAt}. The generation is checked again
+     * after writing, as an eviction can also land between the check and the write. Entries are written and removed
+     * immediately, not at the end of the reading transaction.
+     */
+    private void store(Cache cache, List<ActiveIngredientMonographVM> monographs, long startedAt) {
+        if (generation.get() != startedAt) {
+            LOG.debug("monographs evicted while being loaded, not cached");
+            return;
+        }
+        for (ActiveIngredientMonographVM monograph : monographs) {
+            cache.putIfAbsent(monograph.activeIngredient().id(), monograph);
+        }
+        if (generation.get() != startedAt) {
+            for (ActiveIngredientMonographVM monograph : monographs) {
+                cache.evictIfPresent(monograph.activeIngredient().id());
+            }
+        }
+    }
+
+    private List<ActiveIngredientMonographVM> load(List<Long> ids) {
+        List<ActiveIngredients> ingredients = activeRepo.findAllById(ids);
+        if (ingredients.isEmpty()) {
+            return List.of();
+        }
+        List<Long> existing = ingredients.stream().map(ActiveIngredients::getId).toList();
+
+        Map<Long, List<ActiveIngredientAdverseEffectsResponseVM>> adverseEffects = group(
+                adverseEffectsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientAdverseEffectsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientContraindicationsResponseVM>> contraindications = group(
+                contraindicationsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientContraindicationsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientDrugInteractionsResponseVM>> drugInteractions = group(
+                drugInteractionsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientDrugInteractionsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientFoodInteractionsResponseVM>> foodInteractions = group(
+                foodInteractionsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientFoodInteractionsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientIndicationsResponseVM>> indications = group(
+                indicationsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientIndicationsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientPreRequestedTestResponseVM>> preRequestedTests = group(
+                preRequestedTestRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientPreRequestedTestResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientSpecialPopulationsResponseVM>> specialPopulations = group(
+                specialPopulationsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientSpecialPopulationsResponseVM::ofEntity);
+        Map<Long, List<ActiveIngredientSynonymsResponseVM>> synonyms = group(
+                synonymsRepo.findByActiveIngredientIdIn(existing),
+                e -> e.getActiveIngredient().getId(), ActiveIngredientSynonymsResponseVM::ofEntity);
+
+        return ingredients.stream()
+                .map(ingredient -> {
+                    Long id = ingredient.getId();
+                    return new ActiveIngredientMonographVM(
+                            ActiveIngredientsResponseVM.ofEntity(ingredient),
+                            adverseEffects.getOrDefault(id, List.of()),
+                            contraindications.getOrDefault(id, List.of()),
+                            drugInteractions.getOrDefault(id, List.of()),
+                            foodInteractions.getOrDefault(id, List.of()),
+                            indications.getOrDefault(id, List.of()),
+                            preRequestedTests.getOrDefault(id, List.of()),
+                            specialPopulations.getOrDefault(id, List.of()),
+                            synonyms.getOrDefault(id, List.of())
+                    );
+                })
+                .toList();
+    }
+
+    private static <E, V> Map<Long, List<V>> group(List<E> rows, Function<E, Long> ingredientId, Function<E, V> mapper) {
+        return rows.stream().collect(Collectors.groupingBy(
+                ingredientId,
+                Collectors.mapping(mapper, Collectors.toList())
+        ));
+    }
+}
@@ -25,19 +25,22 @@ public class ActiveIngredientPreRequestedTestService {
     private final ActiveIngredientPreRequestedTestRepository preRequestedTestRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
     private final DiagnosticTestRepository diagnosticTestRepository;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientPreRequestedTest";
 
-    public ActiveIngredientPreRequestedTestService(ActiveIngredientPreRequestedTestRepository preRequestedTestRepository, ActiveIngredientsRepository activeIngredientsRepo, DiagnosticTestRepository diagnosticTestRepository) {
+    public ActiveIngredientPreRequestedTestService(ActiveIngredientPreRequestedTestRepository preRequestedTestRepository, ActiveIngredientsRepository activeIngredientsRepo, DiagnosticTestRepository diagnosticTestRepository, ActiveIngredientMonographService monographService) {
         this.preRequestedTestRepository = preRequestedTestRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
         this.diagnosticTestRepository = diagnosticTestRepository;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientPreRequestedTest create(ActiveIngredientPreRequestedTestCreateVM createVM) {
         LOG.debug("create active ingredient pre-requested test {}", createVM);
         ActiveIngredientPreRequestedTest entity = toEntityForCreate(createVM);
         ActiveIngredientPreRequestedTest saved = preRequestedTestRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -50,8 +53,10 @@ public class ActiveIngredientPreRequestedTestService {
                         ENTITY_NAME,
                         "notfound"
                 ));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, updateVM);
         ActiveIngredientPreRequestedTest saved = preRequestedTestRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -65,6 +70,7 @@ public class ActiveIngredientPreRequestedTestService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete active ingredient pre-requested test by id : '{}'", id);
+        preRequestedTestRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         preRequestedTestRepository.deleteById(id);
     }
 
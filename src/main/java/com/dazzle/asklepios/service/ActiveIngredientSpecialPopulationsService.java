@@ -22,18 +22,21 @@ public class ActiveIngredientSpecialPopulationsService {
 
     private final ActiveIngredientSpecialPopulationsRepository specialPopulationsRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientSpecialPopulations";
 
-    public ActiveIngredientSpecialPopulationsService(ActiveIngredientSpecialPopulationsRepository specialPopulationsRepository, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientSpecialPopulationsService(ActiveIngredientSpecialPopulationsRepository specialPopulationsRepository, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.specialPopulationsRepository = specialPopulationsRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientSpecialPopulations create(ActiveIngredientSpecialPopulationsCreateVM vm) {
         LOG.debug("create ActiveIngredientSpecialPopulations {}", vm);
         ActiveIngredientSpecialPopulations entity = toEntityForCreate(vm);
         ActiveIngredientSpecialPopulations saved = specialPopulationsRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -42,8 +45,10 @@ public class ActiveIngredientSpecialPopulationsService {
         LOG.debug("update ActiveIngredientSpecialPopulations: {}", vm);
         ActiveIngredientSpecialPopulations entity = specialPopulationsRepository.findById(vm.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientSpecialPopulations not found: " + vm.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, vm);
         ActiveIngredientSpecialPopulations saved = specialPopulationsRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -57,6 +62,7 @@ public class ActiveIngredientSpecialPopulationsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete ActiveIngredientSpecialPopulations id={}", id);
+        specialPopulationsRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         specialPopulationsRepository.deleteById(id);
     }
 
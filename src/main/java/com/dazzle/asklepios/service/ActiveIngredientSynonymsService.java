@@ -21,18 +21,21 @@ public class ActiveIngredientSynonymsService {
 
     private final ActiveIngredientSynonymsRepository activeIngredientSynonymsRepository;
     private final ActiveIngredientsRepository activeIngredientsRepo;
+    private final ActiveIngredientMonographService monographService;
 
     private static final String ENTITY_NAME = "ActiveIngredientSynonyms";
 
-    public ActiveIngredientSynonymsService(ActiveIngredientSynonymsRepository activeIngredientSynonymsRepository, ActiveIngredientsRepository activeIngredientsRepo) {
+    public ActiveIngredientSynonymsService(ActiveIngredientSynonymsRepository activeIngredientSynonymsRepository, ActiveIngredientsRepository activeIngredientsRepo, ActiveIngredientMonographService monographService) {
         this.activeIngredientSynonymsRepository = activeIngredientSynonymsRepository;
         this.activeIngredientsRepo = activeIngredientsRepo;
+        this.monographService = monographService;
     }
 
     public ActiveIngredientSynonyms create(ActiveIngredientSynonymsCreateVM activeIngredientSynonymsCreateVM) {
         LOG.debug("create active ingredient synonyms {}", activeIngredientSynonymsCreateVM);
         ActiveIngredientSynonyms entity = toEntityForCreate(activeIngredientSynonymsCreateVM);
         ActiveIngredientSynonyms saved = activeIngredientSynonymsRepository.save(entity);
+        monographService.evict(saved.getActiveIngredient().getId());
         LOG.debug("create: saved id={}", saved.getId());
         return saved;
     }
@@ -41,8 +44,10 @@ public class ActiveIngredientSynonymsService {
         LOG.debug("update active ingredient synonyms : {} ", activeIngredientSynonymsUpdateVM);
         ActiveIngredientSynonyms entity = activeIngredientSynonymsRepository.findById(activeIngredientSynonymsUpdateVM.id())
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredientSynonyms not found: " + activeIngredientSynonymsUpdateVM.id(), ENTITY_NAME, "notfound"));
+        Long previousActiveIngredientId = entity.getActiveIngredient().getId();
         applyUpdate(entity, activeIngredientSynonymsUpdateVM);
         ActiveIngredientSynonyms saved = activeIngredientSynonymsRepository.save(entity);
+        monographService.evict(previousActiveIngredientId, saved.getActiveIngredient().getId());
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
     }
@@ -56,6 +61,7 @@ public class ActiveIngredientSynonymsService {
     @Transactional
     public void hardDelete(Long id) {
         LOG.debug("delete active ingredient synonyms by id : '{}'", id);
+        activeIngredientSynonymsRepository.findById(id).ifPresent(e -> monographService.evict(e.getActiveIngredient().getId()));
         activeIngredientSynonymsRepository.deleteById(id);
     }
 
@@ -2,6 +2,7 @@ package com.dazzle.asklepios.service;
 
 import com.dazzle.asklepios.domain.ActiveIngredients;
 import com.dazzle.asklepios.domain.MedicationCategoriesClass;
+import com.dazzle.asklepios.repository.ActiveIngredientSummary;
 import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
 import com.dazzle.asklepios.repository.MedicationCategoriesClassRepository;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
@@ -29,13 +30,22 @@ public class ActiveIngredientsService {
 
     private final ActiveIngredientsRepository activeRepo;
     private final MedicationCategoriesClassRepository classRepo;
+    private final ActiveIngredientMonographService monographService;
+    private final MedicationCategoryHierarchyService hierarchyService;
 
     private static final String ENTITY_NAME = "ActiveIngredients";
 
 
-    public ActiveIngredientsService(ActiveIngredientsRepository activeRepo, MedicationCategoriesClassRepository classRepo) {
+    public ActiveIngredientsService(
+            ActiveIngredientsRepository activeRepo,
+            MedicationCategoriesClassRepository classRepo,
+            ActiveIngredientMonographService monographService,
+            MedicationCategoryHierarchyService hierarchyService
+    ) {
         this.activeRepo = activeRepo;
         this.classRepo = classRepo;
+        this.monographService = monographService;
+        this.hierarchyService = hierarchyService;
     }
 
     public ActiveIngredients create(ActiveIngredientsCreateVM activeIngredientsCreateVM) {
@@ -43,6 +53,7 @@ public class ActiveIngredientsService {
         ActiveIngredients entity = toEntityForCreate(activeIngredientsCreateVM);
         try {
             ActiveIngredients activeIngredients = activeRepo.saveAndFlush(entity);
+            hierarchyService.evict();
             LOG.debug("create: saved id={}", activeIngredients.getId());
             return activeIngredients;
         } catch (DataIntegrityViolationException | JpaSystemException ex) {
@@ -74,6 +85,8 @@ public class ActiveIngredientsService {
         applyUpdate(entity, activeIngredientsUpdateVM);
        try{
            ActiveIngredients saved = activeRepo.save(entity);
+        monographService.evict(saved.getId());
+        hierarchyService.evict();
         LOG.debug("update: saved id={}", saved.getId());
         return saved;
        } catch (DataIntegrityViolationException | JpaSystemException ex) {
@@ -124,12 +137,37 @@ public class ActiveIngredientsService {
         return activeRepo.findByAtcCodeContainsIgnoreCase(atcCode, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ActiveIngredientSummary> getAllSummaries(Pageable pageable) {
+        LOG.debug("get active ingredient summaries: page={} size={}", pageable.getPageNumber(), pageable.getPageSize());
+        return activeRepo.findAllSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ActiveIngredientSummary> getSummariesByName(String name, Pageable pageable) {
+        LOG.debug("get active ingredient summaries by name : q='{}' page={} size={}", name, pageable.getPageNumber(), pageable.getPageSize());
+        return activeRepo.findSummariesByNameContainsIgnoreCase(name, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ActiveIngredientSummary> getSummariesByDrugClassIds(List<Long> drugClassIds, Pageable pageable) {
+        LOG.debug("get active ingredient summaries by drugClassId: drugClassId={} page={} size={}", drugClassIds, pageable.getPageNumber(), pageable.getPageSize());
+        return activeRepo.findSummariesByDrugClassIdIn(drugClassIds, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ActiveIngredientSummary> getSummariesByAtcCode(String atcCode, Pageable pageable) {
+        LOG.debug("get active ingredient summaries by atcCode: q='{}' page={} size={}", atcCode, pageable.getPageNumber(), pageable.getPageSize());
+        return activeRepo.findSummariesByAtcCodeContainsIgnoreCase(atcCode, pageable);
+    }
+
     public ActiveIngredients toggleActive(Long id) {
         LOG.debug("toggleActive for active ingredient: id={}", id);
         ActiveIngredients entity = activeRepo.findById(id)
                 .orElseThrow(() -> new NotFoundAlertException("ActiveIngredients not found: " + id, ENTITY_NAME, "notfound"));
         entity.setIsActive(Boolean.FALSE.equals(entity.getIsActive()));
         ActiveIngredients saved = activeRepo.save(entity);
+        monographService.evict(id);
         LOG.debug("toggleActive for active ingredient: id={} newIsActive={}", id, saved.getIsActive());
         return saved;
     }
@@ -38,6 +38,32 @@ public class AgeGroupService {
 
     public AgeGroup create(Long facilityId, AgeGroup incoming) {
         LOG.info("[CREATE] Request to create AgeGroup for facilityId={} payload={}", facilityId, incoming);
+        try {
+            AgeGroup saved = stageCreate(facilityId, incoming);
+            ageGroupRepository.flush();
+            LOG.info("Successfully created AgeGroup id={} label='{}' for facilityId={}", saved.getId(), saved.getAgeGroup(), facilityId);
+            return saved;
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw constraintViolation("creating", ex);
+        }
+    }
+
+    public Optional<AgeGroup> update(Long id, Long facilityId, AgeGroup incoming) {
+        LOG.info("[UPDATE] Request to update AgeGroup id={} facilityId={} payload={}", id, facilityId, incoming);
+        AgeGroup existing = stageUpdate(id, facilityId, incoming);
+        try {
+            AgeGroup updated = ageGroupRepository.saveAndFlush(existing);
+            LOG.info("Successfully updated AgeGroup id={} (label='{}')", updated.getId(), updated.getAgeGroup());
+            return Optional.of(updated);
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw constraintViolation("updating", ex);
+        }
+    }
+
+    /**
+     * Validates and persists a new age group without flushing; the identity insert still runs immediately.
+     */
+    AgeGroup stageCreate(Long facilityId, AgeGroup incoming) {
         if (facilityId == null) {
             throw new BadRequestAlertException("Facility id is required", "ageGroup", "facility.required");
         }
@@ -52,35 +78,13 @@ public class AgeGroupService {
                 .toAgeUnit(incoming.getToAgeUnit())
                 .facility(refFacility(facilityId))
                 .build();
-        try {
-            AgeGroup saved = ageGroupRepository.saveAndFlush(entity);
-            LOG.info("Successfully created AgeGroup id={} label='{}' for facilityId={}", saved.getId(), saved.getAgeGroup(), facilityId);
-            return saved;
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            Throwable root = getRootCause(ex);
-            String message = (root != null ? root.getMessage() : ex.getMessage()).toLowerCase();
-            LOG.error("Database constraint violation while creating AgeGroup: {}", message, ex);
-            if (message.contains("uq_facility_age_range") ||
-                    message.contains("uq_facility_age_group_label") ||
-                    message.contains("unique constraint") ||
-                    message.contains("duplicate key") ||
-                    message.contains("duplicate entry")) {
-                throw new BadRequestAlertException(
-                        "An age group with the same name or age range already exists in this facility.",
-                        "ageGroup",
-                        "unique.facility.ageGroup"
-                );
-            }
-            throw new BadRequestAlertException(
-                    "Database constraint violated while creating age group (check facility, unique name, or required fields).",
-                    "ageGroup",
-                    "db.constraint"
-            );
-        }
+        return ageGroupRepository.save(entity);
     }
 
-    public Optional<AgeGroup> update(Long id, Long facilityId, AgeGroup incoming) {
-        LOG.info("[UPDATE] Request to update AgeGroup id={} facilityId={} payload={}", id, facilityId, incoming);
+    /**
+     * Validates and applies an update to the managed age group, left for the next flush.
+     */
+    AgeGroup stageUpdate(Long id, Long facilityId, AgeGroup incoming) {
         if (incoming == null) {
             throw new BadRequestAlertException("AgeGroup payload is required", "ageGroup", "payload.required");
         }
@@ -94,31 +98,29 @@ public class AgeGroupService {
         existing.setToAge(incoming.getToAge());
         existing.setFromAgeUnit(incoming.getFromAgeUnit());
         existing.setToAgeUnit(incoming.getToAgeUnit());
-        try {
-            AgeGroup updated = ageGroupRepository.saveAndFlush(existing);
-            LOG.info("Successfully updated AgeGroup id={} (label='{}')", updated.getId(), updated.getAgeGroup());
-            return Optional.of(updated);
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            Throwable root = getRootCause(ex);
-            String message = (root != null ? root.getMessage() : ex.getMessage()).toLowerCase();
-            LOG.error("Database constraint violation while updating AgeGroup: {}", message, ex);
-            if (message.contains("uq_facility_age_range") ||
-                    message.contains("uq_facility_age_group_label") ||
-                    message.contains("unique constraint") ||
-                    message.contains("duplicate key") ||
-                    message.contains("duplicate entry")) {
-                throw new BadRequestAlertException(
-                        "An age group with the same name or age range already exists in this facility.",
-                        "ageGroup",
-                        "unique.facility.ageGroup"
-                );
-            }
-            throw new BadRequestAlertException(
-                    "Database constraint violated while updating age group (check facility, unique name, or required fields).",
+        return existing;
+    }
+
+    BadRequestAlertException constraintViolation(String operation, RuntimeException ex) {
+        Throwable root = getRootCause(ex);
+        String message = String.valueOf(root != null ? root.getMessage() : ex.getMessage()).toLowerCase();
+        LOG.error("Database constraint violation while {} AgeGroup: {}", operation, message, ex);
+        if (message.contains("uq_facility_age_range") ||
+                message.contains("uq_facility_age_group_label") ||
+                message.contains("unique constraint") ||
+                message.contains("duplicate key") ||
+                message.contains("duplicate entry")) {
+            return new BadRequestAlertException(
+                    "An age group with the same name or age range already exists in this facility.",
                     "ageGroup",
-                    "db.constraint"
+                    "unique.facility.ageGroup"
             );
         }
+        return new BadRequestAlertException(
+                "Database constraint violated while " + operation + " age group (check facility, unique name, or required fields).",
+                "ageGroup",
+                "db.constraint"
+        );
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,192 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.AttachmentBlob;
+import com.dazzle.asklepios.repository.AttachmentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Content-addressed storage shared by the attachment services.
+ * <p>
+ * Uploads are stored under {@code blobs/<first two hex digits>/<sha256>} and reference-counted in
+ * {@code attachment_blobs}; content that is already referenced is not uploaded again.
+ * <p>
+ * The bucket is written before any transaction starts: writing a content key again is harmless, so the content is
+ * uploaded first, then the reference is taken and the attachment row saved in one short transaction. No database
+ * connection or {@code attachment_blobs} row lock is held during an upload. Content uploaded for a save that rolls
+ * back is left to the purge, as an unreferenced blob.
+ */
+@Service
+public class AttachmentBlobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentBlobService.class);
+
+    private static final String KEY_PREFIX = "blobs/";
+
+    private final AttachmentBlobRepository repo;
+    private final AttachmentStorageService storage;
+    private final TransactionTemplate transaction;
+
+    public AttachmentBlobService(AttachmentBlobRepository repo, AttachmentStorageService storage, PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.storage = storage;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param sha256   hex digest of the content.
+     * @param spaceKey bucket key of the content.
+     * @param uploaded whether this call uploaded the content, {@code false} for a duplicate.
+     */
+    public record StoredBlob(String sha256, String spaceKey, boolean uploaded) {}
+
+    /**
+     * Writes the content to the bucket.
+     */
+    @FunctionalInterface
+    private interface Upload {
+        void run() throws IOException;
+    }
+
+    /**
+     * Store a multipart upload, then save the attachment row.
+     *
+     * @param save saves the row pointing at the blob; runs in the transaction taking the reference.
+     * @return the result of {@code save}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public <T> T store(MultipartFile file, String mime, Function<StoredBlob, T> save) throws IOException {
+        long size = file.getSize();
+        // The multipart body is already spooled locally by the container, so hashing it is a local read.
+        String sha256;
+        try (InputStream in = file.getInputStream()) {
+            sha256 = sha256(in);
+        }
+        String key = key(sha256);
+        return store(sha256, key, mime, size, () -> {
+            try (InputStream in = file.getInputStream()) {
+                storage.put(key, mime, size, in);
+            }
+        }, save);
+    }
+
+    /**
+     * Store content streamed by {@link AttachmentStreamingUploadService}, then save the attachment row. Multipart
+     * content is copied from its staging key inside the bucket; the caller removes the staging object.
+     *
+     * @param save saves the row pointing at the blob; runs in the transaction taking the reference.
+     * @return the result of {@code save}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public <T> T store(AttachmentStreamingUploadService.StagedUpload staged, Function<StoredBlob, T> save) {
+        String key = key(staged.sha256());
+        Upload upload = staged.content() != null
+                ? () -> storage.put(key, staged.mimeType(), staged.size(), new ByteArrayInputStream(staged.content()))
+                : () -> storage.copy(staged.stagingKey(), key);
+        try {
+            return store(staged.sha256(), key, staged.mimeType(), staged.size(), upload, save);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drop one reference to a blob. Unreferenced objects stay in the bucket until they are purged.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String sha256) {
+        if (sha256 != null) {
+            repo.release(sha256);
+        }
+    }
+
+    // Helpers
+
+    /**
+     * Upload unless the content is already referenced, then take a reference and save in one transaction.
+     * <p>
+     * A blob row seen before the transaction may have been purged, with its object, by the time the reference is
+     * taken: the reference then inserts a new row, and the content is uploaded again while that row is locked. This
+     * only happens for content whose previous copy was just released, so uploads normally stay outside the
+     * transaction.
+     */
+    private <T> T store(String sha256, String key, String mime, long size, Upload upload, Function<StoredBlob, T> save)
+            throws IOException {
+        Optional<AttachmentBlob> seen = repo.findById(sha256);
+        boolean referenced = seen.map(blob -> blob.getReferenceCount() > 0).orElse(false);
+        if (!referenced) {
+            upload.run();
+            LOG.debug("uploaded attachment blob {} ({} bytes)", sha256, size);
+        } else {
+            LOG.debug("attachment blob {} already stored, upload skipped", sha256);
+        }
+        try {
+            return transaction.execute(status -> {
+                boolean inserted = repo.acquire(sha256, key, mime, size, Instant.now());
+                boolean uploaded = !referenced;
+                if (inserted && seen.isPresent()) {
+                    LOG.debug("attachment blob {} was purged before its reference was taken, uploading again", sha256);
+                    try {
+                        upload.run();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    uploaded = true;
+                }
+                return save.apply(new StoredBlob(sha256, key, uploaded));
+            });
+        } catch (RuntimeException e) {
+            if (!referenced) {
+                unreferenced(sha256, key, mime, size);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Record content uploaded for a save that failed, so the purge deletes it once nothing points at it.
+     */
+    private void unreferenced(String sha256, String key, String mime, long size) {
+        try {
+            transaction.executeWithoutResult(status -> repo.register(sha256, key, mime, size, Instant.now()));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not record unreferenced attachment blob {}: {}", sha256, e.getMessage());
+        }
+    }
+
+    private static String key(String sha256) {
+        return KEY_PREFIX + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
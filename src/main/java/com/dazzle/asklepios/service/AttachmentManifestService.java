@@ -0,0 +1,183 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.config.AttachmentManifestConfiguration;
+import com.dazzle.asklepios.domain.EncounterAttachments;
+import com.dazzle.asklepios.domain.InventoryTransactionAttachments;
+import com.dazzle.asklepios.domain.InventoryTransferAttachments;
+import com.dazzle.asklepios.domain.PatientAttachments;
+import com.dazzle.asklepios.domain.enumeration.AttachmentOwnerType;
+import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
+import com.dazzle.asklepios.repository.InventoryTransactionAttachmentsRepository;
+import com.dazzle.asklepios.repository.InventoryTransferAttachmentsRepository;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.attachment.manifest.AttachmentManifestEntryVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.manifest.AttachmentManifestVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Lists the live attachments of many owners with their download URLs in one call.
+ * <p>
+ * Rows are read with one query per owner type, each limited to what is left of {@link #MAX_ATTACHMENTS} plus one so an
+ * oversized request fails without loading every row. Presigning is pure CPU work (an HMAC per URL), so large
+ * manifests are signed in chunks on the {@code presignTaskExecutor}; when its queue is full the caller signs its own
+ * chunks.
+ */
+@Service
+public class AttachmentManifestService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentManifestService.class);
+
+    private static final String ENTITY_NAME = "attachmentManifest";
+
+    public static final int MAX_OWNER_IDS = 200;
+    public static final int MAX_ATTACHMENTS = 2000;
+
+    // Below this many URLs, handing chunks to the pool costs more than signing them on the request thread.
+    private static final int PARALLEL_THRESHOLD = 32;
+
+    private final PatientAttachmentsRepository patientRepo;
+    private final EncounterAttachementsRepository encounterRepo;
+    private final InventoryTransactionAttachmentsRepository inventoryTransactionRepo;
+    private final InventoryTransferAttachmentsRepository inventoryTransferRepo;
+    private final AttachmentStorageService storage;
+    private final AttachmentProperties props;
+    private final ThreadPoolTaskExecutor presignExecutor;
+
+    private record Row(
+            AttachmentOwnerType ownerType,
+            Long ownerId,
+            Long id,
+            String spaceKey,
+            String filename,
+            String mimeType,
+            long sizeBytes,
+            String type,
+            String details,
+            String source,
+            Instant createdDate
+    ) {}
+
+    public AttachmentManifestService(
+            PatientAttachmentsRepository patientRepo,
+            EncounterAttachementsRepository encounterRepo,
+            InventoryTransactionAttachmentsRepository inventoryTransactionRepo,
+            InventoryTransferAttachmentsRepository inventoryTransferRepo,
+            AttachmentStorageService storage,
+            AttachmentProperties props,
+            @Qualifier(AttachmentManifestConfiguration.PRESIGN_TASK_EXECUTOR) ThreadPoolTaskExecutor presignExecutor
+    ) {
+        this.patientRepo = patientRepo;
+        this.encounterRepo = encounterRepo;
+        this.inventoryTransactionRepo = inventoryTransactionRepo;
+        this.inventoryTransferRepo = inventoryTransferRepo;
+        this.storage = storage;
+        this.props = props;
+        this.presignExecutor = presignExecutor;
+    }
+
+    public AttachmentManifestVM manifest(
+            Collection<Long> patientIds,
+            Collection<Long> encounterIds,
+            Collection<Long> inventoryTransactionIds,
+            Collection<Long> inventoryTransferIds
+    ) {
+        int owners = size(patientIds) + size(encounterIds) + size(inventoryTransactionIds) + size(inventoryTransferIds);
+        LOG.debug("attachment manifest for {} owners", owners);
+        if (owners > MAX_OWNER_IDS) {
+            throw new BadRequestAlertException("At most " + MAX_OWNER_IDS + " owners can be requested at once", ENTITY_NAME, "tooManyIds");
+        }
+
+        List<Row> rows = new ArrayList<>();
+        if (size(patientIds) > 0) {
+            for (PatientAttachments a : patientRepo.findByPatientIdInAndDeletedAtIsNullOrderByCreatedDateDesc(patientIds, remaining(rows))) {
+                rows.add(new Row(AttachmentOwnerType.PATIENT, a.getPatientId(), a.getId(), a.getSpaceKey(), a.getFilename(),
+                        a.getMimeType(), a.getSizeBytes(), a.getType(), a.getDetails(), name(a.getSource()), a.getCreatedDate()));
+            }
+        }
+        if (size(encounterIds) > 0) {
+            for (EncounterAttachments a : encounterRepo.findByEncounterIdInAndDeletedAtIsNullOrderByCreatedDateDesc(encounterIds, remaining(rows))) {
+                rows.add(new Row(AttachmentOwnerType.ENCOUNTER, a.getEncounterId(), a.getId(), a.getSpaceKey(), a.getFilename(),
+                        a.getMimeType(), a.getSizeBytes(), a.getType(), a.getDetails(), name(a.getSource()), a.getCreatedDate()));
+            }
+        }
+        if (size(inventoryTransactionIds) > 0) {
+            for (InventoryTransactionAttachments a : inventoryTransactionRepo.findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(inventoryTransactionIds, remaining(rows))) {
+                rows.add(new Row(AttachmentOwnerType.INVENTORY_TRANSACTION, a.getTransactionId(), a.getId(), a.getSpaceKey(), a.getFilename(),
+                        a.getMimeType(), a.getSizeBytes(), null, null, null, a.getCreatedDate()));
+            }
+        }
+        if (size(inventoryTransferIds) > 0) {
+            for (InventoryTransferAttachments a : inventoryTransferRepo.findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(inventoryTransferIds, remaining(rows))) {
+                rows.add(new Row(AttachmentOwnerType.INVENTORY_TRANSFER, a.getTransactionId(), a.getId(), a.getSpaceKey(), a.getFilename(),
+                        a.getMimeType(), a.getSizeBytes(), null, null, null, a.getCreatedDate()));
+            }
+        }
+        checkSize(rows);
+
+        List<String> urls = presignAll(rows);
+        List<AttachmentManifestEntryVM> entries = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row r = rows.get(i);
+            entries.add(new AttachmentManifestEntryVM(r.ownerType(), r.ownerId(), r.id(), r.filename(), r.mimeType(), r.sizeBytes(),
+                    r.type(), r.details(), r.source(), r.createdDate(), urls.get(i)));
+        }
+        return new AttachmentManifestVM(entries, props.getPresignExpirySeconds());
+    }
+
+    // Helpers
+
+    private List<String> presignAll(List<Row> rows) {
+        if (rows.size() < PARALLEL_THRESHOLD) {
+            return rows.stream().map(this::presign).toList();
+        }
+        int chunkSize = props.getPresignPool().getChunkSize();
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<Row> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> chunk.stream().map(this::presign).toList(), presignExecutor));
+        }
+        List<String> urls = new ArrayList<>(rows.size());
+        chunks.forEach(chunk -> urls.addAll(chunk.join()));
+        return urls;
+    }
+
+    /**
+     * One row more than is left of {@link #MAX_ATTACHMENTS}, enough to tell the request is over it; an earlier query
+     * that already went over fails the request before the next one runs.
+     */
+    private static Limit remaining(List<Row> rows) {
+        checkSize(rows);
+        return Limit.of(MAX_ATTACHMENTS + 1 - rows.size());
+    }
+
+    private static void checkSize(List<Row> rows) {
+        if (rows.size() > MAX_ATTACHMENTS) {
+            throw new BadRequestAlertException("Too many attachments, request fewer owners at once", ENTITY_NAME, "tooManyAttachments");
+        }
+    }
+
+    private String presign(Row row) {
+        return storage.presignGet(row.spaceKey(), row.filename()).url().toString();
+    }
+
+    private static int size(Collection<Long> ids) {
+        return ids == null ? 0 : ids.size();
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,185 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.domain.AttachmentBlob;
+import com.dazzle.asklepios.repository.AttachmentBlobRepository;
+import com.dazzle.asklepios.repository.AttachmentPurgeCandidate;
+import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
+import com.dazzle.asklepios.repository.InventoryTransactionAttachmentsRepository;
+import com.dazzle.asklepios.repository.InventoryTransferAttachmentsRepository;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import com.dazzle.asklepios.repository.PurgeableAttachmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hard-deletes soft-deleted attachments and their bucket objects, one locked batch per transaction.
+ * <p>
+ * Objects stored before content addressing belong to a single row and are deleted with it. Content-addressed
+ * objects are shared, so they are deleted with their {@code attachment_blobs} row once no attachment row,
+ * soft-deleted or not, points at them. A row is only removed when all its objects were deleted, so a failed
+ * object is retried on the next run.
+ */
+@Service
+public class AttachmentPurgeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentPurgeService.class);
+
+    public static final String BLOBS_TABLE = "attachment_blobs";
+
+    private final Map<String, PurgeableAttachmentRepository<?>> tables = new LinkedHashMap<>();
+    private final AttachmentBlobRepository blobRepo;
+    private final AttachmentStorageService storage;
+    private final AttachmentProperties props;
+
+    /**
+     * Outcome of one batch.
+     *
+     * @param scanned rows locked, fewer than the limit once the table is exhausted.
+     * @param last    cursor to resume after, {@code null} if nothing was scanned.
+     * @param rows    rows deleted.
+     * @param objects bucket keys deleted, content and thumbnails, as passed to the storage; a thumbnail key that had
+     *                no object is counted too.
+     * @param bytes   size of the deleted content.
+     * @param failed  bucket objects that could not be deleted.
+     */
+    public record PurgeBatch<K>(int scanned, K last, int rows, int objects, long bytes, int failed) {}
+
+    public AttachmentPurgeService(
+            PatientAttachmentsRepository patientRepo,
+            EncounterAttachementsRepository encounterRepo,
+            InventoryTransactionAttachmentsRepository inventoryTransactionRepo,
+            InventoryTransferAttachmentsRepository inventoryTransferRepo,
+            AttachmentBlobRepository blobRepo,
+            AttachmentStorageService storage,
+            AttachmentProperties props
+    ) {
+        tables.put("patient_attachments", patientRepo);
+        tables.put("encounter_attachments", encounterRepo);
+        tables.put("inventory_transaction_attachments", inventoryTransactionRepo);
+        tables.put("inventory_transfer_attachments", inventoryTransferRepo);
+        this.blobRepo = blobRepo;
+        this.storage = storage;
+        this.props = props;
+    }
+
+    public Set<String> tables() {
+        return tables.keySet();
+    }
+
+    @Transactional
+    public PurgeBatch<Long> purgeAttachments(String table, Instant cutoff, long afterId, int limit) {
+        List<AttachmentPurgeCandidate> candidates = tables.get(table).findPurgeCandidates(cutoff, afterId, limit);
+        if (candidates.isEmpty()) {
+            return new PurgeBatch<>(0, null, 0, 0, 0, 0);
+        }
+
+        Map<Long, List<String>> ownedKeys = new LinkedHashMap<>();
+        for (AttachmentPurgeCandidate candidate : candidates) {
+            List<String> keys = new ArrayList<>();
+            if (candidate.getContentSha256() == null) {
+                keys.add(candidate.getSpaceKey());
+                if (Boolean.TRUE.equals(candidate.getThumbnailsGenerated())) {
+                    for (int size : props.getThumbnailSizes()) {
+                        keys.add(ProfilePictureThumbnailService.thumbnailKey(candidate.getSpaceKey(), null, size));
+                    }
+                }
+            }
+            ownedKeys.put(candidate.getId(), keys);
+        }
+        Set<String> failed = deleteObjects(ownedKeys.values());
+
+        List<Long> ids = new ArrayList<>();
+        int objects = 0;
+        long bytes = 0;
+        for (AttachmentPurgeCandidate candidate : candidates) {
+            List<String> keys = ownedKeys.get(candidate.getId());
+            if (keys.stream().noneMatch(failed::contains)) {
+                ids.add(candidate.getId());
+                objects += keys.size();
+                if (!keys.isEmpty()) {
+                    bytes += candidate.getSizeBytes();
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            tables.get(table).deleteAllByIdInBatch(ids);
+        }
+        LOG.debug("purged {} of {} soft-deleted rows from {}", ids.size(), candidates.size(), table);
+        return new PurgeBatch<>(candidates.size(), candidates.get(candidates.size() - 1).getId(), ids.size(), objects, bytes, failed.size());
+    }
+
+    @Transactional
+    public PurgeBatch<String> purgeBlobs(String afterSha256, int limit) {
+        List<AttachmentBlob> candidates = blobRepo.findPurgeCandidates(afterSha256, limit);
+        if (candidates.isEmpty()) {
+            return new PurgeBatch<>(0, null, 0, 0, 0, 0);
+        }
+
+        Map<String, List<String>> ownedKeys = new LinkedHashMap<>();
+        for (AttachmentBlob blob : candidates) {
+            List<String> keys = new ArrayList<>();
+            keys.add(blob.getSpaceKey());
+            // Only profile pictures have thumbnails; deleting a missing key is a no-op for the bucket.
+            for (int size : props.getThumbnailSizes()) {
+                keys.add(ProfilePictureThumbnailService.thumbnailKey(blob.getSpaceKey(), blob.getSha256(), size));
+            }
+            ownedKeys.put(blob.getSha256(), keys);
+        }
+        Set<String> failed = deleteObjects(ownedKeys.values());
+
+        List<String> digests = new ArrayList<>();
+        int objects = 0;
+        long bytes = 0;
+        for (AttachmentBlob blob : candidates) {
+            List<String> keys = ownedKeys.get(blob.getSha256());
+            if (keys.stream().noneMatch(failed::contains)) {
+                digests.add(blob.getSha256());
+                objects += keys.size();
+                bytes += blob.getSizeBytes();
+            }
+        }
+        if (!digests.isEmpty()) {
+            blobRepo.deleteAllByIdInBatch(digests);
+        }
+        LOG.debug("purged {} of {} unreferenced attachment blobs", digests.size(), candidates.size());
+        return new PurgeBatch<>(candidates.size(), candidates.get(candidates.size() - 1).getSha256(), digests.size(), objects, bytes, failed.size());
+    }
+
+    /**
+     * @return how long the oldest soft-deleted row of {@code table} has been past {@code cutoff}.
+     */
+    @Transactional(readOnly = true)
+    public Duration lag(String table, Instant cutoff) {
+        return tables.get(table).findOldestDeletedAt()
+                .filter(oldest -> oldest.isBefore(cutoff))
+                .map(oldest -> Duration.between(oldest, cutoff))
+                .orElse(Duration.ZERO);
+    }
+
+    // Helpers
+
+    private Set<String> deleteObjects(Iterable<List<String>> keyGroups) {
+        List<String> keys = new ArrayList<>();
+        keyGroups.forEach(keys::addAll);
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> failed = new HashSet<>(storage.deleteAll(keys));
+        if (!failed.isEmpty()) {
+            LOG.warn("Could not delete {} of {} purged attachment objects, retrying on next run", failed.size(), keys.size());
+        }
+        return failed;
+    }
+}
@@ -3,13 +3,21 @@ package com.dazzle.asklepios.service;
 import com.dazzle.asklepios.attachments.AttachmentProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
@@ -19,11 +27,18 @@ import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignReques
 
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class AttachmentStorageService {
+
+    /** Upper bound of keys accepted by one S3 {@code DeleteObjects} call. */
+    public static final int MAX_DELETE_KEYS = 1000;
+
     private final S3Client s3;
     private final S3Presigner presigner;
     private final AttachmentProperties props;
@@ -39,6 +54,17 @@ public class AttachmentStorageService {
                 RequestBody.fromInputStream(in, size)
         );
     }
+
+    /**
+     * Server-side copy within the bucket; content type and metadata are copied along.
+     */
+    public void copy(String sourceKey, String targetKey) {
+        s3.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(props.getBucket()).sourceKey(sourceKey)
+                .destinationBucket(props.getBucket()).destinationKey(targetKey)
+                .build());
+    }
+
     public PresignedPutObjectRequest presignPut(String key, String mime, long size) {
         PutObjectRequest put = PutObjectRequest.builder()
                 .bucket(props.getBucket()).key(key)
@@ -59,6 +85,11 @@ public class AttachmentStorageService {
                 .getObjectRequest(get).build());
     }
 
+    public ResponseInputStream<GetObjectResponse> open(String key) {
+        return s3.getObject(GetObjectRequest.builder()
+                .bucket(props.getBucket()).key(key).build());
+    }
+
     public HeadObjectResponse head(String key) {
         return s3.headObject(HeadObjectRequest.builder()
                 .bucket(props.getBucket()).key(key).build());
@@ -68,4 +99,25 @@ public class AttachmentStorageService {
         s3.deleteObject(DeleteObjectRequest.builder()
                 .bucket(props.getBucket()).key(key).build());
     }
+
+    /**
+     * Delete many objects with as few {@code DeleteObjects} calls as possible. Missing keys count as deleted.
+     *
+     * @return the keys that could not be deleted.
+     */
+    public List<String> deleteAll(Collection<String> keys) {
+        List<String> all = new ArrayList<>(keys);
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_DELETE_KEYS) {
+            List<ObjectIdentifier> objects = all.subList(from, Math.min(from + MAX_DELETE_KEYS, all.size())).stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+            DeleteObjectsResponse response = s3.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(props.getBucket())
+                    .delete(Delete.builder().objects(objects).quiet(true).build())
+                    .build());
+            response.errors().stream().map(S3Error::key).forEach(failed::add);
+        }
+        return failed;
+    }
 }
@@ -0,0 +1,184 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.attachments.MimeTypeSniffer;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Streams a raw request body into the bucket without a {@code MultipartFile} or temporary file.
+ * <p>
+ * The body is read in {@code streamingPartSize} chunks. A body fitting in one chunk stays in memory; a larger one is
+ * sent to a staging key as an S3 multipart upload, with at most {@code streamingMaxInFlightParts} parts in flight
+ * while the next one is read, so an upload holds a bounded number of chunks whatever its size. The type is checked
+ * against the content and the size limit enforced while reading. The staged content is then handed to
+ * {@link AttachmentBlobService#store(StagedUpload, Function)} by the attachment service, and the staging object
+ * removed.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttachmentStreamingUploadService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentStreamingUploadService.class);
+
+    private static final String STAGING_PREFIX = "uploads/";
+
+    private final S3AsyncClient s3;
+    private final AttachmentStorageService storage;
+    private final AttachmentProperties props;
+
+    /**
+     * Content read from a request body.
+     *
+     * @param content    the whole content if it fitted in one part, otherwise {@code null}.
+     * @param stagingKey bucket key of the multipart upload if the content did not fit in one part.
+     */
+    public record StagedUpload(String sha256, String mimeType, long size, byte[] content, String stagingKey) {}
+
+    /**
+     * Stage the body, let {@code save} store the blob and the attachment row, then drop the staging object.
+     *
+     * @param save usually an attachment service method storing the content with {@link AttachmentBlobService}.
+     */
+    public <T> T upload(InputStream body, String contentType, long contentLength, String entityName, Function<StagedUpload, T> save)
+            throws IOException {
+        StagedUpload staged = stage(body, contentType, contentLength, entityName);
+        try {
+            return save.apply(staged);
+        } finally {
+            discard(staged);
+        }
+    }
+
+    public static String safeFilename(String name) {
+        if (name == null || name.isBlank()) return "file";
+        return name.replaceAll("[^\\w.\\- ]", "_");
+    }
+
+    StagedUpload stage(InputStream body, String contentType, long contentLength, String entityName) throws IOException {
+        String mime = contentType == null ? "application/octet-stream" : contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (!props.getAllowed().contains(mime)) {
+            throw new BadRequestAlertException("Unsupported file type", entityName, "unsupported_type");
+        }
+        if (contentLength > props.getMaxBytes()) {
+            throw new BadRequestAlertException("File too large", entityName, "too_large");
+        }
+
+        int partSize = props.getStreamingPartSize();
+        byte[] part = body.readNBytes(partSize);
+        if (part.length == 0) {
+            throw new BadRequestAlertException("No file provided", entityName, "no_file");
+        }
+        if (!MimeTypeSniffer.matches(mime, part)) {
+            throw new BadRequestAlertException("File content does not match its type", entityName, "unsupported_type");
+        }
+        MessageDigest digest = sha256();
+        if (part.length < partSize) {
+            if (part.length > props.getMaxBytes()) {
+                throw new BadRequestAlertException("File too large", entityName, "too_large");
+            }
+            digest.update(part);
+            return new StagedUpload(HexFormat.of().formatHex(digest.digest()), mime, part.length, part, null);
+        }
+
+        String key = STAGING_PREFIX + UUID.randomUUID();
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(props.getBucket()).key(key).contentType(mime).build()).join().uploadId();
+        Semaphore inFlight = new Semaphore(props.getStreamingMaxInFlightParts());
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        long size = 0;
+        try {
+            do {
+                size += part.length;
+                if (size > props.getMaxBytes()) {
+                    throw new BadRequestAlertException("File too large", entityName, "too_large");
+                }
+                digest.update(part);
+                inFlight.acquire();
+                parts.add(uploadPart(key, uploadId, parts.size() + 1, part).whenComplete((p, e) -> inFlight.release()));
+                // Stop reading as soon as a part is rejected instead of draining the rest of the body.
+                parts.stream().filter(CompletableFuture::isCompletedExceptionally).findFirst().ifPresent(CompletableFuture::join);
+                part = body.readNBytes(partSize);
+            } while (part.length > 0);
+
+            List<CompletedPart> completed = parts.stream().map(CompletableFuture::join).toList();
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(props.getBucket()).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build()).join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(key, uploadId);
+            throw new IOException("Upload interrupted", e);
+        } catch (IOException | RuntimeException e) {
+            abort(key, uploadId);
+            throw e;
+        }
+        LOG.debug("streamed {} bytes in {} parts to {}", size, parts.size(), key);
+        return new StagedUpload(HexFormat.of().formatHex(digest.digest()), mime, size, null, key);
+    }
+
+    void discard(StagedUpload staged) {
+        if (staged.stagingKey() == null) {
+            return;
+        }
+        try {
+            storage.delete(staged.stagingKey());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not delete staged upload {}: {}", staged.stagingKey(), e.getMessage());
+        }
+    }
+
+    // Helpers
+
+    private CompletableFuture<CompletedPart> uploadPart(String key, String uploadId, int partNumber, byte[] bytes) {
+        UploadPartRequest request = UploadPartRequest.builder()
+                .bucket(props.getBucket()).key(key).uploadId(uploadId)
+                .partNumber(partNumber).contentLength((long) bytes.length)
+                .build();
+        // Each chunk is a fresh array that is never written again, so the SDK does not need its own copy.
+        return s3.uploadPart(request, AsyncRequestBody.fromBytesUnsafe(bytes))
+                .thenApply(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+    }
+
+    private void abort(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(props.getBucket()).key(key).uploadId(uploadId).build()).join();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not abort multipart upload {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
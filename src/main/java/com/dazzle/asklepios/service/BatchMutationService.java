@@ -0,0 +1,369 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.AgeGroup;
+import com.dazzle.asklepios.domain.ProcedureCoding;
+import com.dazzle.asklepios.domain.ServiceItems;
+import com.dazzle.asklepios.domain.VaccineDoses;
+import com.dazzle.asklepios.domain.VisitDuration;
+import com.dazzle.asklepios.domain.enumeration.BatchAction;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.errors.BatchOperationException;
+import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
+import com.dazzle.asklepios.web.rest.vm.ServiceItemsCreateVM;
+import com.dazzle.asklepios.web.rest.vm.ServiceItemsUpdateVM;
+import com.dazzle.asklepios.web.rest.vm.ageGroup.AgeGroupCreateVM;
+import com.dazzle.asklepios.web.rest.vm.ageGroup.AgeGroupUpdateVM;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchOperationResultVM;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchOperationVM;
+import com.dazzle.asklepios.web.rest.vm.procedureCoding.ProcedureCodingCreateVM;
+import com.dazzle.asklepios.web.rest.vm.vaccineDoses.VaccineDosesCreateVM;
+import com.dazzle.asklepios.web.rest.vm.vaccineDoses.VaccineDosesUpdateVM;
+import com.dazzle.asklepios.web.rest.vm.visitDuration.VisitDurationCreateVM;
+import com.dazzle.asklepios.web.rest.vm.visitDuration.VisitDurationUpdateVM;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.ErrorResponseException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Applies an ordered list of create, update and delete operations on setup entities in one transaction.
+ * <p>
+ * The operations reuse the validation of the entity services but do not flush one by one: consecutive updates and
+ * deletes are left pending and written together, in JDBC batches. Inserts are never batched: the tables use identity
+ * keys, so Hibernate inserts on persist. Pending updates and deletes are therefore flushed before every create, so the
+ * statements reach the database in operation order (deleting a row and creating one with the same unique key works).
+ * <p>
+ * Errors raised while applying an operation are attributed to it directly. A constraint violation raised by a flush of
+ * pending operations cannot be, so the batch is then replayed, flushing after every operation, in a transaction that
+ * is always rolled back; such failures are rare, and the replay names the failing operation.
+ */
+@Service
+public class BatchMutationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchMutationService.class);
+
+    private static final String ENTITY_NAME = "batch";
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AgeGroupService ageGroupService;
+    private final VisitDurationService visitDurationService;
+    private final VaccineDosesService vaccineDosesService;
+    private final ServiceItemsService serviceItemsService;
+    private final ProcedureCodingService procedureCodingService;
+
+    public BatchMutationService(
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            Validator validator,
+            AgeGroupService ageGroupService,
+            VisitDurationService visitDurationService,
+            VaccineDosesService vaccineDosesService,
+            ServiceItemsService serviceItemsService,
+            ProcedureCodingService procedureCodingService
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ageGroupService = ageGroupService;
+        this.visitDurationService = visitDurationService;
+        this.vaccineDosesService = vaccineDosesService;
+        this.serviceItemsService = serviceItemsService;
+        this.procedureCodingService = procedureCodingService;
+    }
+
+    /**
+     * @return one result per operation, in order, once the whole batch is committed.
+     * @throws BatchOperationException if an operation fails; nothing is written.
+     */
+    public List<BatchOperationResultVM> execute(List<BatchOperationVM> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BadRequestAlertException("Batch cannot be empty", ENTITY_NAME, "listEmpty");
+        }
+        LOG.debug("Request to execute a batch of {} operations", operations.size());
+        try {
+            return transactionTemplate.execute(status -> run(operations, false));
+        } catch (DeferredFlushException e) {
+            LOG.info("Batch of {} operations failed on flush, replaying it to find the failing operation: {}",
+                    operations.size(), e.getCause().getMessage());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            run(operations, true);
+            status.setRollbackOnly();
+        });
+        // The replay went through: the conflicting row changed in between.
+        throw new BadRequestAlertException("Batch conflicted with a concurrent change, retry it", ENTITY_NAME, "batch.conflict");
+    }
+
+    private List<BatchOperationResultVM> run(List<BatchOperationVM> operations, boolean flushEach) {
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        List<BatchOperationResultVM> results = new ArrayList<>(operations.size());
+        boolean pending = false;
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperationVM operation = operations.get(index);
+            if (pending && operation.action() == BatchAction.CREATE) {
+                // The insert runs on persist; earlier updates and deletes must reach the database first
+                flushPending();
+                pending = false;
+            }
+            try {
+                Long id = apply(operation);
+                if (flushEach) {
+                    entityManager.flush();
+                } else if (operation.action() != BatchAction.CREATE) {
+                    pending = true;
+                }
+                results.add(new BatchOperationResultVM(index, operation.entity(), operation.action(), id));
+            } catch (ErrorResponseException e) {
+                throw BatchOperationException.of(index, e);
+            } catch (DataAccessException | PersistenceException e) {
+                throw BatchOperationException.of(index, constraintViolation(operation, e));
+            }
+        }
+        flushPending();
+        return results;
+    }
+
+    private void flushPending() {
+        try {
+            entityManager.flush();
+        } catch (DataAccessException | PersistenceException e) {
+            throw new DeferredFlushException(e);
+        }
+    }
+
+    private Long apply(BatchOperationVM operation) {
+        return switch (operation.entity()) {
+            case AGE_GROUP -> ageGroup(operation);
+            case VISIT_DURATION -> visitDuration(operation);
+            case VACCINE_DOSE -> vaccineDose(operation);
+            case SERVICE_ITEM -> serviceItem(operation);
+            case PROCEDURE_CODING -> procedureCoding(operation);
+        };
+    }
+
+    private Long ageGroup(BatchOperationVM operation) {
+        return switch (operation.action()) {
+            case CREATE -> {
+                AgeGroupCreateVM vm = payload(operation, AgeGroupCreateVM.class);
+                AgeGroup toCreate = AgeGroup.builder()
+                        .ageGroup(vm.ageGroup())
+                        .fromAge(vm.fromAge())
+                        .toAge(vm.toAge())
+                        .fromAgeUnit(vm.fromAgeUnit())
+                        .toAgeUnit(vm.toAgeUnit())
+                        .build();
+                yield ageGroupService.stageCreate(operation.parentId(), toCreate).getId();
+            }
+            case UPDATE -> {
+                AgeGroupUpdateVM vm = payload(operation, AgeGroupUpdateVM.class);
+                AgeGroup patch = new AgeGroup();
+                patch.setAgeGroup(vm.ageGroup());
+                patch.setFromAge(vm.fromAge());
+                patch.setToAge(vm.toAge());
+                patch.setFromAgeUnit(vm.fromAgeUnit());
+                patch.setToAgeUnit(vm.toAgeUnit());
+                yield ageGroupService.stageUpdate(requireId(operation), operation.parentId(), patch).getId();
+            }
+            case DELETE -> {
+                if (!ageGroupService.delete(requireId(operation))) {
+                    throw new NotFoundAlertException("AgeGroup not found with id " + operation.id(), "ageGroup", "notfound");
+                }
+                yield operation.id();
+            }
+        };
+    }
+
+    private Long visitDuration(BatchOperationVM operation) {
+        return switch (operation.action()) {
+            case CREATE -> {
+                VisitDurationCreateVM vm = payload(operation, VisitDurationCreateVM.class);
+                VisitDuration toCreate = VisitDuration.builder()
+                        .visitType(vm.visitType())
+                        .durationInMinutes(vm.durationInMinutes())
+                        .resourceSpecific(vm.resourceSpecific())
+                        .build();
+                yield visitDurationService.stageCreate(toCreate).getId();
+            }
+            case UPDATE -> {
+                VisitDurationUpdateVM vm = payload(operation, VisitDurationUpdateVM.class);
+                VisitDuration patch = new VisitDuration();
+                patch.setVisitType(vm.visitType());
+                patch.setDurationInMinutes(vm.durationInMinutes());
+                patch.setResourceSpecific(vm.resourceSpecific());
+                yield visitDurationService.stageUpdate(requireId(operation), patch).getId();
+            }
+            case DELETE -> {
+                if (!visitDurationService.delete(requireId(operation))) {
+                    throw new NotFoundAlertException("VisitDuration not found with id " + operation.id(), "visitDuration", "notfound");
+                }
+                yield operation.id();
+            }
+        };
+    }
+
+    private Long vaccineDose(BatchOperationVM operation) {
+        return switch (operation.action()) {
+            case CREATE -> {
+                VaccineDosesCreateVM vm = payload(operation, VaccineDosesCreateVM.class);
+                VaccineDoses toCreate = VaccineDoses.builder()
+                        .doseNumber(vm.doseNumber())
+                        .fromAge(vm.fromAge())
+                        .toAge(vm.toAge())
+                        .fromAgeUnit(vm.fromAgeUnit())
+                        .toAgeUnit(vm.toAgeUnit())
+                        .isBooster(Boolean.TRUE.equals(vm.isBooster()))
+                        .isActive(Boolean.TRUE.equals(vm.isActive()))
+                        .build();
+                yield vaccineDosesService.stageCreate(operation.parentId(), toCreate).getId();
+            }
+            case UPDATE -> {
+                VaccineDosesUpdateVM vm = payload(operation, VaccineDosesUpdateVM.class);
+                VaccineDoses patch = new VaccineDoses();
+                patch.setDoseNumber(vm.doseNumber());
+                patch.setFromAge(vm.fromAge());
+                patch.setToAge(vm.toAge());
+                patch.setFromAgeUnit(vm.fromAgeUnit());
+                patch.setToAgeUnit(vm.toAgeUnit());
+                patch.setIsBooster(vm.isBooster());
+                patch.setIsActive(vm.isActive());
+                yield vaccineDosesService.stageUpdate(requireId(operation), patch).getId();
+            }
+            case DELETE -> throw unsupported(operation);
+        };
+    }
+
+    private Long serviceItem(BatchOperationVM operation) {
+        return switch (operation.action()) {
+            case CREATE -> {
+                ServiceItemsCreateVM vm = payload(operation, ServiceItemsCreateVM.class);
+                ServiceItems toCreate = ServiceItems.builder()
+                        .type(vm.type())
+                        .sourceId(vm.sourceId())
+                        .isActive(vm.isActive() != null ? vm.isActive() : Boolean.TRUE)
+                        .build();
+                yield serviceItemsService.stageCreate(vm.serviceId(), toCreate).getId();
+            }
+            case UPDATE -> {
+                ServiceItemsUpdateVM vm = payload(operation, ServiceItemsUpdateVM.class);
+                yield serviceItemsService.stageUpdate(requireId(operation), vm.serviceId()).getId();
+            }
+            case DELETE -> {
+                serviceItemsService.delete(requireId(operation));
+                yield operation.id();
+            }
+        };
+    }
+
+    private Long procedureCoding(BatchOperationVM operation) {
+        return switch (operation.action()) {
+            case CREATE -> {
+                ProcedureCodingCreateVM vm = payload(operation, ProcedureCodingCreateVM.class);
+                ProcedureCoding toCreate = ProcedureCoding.builder()
+                        .codeType(vm.codeType())
+                        .codeId(vm.codeId())
+                        .build();
+                yield procedureCodingService.stageCreate(operation.parentId(), toCreate).getId();
+            }
+            case UPDATE -> throw unsupported(operation);
+            case DELETE -> {
+                procedureCodingService.delete(requireId(operation));
+                yield operation.id();
+            }
+        };
+    }
+
+    private BadRequestAlertException constraintViolation(BatchOperationVM operation, RuntimeException ex) {
+        String verb = switch (operation.action()) {
+            case CREATE -> "creating";
+            case UPDATE -> "updating";
+            case DELETE -> "deleting";
+        };
+        return switch (operation.entity()) {
+            case AGE_GROUP -> ageGroupService.constraintViolation(verb, ex);
+            case VISIT_DURATION -> visitDurationService.handleConstraintViolationOnSave(operation.action().name().toLowerCase(Locale.ROOT), ex);
+            case VACCINE_DOSE -> vaccineDosesService.handleConstraintViolation(ex);
+            case SERVICE_ITEM -> serviceItemsService.constraintViolation(verb, ex);
+            case PROCEDURE_CODING -> procedureCodingService.constraintViolation(ex);
+        };
+    }
+
+    // Helpers
+
+    /**
+     * Reads and validates the payload as the body of the entity's own endpoint; on update, the operation's id fills
+     * the payload's when it is missing.
+     */
+    private <T> T payload(BatchOperationVM operation, Class<T> type) {
+        if (operation.payload() == null || !operation.payload().isObject()) {
+            throw new BadRequestAlertException("Operation payload is required", ENTITY_NAME, "payload.required");
+        }
+        ObjectNode payload = (ObjectNode) operation.payload();
+        if (operation.action() == BatchAction.UPDATE && !payload.hasNonNull("id")) {
+            payload = payload.deepCopy().put("id", requireId(operation));
+        }
+        T vm;
+        try {
+            vm = objectMapper.treeToValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Unreadable operation payload: " + e.getOriginalMessage(), ENTITY_NAME, "payload.invalid");
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(vm);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> violation = violations.iterator().next();
+            throw new BadRequestAlertException(
+                    "Invalid operation payload: " + violation.getPropertyPath() + " " + violation.getMessage(),
+                    ENTITY_NAME,
+                    "payload.invalid"
+            );
+        }
+        return vm;
+    }
+
+    private static Long requireId(BatchOperationVM operation) {
+        if (operation.id() == null) {
+            throw new BadRequestAlertException("Operation id is required for " + operation.action(), ENTITY_NAME, "id.required");
+        }
+        return operation.id();
+    }
+
+    private static BadRequestAlertException unsupported(BatchOperationVM operation) {
+        return new BadRequestAlertException(
+                operation.action() + " is not supported for " + operation.entity(),
+                ENTITY_NAME,
+                "action.unsupported"
+        );
+    }
+
+    /**
+     * A constraint violation raised by a flush of pending operations, which no single operation can be blamed for yet.
+     */
+    private static final class DeferredFlushException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        DeferredFlushException(RuntimeException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.repository.LanguageRepository;
+import com.dazzle.asklepios.web.rest.vm.FacilityResponseVM;
+import com.dazzle.asklepios.web.rest.vm.MenuItemVM;
+import com.dazzle.asklepios.web.rest.vm.bootstrap.BootstrapSharedVM;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the client bootstrap document: the {@link EnumRegistry enums}, active facilities and languages shared by
+ * all users, plus the menu of the current user.
+ * <p>
+ * The shared part is serialized once and versioned by the digest of its bytes, so every instance computes the
+ * same version for the same data. Facility and language writes must call {@link #evict()}; the shared part is
+ * also rebuilt after {@link #SHARED_TTL}, which bounds how long another instance serves it stale.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BootstrapService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BootstrapService.class);
+
+    static final Duration SHARED_TTL = Duration.ofMinutes(5);
+
+    /**
+     * A rendered document and its entity tag, which changes whenever the shared part or the menu does.
+     */
+    public record BootstrapDocument(byte[] body, String etag) {}
+
+    private record Shared(byte[] json, String version, long loadedAtNanos) {}
+
+    private final EnumRegistry enumRegistry;
+    private final FacilityRepository facilityRepository;
+    private final LanguageRepository languageRepository;
+    private final MenuService menuService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Shared shared;
+
+    // Bumped by every eviction, so a build that overlapped one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public BootstrapService(
+            EnumRegistry enumRegistry,
+            FacilityRepository facilityRepository,
+            LanguageRepository languageRepository,
+            MenuService menuService,
+            ObjectMapper objectMapper
+    ) {
+        this.enumRegistry = enumRegistry;
+        this.facilityRepository = facilityRepository;
+        this.languageRepository = languageRepository;
+        this.menuService = menuService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Render the document for a user: {@code {"version": ..., "shared": {...}, "menu": [...]}}, where
+     * {@code version} identifies the shared part. Only the menu is serialized per call.
+     */
+    public BootstrapDocument render(String login, Long facilityId) {
+        Shared current = shared();
+        List<MenuItemVM> menu = menuService.getMenu(login, facilityId);
+        byte[] menuJson = write(menu);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(current.json().length + menuJson.length + 128);
+        body.writeBytes(("{\"version\":\"" + current.version() + "\",\"shared\":").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(current.json());
+        body.writeBytes(",\"menu\":".getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(menuJson);
+        body.write('}');
+
+        String etag = current.version() + "-" + digest(menuJson).substring(0, 16);
+        return new BootstrapDocument(body.toByteArray(), etag);
+    }
+
+    /**
+     * Drop the shared part once the current transaction commits.
+     */
+    public void evict() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        } else {
+            drop();
+        }
+    }
+
+    // Helpers
+
+    private void drop() {
+        generation.incrementAndGet();
+        shared = null;
+    }
+
+    private Shared shared() {
+        Shared current = shared;
+        if (current == null || isExpired(current)) {
+            current = load();
+        }
+        return current;
+    }
+
+    /**
+     * Build the shared part and cache it, unless it was evicted while being built: the build may have read the
+     * data as it was before the evicting transaction committed. The caller still gets the result, as its request
+     * started before the write was visible.
+     */
+    private synchronized Shared load() {
+        Shared current = shared;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        long startedAt = generation.get();
+        BootstrapSharedVM vm = new BootstrapSharedVM(
+                enumRegistry.getAll(),
+                facilityRepository.findByIsActiveTrueOrderByIdAsc().stream().map(FacilityResponseVM::ofEntity).toList(),
+                languageRepository.findAll()
+        );
+        byte[] json = write(vm);
+        current = new Shared(json, digest(json).substring(0, 20), System.nanoTime());
+        LOG.debug("built bootstrap shared part: version={}, bytes={}", current.version(), json.length);
+        if (generation.get() == startedAt) {
+            shared = current;
+        } else {
+            LOG.debug("bootstrap shared part evicted while being built, not cached: version={}", current.version());
+        }
+        return current;
+    }
+
+    private static boolean isExpired(Shared current) {
+        return System.nanoTime() - current.loadedAtNanos() > SHARED_TTL.toNanos();
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the bootstrap document", e);
+        }
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
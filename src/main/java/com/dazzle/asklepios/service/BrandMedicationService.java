@@ -5,11 +5,16 @@ import com.dazzle.asklepios.domain.MedicationCategoriesClass;
 import com.dazzle.asklepios.domain.UomGroup;
 import com.dazzle.asklepios.domain.UomGroupUnit;
 import com.dazzle.asklepios.repository.BrandMedicationRepository;
+import com.dazzle.asklepios.repository.BrandMedicationSearchCriteria;
+import com.dazzle.asklepios.repository.BrandMedicationSearchRepository;
+import com.dazzle.asklepios.repository.BrandMedicationSummary;
 import com.dazzle.asklepios.repository.UomGroupRepository;
 import com.dazzle.asklepios.repository.UomGroupUnitRepository;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationCreateVM;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSearchResultVM;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSummaryVM;
 import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationUpdateVM;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +23,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -25,6 +33,9 @@ import java.util.Optional;
 public class BrandMedicationService {
 
     private static final Logger LOG = LoggerFactory.getLogger(BrandMedicationService.class);
+
+    public static final int MAX_SEARCH_SIZE = 100;
+
     private final BrandMedicationRepository brandMedicationRepository;
     private final UomGroupRepository uomGroupRepository;
     private final UomGroupUnitRepository uomGroupUnitRepository;
@@ -148,6 +159,61 @@ public class BrandMedicationService {
         return brandMedicationRepository.findByNameContainsIgnoreCase(name, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<BrandMedicationSummary> findAllSummaries(Pageable pageable) {
+        LOG.debug("Request to get BrandMedication summaries: {}", pageable);
+        return brandMedicationRepository.findAllSummaries(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BrandMedicationSummary> findSummariesByName(String name, Pageable pageable) {
+        LOG.debug("Request to get BrandMedication summaries by name like='{}' {}", name, pageable);
+        return brandMedicationRepository.findSummariesByNameContainsIgnoreCase(name, pageable);
+    }
+
+    /**
+     * One page of brand medications matching all the given filters, most relevant first.
+     *
+     * @param after cursor returned with the previous page, {@code null} for the first page.
+     */
+    @Transactional(readOnly = true)
+    public BrandMedicationSearchResultVM search(BrandMedicationSearchCriteria criteria, String after, int size) {
+        LOG.debug("Request to search BrandMedications: {} after={} size={}", criteria, after, size);
+        if (size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new BadRequestAlertException("size must be between 1 and " + MAX_SEARCH_SIZE, "brandMedication", "search.size");
+        }
+        // One extra row tells whether there is a next page.
+        List<BrandMedicationSearchRepository.SearchRow> rows =
+                brandMedicationRepository.search(criteria, decodeCursor(after), size + 1);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = encodeCursor(rows.get(size - 1));
+        }
+        return new BrandMedicationSearchResultVM(rows.stream().map(BrandMedicationSummaryVM::ofSearchRow).toList(), next);
+    }
+
+    static String encodeCursor(BrandMedicationSearchRepository.SearchRow row) {
+        String value = row.rank() + ":" + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BrandMedicationSearchRepository.Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new BrandMedicationSearchRepository.Cursor(
+                    Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestAlertException("Invalid search cursor", "brandMedication", "search.cursor");
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<BrandMedication> findByManufacturer(String manufacturer, Pageable pageable) {
         LOG.debug("Request to get BrandMedications by manufacturer like='{}' {}", manufacturer, pageable);
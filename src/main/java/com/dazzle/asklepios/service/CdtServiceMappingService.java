@@ -1,21 +1,28 @@
 package com.dazzle.asklepios.service;
 
+import com.dazzle.asklepios.config.Constants;
 import com.dazzle.asklepios.domain.CdtCode;
-import com.dazzle.asklepios.domain.CdtServiceMapping;
 import com.dazzle.asklepios.domain.ServiceSetup;
 import com.dazzle.asklepios.repository.CdtCodeRepository;
 import com.dazzle.asklepios.repository.CdtServiceMappingRepository;
+import com.dazzle.asklepios.repository.CdtServiceMappingSyncCounts;
+import com.dazzle.asklepios.security.SecurityUtils;
 import com.dazzle.asklepios.service.dto.CdtServiceMappingSyncResultDTO;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
-import jakarta.persistence.EntityManager;
+import com.dazzle.asklepios.web.rest.vm.cdt.CdtServiceMappingSyncVM;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Slf4j
@@ -24,65 +31,86 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class CdtServiceMappingService {
 
+    public static final int MAX_BULK_SIZE = 500;
+
     private final CdtServiceMappingRepository mappingRepository;
     private final CdtCodeRepository cdtRepository;
-    private final EntityManager entityManager;
 
     @Transactional(readOnly = true)
     public List<Long> getLinkedServiceIds(Long cdtId) {
-        return mappingRepository.findByCdtCode_Id(cdtId).stream()
-                .map(m -> m.getService().getId())
-                .toList();
+        return mappingRepository.findServiceIdsByCdtId(cdtId);
     }
 
     @Transactional(readOnly = true)
     public List<ServiceSetup> getLinkedServices(Long cdtId) {
-        return mappingRepository.findByCdtCode_Id(cdtId).stream()
-                .map(CdtServiceMapping::getService)
-                .toList();
+        return mappingRepository.findServicesByCdtId(cdtId);
     }
 
+    /**
+     * Make {@code serviceIds} the exact set of services linked to a CDT code, in one statement.
+     * Unknown service ids are skipped and not counted as added.
+     */
     public CdtServiceMappingSyncResultDTO sync(Long cdtId, List<Long> serviceIds) {
         if (cdtId == null) {
             throw new BadRequestAlertException("cdtId is required", "cdtService", "cdt.required");
         }
+        if (!cdtRepository.existsById(cdtId)) {
+            throw new NotFoundAlertException("CDT not found: " + cdtId, "cdtService", "cdt.notfound");
+        }
+        return apply(cdtId, serviceIds, login(), Instant.now());
+    }
 
-        CdtCode cdtCode = cdtRepository.findById(cdtId)
-                .orElseThrow(() -> new NotFoundAlertException("CDT not found: " + cdtId, "cdtService", "cdt.notfound"));
-
-        List<Long> existingServiceIds = mappingRepository.findByCdtCode_Id(cdtId).stream()
-                .map(m -> m.getService().getId())
-                .toList();
-        Integer beforeCount = existingServiceIds.size();
+    /**
+     * {@link #sync} several CDT codes in one transaction; either all of them are synced or none.
+     *
+     * @param syncs the CDT codes with their services, at most {@link #MAX_BULK_SIZE}; a code listed twice keeps its last services.
+     * @return the result per CDT id, in request order.
+     */
+    public Map<Long, CdtServiceMappingSyncResultDTO> syncAll(List<CdtServiceMappingSyncVM> syncs) {
+        Map<Long, List<Long>> servicesByCdt = new LinkedHashMap<>();
+        for (CdtServiceMappingSyncVM sync : syncs) {
+            if (sync.cdtId() == null) {
+                throw new BadRequestAlertException("cdtId is required", "cdtService", "cdt.required");
+            }
+            servicesByCdt.put(sync.cdtId(), sync.serviceIds());
+        }
+        if (servicesByCdt.size() > MAX_BULK_SIZE) {
+            throw new BadRequestAlertException(
+                    "At most " + MAX_BULK_SIZE + " CDT codes can be synced at once", "cdtService", "cdt.tooMany");
+        }
+        Set<Long> found = new HashSet<>(cdtRepository.findAllById(servicesByCdt.keySet()).stream().map(CdtCode::getId).toList());
+        List<Long> missing = servicesByCdt.keySet().stream().filter(id -> !found.contains(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new NotFoundAlertException("CDT not found: " + missing, "cdtService", "cdt.notfound");
+        }
 
-        Set<Long> desiredServiceIds = (serviceIds == null) ? Set.of() : new HashSet<>(serviceIds);
+        String login = login();
+        Instant now = Instant.now();
+        Map<Long, CdtServiceMappingSyncResultDTO> results = new LinkedHashMap<>();
+        servicesByCdt.forEach((cdtId, serviceIds) -> results.put(cdtId, apply(cdtId, serviceIds, login, now)));
+        return results;
+    }
 
-        Integer removedCount;
-        if (desiredServiceIds.isEmpty()) {
-            mappingRepository.deleteAllByCdtCode_Id(cdtId);
-            removedCount = beforeCount;
-        } else {
-            mappingRepository.deleteByCdtCode_IdAndService_IdNotIn(cdtId, desiredServiceIds);
-            removedCount = (int) existingServiceIds.stream()
-                    .filter(id -> !desiredServiceIds.contains(id))
-                    .count();
-        }
+    // Helpers
 
-        Integer addedCount = 0;
-        for (Long serviceId : desiredServiceIds) {
-            if (!existingServiceIds.contains(serviceId)) {
-                CdtServiceMapping mapping = CdtServiceMapping.builder()
-                        .cdtCode(entityManager.getReference(CdtCode.class, cdtCode.getId()))
-                        .service(entityManager.getReference(ServiceSetup.class, serviceId))
-                        .build();
-                mappingRepository.save(mapping);
-                addedCount++;
-            }
+    private CdtServiceMappingSyncResultDTO apply(Long cdtId, List<Long> serviceIds, String login, Instant now) {
+        Set<Long> desiredServiceIds = new LinkedHashSet<>();
+        if (serviceIds != null) {
+            serviceIds.stream().filter(Objects::nonNull).forEach(desiredServiceIds::add);
         }
+        CdtServiceMappingSyncCounts counts = desiredServiceIds.isEmpty()
+                ? mappingRepository.clear(cdtId)
+                : mappingRepository.sync(cdtId, desiredServiceIds, login, now);
 
-        Integer afterCount = mappingRepository.findByCdtCode_Id(cdtId).size();
-        log.info("[CDT-SYNC] cdtId={} added={} removed={} after={}", cdtId, addedCount, removedCount, afterCount);
+        int before = counts.getBefore().intValue();
+        int added = counts.getAdded().intValue();
+        int removed = counts.getRemoved().intValue();
+        int after = before - removed + added;
+        log.info("[CDT-SYNC] cdtId={} added={} removed={} after={}", cdtId, added, removed, after);
+        return new CdtServiceMappingSyncResultDTO(before, added, removed, after);
+    }
 
-        return new CdtServiceMappingSyncResultDTO(beforeCount, addedCount, removedCount, afterCount);
+    private static String login() {
+        return SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
     }
 }
@@ -21,11 +21,14 @@ public class DuplicationCandidateService {
 
     private final DuplicationCandidateRepository repository;
     private final FacilityRepository facilityRepository;
+    private final DuplicationDetectionService detectionService;
 
     public DuplicationCandidateService(DuplicationCandidateRepository repository,
-                                       FacilityRepository facilityRepository) {
+                                       FacilityRepository facilityRepository,
+                                       DuplicationDetectionService detectionService) {
         this.repository = repository;
         this.facilityRepository = facilityRepository;
+        this.detectionService = detectionService;
     }
 
     /** Create new DuplicationCandidate entity */
@@ -57,6 +60,7 @@ public class DuplicationCandidateService {
 
             if (updateData.getFields() != null) existing.setFields(updateData.getFields());
             if (updateData.getIsActive() != null) existing.setIsActive(updateData.getIsActive());
+            detectionService.evictRule(id);
             return repository.save(existing);
         });
     }
@@ -81,6 +85,7 @@ public class DuplicationCandidateService {
         return repository.findById(id).map(existing -> {
             existing.setIsActive(false);
             repository.save(existing);
+            detectionService.evictRule(id);
             return true;
         }).orElse(false);
     }
@@ -91,6 +96,7 @@ public class DuplicationCandidateService {
         return repository.findById(id).map(existing -> {
             existing.setIsActive(true);
             repository.save(existing);
+            detectionService.evictRule(id);
             return true;
         }).orElse(false);
     }
@@ -105,6 +111,7 @@ public class DuplicationCandidateService {
     public Optional<DuplicationCandidate> updateFields(Long id, Map<String, Boolean> fields, String user) {
         return repository.findById(id).map(existing -> {
             existing.setFields(fields);
+            detectionService.evictRule(id);
             return repository.save(existing);
         });
     }
@@ -113,5 +120,6 @@ public class DuplicationCandidateService {
     public void delete(Long id) {
         LOG.warn("Deleting DuplicationCandidate id={}", id);
         repository.deleteById(id);
+        detectionService.evictRule(id);
     }
 }
@@ -0,0 +1,193 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.Facility;
+import com.dazzle.asklepios.repository.DuplicationCandidateRepository;
+import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
+import com.dazzle.asklepios.web.rest.vm.DuplicateClusterVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationDetectionResultVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationRecordVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds duplicate records with the duplication rule of a facility ({@link Facility#getRuleId()}).
+ * <p>
+ * Rules are compiled into {@link DuplicationRule}s and cached per facility. Writes to a rule or to the rule of a
+ * facility evict the affected entries after commit. A rule loaded while an eviction ran may hold the rows as they
+ * were before that write, so it is not cached. Entries also expire after {@link #COMPILED_RULE_TTL}, which bounds how
+ * long another instance can use a changed rule.
+ * <p>
+ * Detection reads the records from the request body, which can take as long as the upload does, so it runs outside
+ * any transaction and only loads the rule in a short read-only one.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DuplicationDetectionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DuplicationDetectionService.class);
+
+    private static final String ENTITY_NAME = "duplicationCandidate";
+
+    public static final int MAX_RECORDS = 100_000;
+
+    static final Duration COMPILED_RULE_TTL = Duration.ofMinutes(5);
+
+    /** {@code rule} is {@code null} when the facility has no active rule. */
+    private record CompiledEntry(Long ruleId, DuplicationRule rule, long loadedAtNanos) {}
+
+    private final DuplicationCandidateRepository repository;
+    private final FacilityRepository facilityRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Long, CompiledEntry> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by every eviction, so a rule loaded across one is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public DuplicationDetectionService(
+            DuplicationCandidateRepository repository,
+            FacilityRepository facilityRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.repository = repository;
+        this.facilityRepository = facilityRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Cluster records with the rule of a facility. Only the ids of the records are kept, so the records can be
+     * read lazily from the request body.
+     *
+     * @param records at most {@link #MAX_RECORDS} records, each with an id.
+     * @return the clusters of two records or more, in order of first appearance.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DuplicationDetectionResultVM detect(Long facilityId, Iterator<DuplicationRecordVM> records) {
+        DuplicationRule rule = findRule(facilityId)
+                .orElseThrow(() -> new BadRequestAlertException(
+                        "Facility " + facilityId + " has no active duplication rule", ENTITY_NAME, "rule.notfound"));
+
+        Map<String, List<String>> blocks = new LinkedHashMap<>();
+        int count = 0;
+        int skipped = 0;
+        while (records.hasNext()) {
+            DuplicationRecordVM record = records.next();
+            if (++count > MAX_RECORDS) {
+                throw new BadRequestAlertException(
+                        "At most " + MAX_RECORDS + " records can be checked at once", ENTITY_NAME, "records.tooMany");
+            }
+            if (record == null || record.id() == null) {
+                throw new BadRequestAlertException("Record " + count + " has no id", ENTITY_NAME, "records.id.required");
+            }
+            String key = rule.blockingKey(record);
+            if (key == null) {
+                skipped++;
+            } else {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>(2)).add(record.id());
+            }
+        }
+
+        List<DuplicateClusterVM> clusters = blocks.values().stream()
+                .filter(ids -> ids.size() > 1)
+                .map(DuplicateClusterVM::new)
+                .toList();
+        LOG.debug("detected duplicates: facilityId={}, rule={}, records={}, skipped={}, clusters={}",
+                facilityId, rule.getRule(), count, skipped, clusters.size());
+        return new DuplicationDetectionResultVM(rule.getRule(), rule.getFields(), count, skipped, clusters);
+    }
+
+    /**
+     * @return the compiled active rule of the facility, empty if it has none.
+     */
+    public Optional<DuplicationRule> findRule(Long facilityId) {
+        CompiledEntry entry = compiled.get(facilityId);
+        if (entry == null || System.nanoTime() - entry.loadedAtNanos() > COMPILED_RULE_TTL.toNanos()) {
+            long startedAt = generation.get();
+            entry = readOnlyTransaction.execute(status -> load(facilityId));
+            store(facilityId, entry, startedAt);
+        }
+        return Optional.ofNullable(entry.rule());
+    }
+
+    public void evictRule(Long ruleId) {
+        afterCommit(() -> {
+            LOG.debug("evict compiled duplication rule: ruleId={}", ruleId);
+            generation.incrementAndGet();
+            compiled.values().removeIf(entry -> Objects.equals(entry.ruleId(), ruleId));
+        });
+    }
+
+    public void evictFacility(Long facilityId) {
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            compiled.remove(facilityId);
+        });
+    }
+
+    // Helpers
+
+    /**
+     * Cache a loaded rule unless an eviction happened since {@code startedAt}. The generation is checked again after
+     * the put, in case an eviction ran between the check and the put.
+     */
+    private void store(Long facilityId, CompiledEntry entry, long startedAt) {
+        if (generation.get() != startedAt) {
+            LOG.debug("duplication rule for facilityId={} evicted while being loaded, not cached", facilityId);
+            return;
+        }
+        compiled.put(facilityId, entry);
+        if (generation.get() != startedAt) {
+            compiled.remove(facilityId, entry);
+        }
+    }
+
+    private CompiledEntry load(Long facilityId) {
+        Facility facility = facilityRepository.findById(facilityId)
+                .orElseThrow(() -> new NotFoundAlertException("Facility not found: " + facilityId, "facility", "notfound"));
+        Long ruleId = facility.getRuleId();
+        DuplicationRule rule = ruleId == null ? null : repository.findById(ruleId)
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getIsActive()))
+                .map(DuplicationRule::compile)
+                .orElse(null);
+        LOG.debug("compiled duplication rule for facilityId={}: {}", facilityId, rule);
+        return new CompiledEntry(ruleId, rule, System.nanoTime());
+    }
+
+    /**
+     * Run after the current transaction commits, so a reader loading the rule after the eviction sees the write.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
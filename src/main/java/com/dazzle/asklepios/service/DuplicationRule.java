@@ -0,0 +1,231 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.DuplicationCandidate;
+import com.dazzle.asklepios.domain.enumeration.DuplicationField;
+import com.dazzle.asklepios.web.rest.vm.DuplicationRecordVM;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link DuplicationCandidate} compiled into a blocking key extractor: two records are duplicates when their keys
+ * are equal, so a batch is clustered by hashing instead of comparing records pairwise.
+ * <p>
+ * The key joins the normalized value of every enabled field, in {@link DuplicationField} order:
+ * <ul>
+ *     <li>names: case and diacritics folded, then reduced to their Soundex code when written in Latin letters;</li>
+ *     <li>date of birth: canonicalized to ISO {@code yyyy-MM-dd};</li>
+ *     <li>document number: upper-cased letters and digits only;</li>
+ *     <li>mobile number: digits only, the last 9 so that national and international forms match;</li>
+ *     <li>gender: first letter.</li>
+ * </ul>
+ */
+public final class DuplicationRule {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern LATIN_LETTERS = Pattern.compile("[a-z]+");
+    private static final int MOBILE_DIGITS = 9;
+    private static final char SEPARATOR = '\u001F';
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("uuuu-MM-dd"),
+            DateTimeFormatter.ofPattern("uuuu/MM/dd"),
+            DateTimeFormatter.ofPattern("dd/MM/uuuu"),
+            DateTimeFormatter.ofPattern("dd-MM-uuuu"),
+            DateTimeFormatter.ofPattern("dd.MM.uuuu"),
+            DateTimeFormatter.ofPattern("uuuuMMdd")
+    ).stream().map(format -> format.withResolverStyle(ResolverStyle.STRICT)).toList();
+
+    private final Long id;
+    private final String rule;
+    private final List<DuplicationField> fields;
+
+    private DuplicationRule(Long id, String rule, List<DuplicationField> fields) {
+        this.id = id;
+        this.rule = rule;
+        this.fields = fields;
+    }
+
+    /**
+     * @return the compiled rule; it has no fields, and matches nothing, if none of the enabled keys names a
+     * {@link DuplicationField}.
+     */
+    public static DuplicationRule compile(DuplicationCandidate candidate) {
+        Set<DuplicationField> fields = EnumSet.noneOf(DuplicationField.class);
+        if (candidate.getFields() != null) {
+            for (Map.Entry<String, Boolean> entry : candidate.getFields().entrySet()) {
+                DuplicationField field = field(entry.getKey());
+                if (field != null && Boolean.TRUE.equals(entry.getValue())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return new DuplicationRule(candidate.getId(), candidate.getRule(), List.copyOf(fields));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    public List<DuplicationField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return the blocking key, or {@code null} if the rule has no fields or a field has no usable value.
+     */
+    public String blockingKey(DuplicationRecordVM record) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        for (DuplicationField field : fields) {
+            String value = switch (field) {
+                case FIRST_NAME -> name(record.firstName());
+                case LAST_NAME -> name(record.lastName());
+                case DOB -> date(record.dob());
+                case DOCUMENT_NO -> document(record.documentNo());
+                case MOBILE_NUMBER -> mobile(record.mobileNumber());
+                case GENDER -> gender(record.gender());
+            };
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            if (!key.isEmpty()) {
+                key.append(SEPARATOR);
+            }
+            key.append(value);
+        }
+        return key.toString();
+    }
+
+    // Normalization
+
+    /**
+     * Accept enum names as well as camel-case keys, e.g. {@code FIRST_NAME} and {@code firstName}.
+     */
+    static DuplicationField field(String key) {
+        if (key == null) {
+            return null;
+        }
+        String compact = key.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+        for (DuplicationField field : DuplicationField.values()) {
+            if (field.name().replace("_", "").equals(compact)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    static String name(String value) {
+        String folded = fold(value);
+        if (folded == null) {
+            return null;
+        }
+        StringBuilder letters = new StringBuilder(folded.length());
+        folded.codePoints().filter(Character::isLetter).forEach(letters::appendCodePoint);
+        if (letters.isEmpty()) {
+            return null;
+        }
+        String result = letters.toString();
+        return LATIN_LETTERS.matcher(result).matches() ? soundex(result) : result;
+    }
+
+    /**
+     * American Soundex of lower-case Latin letters: the first letter and three digits coding the following
+     * consonants; vowels separate equal codes, {@code h} and {@code w} do not.
+     */
+    static String soundex(String letters) {
+        char[] code = {Character.toUpperCase(letters.charAt(0)), '0', '0', '0'};
+        char last = soundexDigit(letters.charAt(0));
+        int length = 1;
+        for (int i = 1; i < letters.length() && length < code.length; i++) {
+            char c = letters.charAt(i);
+            char digit = soundexDigit(c);
+            if (digit != '0' && digit != last) {
+                code[length++] = digit;
+            }
+            if (c != 'h' && c != 'w') {
+                last = digit;
+            }
+        }
+        return new String(code);
+    }
+
+    private static char soundexDigit(char c) {
+        return switch (c) {
+            case 'b', 'f', 'p', 'v' -> '1';
+            case 'c', 'g', 'j', 'k', 'q', 's', 'x', 'z' -> '2';
+            case 'd', 't' -> '3';
+            case 'l' -> '4';
+            case 'm', 'n' -> '5';
+            case 'r' -> '6';
+            default -> '0';
+        };
+    }
+
+    static String date(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        int time = text.indexOf('T');
+        if (time > 0) {
+            text = text.substring(0, time);
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format).toString();
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    static String document(String value) {
+        String folded = fold(value);
+        return folded == null ? null : folded.replaceAll("[^\\p{L}\\p{N}]", "").toUpperCase(Locale.ROOT);
+    }
+
+    static String mobile(String value) {
+        if (value == null) {
+            return null;
+        }
+        // Character.digit also reads Arabic-Indic and other Unicode digits.
+        StringBuilder digits = new StringBuilder();
+        value.codePoints().filter(Character::isDigit).forEach(c -> digits.append(Character.forDigit(Character.digit(c, 10), 10)));
+        return digits.length() > MOBILE_DIGITS ? digits.substring(digits.length() - MOBILE_DIGITS) : digits.toString();
+    }
+
+    static String gender(String value) {
+        String folded = fold(value);
+        return folded == null || folded.isEmpty() ? null : folded.substring(0, 1).toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "DuplicationRule{id=" + id + ", rule=" + rule + ", fields=" + fields + "}";
+    }
+}
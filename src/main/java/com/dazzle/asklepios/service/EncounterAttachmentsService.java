@@ -9,6 +9,7 @@ import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.DownloadEncounterAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.UploadEncounterAttachmentVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.encounter.StreamEncounterAttachmentVM;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,13 +18,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -32,12 +32,10 @@ public class EncounterAttachmentsService {
     private final EncounterAttachementsRepository repo;
     private final AttachmentProperties props;
     private final AttachmentStorageService storage;
+    private final AttachmentBlobService blobs;
 
     private static final String ENTITY_NAME = "EncounterAttachments";
 
-    private static final DateTimeFormatter YYYY = DateTimeFormatter.ofPattern("yyyy").withZone(ZoneOffset.UTC);
-    private static final DateTimeFormatter MM   = DateTimeFormatter.ofPattern("MM").withZone(ZoneOffset.UTC);
-
     private static final Logger LOG = LoggerFactory.getLogger(DepartmentController.class);
 
     public EncounterAttachments upload(Long encounterId, UploadEncounterAttachmentVM uploadEncounterAttachmentVM) {
@@ -48,7 +46,6 @@ public class EncounterAttachmentsService {
             throw new BadRequestAlertException("No file provided", ENTITY_NAME, "no_file");
         }
 
-        Instant now = Instant.now();
         String mime = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
         long size = file.getSize();
 
@@ -60,30 +57,44 @@ public class EncounterAttachmentsService {
         }
 
         String originalName = getOriginalName(file);
-        String safeFileName = UUID.randomUUID() + "_" + originalName;
-        String key = "encounters/" + encounterId + "/" + YYYY.format(now) + "/" + MM.format(now) + "/" + safeFileName;
-
         try {
             LOG.debug("store encounter attachment to spaces");
-            storage.put(key, mime, size, file.getInputStream());
-        } catch (Exception e) {
+            return blobs.store(file, mime, blob -> repo.save(EncounterAttachments.builder()
+                    .encounterId(encounterId)
+                    .spaceKey(blob.spaceKey())
+                    .contentSha256(blob.sha256())
+                    .filename(originalName)
+                    .mimeType(mime)
+                    .sizeBytes(size)
+                    .type(uploadEncounterAttachmentVM.type())
+                    .details(uploadEncounterAttachmentVM.details())
+                    .source(uploadEncounterAttachmentVM.source())
+                    .sourceId(uploadEncounterAttachmentVM.sourceId())
+                    .build()));
+        } catch (IOException | SdkException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed", e);
         }
+    }
 
-        EncounterAttachments encounterAttachments = EncounterAttachments.builder()
+    /**
+     * Save an attachment whose content was streamed by {@link AttachmentStreamingUploadService}.
+     */
+    public EncounterAttachments upload(Long encounterId, StreamEncounterAttachmentVM streamEncounterAttachmentVM, AttachmentStreamingUploadService.StagedUpload staged) {
+        LOG.debug("upload streamed encounter attachment {}", streamEncounterAttachmentVM);
+        return blobs.store(staged, blob -> repo.save(EncounterAttachments.builder()
                 .encounterId(encounterId)
-                .spaceKey(key)
-                .filename(originalName)
-                .mimeType(mime)
-                .sizeBytes(size)
-                .type(uploadEncounterAttachmentVM.type())
-                .details(uploadEncounterAttachmentVM.details())
-                .source(uploadEncounterAttachmentVM.source())
-                .sourceId(uploadEncounterAttachmentVM.sourceId())
-                .build();
-
-        return repo.save(encounterAttachments);
+                .spaceKey(blob.spaceKey())
+                .contentSha256(blob.sha256())
+                .filename(AttachmentStreamingUploadService.safeFilename(streamEncounterAttachmentVM.filename()))
+                .mimeType(staged.mimeType())
+                .sizeBytes(staged.size())
+                .type(streamEncounterAttachmentVM.type())
+                .details(streamEncounterAttachmentVM.details())
+                .source(streamEncounterAttachmentVM.source())
+                .sourceId(streamEncounterAttachmentVM.sourceId())
+                .build()));
     }
+
     private static String getOriginalName(MultipartFile file) {
         String name = file.getOriginalFilename();
         if (name == null || name.isBlank()) return "file";
@@ -115,6 +126,7 @@ public class EncounterAttachmentsService {
         EncounterAttachments a = repo.findById(id).orElseThrow(()-> new NotFoundAlertException(" Encounter attachment not found  id: "+id, ENTITY_NAME,"notfound"));
         if (a.getDeletedAt() == null) {
             a.setDeletedAt(Instant.now());
+            blobs.release(a.getContentSha256());
             repo.save(a);
         }
     }
@@ -18,15 +18,23 @@ public class EnumRegistry {
 
     private static final String ENUMS_PACKAGE = "com.dazzle.asklepios.domain.enumeration";
 
-    private final Map<String, List<String>> enumsByName;
-
-    public EnumRegistry() {
-        this.enumsByName = Collections.unmodifiableMap(scanEnums(ENUMS_PACKAGE));
-        LOG.info(() -> "[EnumRegistry] found enums: " + enumsByName.keySet());
-    }
+    // Scanned on first use rather than at startup: only the OpenAPI docs and the bootstrap document need it.
+    private volatile Map<String, List<String>> enumsByName;
 
     public Map<String, List<String>> getAll() {
-        return enumsByName;
+        Map<String, List<String>> enums = enumsByName;
+        if (enums == null) {
+            synchronized (this) {
+                enums = enumsByName;
+                if (enums == null) {
+                    enums = Collections.unmodifiableMap(scanEnums(ENUMS_PACKAGE));
+                    enumsByName = enums;
+                    Map<String, List<String>> found = enums;
+                    LOG.info(() -> "[EnumRegistry] found enums: " + found.keySet());
+                }
+            }
+        }
+        return enums;
     }
 
     private Map<String, List<String>> scanEnums(String basePackage) {
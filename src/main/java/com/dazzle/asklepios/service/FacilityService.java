@@ -27,9 +27,18 @@ public class FacilityService {
 
     private final FacilityRepository facilityRepository;
     private final DuplicationCandidateRepository duplicationCandidateRepository;
-    public FacilityService(FacilityRepository facilityRepository, DuplicationCandidateRepository duplicationCandidateRepository) {
+    private final DuplicationDetectionService duplicationDetectionService;
+    private final BootstrapService bootstrapService;
+    public FacilityService(
+            FacilityRepository facilityRepository,
+            DuplicationCandidateRepository duplicationCandidateRepository,
+            DuplicationDetectionService duplicationDetectionService,
+            BootstrapService bootstrapService
+    ) {
         this.facilityRepository = facilityRepository;
         this.duplicationCandidateRepository = duplicationCandidateRepository;
+        this.duplicationDetectionService = duplicationDetectionService;
+        this.bootstrapService = bootstrapService;
     }
 
 //     @CacheEvict(cacheNames = FacilityRepository.FACILITIES, key = "'all'")
@@ -48,6 +57,7 @@ public class FacilityService {
         facility.setDefaultCurrency(vm.defaultCurrency());
 
         Facility saved = facilityRepository.save(facility);
+        bootstrapService.evict();
         return FacilityResponseVM.ofEntity(saved);
     }
 
@@ -77,6 +87,8 @@ public class FacilityService {
             }
 
             Facility updated = facilityRepository.save(existing);
+            duplicationDetectionService.evictFacility(id);
+            bootstrapService.evict();
             LOG.debug("Facility updated successfully: {}", updated);
             return updated;
         });
@@ -107,6 +119,8 @@ public class FacilityService {
             return false;
         }
         facilityRepository.deleteById(id);
+        duplicationDetectionService.evictFacility(id);
+        bootstrapService.evict();
         return true;
     }
     @Transactional(readOnly = true)
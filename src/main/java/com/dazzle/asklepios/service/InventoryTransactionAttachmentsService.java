@@ -15,13 +15,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -30,12 +29,10 @@ public class InventoryTransactionAttachmentsService {
     private final InventoryTransactionAttachmentsRepository repo;
     private final AttachmentProperties props;
     private final AttachmentStorageService storage;
+    private final AttachmentBlobService blobs;
 
     private static final String ENTITY_NAME = "InventoryTransactionAttachments";
 
-    private static final DateTimeFormatter YYYY = DateTimeFormatter.ofPattern("yyyy").withZone(ZoneOffset.UTC);
-    private static final DateTimeFormatter MM   = DateTimeFormatter.ofPattern("MM").withZone(ZoneOffset.UTC);
-
     private static final Logger LOG = LoggerFactory.getLogger(InventoryTransactionAttachmentsService.class);
 
     public InventoryTransactionAttachments upload(Long transactionId, UploadInventoryTransactionAttachmentVM uploadInventoryTransactionAttachmentVM) {
@@ -46,7 +43,6 @@ public class InventoryTransactionAttachmentsService {
             throw new BadRequestAlertException("No file provided", ENTITY_NAME, "no_file");
         }
 
-        Instant now = Instant.now();
         String mime = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
         long size = file.getSize();
 
@@ -58,26 +54,36 @@ public class InventoryTransactionAttachmentsService {
         }
 
         String originalName = getOriginalName(file);
-        String safeFileName = UUID.randomUUID() + "_" + originalName;
-        String key = "inventoryTransactions/" + transactionId + "/" + YYYY.format(now) + "/" + MM.format(now) + "/" + safeFileName;
-
         try {
             LOG.debug("store Inventory Transaction attachment to spaces");
-            storage.put(key, mime, size, file.getInputStream());
-        } catch (Exception e) {
+            return blobs.store(file, mime, blob -> repo.save(InventoryTransactionAttachments.builder()
+                    .transactionId(transactionId)
+                    .spaceKey(blob.spaceKey())
+                    .contentSha256(blob.sha256())
+                    .filename(originalName)
+                    .mimeType(mime)
+                    .sizeBytes(size)
+                    .build()));
+        } catch (IOException | SdkException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed", e);
         }
+    }
 
-        InventoryTransactionAttachments inventoryTransactionAttachments = InventoryTransactionAttachments.builder()
+    /**
+     * Save an attachment whose content was streamed by {@link AttachmentStreamingUploadService}.
+     */
+    public InventoryTransactionAttachments upload(Long transactionId, String filename, AttachmentStreamingUploadService.StagedUpload staged) {
+        LOG.debug("upload streamed Inventory Transaction attachment {}", filename);
+        return blobs.store(staged, blob -> repo.save(InventoryTransactionAttachments.builder()
                 .transactionId(transactionId)
-                .spaceKey(key)
-                .filename(originalName)
-                .mimeType(mime)
-                .sizeBytes(size)
-                .build();
-
-        return repo.save(inventoryTransactionAttachments);
+                .spaceKey(blob.spaceKey())
+                .contentSha256(blob.sha256())
+                .filename(AttachmentStreamingUploadService.safeFilename(filename))
+                .mimeType(staged.mimeType())
+                .sizeBytes(staged.size())
+                .build()));
     }
+
     private static String getOriginalName(MultipartFile file) {
         String name = file.getOriginalFilename();
         if (name == null || name.isBlank()) return "file";
@@ -102,6 +108,7 @@ public class InventoryTransactionAttachmentsService {
         InventoryTransactionAttachments a = repo.findById(id).orElseThrow(()->  new NotFoundAlertException("Inventory transaction attachment not found with id {" + id+"}", ENTITY_NAME, "notfound"));
         if (a.getDeletedAt() == null) {
             a.setDeletedAt(Instant.now());
+            blobs.release(a.getContentSha256());
             repo.save(a);
         }
     }
@@ -24,10 +24,16 @@ public class LanguageService {
 
     private final LanguageRepository languageRepository;
     private final LanguageTranslationRepository languageTranslationRepository;
+    private final BootstrapService bootstrapService;
 
-    public LanguageService(LanguageRepository languageRepository, LanguageTranslationRepository languageTranslationRepository) {
+    public LanguageService(
+            LanguageRepository languageRepository,
+            LanguageTranslationRepository languageTranslationRepository,
+            BootstrapService bootstrapService
+    ) {
         this.languageRepository = languageRepository;
         this.languageTranslationRepository = languageTranslationRepository;
+        this.bootstrapService = bootstrapService;
     }
 
     public Language create(Language vm) {
@@ -49,6 +55,7 @@ public class LanguageService {
         try {
             Language saved = languageRepository.save(entity);
             addDefaultDictionary(saved);
+            bootstrapService.evict();
             return saved;
         } catch (DataIntegrityViolationException ex) {
              throw new BadRequestAlertException("Invalid Language data" ,  "language", "notfound");
@@ -64,6 +71,7 @@ public class LanguageService {
             existing.setDirection(vm.getDirection());
             existing.setDetails(vm.getDetails());
             Language updated = languageRepository.save(existing);
+            bootstrapService.evict();
             LOG.debug("LanguageMaster id={} updated successfully", id);
             return updated;
         });
@@ -94,6 +102,7 @@ public class LanguageService {
         }
         // NOTE: if translations reference this language via FK, the DB may block deletes unless ON DELETE CASCADE.
         languageRepository.deleteById(id);
+        bootstrapService.evict();
         return true;
     }
 
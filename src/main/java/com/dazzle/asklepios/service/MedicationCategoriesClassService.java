@@ -22,6 +22,7 @@ public class MedicationCategoriesClassService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MedicationCategoriesClassService.class);
     private final MedicationCategoriesClassRepository medicationCategoriesClassRepository;
+    private final MedicationCategoryHierarchyService hierarchyService;
 
     // find all medications category classes
     @Transactional(readOnly = true)
@@ -51,7 +52,9 @@ public class MedicationCategoriesClassService {
         entity.setMedicationCategoriesId(vm.getMedicationCategoriesId());
 
         try {
-            return medicationCategoriesClassRepository.save(entity);
+            MedicationCategoriesClass saved = medicationCategoriesClassRepository.save(entity);
+            hierarchyService.evict();
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             throw new
                     BadRequestAlertException(
@@ -73,6 +76,7 @@ public class MedicationCategoriesClassService {
         }
 
         medicationCategoriesClassRepository.deleteById(id);
+        hierarchyService.evict();
         return true;
     }
 
@@ -85,6 +89,7 @@ public class MedicationCategoriesClassService {
             existing.setName(vm.getName());
             existing.setMedicationCategoriesId(vm.getMedicationCategoriesId());
             MedicationCategoriesClass updated = medicationCategoriesClassRepository.save(existing);
+            hierarchyService.evict();
             LOG.debug("MedicationCategoryClass id={} updated successfully", id);
             return updated;
         });
@@ -19,6 +19,7 @@ public class MedicationCategoriesService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MedicationCategoriesService.class);
     private final MedicationCategoriesRepository medicationCategoriesRepository;
+    private final MedicationCategoryHierarchyService hierarchyService;
 
     // find all medication categories
     @Transactional(readOnly = true)
@@ -47,7 +48,9 @@ public class MedicationCategoriesService {
         entity.setName(vm.getName());
 
         try {
-            return medicationCategoriesRepository.save(entity);
+            MedicationCategories saved = medicationCategoriesRepository.save(entity);
+            hierarchyService.evict();
+            return saved;
         } catch (DataIntegrityViolationException ex) {
             throw new
                     BadRequestAlertException(
@@ -69,6 +72,7 @@ public class MedicationCategoriesService {
         }
 
         medicationCategoriesRepository.deleteById(id);
+        hierarchyService.evict();
         return true;
     }
 
@@ -80,6 +84,7 @@ public class MedicationCategoriesService {
             // Do NOT change langKey here; treat it as immutable identity
             existing.setName(vm.getName());
             MedicationCategories updated = medicationCategoriesRepository.save(existing);
+            hierarchyService.evict();
             LOG.debug("MedicationCategory id={} updated successfully", id);
             return updated;
         });
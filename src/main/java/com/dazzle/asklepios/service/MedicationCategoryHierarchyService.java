@@ -0,0 +1,174 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.MedicationCategories;
+import com.dazzle.asklepios.domain.MedicationCategoriesClass;
+import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
+import com.dazzle.asklepios.repository.DrugClassIngredientCount;
+import com.dazzle.asklepios.repository.MedicationCategoriesClassRepository;
+import com.dazzle.asklepios.repository.MedicationCategoriesRepository;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryClassNodeVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryNodeVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryTreeVM;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the medication category → drug class hierarchy with active ingredient counts.
+ * <p>
+ * The tree is built with three queries (categories, classes, ingredient counts per class) and cached as a whole in
+ * {@link MedicationCategoriesRepository#HIERARCHY}; subtrees are cut from the cached tree. Services writing
+ * categories, classes or the class of an active ingredient must call {@link #evict()}; the tree is dropped once the
+ * write commits. A tree is not cached if an eviction happened in this instance while it was built, as it may hold
+ * the rows as they were before that write.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MedicationCategoryHierarchyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MedicationCategoryHierarchyService.class);
+
+    private static final String KEY = "all";
+
+    private static final Comparator<String> BY_NAME = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+
+    private final MedicationCategoriesRepository categoriesRepository;
+    private final MedicationCategoriesClassRepository classesRepository;
+    private final ActiveIngredientsRepository activeIngredientsRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Incremented by every eviction, so a tree built across one is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public MedicationCategoryTreeVM findTree() {
+        Cache cache = cacheManager.getCache(MedicationCategoriesRepository.HIERARCHY);
+        MedicationCategoryTreeVM tree = cache != null ? cache.get(KEY, MedicationCategoryTreeVM.class) : null;
+        if (tree == null) {
+            long startedAt = generation.get();
+            tree = build();
+            if (cache != null) {
+                store(cache, tree, startedAt);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Keep the categories whose name contains {@code name} with all their classes, and the classes whose name
+     * contains it under their category. Category counts still cover all their classes.
+     */
+    public MedicationCategoryTreeVM findTree(String name) {
+        String filter = name.trim().toLowerCase(Locale.ROOT);
+        List<MedicationCategoryNodeVM> categories = new ArrayList<>();
+        for (MedicationCategoryNodeVM category : findTree().categories()) {
+            if (contains(category.name(), filter)) {
+                categories.add(category);
+                continue;
+            }
+            List<MedicationCategoryClassNodeVM> classes = category.classes().stream()
+                    .filter(drugClass -> contains(drugClass.name(), filter))
+                    .toList();
+            if (!classes.isEmpty()) {
+                categories.add(new MedicationCategoryNodeVM(
+                        category.id(), category.name(), category.classCount(), category.activeIngredientCount(), classes));
+            }
+        }
+        return tree(categories);
+    }
+
+    public Optional<MedicationCategoryNodeVM> findCategory(Long id) {
+        return findTree().categories().stream().filter(category -> category.id().equals(id)).findFirst();
+    }
+
+    public void evict() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    drop();
+                }
+            });
+        } else {
+            drop();
+        }
+    }
+
+    // Helpers
+
+    private void drop() {
+        generation.incrementAndGet();
+        Cache cache = cacheManager.getCache(MedicationCategoriesRepository.HIERARCHY);
+        if (cache != null) {
+            LOG.debug("evict medication category hierarchy");
+            cache.evictIfPresent(KEY);
+        }
+    }
+
+    /**
+     * Cache a built tree unless an eviction happened since {@code startedAt}. The generation is checked again after
+     * the put, in case an eviction ran between the check and the put.
+     */
+    private void store(Cache cache, MedicationCategoryTreeVM tree, long startedAt) {
+        if (generation.get() != startedAt) {
+            LOG.debug("medication category hierarchy evicted while being built, not cached");
+            return;
+        }
+        cache.putIfAbsent(KEY, tree);
+        if (generation.get() != startedAt) {
+            cache.evictIfPresent(KEY);
+        }
+    }
+
+    private MedicationCategoryTreeVM build() {
+        List<MedicationCategories> categories = categoriesRepository.findAll();
+        Map<Long, List<MedicationCategoriesClass>> classesByCategory = classesRepository.findAll().stream()
+                .collect(Collectors.groupingBy(MedicationCategoriesClass::getMedicationCategoriesId));
+        Map<Long, Long> ingredientsByClass = activeIngredientsRepository.countByDrugClass().stream()
+                .collect(Collectors.toMap(DrugClassIngredientCount::getDrugClassId, DrugClassIngredientCount::getActiveIngredients));
+
+        List<MedicationCategoryNodeVM> nodes = categories.stream()
+                .sorted(Comparator.comparing(MedicationCategories::getName, BY_NAME))
+                .map(category -> {
+                    List<MedicationCategoryClassNodeVM> classes = classesByCategory.getOrDefault(category.getId(), List.of()).stream()
+                            .sorted(Comparator.comparing(MedicationCategoriesClass::getName, BY_NAME))
+                            .map(drugClass -> new MedicationCategoryClassNodeVM(
+                                    drugClass.getId(), drugClass.getName(), ingredientsByClass.getOrDefault(drugClass.getId(), 0L)))
+                            .toList();
+                    long ingredients = classes.stream().mapToLong(MedicationCategoryClassNodeVM::activeIngredientCount).sum();
+                    return new MedicationCategoryNodeVM(category.getId(), category.getName(), classes.size(), ingredients, classes);
+                })
+                .toList();
+        LOG.debug("built medication category hierarchy: categories={}", nodes.size());
+        return tree(nodes);
+    }
+
+    private static MedicationCategoryTreeVM tree(List<MedicationCategoryNodeVM> categories) {
+        return new MedicationCategoryTreeVM(
+                categories,
+                categories.stream().mapToInt(MedicationCategoryNodeVM::classCount).sum(),
+                categories.stream().mapToLong(MedicationCategoryNodeVM::activeIngredientCount).sum()
+        );
+    }
+
+    private static boolean contains(String name, String filter) {
+        return name != null && name.toLowerCase(Locale.ROOT).contains(filter);
+    }
+}
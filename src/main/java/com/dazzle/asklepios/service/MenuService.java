@@ -9,11 +9,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.EnumMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Comparator;
 
 @Service
 @RequiredArgsConstructor
@@ -21,55 +24,121 @@ public class MenuService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MenuService.class);
 
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    // Screens in menu order, by name.
+    private static final Screen[] SCREENS_BY_NAME = Arrays.stream(Screen.values())
+            .sorted(Comparator.comparing(Screen::name))
+            .toArray(Screen[]::new);
+
+    // Exact database values to their position in SCREENS_BY_NAME / ordinal in OPERATIONS.
+    private static final Map<String, Integer> SCREEN_POSITIONS = new HashMap<>();
+    private static final Map<String, Integer> OPERATION_ORDINALS = new HashMap<>();
+
+    /**
+     * Every possible item, indexed by [menu position][bit set of operation ordinals]. The instances are shared
+     * between requests; {@link MenuItemVM} keeps its operations read-only.
+     */
+    private static final MenuItemVM[][] ITEMS = new MenuItemVM[SCREENS_BY_NAME.length][1 << OPERATIONS.length];
+
+    static {
+        for (int position = 0; position < SCREENS_BY_NAME.length; position++) {
+            Screen screen = SCREENS_BY_NAME[position];
+            SCREEN_POSITIONS.put(screen.name(), position);
+            for (int mask = 1; mask < ITEMS[position].length; mask++) {
+                EnumSet<Operation> ops = EnumSet.noneOf(Operation.class);
+                for (Operation op : OPERATIONS) {
+                    if ((mask & (1 << op.ordinal())) != 0) {
+                        ops.add(op);
+                    }
+                }
+                ITEMS[position][mask] = MenuItemVM.of(screen, ops);
+            }
+        }
+        for (Operation op : OPERATIONS) {
+            OPERATION_ORDINALS.put(op.name(), op.ordinal());
+        }
+    }
+
     private final MenuRepository menuRepository;
 
     public List<MenuItemVM> getMenu(Long userId, Long facilityId) {
         List<MenuRepository.MenuRow> rows = menuRepository.findScreensForUserAndFacility(userId, facilityId);
+        return toMenu(rows, userId);
+    }
+
+    /**
+     * Resolve the menu of a user with a single query keyed by login, as found in the JWT subject.
+     *
+     * @return the screens the user has in the facility, sorted by name, with the union of the operations granted
+     * by all of the user's roles; empty if the login is unknown or has no screen.
+     */
+    public List<MenuItemVM> getMenu(String login, Long facilityId) {
+        List<MenuRepository.MenuRow> rows = menuRepository.findScreensForLoginAndFacility(login, facilityId);
+        return toMenu(rows, login);
+    }
 
-        // screen -> union(xoperations)
-        Map<Screen, EnumSet<Operation>> byScreen = new EnumMap<>(Screen.class);
+    List<MenuItemVM> toMenu(List<MenuRepository.MenuRow> rows, Object user) {
+        // menu position -> bit set of operation ordinals
+        int[] masks = new int[SCREENS_BY_NAME.length];
+        int screens = 0;
 
         for (MenuRepository.MenuRow row : rows) {
-          Screen screen = tryParseScreen(row.getScreen());
-            if (screen == null) {
+            int position = screenPosition(row.getScreen());
+            if (position < 0) {
                 LOG.warn("Skipping unknown screen value from DB: {}", row.getScreen());
                 continue;
             }
-            Operation op = tryParseOperation(row.getOperation());
-            if (op == null) {
+            int op = operationOrdinal(row.getOperation());
+            if (op < 0) {
                 LOG.warn("Skipping unknown operation value from DB: {}", row.getOperation());
                 continue;
             }
-            byScreen.computeIfAbsent(screen, k -> EnumSet.noneOf(Operation.class)).add(op);
+            if (masks[position] == 0) {
+                screens++;
+            }
+            masks[position] |= 1 << op;
         }
 
-        LOG.info("Total screens: {}", byScreen);
+        LOG.debug("Total screens for {}: {}", user, screens);
 
-        if (byScreen.isEmpty()) {
+        if (screens == 0) {
             // No screen in this facility for this user → frontend will show only Dashboard
-            LOG.info("This User without any authority : {}", userId);
+            LOG.info("This User without any authority : {}", user);
             return List.of();
         }
 
-        return byScreen.entrySet().stream()
-                .sorted(Comparator.comparing(e -> e.getKey().name()))
-                .map(e -> MenuItemVM.of(e.getKey(), e.getValue()))
-                .toList();
+        List<MenuItemVM> menu = new ArrayList<>(screens);
+        for (int position = 0; position < masks.length; position++) {
+            if (masks[position] != 0) {
+                menu.add(ITEMS[position][masks[position]]);
+            }
+        }
+        return menu;
     }
 
-
-    private Screen tryParseScreen(String raw) {
-    if (raw == null) return null;
-    try {
-        return Screen.valueOf(raw.trim());
-    } catch (Exception e) {
-        LOG.warn("Skipping unknown screen value from DB (no normalization applied): {}", raw);
-        return null;
+    /**
+     * @return the position of the screen in menu order, or -1 if unknown.
+     */
+    static int screenPosition(String raw) {
+        if (raw == null) return -1;
+        Integer position = SCREEN_POSITIONS.get(raw);
+        if (position == null) {
+            // Legacy rows padded with spaces; no other normalization is applied.
+            position = SCREEN_POSITIONS.get(raw.trim());
+        }
+        return position == null ? -1 : position;
     }
-}
 
-    private Operation tryParseOperation(String raw) {
-        if (raw == null) return null;
-        try { return Operation.valueOf(raw.trim().toUpperCase()); } catch (Exception e) { return null; }
+    /**
+     * @return the ordinal of the operation, or -1 if unknown.
+     */
+    static int operationOrdinal(String raw) {
+        if (raw == null) return -1;
+        Integer ordinal = OPERATION_ORDINALS.get(raw);
+        if (ordinal == null) {
+            ordinal = OPERATION_ORDINALS.get(raw.trim().toUpperCase(Locale.ROOT));
+        }
+        return ordinal == null ? -1 : ordinal;
     }
 }
@@ -3,28 +3,30 @@ package com.dazzle.asklepios.service;
 import com.dazzle.asklepios.attachments.AttachmentProperties;
 import com.dazzle.asklepios.domain.EncounterAttachments;
 import com.dazzle.asklepios.domain.PatientAttachments;
+import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
 import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
 import com.dazzle.asklepios.web.rest.DepartmentController;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.UploadPatientAttachmentVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.patient.StreamPatientAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.DownloadPatientAttachmentVM; // <-- add
 
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -33,12 +35,12 @@ public class PatientAttachmentsService {
     private final PatientAttachmentsRepository repo;
     private final AttachmentProperties props;
     private final AttachmentStorageService storage;
+    private final AttachmentBlobService blobs;
+    private final ProfilePictureThumbnailService thumbnails;
+    private final ApplicationEventPublisher events;
 
     private static final String ENTITY_NAME = "PatientAttachments";
 
-    private static final DateTimeFormatter YYYY = DateTimeFormatter.ofPattern("yyyy").withZone(ZoneOffset.UTC);
-    private static final DateTimeFormatter MM = DateTimeFormatter.ofPattern("MM").withZone(ZoneOffset.UTC);
-
     private static final Logger LOG = LoggerFactory.getLogger(DepartmentController.class);
 
     public PatientAttachments upload(Long patientId, UploadPatientAttachmentVM uploadPatientAttachmentVM) {
@@ -47,7 +49,6 @@ public class PatientAttachmentsService {
         if (file == null || file.isEmpty()) {
             throw new BadRequestAlertException("No file provided", ENTITY_NAME, "no_file");
         }
-        Instant now = Instant.now();
         String mime = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
         long size = file.getSize();
 
@@ -59,28 +60,51 @@ public class PatientAttachmentsService {
         }
 
         String originalName = getOriginalName(file);
-        String safeFileName = UUID.randomUUID() + "_" + originalName;
-        String key = "patients/" + patientId + "/" + YYYY.format(now) + "/" + MM.format(now) + "/" + safeFileName;
-
         try {
             LOG.debug("store patient attachment to spaces");
-            storage.put(key, mime, size, file.getInputStream());
-        } catch (Exception e) {
+            return blobs.store(file, mime, blob -> save(PatientAttachments.builder()
+                    .patientId(patientId)
+                    .spaceKey(blob.spaceKey())
+                    .contentSha256(blob.sha256())
+                    .filename(originalName)
+                    .mimeType(mime)
+                    .sizeBytes(size)
+                    .type(uploadPatientAttachmentVM.type())
+                    .details(uploadPatientAttachmentVM.details())
+                    .source(uploadPatientAttachmentVM.source())
+                    .build()));
+        } catch (IOException | SdkException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed", e);
         }
+    }
 
-        PatientAttachments entity = new PatientAttachments().builder()
+    /**
+     * Save an attachment whose content was streamed by {@link AttachmentStreamingUploadService}.
+     */
+    public PatientAttachments upload(Long patientId, StreamPatientAttachmentVM streamPatientAttachmentVM, AttachmentStreamingUploadService.StagedUpload staged) {
+        LOG.debug("upload streamed patient attachment {}", streamPatientAttachmentVM);
+        return blobs.store(staged, blob -> save(PatientAttachments.builder()
                 .patientId(patientId)
-                .spaceKey(key)
-                .filename(originalName)
-                .mimeType(mime)
-                .sizeBytes(size)
-                .type(uploadPatientAttachmentVM.type())
-                .details(uploadPatientAttachmentVM.details())
-                .source(uploadPatientAttachmentVM.source())
-                .build();
-
-        return repo.save(entity);
+                .spaceKey(blob.spaceKey())
+                .contentSha256(blob.sha256())
+                .filename(AttachmentStreamingUploadService.safeFilename(streamPatientAttachmentVM.filename()))
+                .mimeType(staged.mimeType())
+                .sizeBytes(staged.size())
+                .type(streamPatientAttachmentVM.type())
+                .details(streamPatientAttachmentVM.details())
+                .source(streamPatientAttachmentVM.source())
+                .build()));
+    }
+
+    /**
+     * Save an uploaded attachment; a profile picture gets its thumbnail once the row is committed.
+     */
+    private PatientAttachments save(PatientAttachments entity) {
+        PatientAttachments saved = repo.save(entity);
+        if (saved.getSource() == PatientAttachmentSource.PATIENT_PROFILE_PICTURE) {
+            events.publishEvent(new ProfilePictureThumbnailService.ProfilePictureUploaded(saved.getId(), saved.getSpaceKey(), saved.getContentSha256()));
+        }
+        return saved;
     }
 
     private static String getOriginalName(MultipartFile file) {
@@ -101,12 +125,28 @@ public class PatientAttachmentsService {
         return new DownloadPatientAttachmentVM(getURL.url().toString(), props.getPresignExpirySeconds());
     }
 
+    /**
+     * Presigned URL of a profile picture, pointing at the smallest thumbnail covering {@code size}
+     * or at the original if no size is requested or thumbnails are not generated yet.
+     */
+    public DownloadPatientAttachmentVM profilePictureUrl(PatientAttachments pa, Integer size) {
+        LOG.debug("profile picture url {} size={}", pa.getId(), size);
+        Integer thumbnailSize = thumbnails.resolveSize(pa, size);
+        if (thumbnailSize == null) {
+            return downloadUrl(pa.getId());
+        }
+        String key = ProfilePictureThumbnailService.thumbnailKey(pa.getSpaceKey(), pa.getContentSha256(), thumbnailSize);
+        PresignedGetObjectRequest getURL = storage.presignGet(key, thumbnailSize + "_" + pa.getFilename() + ".jpg");
+        return new DownloadPatientAttachmentVM(getURL.url().toString(), props.getPresignExpirySeconds());
+    }
+
     @Transactional
     public void softDelete(Long id) {
         LOG.debug("delete patient attachments {}", id);
         PatientAttachments a = repo.findById(id).orElseThrow(()-> new NotFoundAlertException(" Patient attachment not found  id: "+id, ENTITY_NAME,"notfound"));
         if (a.getDeletedAt() == null) {
             a.setDeletedAt(Instant.now());
+            blobs.release(a.getContentSha256());
             repo.save(a);
         }
     }
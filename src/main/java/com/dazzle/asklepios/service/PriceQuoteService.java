@@ -0,0 +1,289 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.config.PriceQuoteProperties;
+import com.dazzle.asklepios.domain.enumeration.PricedItemType;
+import com.dazzle.asklepios.management.PriceQuoteMetersService;
+import com.dazzle.asklepios.repository.ProcedurePriceListRepository;
+import com.dazzle.asklepios.repository.ProcedurePriceRow;
+import com.dazzle.asklepios.repository.ServicePriceRow;
+import com.dazzle.asklepios.repository.ServiceRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteItemVM;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteRequestVM;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quotes service and procedure prices from an in-memory index.
+ * <p>
+ * The index holds the price of every active service and the latest price per currency of every active procedure,
+ * with the facility they belong to, so a quote for a facility and a currency is a map lookup per item. It is loaded
+ * on the first quote and kept fresh incrementally:
+ * <ul>
+ *     <li>services writing prices publish {@link PricesChanged}, and the affected items are reloaded after commit;</li>
+ *     <li>every {@code setup.price-quotes.refresh-interval}, rows modified on any instance since the previous poll
+ *     are reloaded;</li>
+ *     <li>every {@code setup.price-quotes.full-refresh-interval} the index is rebuilt, dropping price list rows
+ *     deleted on other instances.</li>
+ * </ul>
+ */
+@Service
+public class PriceQuoteService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PriceQuoteService.class);
+
+    private static final String ENTITY_NAME = "priceQuote";
+
+    public static final int MAX_ITEMS = 1000;
+
+    // Polls read again rows modified shortly before the previous poll, which covers clock skew between instances
+    // and transactions committing after the poll.
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    /**
+     * Published by the services writing prices; either collection may be empty.
+     */
+    public record PricesChanged(Collection<Long> serviceIds, Collection<Long> procedureIds) {
+
+        public static PricesChanged ofService(Long serviceId) {
+            return new PricesChanged(List.of(serviceId), List.of());
+        }
+
+        public static PricesChanged ofProcedure(Long procedureId) {
+            return new PricesChanged(List.of(), List.of(procedureId));
+        }
+    }
+
+    record Price(Long facilityId, String currency, BigDecimal amount) {}
+
+    record ProcedurePrices(Long facilityId, Map<String, BigDecimal> byCurrency) {}
+
+    private final ServiceRepository serviceRepository;
+    private final ProcedurePriceListRepository procedurePriceListRepository;
+    private final PriceQuoteMetersService meters;
+    private final PriceQuoteProperties props;
+
+    // Both null until the first load; replaced on full refreshes, updated in place otherwise.
+    private volatile Map<Long, Price> services;
+    private volatile Map<Long, ProcedurePrices> procedures;
+    private volatile Instant refreshedAt;
+    private Instant fullRefreshedAt;
+    private Instant polledAt;
+
+    public PriceQuoteService(
+            ServiceRepository serviceRepository,
+            ProcedurePriceListRepository procedurePriceListRepository,
+            PriceQuoteMetersService meters,
+            PriceQuoteProperties props
+    ) {
+        this.serviceRepository = serviceRepository;
+        this.procedurePriceListRepository = procedurePriceListRepository;
+        this.meters = meters;
+        this.props = props;
+    }
+
+    /**
+     * Quote several services and procedures of a facility.
+     *
+     * @param request the items, at most {@link #MAX_ITEMS} of each type; duplicate ids are quoted once.
+     * @return the prices in request order and their total.
+     */
+    public PriceQuoteVM quote(PriceQuoteRequestVM request) {
+        long start = System.nanoTime();
+        Set<Long> serviceIds = ids(request.serviceIds());
+        Set<Long> procedureIds = ids(request.procedureIds());
+        if (serviceIds.size() > MAX_ITEMS || procedureIds.size() > MAX_ITEMS) {
+            throw new BadRequestAlertException(
+                    "At most " + MAX_ITEMS + " services and " + MAX_ITEMS + " procedures can be quoted at once",
+                    ENTITY_NAME,
+                    "tooManyItems"
+            );
+        }
+        if (services == null) {
+            load();
+        }
+        Long facilityId = request.facilityId();
+        String currency = currency(request.currency());
+        Map<Long, Price> servicePrices = services;
+        Map<Long, ProcedurePrices> procedurePrices = procedures;
+
+        List<PriceQuoteItemVM> items = new ArrayList<>(serviceIds.size() + procedureIds.size());
+        List<Long> unpricedServiceIds = new ArrayList<>();
+        List<Long> unpricedProcedureIds = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : serviceIds) {
+            Price price = servicePrices.get(id);
+            if (price != null && price.facilityId().equals(facilityId) && price.currency().equals(currency)) {
+                items.add(new PriceQuoteItemVM(PricedItemType.SERVICE, id, price.amount()));
+                total = total.add(price.amount());
+            } else {
+                unpricedServiceIds.add(id);
+            }
+        }
+        for (Long id : procedureIds) {
+            ProcedurePrices prices = procedurePrices.get(id);
+            BigDecimal amount = prices != null && prices.facilityId().equals(facilityId) ? prices.byCurrency().get(currency) : null;
+            if (amount != null) {
+                items.add(new PriceQuoteItemVM(PricedItemType.PROCEDURE, id, amount));
+                total = total.add(amount);
+            } else {
+                unpricedProcedureIds.add(id);
+            }
+        }
+
+        meters.trackQuote(Duration.ofNanos(System.nanoTime() - start), serviceIds.size() + procedureIds.size());
+        LOG.debug("quoted prices: facilityId={}, currency={}, priced={}, unpriced={}",
+                facilityId, currency, items.size(), unpricedServiceIds.size() + unpricedProcedureIds.size());
+        return new PriceQuoteVM(facilityId, currency, items, total, unpricedServiceIds, unpricedProcedureIds, refreshedAt);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPricesChanged(PricesChanged event) {
+        if (services == null) {
+            return;
+        }
+        LOG.debug("reload prices: serviceIds={}, procedureIds={}", event.serviceIds(), event.procedureIds());
+        synchronized (this) {
+            reload(event.serviceIds(), event.procedureIds());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${setup.price-quotes.refresh-interval:PT1M}",
+            fixedDelayString = "${setup.price-quotes.refresh-interval:PT1M}"
+    )
+    public void poll() {
+        // Nothing to keep fresh until someone asks for a quote.
+        if (services == null) {
+            return;
+        }
+        try {
+            boolean full;
+            synchronized (this) {
+                full = fullRefreshedAt == null || Instant.now().isAfter(fullRefreshedAt.plus(props.getFullRefreshInterval()));
+            }
+            refresh(full);
+        } catch (Exception e) {
+            LOG.warn("Could not refresh the price index: {}", e.getMessage());
+        }
+    }
+
+    // Helpers
+
+    private synchronized void load() {
+        if (services == null) {
+            refresh(true);
+        }
+    }
+
+    synchronized void refresh(boolean full) {
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        if (full || services == null) {
+            services = new ConcurrentHashMap<>(servicePrices(serviceRepository.findPriceRows()));
+            procedures = new ConcurrentHashMap<>(procedurePrices(procedurePriceListRepository.findPriceRows()));
+            fullRefreshedAt = now;
+            full = true;
+        } else {
+            Instant since = polledAt.minus(POLL_OVERLAP);
+            List<ServicePriceRow> rows = serviceRepository.findPriceRowsModifiedSince(since);
+            replace(services, rows.stream().map(ServicePriceRow::getId).toList(), servicePrices(rows));
+            reload(List.of(), procedurePriceListRepository.findProcedureIdsModifiedSince(since));
+        }
+        polledAt = now;
+        refreshedAt = now;
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        meters.trackRefresh(full, took, now, services.size(), procedures.size());
+        LOG.debug("refreshed price index: full={}, services={}, procedures={}, took={}ms",
+                full, services.size(), procedures.size(), took.toMillis());
+    }
+
+    private void reload(Collection<Long> serviceIds, Collection<Long> procedureIds) {
+        if (!serviceIds.isEmpty()) {
+            replace(services, serviceIds, servicePrices(serviceRepository.findPriceRowsByIdIn(serviceIds)));
+        }
+        if (!procedureIds.isEmpty()) {
+            replace(procedures, procedureIds, procedurePrices(procedurePriceListRepository.findPriceRowsByProcedureIdIn(procedureIds)));
+        }
+    }
+
+    /**
+     * Update the entries of the given ids in place, dropping those without a price anymore (inactive items,
+     * procedures whose last price row was deleted); other entries stay readable by concurrent quotes throughout.
+     */
+    private static <V> void replace(Map<Long, V> index, Collection<Long> ids, Map<Long, V> reloaded) {
+        for (Long id : ids) {
+            V value = reloaded.get(id);
+            if (value != null) {
+                index.put(id, value);
+            } else {
+                index.remove(id);
+            }
+        }
+    }
+
+    private static Map<Long, Price> servicePrices(List<ServicePriceRow> rows) {
+        Map<Long, Price> prices = new HashMap<>();
+        for (ServicePriceRow row : rows) {
+            if (Boolean.TRUE.equals(row.getActive()) && row.getPrice() != null && row.getCurrency() != null) {
+                prices.put(row.getId(), new Price(row.getFacilityId(), row.getCurrency().name(), row.getPrice()));
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Group price list rows by procedure; rows come ordered by modification date, so the latest price of a currency
+     * wins.
+     */
+    private static Map<Long, ProcedurePrices> procedurePrices(List<ProcedurePriceRow> rows) {
+        Map<Long, ProcedurePrices> prices = new HashMap<>();
+        for (ProcedurePriceRow row : rows) {
+            if (!Boolean.TRUE.equals(row.getActive())) {
+                continue;
+            }
+            prices.computeIfAbsent(row.getProcedureId(), id -> new ProcedurePrices(row.getFacilityId(), new HashMap<>()))
+                    .byCurrency()
+                    .put(currency(row.getCurrency()), row.getPrice());
+        }
+        prices.replaceAll((id, p) -> new ProcedurePrices(p.facilityId(), Map.copyOf(p.byCurrency())));
+        return prices;
+    }
+
+    private static String currency(String currency) {
+        return currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<Long> ids(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.forEach(id -> {
+                if (id != null) {
+                    result.add(id);
+                }
+            });
+        }
+        return result;
+    }
+}
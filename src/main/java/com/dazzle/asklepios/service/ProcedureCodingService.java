@@ -48,6 +48,20 @@ public class ProcedureCodingService {
     public ProcedureCoding create(Long procedureId, ProcedureCoding input) {
         LOG.debug("Request to create ProcedureCoding for procedureId={} payload={}", procedureId, input);
 
+        try {
+            ProcedureCoding saved = stageCreate(procedureId, input);
+            repository.flush();
+            LOG.debug("Created ProcedureCoding: {}", saved);
+            return saved;
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw constraintViolation(ex);
+        }
+    }
+
+    /**
+     * Validates and persists a new procedure coding without flushing; the identity insert still runs immediately.
+     */
+    ProcedureCoding stageCreate(Long procedureId, ProcedureCoding input) {
         if (procedureId == null) {
             throw new BadRequestAlertException("Procedure ID is required", "procedureCoding", "procedureid.required");
         }
@@ -71,29 +85,25 @@ public class ProcedureCodingService {
                 .codeType(input.getCodeType())
                 .codeId(input.getCodeId().trim())
                 .build();
+        return repository.save(entity);
+    }
 
-        try {
-            ProcedureCoding saved = repository.saveAndFlush(entity);
-            LOG.debug("Created ProcedureCoding: {}", saved);
-            return saved;
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            String msg = extractMessage(ex);
-            LOG.warn("DB constraint violation while creating ProcedureCoding (procedureId={}, codeType={}, codeId={}): {}",
-                    procedureId, input.getCodeType(), input.getCodeId(), msg, ex);
-
-            if (isUniqueViolation(msg, "uk_procedurecoding_procedureid_codetype_codeid")) {
-                throw new BadRequestAlertException(
-                        "A ProcedureCoding with the same (procedure, codeType, codeId) already exists.",
-                        "procedureCoding",
-                        "unique.procedurecoding"
-                );
-            }
-            throw new BadRequestAlertException(
-                    "Database constraint violated while creating ProcedureCoding.",
+    BadRequestAlertException constraintViolation(RuntimeException ex) {
+        String msg = extractMessage(ex);
+        LOG.warn("DB constraint violation while creating ProcedureCoding: {}", msg, ex);
+
+        if (isUniqueViolation(msg, "uk_procedurecoding_procedureid_codetype_codeid")) {
+            return new BadRequestAlertException(
+                    "A ProcedureCoding with the same (procedure, codeType, codeId) already exists.",
                     "procedureCoding",
-                    "db.constraint"
+                    "unique.procedurecoding"
             );
         }
+        return new BadRequestAlertException(
+                "Database constraint violated while creating ProcedureCoding.",
+                "procedureCoding",
+                "db.constraint"
+        );
     }
 
     @Transactional(readOnly = true)
@@ -8,6 +8,7 @@ import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -27,13 +28,16 @@ public class ProcedurePriceListService {
 
     private final ProcedurePriceListRepository repository;
     private final ProcedureRepository procedureRepository;
+    private final ApplicationEventPublisher events;
 
     public ProcedurePriceListService(
             ProcedurePriceListRepository repository,
-            ProcedureRepository procedureRepository
+            ProcedureRepository procedureRepository,
+            ApplicationEventPublisher events
     ) {
         this.repository = repository;
         this.procedureRepository = procedureRepository;
+        this.events = events;
     }
 
 
@@ -69,6 +73,7 @@ public class ProcedurePriceListService {
 
         try {
             ProcedurePriceList saved = repository.saveAndFlush(entity);
+            events.publishEvent(PriceQuoteService.PricesChanged.ofProcedure(procedureId));
             LOG.debug("Created ProcedurePriceList: {}", saved);
             return saved;
         } catch (DataIntegrityViolationException | JpaSystemException ex) {
@@ -103,11 +108,11 @@ public class ProcedurePriceListService {
     public void delete(Long id) {
         LOG.debug("Request to delete ProcedurePriceList : {}", id);
 
-        if (!repository.existsById(id)) {
-            throw new NotFoundAlertException("ProcedurePriceList not found with id " + id, "procedurePriceList", "notfound");
-        }
+        ProcedurePriceList existing = repository.findById(id)
+                .orElseThrow(() -> new NotFoundAlertException("ProcedurePriceList not found with id " + id, "procedurePriceList", "notfound"));
 
-        repository.deleteById(id);
+        repository.delete(existing);
+        events.publishEvent(PriceQuoteService.PricesChanged.ofProcedure(existing.getProcedure().getId()));
         LOG.debug("Deleted ProcedurePriceList id={}", id);
     }
 
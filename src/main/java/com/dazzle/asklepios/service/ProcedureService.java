@@ -9,6 +9,7 @@ import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,10 +31,12 @@ public class ProcedureService {
 
     private final ProcedureRepository procedureRepository;
     private final EntityManager em;
+    private final ApplicationEventPublisher events;
 
-    public ProcedureService(ProcedureRepository procedureRepository, EntityManager em) {
+    public ProcedureService(ProcedureRepository procedureRepository, EntityManager em, ApplicationEventPublisher events) {
         this.procedureRepository = procedureRepository;
         this.em = em;
+        this.events = events;
     }
 
     public Procedure create(Long facilityId, Procedure incoming) {
@@ -115,6 +118,7 @@ public class ProcedureService {
 
         try {
             Procedure updated = procedureRepository.saveAndFlush(existing);
+            events.publishEvent(PriceQuoteService.PricesChanged.ofProcedure(updated.getId()));
             LOG.info("Successfully updated procedure id={} (name='{}')", updated.getId(), updated.getName());
             return Optional.of(updated);
         } catch (DataIntegrityViolationException | JpaSystemException ex) {
@@ -185,6 +189,7 @@ public class ProcedureService {
                     entity.setIsActive(!Boolean.TRUE.equals(entity.getIsActive()));
                     entity.setLastModifiedDate(Instant.now());
                     Procedure saved = procedureRepository.save(entity);
+                    events.publishEvent(PriceQuoteService.PricesChanged.ofProcedure(id));
                     LOG.info("Procedure id={} active status changed to {}", id, saved.getIsActive());
                     return saved;
                 });
@@ -0,0 +1,192 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.domain.PatientAttachments;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Generates square JPEG thumbnails of patient profile pictures after the upload commits.
+ * <p>
+ * Thumbnails are stored next to the original content under {@code thumbnails/<sha256>/<size>.jpg}
+ * (or the original key for rows stored before content addressing) and flagged on the attachment row,
+ * so readers fall back to the original until they exist.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProfilePictureThumbnailService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProfilePictureThumbnailService.class);
+
+    public static final String THUMBNAIL_MIME_TYPE = "image/jpeg";
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    // Larger sources are rejected before decoding: 8000 x 6000 is already beyond any phone camera.
+    private static final long MAX_SOURCE_PIXELS = 48_000_000L;
+
+    private final PatientAttachmentsRepository repo;
+    private final AttachmentStorageService storage;
+    private final AttachmentProperties props;
+
+    /**
+     * Published by {@link PatientAttachmentsService#upload} for {@code PATIENT_PROFILE_PICTURE} uploads.
+     */
+    public record ProfilePictureUploaded(Long attachmentId, String spaceKey, String contentSha256) {}
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProfilePictureUploaded(ProfilePictureUploaded event) {
+        if (event.contentSha256() != null && repo.existsByContentSha256AndThumbnailsGeneratedAtIsNotNull(event.contentSha256())) {
+            LOG.debug("thumbnails already exist for content {}, attachment {}", event.contentSha256(), event.attachmentId());
+            repo.markThumbnailsGenerated(event.attachmentId(), event.contentSha256(), Instant.now());
+            return;
+        }
+        try {
+            generate(event.spaceKey(), event.contentSha256());
+            repo.markThumbnailsGenerated(event.attachmentId(), event.contentSha256(), Instant.now());
+            LOG.debug("generated thumbnails for attachment {}", event.attachmentId());
+        } catch (Exception e) {
+            // The original stays available; the endpoint serves it until thumbnails exist.
+            LOG.warn("Could not generate thumbnails for attachment {}: {}", event.attachmentId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Pick the smallest configured thumbnail covering the requested edge length.
+     *
+     * @return the thumbnail size, or {@code null} if the original must be served.
+     */
+    public Integer resolveSize(PatientAttachments attachment, Integer requested) {
+        if (requested == null || attachment.getThumbnailsGeneratedAt() == null) {
+            return null;
+        }
+        List<Integer> sizes = props.getThumbnailSizes().stream().sorted().toList();
+        return sizes.stream()
+                .filter(size -> size >= requested)
+                .findFirst()
+                .orElse(sizes.isEmpty() ? null : sizes.get(sizes.size() - 1));
+    }
+
+    public static String thumbnailKey(String spaceKey, String contentSha256, int size) {
+        return "thumbnails/" + (contentSha256 != null ? contentSha256 : spaceKey) + "/" + size + ".jpg";
+    }
+
+    // Helpers
+
+    void generate(String spaceKey, String contentSha256) throws IOException {
+        int largest = props.getThumbnailSizes().stream().max(Comparator.naturalOrder()).orElseThrow();
+        BufferedImage source;
+        try (InputStream in = storage.open(spaceKey)) {
+            source = read(in, largest);
+        }
+        BufferedImage square = cropToSquare(source);
+        for (int size : props.getThumbnailSizes()) {
+            byte[] jpeg = writeJpeg(scale(square, size));
+            storage.put(thumbnailKey(spaceKey, contentSha256, size), THUMBNAIL_MIME_TYPE, jpeg.length, new ByteArrayInputStream(jpeg));
+        }
+    }
+
+    /**
+     * Decode the image, letting the reader skip pixels when the source is much larger than the biggest thumbnail,
+     * which keeps a 12 MP photo from being fully expanded in memory.
+     */
+    static BufferedImage read(InputStream in, int largestThumbnail) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IOException("Image too large: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.min(width, height) / (largestThumbnail * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage cropToSquare(BufferedImage image) {
+        int edge = Math.min(image.getWidth(), image.getHeight());
+        return image.getSubimage((image.getWidth() - edge) / 2, (image.getHeight() - edge) / 2, edge, edge);
+    }
+
+    /**
+     * Halve the image until it is within twice the target, then draw the last step with bicubic interpolation;
+     * a single bilinear step from a large source aliases badly.
+     */
+    static BufferedImage scale(BufferedImage square, int size) {
+        BufferedImage current = square;
+        int edge = current.getWidth();
+        while (edge / 2 >= size * 2) {
+            edge /= 2;
+            current = draw(current, edge, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return draw(current, size, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int edge, Object interpolation) {
+        // JPEG has no alpha channel, so everything is drawn onto an opaque RGB canvas.
+        BufferedImage target = new BufferedImage(edge, edge, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, edge, edge, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    static byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,66 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.AbstractAuditingEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Cheap version stamps of auditing entity tables, used to validate cached responses.
+ * <p>
+ * The stamp of a table is its greatest {@code lastModifiedDate} and its row count: an insert or an update moves the
+ * former, a delete the latter. It covers the whole table, so filtered reads are revalidated more often than needed,
+ * never less.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResourceVersionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceVersionService.class);
+
+    private final EntityManager entityManager;
+
+    public ResourceVersionService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param entityNames JPA entity names, each extending {@link AbstractAuditingEntity}.
+     * @return the stamps of the tables, in the given order.
+     */
+    public String version(Collection<String> entityNames) {
+        StringBuilder version = new StringBuilder();
+        for (String entityName : entityNames) {
+            Object[] row = entityManager
+                    .createQuery("select max(e.lastModifiedDate), count(e) from " + entityName + " e", Object[].class)
+                    .getSingleResult();
+            Instant lastModified = (Instant) row[0];
+            version.append(entityName).append(':').append(lastModified).append(':').append(row[1]).append(';');
+        }
+        return version.toString();
+    }
+
+    /**
+     * Fail fast on names that are not auditing entities, since they are concatenated into the version queries.
+     *
+     * @throws IllegalArgumentException if a name is not an entity extending {@link AbstractAuditingEntity}.
+     */
+    public void validate(Collection<String> entityNames) {
+        for (String entityName : entityNames) {
+            EntityType<?> type = entityManager.getMetamodel().getEntities().stream()
+                    .filter(entity -> entity.getName().equals(entityName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown entity: " + entityName));
+            if (!AbstractAuditingEntity.class.isAssignableFrom(type.getJavaType())) {
+                throw new IllegalArgumentException(entityName + " does not extend AbstractAuditingEntity");
+            }
+        }
+        LOG.debug("validated versioned entities: {}", entityNames);
+    }
+}
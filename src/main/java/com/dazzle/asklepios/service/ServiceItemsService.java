@@ -45,6 +45,34 @@ public class ServiceItemsService {
     public ServiceItems create(Long serviceId, ServiceItems input) {
         LOG.debug("Request to create ServiceItems for serviceId={} payload={}", serviceId, input);
 
+        try {
+            ServiceItems saved = stageCreate(serviceId, input);
+            serviceItemsRepository.flush();
+            LOG.debug("Created ServiceItems: {}", saved);
+            return saved;
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw constraintViolation("creating", ex);
+        }
+    }
+
+    public Optional<ServiceItems> update(Long id, Long serviceId, ServiceItems patch) {
+        LOG.debug("Request to update ServiceItems id={} serviceId={} with {}", id, serviceId, patch);
+
+        ServiceItems existing = stageUpdate(id, serviceId);
+
+        try {
+            ServiceItems updated = serviceItemsRepository.saveAndFlush(existing);
+            LOG.debug("Updated ServiceItems: {}", updated);
+            return Optional.of(updated);
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw constraintViolation("updating", ex);
+        }
+    }
+
+    /**
+     * Validates and persists a new service item without flushing; the identity insert still runs immediately.
+     */
+    ServiceItems stageCreate(Long serviceId, ServiceItems input) {
         if (serviceId == null) {
             throw new BadRequestAlertException("Service ID is required", "serviceItems", "serviceid.required");
         }
@@ -62,39 +90,13 @@ public class ServiceItemsService {
                 .isActive(input.getIsActive() != null ? input.getIsActive() : Boolean.TRUE)
                 .build();
         entity.setService(service);
-
-        try {
-            ServiceItems saved = serviceItemsRepository.saveAndFlush(entity);
-            LOG.debug("Created ServiceItems: {}", saved);
-            return saved;
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            Throwable root = getRootCause(ex);
-            String msg = (root != null && root.getMessage() != null ? root.getMessage() : ex.getMessage()).toLowerCase();
-
-            LOG.warn("DB constraint violation while creating ServiceItems (serviceId={}, type={}, sourceId={}): {}",
-                    serviceId, input.getType(), input.getSourceId(), msg, ex);
-
-            if (msg.contains("uk_service_items_service_type_source")
-                    || msg.contains("unique constraint")
-                    || msg.contains("duplicate key")
-                    || msg.contains("duplicate entry")) {
-                throw new BadRequestAlertException(
-                        "A ServiceItem with the same (type, sourceId) already exists for this service.",
-                        "serviceItems",
-                        "unique.serviceitem"
-                );
-            }
-            throw new BadRequestAlertException(
-                    "Database constraint violated while creating ServiceItem (check unique/type/source/service).",
-                    "serviceItems",
-                    "db.constraint"
-            );
-        }
+        return serviceItemsRepository.save(entity);
     }
 
-    public Optional<ServiceItems> update(Long id, Long serviceId, ServiceItems patch) {
-        LOG.debug("Request to update ServiceItems id={} serviceId={} with {}", id, serviceId, patch);
-
+    /**
+     * Moves the managed service item to another service when one is given, left for the next flush.
+     */
+    ServiceItems stageUpdate(Long id, Long serviceId) {
         ServiceItems existing = serviceItemsRepository.findById(id)
                 .orElseThrow(() -> new NotFoundAlertException(
                         "ServiceItems not found with id " + id, "serviceItems", "notfound"));
@@ -105,41 +107,30 @@ public class ServiceItemsService {
                             "Service not found with id " + serviceId, "service", "notfound"));
             existing.setService(service);
         }
+        return existing;
+    }
 
-        try {
-            ServiceItems updated = serviceItemsRepository.saveAndFlush(existing);
-            LOG.debug("Updated ServiceItems: {}", updated);
-            return Optional.of(updated);
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            Throwable root = getRootCause(ex);
-            String msg = (root != null && root.getMessage() != null ? root.getMessage() : ex.getMessage()).toLowerCase();
-
-            LOG.warn("DB constraint violation while updating ServiceItems id={} (serviceId={}, type={}, sourceId={}): {}",
-                    id,
-                    existing.getService() != null ? existing.getService().getId() : null,
-                    existing.getType(),
-                    existing.getSourceId(),
-                    msg,
-                    ex
-            );
+    BadRequestAlertException constraintViolation(String operation, RuntimeException ex) {
+        Throwable root = getRootCause(ex);
+        String msg = (root != null && root.getMessage() != null ? root.getMessage() : String.valueOf(ex.getMessage())).toLowerCase();
+
+        LOG.warn("DB constraint violation while {} ServiceItems: {}", operation, msg, ex);
 
-            if (msg.contains("uk_service_items_service_type_source")
-                    || msg.contains("unique constraint")
-                    || msg.contains("duplicate key")
-                    || msg.contains("duplicate entry")) {
-                throw new BadRequestAlertException(
-                        "Another ServiceItem with the same (type, sourceId) already exists for this service.",
-                        "serviceItems",
-                        "unique.serviceitem"
-                );
-            }
-
-            throw new BadRequestAlertException(
-                    "Database constraint violated while updating ServiceItem (check unique/type/source/service).",
+        if (msg.contains("uk_service_items_service_type_source")
+                || msg.contains("unique constraint")
+                || msg.contains("duplicate key")
+                || msg.contains("duplicate entry")) {
+            return new BadRequestAlertException(
+                    "A ServiceItem with the same (type, sourceId) already exists for this service.",
                     "serviceItems",
-                    "db.constraint"
+                    "unique.serviceitem"
             );
         }
+        return new BadRequestAlertException(
+                "Database constraint violated while " + operation + " ServiceItem (check unique/type/source/service).",
+                "serviceItems",
+                "db.constraint"
+        );
     }
 
     @Transactional(readOnly = true)
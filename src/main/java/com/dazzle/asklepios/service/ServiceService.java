@@ -9,6 +9,7 @@ import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
 import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.orm.jpa.JpaSystemException;
@@ -27,10 +28,12 @@ public class ServiceService {
     private static final Logger LOG = LoggerFactory.getLogger(ServiceService.class);
     private final ServiceRepository serviceRepository;
     private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
 
-    public ServiceService(ServiceRepository serviceRepository, EntityManager entityManager) {
+    public ServiceService(ServiceRepository serviceRepository, EntityManager entityManager, ApplicationEventPublisher events) {
         this.serviceRepository = serviceRepository;
         this.entityManager = entityManager;
+        this.events = events;
     }
 
 
@@ -56,6 +59,7 @@ public class ServiceService {
                 .build();
         try {
             ServiceSetup saved = serviceRepository.saveAndFlush(entity);
+            events.publishEvent(PriceQuoteService.PricesChanged.ofService(saved.getId()));
             LOG.info("Successfully created service id={} name='{}' for facilityId={}", saved.getId(), saved.getName(), facilityId);
             return saved;
         } catch (DataIntegrityViolationException | JpaSystemException constraintException) {
@@ -102,6 +106,7 @@ public class ServiceService {
 
         try {
             ServiceSetup updated = serviceRepository.saveAndFlush(existing);
+            events.publishEvent(PriceQuoteService.PricesChanged.ofService(updated.getId()));
             LOG.info("Successfully updated service id={} (name='{}')", updated.getId(), updated.getName());
             return Optional.of(updated);
         }catch (DataIntegrityViolationException | JpaSystemException constraintException) {
@@ -176,6 +181,7 @@ public class ServiceService {
                     entity.setIsActive(!Boolean.TRUE.equals(entity.getIsActive()));
                     entity.setLastModifiedDate(Instant.now());
                     ServiceSetup saved = serviceRepository.save(entity);
+                    events.publishEvent(PriceQuoteService.PricesChanged.ofService(id));
                     LOG.info("Service id={} active status changed to {}", id, saved.getIsActive());
                     return saved;
                 });
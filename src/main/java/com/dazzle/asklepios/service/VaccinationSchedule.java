@@ -0,0 +1,151 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.enumeration.AgeUnit;
+import com.dazzle.asklepios.domain.enumeration.DoseNumber;
+import com.dazzle.asklepios.domain.enumeration.VaccineDoseStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable schedule of one vaccine, compiled from its active doses and dose intervals by
+ * {@link VaccinationScheduleService}.
+ * <p>
+ * Doses are given in {@link DoseNumber} order. The window of a dose opens at its {@code fromAge} and at the
+ * minimum interval after each earlier dose it depends on, and closes at its {@code toAge} (inclusive). Doses not
+ * given yet are projected at their earliest date, so later doses get a provisional window too.
+ */
+public final class VaccinationSchedule {
+
+    // Average Gregorian month, used for the fractional part of month and year ages.
+    private static final BigDecimal DAYS_PER_MONTH = new BigDecimal("30.4375");
+    private static final BigDecimal HOURS_PER_DAY = BigDecimal.valueOf(24);
+
+    public record Age(BigDecimal amount, AgeUnit unit) {}
+
+    public record Dose(Long id, DoseNumber number, boolean booster, Age from, Age to) {}
+
+    /** The dose {@code toDoseId} must be given at least {@code after} after the dose {@code fromDoseId}. */
+    public record Interval(Long fromDoseId, Long toDoseId, Age after) {}
+
+    public record AdministeredDose(DoseNumber number, LocalDate date) {}
+
+    /**
+     * A dose not given yet.
+     *
+     * @param latestDate {@code null} if the dose has no maximum age.
+     * @param waitingFor the earlier dose that has to be given first, {@code null} if none.
+     */
+    public record PendingDose(Dose dose, VaccineDoseStatus status, LocalDate earliestDate, LocalDate latestDate, DoseNumber waitingFor) {}
+
+    private final Long vaccineId;
+    private final String vaccineName;
+    private final List<Dose> doses;
+    private final Map<Long, List<Interval>> intervalsByToDose;
+
+    public VaccinationSchedule(Long vaccineId, String vaccineName, List<Dose> doses, List<Interval> intervals) {
+        this.vaccineId = vaccineId;
+        this.vaccineName = vaccineName;
+        this.doses = doses.stream().sorted(Comparator.comparingInt(d -> d.number().getOrder())).toList();
+        Map<Long, List<Interval>> byToDose = new HashMap<>();
+        for (Interval interval : intervals) {
+            byToDose.computeIfAbsent(interval.toDoseId(), id -> new ArrayList<>()).add(interval);
+        }
+        byToDose.replaceAll((id, list) -> List.copyOf(list));
+        this.intervalsByToDose = Map.copyOf(byToDose);
+    }
+
+    public Long getVaccineId() {
+        return vaccineId;
+    }
+
+    public String getVaccineName() {
+        return vaccineName;
+    }
+
+    public List<Dose> getDoses() {
+        return doses;
+    }
+
+    /**
+     * @param birthDate   the patient's birth date.
+     * @param administered doses of this vaccine already given; unknown dose numbers are ignored.
+     * @param asOf        the reference date for due and overdue.
+     * @return the doses not given yet in dose order, empty once the series is complete.
+     */
+    public List<PendingDose> evaluate(LocalDate birthDate, List<AdministeredDose> administered, LocalDate asOf) {
+        Map<DoseNumber, LocalDate> given = new HashMap<>();
+        for (AdministeredDose dose : administered) {
+            given.merge(dose.number(), dose.date(), (a, b) -> a.isBefore(b) ? a : b);
+        }
+
+        // Actual date of given doses, projected date of the others, used as interval anchors.
+        Map<Long, LocalDate> anchors = new HashMap<>();
+        List<PendingDose> pending = new ArrayList<>();
+        DoseNumber waitingFor = null;
+        for (Dose dose : doses) {
+            LocalDate givenDate = given.get(dose.number());
+            if (givenDate != null) {
+                anchors.put(dose.id(), givenDate);
+                continue;
+            }
+
+            LocalDate earliest = dose.from() != null ? plus(birthDate, dose.from()) : birthDate;
+            LocalDate latest = dose.to() != null ? plus(birthDate, dose.to()) : null;
+            for (Interval interval : intervalsByToDose.getOrDefault(dose.id(), List.of())) {
+                LocalDate anchor = anchors.get(interval.fromDoseId());
+                if (anchor != null) {
+                    LocalDate afterInterval = plus(anchor, interval.after());
+                    if (afterInterval.isAfter(earliest)) {
+                        earliest = afterInterval;
+                    }
+                }
+            }
+
+            VaccineDoseStatus status;
+            if (waitingFor != null || asOf.isBefore(earliest)) {
+                status = VaccineDoseStatus.UPCOMING;
+            } else if (latest != null && asOf.isAfter(latest)) {
+                status = VaccineDoseStatus.OVERDUE;
+            } else {
+                status = VaccineDoseStatus.DUE;
+            }
+            pending.add(new PendingDose(dose, status, earliest, latest, waitingFor));
+
+            // A dose that can be given now is projected at the reference date, a later one at its earliest date.
+            anchors.put(dose.id(), earliest.isBefore(asOf) ? asOf : earliest);
+            if (waitingFor == null) {
+                waitingFor = dose.number();
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Add an age to a date. Months and years move by calendar months, with any fraction converted to days;
+     * hours are rounded to whole days.
+     */
+    static LocalDate plus(LocalDate date, Age age) {
+        BigDecimal amount = age.amount() == null ? BigDecimal.ZERO : age.amount();
+        AgeUnit unit = age.unit() == null ? AgeUnit.DAYS : age.unit();
+        return switch (unit) {
+            case YEARS -> plusMonths(date, amount.multiply(BigDecimal.valueOf(12)));
+            case MONTHS -> plusMonths(date, amount);
+            case WEEKS -> date.plusDays(amount.multiply(BigDecimal.valueOf(7)).setScale(0, RoundingMode.HALF_UP).longValueExact());
+            case DAYS -> date.plusDays(amount.setScale(0, RoundingMode.HALF_UP).longValueExact());
+            case HOURS -> date.plusDays(amount.divide(HOURS_PER_DAY, 0, RoundingMode.HALF_UP).longValueExact());
+        };
+    }
+
+    private static LocalDate plusMonths(LocalDate date, BigDecimal months) {
+        BigDecimal whole = months.setScale(0, RoundingMode.FLOOR);
+        long days = months.subtract(whole).multiply(DAYS_PER_MONTH).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        return date.plusMonths(whole.longValueExact()).plusDays(days);
+    }
+}
@@ -0,0 +1,189 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.VaccineDoses;
+import com.dazzle.asklepios.domain.VaccineDosesInterval;
+import com.dazzle.asklepios.repository.VaccineDosesIntervalRepository;
+import com.dazzle.asklepios.repository.VaccineDosesRepository;
+import com.dazzle.asklepios.repository.VaccineRepository;
+import com.dazzle.asklepios.service.VaccinationSchedule.AdministeredDose;
+import com.dazzle.asklepios.service.VaccinationSchedule.Age;
+import com.dazzle.asklepios.service.VaccinationSchedule.Dose;
+import com.dazzle.asklepios.service.VaccinationSchedule.Interval;
+import com.dazzle.asklepios.service.VaccinationSchedule.PendingDose;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.AdministeredDoseVM;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.PatientVaccinationScheduleVM;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.VaccinationScheduleEvaluateVM;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.VaccinationSchedulePatientVM;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.VaccineDoseDueVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates vaccination schedules for patients.
+ * <p>
+ * The active doses and intervals of all active vaccines are compiled into {@link VaccinationSchedule}s and kept in
+ * memory. Vaccines, doses and intervals are never deleted and every change goes through the audited entities, so
+ * the latest {@code last_modified_date} of the three tables versions the compiled schedules: it is checked on every
+ * evaluation and the schedules are recompiled when it moves, on every instance.
+ */
+@Service
+@Transactional(readOnly = true)
+public class VaccinationScheduleService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VaccinationScheduleService.class);
+
+    private static final String ENTITY_NAME = "vaccinationSchedule";
+
+    public static final int MAX_PATIENTS = 5000;
+
+    private final VaccineRepository vaccineRepository;
+    private final VaccineDosesRepository dosesRepository;
+    private final VaccineDosesIntervalRepository intervalsRepository;
+
+    private record Compiled(Optional<Instant> version, Map<Long, VaccinationSchedule> schedules) {}
+
+    private volatile Compiled compiled;
+
+    public VaccinationScheduleService(
+            VaccineRepository vaccineRepository,
+            VaccineDosesRepository dosesRepository,
+            VaccineDosesIntervalRepository intervalsRepository
+    ) {
+        this.vaccineRepository = vaccineRepository;
+        this.dosesRepository = dosesRepository;
+        this.intervalsRepository = intervalsRepository;
+    }
+
+    /**
+     * Evaluate the schedules of a list of patients.
+     *
+     * @param request the patients, at most {@link #MAX_PATIENTS}, optionally restricted to some vaccines.
+     * @return for each patient in request order, the doses not given yet of every scheduled vaccine.
+     */
+    public List<PatientVaccinationScheduleVM> evaluate(VaccinationScheduleEvaluateVM request) {
+        if (request.patients().size() > MAX_PATIENTS) {
+            throw new BadRequestAlertException(
+                    "At most " + MAX_PATIENTS + " patients can be evaluated at once",
+                    ENTITY_NAME,
+                    "tooManyPatients"
+            );
+        }
+        LocalDate asOf = request.asOf() != null ? request.asOf() : LocalDate.now();
+        Collection<VaccinationSchedule> schedules = schedules(request.vaccineIds());
+        LOG.debug("evaluate vaccination schedules: patients={}, vaccines={}, asOf={}", request.patients().size(), schedules.size(), asOf);
+
+        List<PatientVaccinationScheduleVM> result = new ArrayList<>(request.patients().size());
+        for (VaccinationSchedulePatientVM patient : request.patients()) {
+            Map<Long, List<AdministeredDose>> administered = patient.administered() == null ? Map.of() : patient.administered().stream()
+                    .filter(dose -> dose.vaccineId() != null && dose.doseNumber() != null && dose.date() != null)
+                    .collect(Collectors.groupingBy(
+                            AdministeredDoseVM::vaccineId,
+                            Collectors.mapping(dose -> new AdministeredDose(dose.doseNumber(), dose.date()), Collectors.toList())
+                    ));
+            List<VaccineDoseDueVM> doses = new ArrayList<>();
+            for (VaccinationSchedule schedule : schedules) {
+                List<PendingDose> pending = schedule.evaluate(
+                        patient.birthDate(), administered.getOrDefault(schedule.getVaccineId(), List.of()), asOf);
+                for (PendingDose dose : pending) {
+                    doses.add(VaccineDoseDueVM.of(schedule, dose));
+                }
+            }
+            result.add(new PatientVaccinationScheduleVM(patient.patientId(), doses));
+        }
+        return result;
+    }
+
+    /**
+     * @param vaccineIds the vaccines to return, all scheduled vaccines if {@code null} or empty.
+     * @return the compiled schedules, recompiled first if a vaccine, dose or interval changed.
+     */
+    public Collection<VaccinationSchedule> schedules(Collection<Long> vaccineIds) {
+        Map<Long, VaccinationSchedule> schedules = current().schedules();
+        if (vaccineIds == null || vaccineIds.isEmpty()) {
+            return schedules.values();
+        }
+        return vaccineIds.stream().distinct().map(schedules::get).filter(Objects::nonNull).toList();
+    }
+
+    // Helpers
+
+    private Compiled current() {
+        Optional<Instant> version = version();
+        Compiled snapshot = compiled;
+        if (snapshot != null && snapshot.version().equals(version)) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = compiled;
+            if (snapshot == null || !snapshot.version().equals(version)) {
+                // Read before loading, so a change committed meanwhile triggers one more compilation, never a stale one.
+                snapshot = new Compiled(version, compile());
+                compiled = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    private Optional<Instant> version() {
+        return Stream.of(
+                        vaccineRepository.findLastModifiedDate(),
+                        dosesRepository.findLastModifiedDate(),
+                        intervalsRepository.findLastModifiedDate()
+                )
+                .flatMap(Optional::stream)
+                .max(Instant::compareTo);
+    }
+
+    private Map<Long, VaccinationSchedule> compile() {
+        List<VaccineDoses> doses = dosesRepository.findActiveOfActiveVaccines();
+        List<VaccineDosesInterval> intervals = intervalsRepository.findActiveOfActiveVaccines();
+
+        Map<Long, List<Dose>> dosesByVaccine = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        for (VaccineDoses dose : doses) {
+            Long vaccineId = dose.getVaccine().getId();
+            names.put(vaccineId, dose.getVaccine().getName());
+            dosesByVaccine.computeIfAbsent(vaccineId, id -> new ArrayList<>()).add(new Dose(
+                    dose.getId(),
+                    dose.getDoseNumber(),
+                    Boolean.TRUE.equals(dose.getIsBooster()),
+                    dose.getFromAge() != null ? new Age(dose.getFromAge(), dose.getFromAgeUnit()) : null,
+                    dose.getToAge() != null ? new Age(dose.getToAge(), dose.getToAgeUnit()) : null
+            ));
+        }
+
+        // Intervals from or to an inactive dose are dropped with the dose.
+        Set<Long> activeDoseIds = doses.stream().map(VaccineDoses::getId).collect(Collectors.toSet());
+        Map<Long, List<Interval>> intervalsByVaccine = new HashMap<>();
+        for (VaccineDosesInterval interval : intervals) {
+            Long fromDoseId = interval.getFromDose().getId();
+            Long toDoseId = interval.getToDose().getId();
+            if (activeDoseIds.contains(fromDoseId) && activeDoseIds.contains(toDoseId)) {
+                intervalsByVaccine.computeIfAbsent(interval.getVaccine().getId(), id -> new ArrayList<>()).add(
+                        new Interval(fromDoseId, toDoseId, new Age(interval.getIntervalBetweenDoses(), interval.getUnit())));
+            }
+        }
+
+        Map<Long, VaccinationSchedule> schedules = new HashMap<>();
+        dosesByVaccine.forEach((vaccineId, vaccineDoses) -> schedules.put(vaccineId, new VaccinationSchedule(
+                vaccineId, names.get(vaccineId), vaccineDoses, intervalsByVaccine.getOrDefault(vaccineId, List.of()))));
+        LOG.info("compiled vaccination schedules: vaccines={}, doses={}, intervals={}", schedules.size(), doses.size(), intervals.size());
+        return Map.copyOf(schedules);
+    }
+}
@@ -43,6 +43,36 @@ public class VaccineDosesService {
     public VaccineDoses create(Long vaccineId, VaccineDoses incoming) {
         LOG.info("[CREATE] Request to create VaccineDose for vaccineId={} payload={}", vaccineId, incoming);
 
+        try {
+            VaccineDoses saved = stageCreate(vaccineId, incoming);
+            vaccineDosesRepository.flush();
+            LOG.info("Successfully created vaccine dose id={} doseNumber={} for vaccineId={}",
+                    saved.getId(), saved.getDoseNumber(), vaccineId);
+            return saved;
+        } catch (DataIntegrityViolationException | JpaSystemException constraintException) {
+            throw handleConstraintViolation(constraintException);
+        }
+    }
+
+    public Optional<VaccineDoses> update(Long id, Long vaccineId, VaccineDoses incoming) {
+        LOG.info("[UPDATE] Request to update VaccineDose id={} vaccineId={} payload={}", id, vaccineId, incoming);
+
+        VaccineDoses existing = stageUpdate(id, incoming);
+
+        try {
+            VaccineDoses updated = vaccineDosesRepository.saveAndFlush(existing);
+            LOG.info("Successfully updated vaccine dose id={} (doseNumber={})",
+                    updated.getId(), updated.getDoseNumber());
+            return Optional.of(updated);
+        } catch (DataIntegrityViolationException | JpaSystemException ex) {
+            throw handleConstraintViolation(ex);
+        }
+    }
+
+    /**
+     * Validates and persists a new vaccine dose without flushing; the identity insert still runs immediately.
+     */
+    VaccineDoses stageCreate(Long vaccineId, VaccineDoses incoming) {
         if (vaccineId == null) {
             throw new BadRequestAlertException("Vaccine id is required", "vaccineDose", "vaccine.required");
         }
@@ -60,27 +90,13 @@ public class VaccineDosesService {
                 .isBooster(Boolean.TRUE.equals(incoming.getIsBooster()))
                 .isActive(Boolean.TRUE.equals(incoming.getIsActive()))
                 .build();
-
-        try {
-            VaccineDoses saved = vaccineDosesRepository.saveAndFlush(entity);
-            LOG.info("Successfully created vaccine dose id={} doseNumber={} for vaccineId={}",
-                    saved.getId(), saved.getDoseNumber(), vaccineId);
-            return saved;
-        } catch (DataIntegrityViolationException | JpaSystemException constraintException) {
-            handleConstraintViolation(constraintException);
-
-
-            throw new BadRequestAlertException(
-                    "Database constraint violated while saving vaccine dose (check unique fields or required values).",
-                    "vaccineDose",
-                    "db.constraint"
-            );
-        }
+        return vaccineDosesRepository.save(entity);
     }
 
-    public Optional<VaccineDoses> update(Long id, Long vaccineId, VaccineDoses incoming) {
-        LOG.info("[UPDATE] Request to update VaccineDose id={} vaccineId={} payload={}", id, vaccineId, incoming);
-
+    /**
+     * Validates and applies an update to the managed vaccine dose, left for the next flush.
+     */
+    VaccineDoses stageUpdate(Long id, VaccineDoses incoming) {
         if (incoming == null) {
             throw new BadRequestAlertException("Vaccine dose payload is required", "vaccineDose", "payload.required");
         }
@@ -96,21 +112,7 @@ public class VaccineDosesService {
         existing.setToAgeUnit(incoming.getToAgeUnit());
         existing.setIsBooster(incoming.getIsBooster());
         existing.setIsActive(incoming.getIsActive());
-
-        try {
-            VaccineDoses updated = vaccineDosesRepository.saveAndFlush(existing);
-            LOG.info("Successfully updated vaccine dose id={} (doseNumber={})",
-                    updated.getId(), updated.getDoseNumber());
-            return Optional.of(updated);
-        } catch (DataIntegrityViolationException | JpaSystemException ex) {
-            handleConstraintViolation(ex);
-
-            throw new BadRequestAlertException(
-                    "Database constraint violated while updating vaccine dose (check unique fields or required values).",
-                    "vaccineDose",
-                    "db.constraint"
-            );
-        }
+        return existing;
     }
 
     @Transactional(readOnly = true)
@@ -135,7 +137,7 @@ public class VaccineDosesService {
         return entityManager.getReference(Vaccine.class, vaccineId);
     }
 
-    private void handleConstraintViolation(RuntimeException constraintException) {
+    BadRequestAlertException handleConstraintViolation(RuntimeException constraintException) {
         Throwable root = getRootCause(constraintException);
         String message = (root != null ? root.getMessage() : constraintException.getMessage());
         String msgLower = message != null ? message.toLowerCase() : "";
@@ -150,28 +152,28 @@ public class VaccineDosesService {
                 || msgLower.contains("duplicate entry")) {
 
             if (msgLower.contains("ux_vaccine_dose_number_vaccine_id")) {
-                throw new BadRequestAlertException(
+                return new BadRequestAlertException(
                         "A vaccine dose with the same (dose_number, vaccine_id) already exists.",
                         "vaccineDose",
                         "unique.doseNumber.vaccineId"
                 );
             }
             if (msgLower.contains("ux_vaccine_dose_full_age_window")) {
-                throw new BadRequestAlertException(
+                return new BadRequestAlertException(
                         "A vaccine dose with the same (dose_number, vaccine_id, from/to age + units) already exists.",
                         "vaccineDose",
                         "unique.doseNumber.vaccineId.ageWindow"
                 );
             }
 
-            throw new BadRequestAlertException(
+            return new BadRequestAlertException(
                     "Duplicate or unique constraint violation while saving vaccine dose.",
                     "vaccineDose",
                     "db.duplicate"
             );
         }
 
-        throw new BadRequestAlertException(
+        return new BadRequestAlertException(
                 "Database constraint violated while saving vaccine dose (check unique fields or required values).",
                 "vaccineDose",
                 "db.constraint"
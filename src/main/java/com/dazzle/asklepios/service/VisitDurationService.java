@@ -33,24 +33,9 @@ public class VisitDurationService {
     public VisitDuration create(VisitDuration incoming) {
         LOG.info("[CREATE] Request to create VisitDuration payload={}", incoming);
 
-        if (incoming == null) {
-            throw new BadRequestAlertException(
-                "VisitDuration payload is required",
-                "visitDuration",
-                "payload.required"
-            );
-        }
-
-        VisitDuration entity = VisitDuration.builder()
-            .visitType(incoming.getVisitType())
-            .durationInMinutes(incoming.getDurationInMinutes())
-            .resourceSpecific(
-                incoming.getResourceSpecific() != null ? incoming.getResourceSpecific() : Boolean.FALSE
-            )
-            .build();
-
         try {
-            VisitDuration saved = visitDurationRepository.saveAndFlush(entity);
+            VisitDuration saved = stageCreate(incoming);
+            visitDurationRepository.flush();
             LOG.info(
                 "Successfully created VisitDuration id={} visitType={} durationInMinutes={} resourceSpecific={}",
                 saved.getId(),
@@ -67,6 +52,49 @@ public class VisitDurationService {
     public Optional<VisitDuration> update(Long id, VisitDuration incoming) {
         LOG.info("[UPDATE] Request to update VisitDuration id={} payload={}", id, incoming);
 
+        VisitDuration existing = stageUpdate(id, incoming);
+
+        try {
+            VisitDuration updated = visitDurationRepository.saveAndFlush(existing);
+            LOG.info(
+                "Successfully updated VisitDuration id={} visitType={} durationInMinutes={} resourceSpecific={}",
+                updated.getId(),
+                updated.getVisitType(),
+                updated.getDurationInMinutes(),
+                updated.getResourceSpecific()
+            );
+            return Optional.of(updated);
+        } catch (DataIntegrityViolationException | JpaSystemException constraintException) {
+            throw handleConstraintViolationOnSave("update", constraintException);
+        }
+    }
+
+    /**
+     * Validates and persists a new visit duration without flushing; the identity insert still runs immediately.
+     */
+    VisitDuration stageCreate(VisitDuration incoming) {
+        if (incoming == null) {
+            throw new BadRequestAlertException(
+                "VisitDuration payload is required",
+                "visitDuration",
+                "payload.required"
+            );
+        }
+
+        VisitDuration entity = VisitDuration.builder()
+            .visitType(incoming.getVisitType())
+            .durationInMinutes(incoming.getDurationInMinutes())
+            .resourceSpecific(
+                incoming.getResourceSpecific() != null ? incoming.getResourceSpecific() : Boolean.FALSE
+            )
+            .build();
+        return visitDurationRepository.save(entity);
+    }
+
+    /**
+     * Validates and applies an update to the managed visit duration, left for the next flush.
+     */
+    VisitDuration stageUpdate(Long id, VisitDuration incoming) {
         if (incoming == null) {
             throw new BadRequestAlertException(
                 "VisitDuration payload is required",
@@ -89,20 +117,7 @@ public class VisitDurationService {
         existing.setResourceSpecific(
             incoming.getResourceSpecific() != null ? incoming.getResourceSpecific() : Boolean.FALSE
         );
-
-        try {
-            VisitDuration updated = visitDurationRepository.saveAndFlush(existing);
-            LOG.info(
-                "Successfully updated VisitDuration id={} visitType={} durationInMinutes={} resourceSpecific={}",
-                updated.getId(),
-                updated.getVisitType(),
-                updated.getDurationInMinutes(),
-                updated.getResourceSpecific()
-            );
-            return Optional.of(updated);
-        } catch (DataIntegrityViolationException | JpaSystemException constraintException) {
-            throw handleConstraintViolationOnSave("update", constraintException);
-        }
+        return existing;
     }
 
     @Transactional(readOnly = true)
@@ -152,7 +167,7 @@ public class VisitDurationService {
         }
     }
 
-    private RuntimeException handleConstraintViolationOnSave(String operation, Exception constraintException) {
+    BadRequestAlertException handleConstraintViolationOnSave(String operation, Exception constraintException) {
         Throwable root = getRootCause(constraintException);
         String message = (root != null ? root.getMessage() : constraintException.getMessage());
         String lowerMessage = message != null ? message.toLowerCase() : "";
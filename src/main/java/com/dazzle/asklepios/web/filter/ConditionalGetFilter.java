@@ -0,0 +1,261 @@
+package com.dazzle.asklepios.web.filter;
+
+import com.dazzle.asklepios.config.ConditionalGetProperties;
+import com.dazzle.asklepios.management.ConditionalGetMetersService;
+import com.dazzle.asklepios.service.ResourceVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Answers GET requests on registered reference resources with weak ETags, and with {@code 304 Not Modified} before the
+ * controller runs when the client already holds the current representation.
+ * <p>
+ * The ETag is derived from the {@link ResourceVersionService version stamps} of the entities behind the resource and
+ * from the request path and query, so validating a request costs one aggregate query per entity and no serialization.
+ * Only resources whose responses do not depend on the user may be registered.
+ */
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    private final List<ConditionalGetProperties.Resource> resources;
+    private final int maxRememberedSizes;
+    private final ResourceVersionService versionService;
+    private final ConditionalGetMetersService metersService;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    // Body size last sent per ETag, to report what a 304 saved
+    private final Map<String, Long> sizes = new ConcurrentHashMap<>();
+
+    public ConditionalGetFilter(
+        ConditionalGetProperties properties,
+        ResourceVersionService versionService,
+        ConditionalGetMetersService metersService
+    ) {
+        this.resources = List.copyOf(properties.getResources());
+        this.maxRememberedSizes = properties.getMaxRememberedSizes();
+        this.versionService = versionService;
+        this.metersService = metersService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ConditionalGetProperties.Resource resource = match(request);
+        if (resource == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String tag = resource.getPaths().get(0);
+        String etag = etag(versionService.version(resource.getEntities()), request);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            metersService.trackNotModified(tag, sizes.getOrDefault(etag, 0L));
+            return;
+        }
+
+        ValidatedResponse validated = new ValidatedResponse(response, etag);
+        filterChain.doFilter(request, validated);
+        metersService.trackModified(tag);
+        if (validated.isValidated()) {
+            remember(etag, validated.getBytesWritten());
+        }
+    }
+
+    // Helpers
+
+    private ConditionalGetProperties.Resource match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (ConditionalGetProperties.Resource resource : resources) {
+            for (String pattern : resource.getPaths()) {
+                if (matcher.match(pattern, path)) {
+                    return resource;
+                }
+            }
+        }
+        return null;
+    }
+
+    static String etag(String version, HttpServletRequest request) {
+        String query = request.getQueryString();
+        String key = version + '|' + request.getRequestURI() + (query != null ? '?' + query : "");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            // 16 bytes are plenty to tell versions of one URL apart.
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Weak comparison, as required for {@code If-None-Match}: the {@code W/} prefix is ignored on both sides.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private void remember(String etag, long size) {
+        if (sizes.size() >= maxRememberedSizes) {
+            Iterator<String> it = sizes.keySet().iterator();
+            int target = maxRememberedSizes - Math.max(1, maxRememberedSizes / 10);
+            while (sizes.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        if (maxRememberedSizes > 0) {
+            sizes.put(etag, size);
+        }
+    }
+
+    /**
+     * Adds the validators when the body starts on a successful response, so errors never carry an ETag, and counts
+     * the body bytes on the way out without buffering them.
+     */
+    private static final class ValidatedResponse extends HttpServletResponseWrapper {
+
+        private final String etag;
+        private boolean validated;
+        private long bytesWritten;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        ValidatedResponse(HttpServletResponse response, String etag) {
+            super(response);
+            this.etag = etag;
+        }
+
+        boolean isValidated() {
+            return validated;
+        }
+
+        long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                validate();
+                outputStream = new CountingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            if (writer == null) {
+                validate();
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                writer = new PrintWriter(new OutputStreamWriter(new CountingOutputStream(super.getOutputStream()), charset));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+        private void validate() {
+            if (getStatus() == HttpServletResponse.SC_OK && !isCommitted()) {
+                validated = true;
+                setHeader(HttpHeaders.ETAG, etag);
+                // Stored but revalidated on every use; this also keeps Spring Security from sending no-store.
+                setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            }
+        }
+
+        private final class CountingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            CountingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                delegate.write(b, off, len);
+                bytesWritten += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.dazzle.asklepios.web.rest;
 
 import com.dazzle.asklepios.domain.ActiveIngredients;
+import com.dazzle.asklepios.repository.ActiveIngredientSummary;
+import com.dazzle.asklepios.service.ActiveIngredientMonographService;
 import com.dazzle.asklepios.service.ActiveIngredientsService;
 import com.dazzle.asklepios.web.rest.Helper.PaginationUtil;
+import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientMonographVM;
 import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsCreateVM;
 import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsSummaryVM;
 import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsUpdateVM;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -28,9 +33,11 @@ public class ActiveIngredientsController {
     private static final Logger LOG = LoggerFactory.getLogger(ActiveIngredientsController.class);
 
     private final ActiveIngredientsService activeIngredientsService;
+    private final ActiveIngredientMonographService activeIngredientMonographService;
 
-    public ActiveIngredientsController(ActiveIngredientsService activeIngredientsService) {
+    public ActiveIngredientsController(ActiveIngredientsService activeIngredientsService, ActiveIngredientMonographService activeIngredientMonographService) {
         this.activeIngredientsService = activeIngredientsService;
+        this.activeIngredientMonographService = activeIngredientMonographService;
     }
 
     /**
@@ -155,6 +162,79 @@ public class ActiveIngredientsController {
         return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /active-ingredients/summaries} : Get a paginated list of active ingredients with only the list columns.
+     *
+     * <p>Same rows and pagination headers as {@code GET /active-ingredients}, read with a projection query.</p>
+     *
+     * @param pageable the pagination and sorting information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, a list of active ingredient summaries in the body,
+     *         and pagination headers.
+     */
+    @GetMapping("/active-ingredients/summaries")
+    public ResponseEntity<List<ActiveIngredientsSummaryVM>> getAllSummaries(@ParameterObject Pageable pageable) {
+        LOG.debug("REST list ActiveIngredients summaries page={}", pageable);
+        return summaries(activeIngredientsService.getAllSummaries(pageable));
+    }
+
+    /**
+     * {@code GET /active-ingredients/summaries/by-name/{name}} : Summaries of the active ingredients containing the name (paginated).
+     */
+    @GetMapping("/active-ingredients/summaries/by-name/{name}")
+    public ResponseEntity<List<ActiveIngredientsSummaryVM>> getSummariesByName(@PathVariable String name, @ParameterObject Pageable pageable) {
+        LOG.debug("REST list ActiveIngredients summaries by name='{}' page={}", name, pageable);
+        return summaries(activeIngredientsService.getSummariesByName(name, pageable));
+    }
+
+    /**
+     * {@code GET /active-ingredients/summaries/by-drugClass} : Summaries filtered by multiple drug class IDs (paginated).
+     */
+    @GetMapping("/active-ingredients/summaries/by-drugClass")
+    public ResponseEntity<List<ActiveIngredientsSummaryVM>> getSummariesByDrugClass(@RequestParam List<Long> drugClassIds, @ParameterObject Pageable pageable) {
+        LOG.debug("REST list ActiveIngredients summaries by drugClassIds={} page={}", drugClassIds, pageable);
+        return summaries(activeIngredientsService.getSummariesByDrugClassIds(drugClassIds, pageable));
+    }
+
+    /**
+     * {@code GET /active-ingredients/summaries/by-atc/{atcCode}} : Summaries searched by ATC code (contains, ignore case).
+     */
+    @GetMapping("/active-ingredients/summaries/by-atc/{atcCode}")
+    public ResponseEntity<List<ActiveIngredientsSummaryVM>> getSummariesByAtcCode(@PathVariable String atcCode, @ParameterObject Pageable pageable) {
+        LOG.debug("REST list ActiveIngredients summaries by atcCode='{}' page={}", atcCode, pageable);
+        return summaries(activeIngredientsService.getSummariesByAtcCode(atcCode, pageable));
+    }
+
+    /**
+     * {@code GET /active-ingredients/{id}/monograph} : Get the monograph of an active ingredient.
+     *
+     * <p>Returns the active ingredient together with its adverse effects, contraindications, drug and food interactions,
+     * indications, pre-requested tests, special populations and synonyms.</p>
+     *
+     * @param id the identifier of the active ingredient.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the monograph in the body,
+     *         or {@code 404 (Not Found)} if the active ingredient does not exist.
+     */
+    @GetMapping("/active-ingredients/{id}/monograph")
+    public ResponseEntity<ActiveIngredientMonographVM> getMonograph(@PathVariable Long id) {
+        LOG.debug("REST get ActiveIngredients monograph id={}", id);
+        return activeIngredientMonographService.findOne(id)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new NotFoundAlertException("ActiveIngredients not found: " + id, "ActiveIngredients", "notfound"));
+    }
+
+    /**
+     * {@code GET /active-ingredients/monographs} : Get the monographs of several active ingredients.
+     *
+     * @param ids the active ingredient identifiers, at most {@link ActiveIngredientMonographService#MAX_BULK_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the monographs in request order (unknown ids are skipped),
+     *         or {@code 400 (Bad Request)} if too many ids are requested.
+     */
+    @GetMapping("/active-ingredients/monographs")
+    public ResponseEntity<List<ActiveIngredientMonographVM>> getMonographs(@RequestParam List<Long> ids) {
+        LOG.debug("REST list ActiveIngredients monographs ids={}", ids);
+        return ResponseEntity.ok(activeIngredientMonographService.findAll(ids));
+    }
+
     /**
      * {@code PATCH /active-ingredients/{id}/toggle-active} : Toggle the {@code isActive} status of an active ingredient.
      *
@@ -170,4 +250,11 @@ public class ActiveIngredientsController {
         ActiveIngredients activeIngredient = activeIngredientsService.toggleActive(id);
         return ResponseEntity.ok(ActiveIngredientsResponseVM.ofEntity(activeIngredient));
     }
+
+    private static ResponseEntity<List<ActiveIngredientsSummaryVM>> summaries(Page<ActiveIngredientSummary> page) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        List<ActiveIngredientsSummaryVM> body = page.getContent()
+                .stream().map(ActiveIngredientsSummaryVM::ofProjection).toList();
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
 }
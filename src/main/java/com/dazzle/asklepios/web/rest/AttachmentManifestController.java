@@ -0,0 +1,46 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.service.AttachmentManifestService;
+import com.dazzle.asklepios.web.rest.vm.attachment.manifest.AttachmentManifestVM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/setup")
+public class AttachmentManifestController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AttachmentManifestController.class);
+
+    private final AttachmentManifestService service;
+
+    public AttachmentManifestController(AttachmentManifestService service) {
+        this.service = service;
+    }
+
+    /**
+     * {@code GET /attachments/manifest?patientIds=1,2&encounterIds=3&inventoryTransactionIds=&inventoryTransferIds=}:
+     * live attachments of the given owners with their presigned download URLs, replacing one
+     * {@code attachmentDownloadUrl/{id}} call per file.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the manifest in the body,
+     * or {@code 400 (Bad Request)} if more than {@link AttachmentManifestService#MAX_OWNER_IDS} owners are requested.
+     */
+    @GetMapping("/attachments/manifest")
+    public ResponseEntity<AttachmentManifestVM> manifest(
+            @RequestParam(required = false) List<Long> patientIds,
+            @RequestParam(required = false) List<Long> encounterIds,
+            @RequestParam(required = false) List<Long> inventoryTransactionIds,
+            @RequestParam(required = false) List<Long> inventoryTransferIds
+    ) {
+        LOG.debug("REST request for attachment manifest: patients={}, encounters={}, inventoryTransactions={}, inventoryTransfers={}",
+                patientIds, encounterIds, inventoryTransactionIds, inventoryTransferIds);
+        return ResponseEntity.ok(service.manifest(patientIds, encounterIds, inventoryTransactionIds, inventoryTransferIds));
+    }
+}
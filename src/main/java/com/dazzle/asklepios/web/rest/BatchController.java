@@ -0,0 +1,40 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.service.BatchMutationService;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchOperationResultVM;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchRequestVM;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/setup/batch")
+public class BatchController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchController.class);
+
+    private final BatchMutationService batchMutationService;
+
+    /**
+     * {@code POST /batch} : Apply an ordered list of create, update and delete operations on age groups, visit
+     * durations, vaccine doses, service items and procedure codings, all or nothing.
+     *
+     * @param request the operations, at most 500.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one result per operation, or the error of the
+     * first failing operation with its {@code operationIndex}, in which case nothing is written.
+     */
+    @PostMapping
+    public ResponseEntity<List<BatchOperationResultVM>> execute(@Valid @RequestBody BatchRequestVM request) {
+        LOG.debug("REST request to execute a batch of {} operations", request.operations().size());
+        return ResponseEntity.ok(batchMutationService.execute(request.operations()));
+    }
+}
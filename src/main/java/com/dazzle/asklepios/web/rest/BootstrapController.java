@@ -0,0 +1,50 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.security.SecurityUtils;
+import com.dazzle.asklepios.service.BootstrapService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/setup/bootstrap")
+public class BootstrapController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BootstrapController.class);
+
+    private final BootstrapService bootstrapService;
+
+    /**
+     * {@code GET /bootstrap} : Get everything the client loads on startup in one document: enums, active
+     * facilities, languages and the menu of the current user in the tenant facility.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the document in the body, or with status
+     * {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getBootstrap() {
+        String login = SecurityUtils.getCurrentUserLogin()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated."));
+        Long facilityId = SecurityUtils.getCurrentUserFacility()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing mandatory claim 'tenant' in JWT."));
+        LOG.debug("REST request to get the bootstrap document for login={}, facilityId={}", login, facilityId);
+
+        BootstrapService.BootstrapDocument document = bootstrapService.render(login, facilityId);
+        // Spring answers 304 when the ETag matches If-None-Match. The document holds the user's menu,
+        // so shared caches must not store it.
+        return ResponseEntity.ok()
+                .eTag(document.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(document.body());
+    }
+}
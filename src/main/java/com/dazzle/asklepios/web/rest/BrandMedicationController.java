@@ -1,10 +1,14 @@
 package com.dazzle.asklepios.web.rest;
 
 import com.dazzle.asklepios.domain.BrandMedication;
+import com.dazzle.asklepios.repository.BrandMedicationSearchCriteria;
+import com.dazzle.asklepios.repository.BrandMedicationSummary;
 import com.dazzle.asklepios.service.BrandMedicationService;
 import com.dazzle.asklepios.web.rest.Helper.PaginationUtil;
 import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationCreateVM;
 import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationResponseVM;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSearchResultVM;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSummaryVM;
 import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationUpdateVM;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -76,6 +80,22 @@ public class BrandMedicationController {
         );
     }
 
+    /**
+     * {@code GET /brand-medication/search} : Search BrandMedications combining any of the filters.
+     * <p>
+     * {@code q} is matched by full-text search on name, manufacturer and dosage form, and as a substring of name and
+     * code. Pages are keyset based: pass the returned {@code nextCursor} as {@code after} to get the next page.
+     */
+    @GetMapping("/brand-medication/search")
+    public ResponseEntity<BrandMedicationSearchResultVM> search(
+            @ParameterObject BrandMedicationSearchCriteria criteria,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        LOG.debug("REST search BrandMedications criteria={} after={} size={}", criteria, after, size);
+        return ResponseEntity.ok(brandMedicationService.search(criteria, after, size));
+    }
+
     /**
      * {@code GET /brand-medication/{id}} : Get a single BrandMedication by id.
      */
@@ -114,6 +134,23 @@ public class BrandMedicationController {
         );
     }
 
+    /**
+     * {@code GET /brand-medication/summaries} : Get a paginated list of BrandMedications with only the list columns.
+     * <p>
+     * Same rows and pagination headers as {@code GET /brand-medication}, read without the unit of measure associations.
+     */
+    @GetMapping("/brand-medication/summaries")
+    public ResponseEntity<List<BrandMedicationSummaryVM>> getAllSummaries(@ParameterObject Pageable pageable) {
+        LOG.debug("REST list BrandMedication summaries page={}", pageable);
+        return summaries(brandMedicationService.findAllSummaries(pageable));
+    }
+
+    @GetMapping("/brand-medication/summaries/by-name/{name}")
+    public ResponseEntity<List<BrandMedicationSummaryVM>> getSummariesByName(@PathVariable String name, @ParameterObject Pageable pageable) {
+        LOG.debug("REST list BrandMedication summaries by name='{}' page={}", name, pageable);
+        return summaries(brandMedicationService.findSummariesByName(name, pageable));
+    }
+
     @GetMapping("/brand-medication/by-manufacturer/{manufacturer}")
     public ResponseEntity<List<BrandMedicationResponseVM>> getByManufacturer(@PathVariable String manufacturer, @ParameterObject Pageable pageable) {
         LOG.debug("REST list BrandMedications by manufacturer='{}' page={}", manufacturer, pageable);
@@ -211,4 +248,15 @@ public class BrandMedicationController {
                 HttpStatus.OK
         );
     }
+
+    private static ResponseEntity<List<BrandMedicationSummaryVM>> summaries(Page<BrandMedicationSummary> page) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(), page
+        );
+        return new ResponseEntity<>(
+                page.getContent().stream().map(BrandMedicationSummaryVM::ofProjection).toList(),
+                headers,
+                HttpStatus.OK
+        );
+    }
 }
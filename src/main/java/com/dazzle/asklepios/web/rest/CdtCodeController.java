@@ -9,6 +9,8 @@ import com.dazzle.asklepios.service.CdtServiceMappingService;
 import com.dazzle.asklepios.service.dto.CdtImportResultDTO;
 import com.dazzle.asklepios.service.dto.CdtServiceMappingSyncResultDTO;
 import com.dazzle.asklepios.web.rest.Helper.PaginationUtil;
+import com.dazzle.asklepios.web.rest.vm.cdt.CdtServiceMappingSyncVM;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -28,6 +30,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/setup")
@@ -130,4 +133,17 @@ public class CdtCodeController {
         return ResponseEntity.ok(mappingService.sync(cdtId, serviceIds));
     }
 
+    /**
+     * {@code PUT /cdt/services}: replace the services of several CDT codes in one transaction.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the sync result per CDT id in the body,
+     * or {@code 400 (Bad Request)} if more than {@link CdtServiceMappingService#MAX_BULK_SIZE} codes are sent.
+     */
+    @PutMapping("cdt/services")
+    public ResponseEntity<Map<Long, CdtServiceMappingSyncResultDTO>> syncAll(
+            @Valid @RequestBody List<@Valid CdtServiceMappingSyncVM> syncs
+    ) {
+        return ResponseEntity.ok(mappingService.syncAll(syncs));
+    }
+
 }
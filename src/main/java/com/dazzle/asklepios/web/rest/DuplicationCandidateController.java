@@ -3,14 +3,24 @@ package com.dazzle.asklepios.web.rest;
 import com.dazzle.asklepios.domain.DuplicationCandidate;
 import com.dazzle.asklepios.security.SecurityUtils;
 import com.dazzle.asklepios.service.DuplicationCandidateService;
+import com.dazzle.asklepios.service.DuplicationDetectionService;
 import com.dazzle.asklepios.service.FacilityService;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.vm.DuplicationCandidateResponseVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationDetectionResultVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationRecordVM;
 import com.dazzle.asklepios.web.rest.vm.FacilityResponseVM;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,13 +32,19 @@ public class DuplicationCandidateController {
 
     private final DuplicationCandidateService service;
     private final FacilityService facilityService;
+    private final DuplicationDetectionService detectionService;
+    private final ObjectMapper objectMapper;
 
     public DuplicationCandidateController(
             DuplicationCandidateService service,
-            FacilityService facilityService
+            FacilityService facilityService,
+            DuplicationDetectionService detectionService,
+            ObjectMapper objectMapper
     ) {
         this.service = service;
         this.facilityService = facilityService;
+        this.detectionService = detectionService;
+        this.objectMapper = objectMapper;
     }
 
     /** Create new candidate */
@@ -125,6 +141,24 @@ public class DuplicationCandidateController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * {@code POST /detect?facilityId=}: cluster the records of the body, a JSON array or a sequence of JSON
+     * objects, with the duplication rule of the facility. Records are read one at a time as the body streams in.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the duplicate clusters in the body,
+     * or {@code 400 (Bad Request)} if the facility has no active rule, a record is invalid or more than
+     * {@link DuplicationDetectionService#MAX_RECORDS} are sent.
+     */
+    @PostMapping(value = "/detect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DuplicationDetectionResultVM> detect(@RequestParam Long facilityId, HttpServletRequest request) {
+        LOG.debug("REST request to detect duplicates for facilityId={}", facilityId);
+        try (MappingIterator<DuplicationRecordVM> records = objectMapper.readerFor(DuplicationRecordVM.class).readValues(request.getInputStream())) {
+            return ResponseEntity.ok(detectionService.detect(facilityId, records));
+        } catch (IOException | RuntimeJsonMappingException e) {
+            throw new BadRequestAlertException("Invalid records: " + e.getMessage(), "duplicationCandidate", "records.invalid");
+        }
+    }
+
     /** Get facilities linked/unlinked to a role */
     @GetMapping("/available-for-role/{roleId}")
     public ResponseEntity<List<FacilityResponseVM>> getAvailableForRole(@PathVariable Long roleId) {
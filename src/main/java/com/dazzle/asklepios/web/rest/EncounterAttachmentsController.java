@@ -1,5 +1,6 @@
 package com.dazzle.asklepios.web.rest;
 
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.domain.EncounterAttachments;
 import com.dazzle.asklepios.domain.enumeration.EncounterAttachmentSource;
 import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
@@ -7,13 +8,16 @@ import com.dazzle.asklepios.service.AttachmentStorageService;
 import com.dazzle.asklepios.service.EncounterAttachmentsService;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.DownloadEncounterAttachmentVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.encounter.StreamEncounterAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.UpdateEncounterAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.UploadEncounterAttachmentResponseVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.UploadEncounterAttachmentVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,6 +31,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 
@@ -37,15 +42,17 @@ public class EncounterAttachmentsController {
     private final EncounterAttachmentsService service;
     private final EncounterAttachementsRepository repo;
     private final AttachmentStorageService storage;
+    private final AttachmentStreamingUploadService streaming;
 
     private static final String ENTITY_NAME = "EncounterAttachments";
 
     private static final Logger LOG = LoggerFactory.getLogger(EncounterAttachmentsController.class);
 
-    public EncounterAttachmentsController(EncounterAttachmentsService service, EncounterAttachementsRepository repo, AttachmentStorageService storage) {
+    public EncounterAttachmentsController(EncounterAttachmentsService service, EncounterAttachementsRepository repo, AttachmentStorageService storage, AttachmentStreamingUploadService streaming) {
         this.service = service;
         this.repo = repo;
         this.storage = storage;
+        this.streaming = streaming;
     }
 
     /**
@@ -60,16 +67,30 @@ public class EncounterAttachmentsController {
     public ResponseEntity<UploadEncounterAttachmentResponseVM> upload(@PathVariable Long encounterId, @ModelAttribute @Valid UploadEncounterAttachmentVM uploadEncounterAttachmentVM) {
         LOG.debug("Uploading encounter attachment: {}", uploadEncounterAttachmentVM);
         EncounterAttachments saved = service.upload(encounterId, uploadEncounterAttachmentVM);
-        String safeFileName = getSafeFileName(saved.getSpaceKey());
-        String downloadUrl = storage.presignGet(saved.getSpaceKey(), safeFileName).url().toString();
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
 
         UploadEncounterAttachmentResponseVM body = UploadEncounterAttachmentResponseVM.ofEntity(saved, downloadUrl);
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
-    private static String getSafeFileName(String key) {
-        int i = key.lastIndexOf('/');
-        return i >= 0 ? key.substring(i + 1) : key;
+    /**
+     * {@code : POST/ encounters/{encounterId}/attachments/stream}: Upload new attachment for an encounter from the raw request body.
+     * The body is streamed to Spaces in parts while it is received, without buffering the whole file; the request
+     * {@code Content-Type} is the attachment type and is checked against the file content.
+     *
+     * @param streamEncounterAttachmentVM the attachment metadata, as query parameters.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and body of the uploaded attachment,
+     * or {@code 400 (Bad Request)} if the type is not allowed or does not match the content, or the file is too large.
+     **/
+    @PostMapping(value = "/encounters/{encounterId}/attachments/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadEncounterAttachmentResponseVM> uploadStream(@PathVariable Long encounterId, @ModelAttribute @Valid StreamEncounterAttachmentVM streamEncounterAttachmentVM, HttpServletRequest request) throws IOException {
+        LOG.debug("Streaming an encounter attachment: {}", encounterId);
+        EncounterAttachments saved = streaming.upload(request.getInputStream(), request.getContentType(), request.getContentLengthLong(), ENTITY_NAME,
+                staged -> service.upload(encounterId, streamEncounterAttachmentVM, staged));
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
+
+        UploadEncounterAttachmentResponseVM body = UploadEncounterAttachmentResponseVM.ofEntity(saved, downloadUrl);
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
     /**
@@ -113,7 +134,7 @@ public class EncounterAttachmentsController {
     }
 
     /**
-     * {@code DELETE/ encounters/attachments/{id} }Soft delete for an attachment without remove it from spaces
+     * {@code DELETE/ encounters/attachments/{id} }Soft delete for an attachment; the object is removed from spaces by the scheduled purge after the retention period
      *
      * @param id of attachment needs to delete
      */
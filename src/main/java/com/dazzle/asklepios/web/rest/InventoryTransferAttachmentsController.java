@@ -2,14 +2,17 @@ package com.dazzle.asklepios.web.rest;
 
 import com.dazzle.asklepios.domain.InventoryTransferAttachments;
 import com.dazzle.asklepios.service.AttachmentStorageService;
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.service.InventoryTransferAttachmentsService;
 import com.dazzle.asklepios.web.rest.vm.attachment.inventoryTransfer.DownloadInventoryTransferAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.inventoryTransfer.UploadInventoryTransferAttachmentResponseVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.inventoryTransfer.UploadInventoryTransferAttachmentVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +24,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 
@@ -30,12 +34,14 @@ import java.util.List;
 public class InventoryTransferAttachmentsController {
     private final InventoryTransferAttachmentsService service;
     private final AttachmentStorageService storage;
+    private final AttachmentStreamingUploadService streaming;
 
     private static final Logger LOG = LoggerFactory.getLogger(InventoryTransferAttachmentsController.class);
 
-    public InventoryTransferAttachmentsController(InventoryTransferAttachmentsService service, AttachmentStorageService storage) {
+    public InventoryTransferAttachmentsController(InventoryTransferAttachmentsService service, AttachmentStorageService storage, AttachmentStreamingUploadService streaming) {
         this.service = service;
         this.storage = storage;
+        this.streaming = streaming;
     }
     /**
      * {@code : POST/ inventoryTransfer/{transactionId}/attachments}: Upload new attachment for an inventory transfer
@@ -52,17 +58,32 @@ public class InventoryTransferAttachmentsController {
         LOG.debug("Uploading inventory transfer attachment: {}", uploadInventoryTransferAttachmentVM);
         InventoryTransferAttachments saved = service.upload(transactionId, uploadInventoryTransferAttachmentVM);
 
-        String safeFileName = getSafeFileName(saved.getSpaceKey());
-        String downloadUrl = storage.presignGet(saved.getSpaceKey(), safeFileName).url().toString();
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
 
         UploadInventoryTransferAttachmentResponseVM body =
                 UploadInventoryTransferAttachmentResponseVM.ofEntity(saved, downloadUrl);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
-    private static String getSafeFileName(String key) {
-        int i = key.lastIndexOf('/');
-        return i >= 0 ? key.substring(i + 1) : key;
+
+    /**
+     * {@code : POST/ inventoryTransfer/{transactionId}/attachments/stream}: Upload new attachment for an inventory transfer from the raw request body.
+     * The body is streamed to Spaces in parts while it is received, without buffering the whole file; the request
+     * {@code Content-Type} is the attachment type and is checked against the file content.
+     *
+     * @param filename the original file name.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and body of the uploaded attachment,
+     * or {@code 400 (Bad Request)} if the type is not allowed or does not match the content, or the file is too large.
+     **/
+    @PostMapping(value = "/inventoryTransfer/{transactionId}/attachments/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadInventoryTransferAttachmentResponseVM> uploadStream(@PathVariable Long transactionId, @RequestParam(required = false) String filename, HttpServletRequest request) throws IOException {
+        LOG.debug("Streaming an inventory transfer attachment: {}", transactionId);
+        InventoryTransferAttachments saved = streaming.upload(request.getInputStream(), request.getContentType(), request.getContentLengthLong(), "inventoryTransferAttachments",
+                staged -> service.upload(transactionId, filename, staged));
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
+
+        UploadInventoryTransferAttachmentResponseVM body = UploadInventoryTransferAttachmentResponseVM.ofEntity(saved, downloadUrl);
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
     /**
      * {@code : GET/ inventoryTransfer/attachments/by-transactionId?transactionId=1: List active attachments for inventoryTransfer.}
@@ -93,7 +114,7 @@ public class InventoryTransferAttachmentsController {
     }
 
     /**
-     * {@code DELETE/ inventoryTransfer/attachments/{id} }Soft delete for an attachment without remove it from spaces
+     * {@code DELETE/ inventoryTransfer/attachments/{id} }Soft delete for an attachment; the object is removed from spaces by the scheduled purge after the retention period
      * @param id of attachment needs to delete
      * */
     @DeleteMapping("/inventoryTransfer/attachments/{id}")
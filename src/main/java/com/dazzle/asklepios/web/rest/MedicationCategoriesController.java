@@ -6,12 +6,15 @@ import com.dazzle.asklepios.domain.DuplicationCandidate;
 import com.dazzle.asklepios.domain.Language;
 import com.dazzle.asklepios.domain.MedicationCategories;
 import com.dazzle.asklepios.service.MedicationCategoriesService;
+import com.dazzle.asklepios.service.MedicationCategoryHierarchyService;
 import com.dazzle.asklepios.web.rest.vm.DuplicationCandidateResponseVM;
 import com.dazzle.asklepios.web.rest.vm.ageGroup.AgeGroupResponseVM;
 import com.dazzle.asklepios.web.rest.vm.department.DepartmentResponseVM;
 import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoriesCreateVM;
 import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoriesResponseVM;
 import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoriesUpdateVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryNodeVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryTreeVM;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -39,6 +42,7 @@ public class MedicationCategoriesController {
 
     private static final Logger LOG = LoggerFactory.getLogger(MedicationCategoriesController.class);
     private final MedicationCategoriesService medicationCategoriesService;
+    private final MedicationCategoryHierarchyService hierarchyService;
 
     @PostMapping
     public ResponseEntity<MedicationCategoriesResponseVM> create(@Valid @RequestBody MedicationCategoriesCreateVM vm) {
@@ -88,6 +92,32 @@ public class MedicationCategoriesController {
         return ResponseEntity.ok(list);
     }
 
+    /**
+     * {@code GET /tree?name=}: categories with their drug classes and active ingredient counts, in one response.
+     *
+     * @param name optional filter on category and class names.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the hierarchy in the body.
+     */
+    @GetMapping("/tree")
+    public ResponseEntity<MedicationCategoryTreeVM> findTree(@RequestParam(required = false) String name) {
+        LOG.debug("REST request to get the Medication Category hierarchy, name={}", name);
+        return ResponseEntity.ok(name != null && !name.isBlank() ? hierarchyService.findTree(name) : hierarchyService.findTree());
+    }
+
+    /**
+     * {@code GET /{id}/tree}: one category with its drug classes and active ingredient counts.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the category in the body,
+     * or {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/tree")
+    public ResponseEntity<MedicationCategoryNodeVM> findSubtree(@PathVariable Long id) {
+        LOG.debug("REST request to get the Medication Category hierarchy of id={}", id);
+        return hierarchyService.findCategory(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MedicationCategories> findOne(@PathVariable Long id) {
         LOG.debug("REST request to get MedicationCategories id={}", id);
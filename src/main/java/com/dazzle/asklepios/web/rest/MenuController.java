@@ -1,7 +1,6 @@
 // src/main/java/com/dazzle/asklepios/web/rest/MenuController.java
 package com.dazzle.asklepios.web.rest;
 
-import com.dazzle.asklepios.domain.User;
 import com.dazzle.asklepios.repository.UserRepository;
 import com.dazzle.asklepios.security.SecurityUtils;
 import com.dazzle.asklepios.service.MenuService;
@@ -27,20 +26,23 @@ public class MenuController {
 
     /**
      * Example: GET /api/menu
+     * <p>
+     * Resolved with one query keyed by the login and tenant claims.
      */
     @GetMapping
     public ResponseEntity<List<MenuItemVM>> getMenu() {
         String login = SecurityUtils.getCurrentUserLogin()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated."));
 
-        Long userId = userRepository.findByLogin(login)
-                .map(User::getId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found: " + login));
-
         Long facilityId = SecurityUtils.getCurrentUserFacility()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing mandatory claim 'tenant' in JWT."));
 
-        return ResponseEntity.ok(menuService.getMenu(userId, facilityId));
+        List<MenuItemVM> menu = menuService.getMenu(login, facilityId);
+        // Only an empty menu can come from an unknown login, so only then is the user looked up.
+        if (menu.isEmpty() && !userRepository.existsByLogin(login)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found: " + login);
+        }
+        return ResponseEntity.ok(menu);
     }
 
 
@@ -1,5 +1,6 @@
 package com.dazzle.asklepios.web.rest;
 
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.domain.PatientAttachments;
 import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
 import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
@@ -7,15 +8,19 @@ import com.dazzle.asklepios.service.AttachmentStorageService;
 import com.dazzle.asklepios.service.PatientAttachmentsService;
 import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.DownloadPatientAttachmentVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.patient.StreamPatientAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.UpdatePatientAttachmentVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.UploadPatientAttachmentResponseVM;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.UploadPatientAttachmentVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -26,9 +31,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -38,14 +45,16 @@ public class PatientAttachmentsController {
     private final PatientAttachmentsService service;
     private final PatientAttachmentsRepository repo;
     private final AttachmentStorageService storage;
+    private final AttachmentStreamingUploadService streaming;
 
     private static final String ENTITY_NAME = "patientAttachments";
     private static final Logger LOG = LoggerFactory.getLogger(PatientAttachmentsController.class);
 
 
-    public PatientAttachmentsController(PatientAttachmentsRepository repo, AttachmentStorageService storage, PatientAttachmentsService service) {
+    public PatientAttachmentsController(PatientAttachmentsRepository repo, AttachmentStorageService storage, PatientAttachmentsService service, AttachmentStreamingUploadService streaming) {
         this.repo = repo;
         this.storage = storage;
+        this.streaming = streaming;
         this.service = service;
     }
 
@@ -61,16 +70,30 @@ public class PatientAttachmentsController {
     public ResponseEntity<UploadPatientAttachmentResponseVM> upload(@PathVariable Long patientId, @ModelAttribute @Valid UploadPatientAttachmentVM uploadPatientAttachmentVM) {
         LOG.debug("Uploading patient attachment: {}", uploadPatientAttachmentVM);
         PatientAttachments saved = service.upload(patientId, uploadPatientAttachmentVM);
-        String safeFileName = getSafeFileName(saved.getSpaceKey());
-        String downloadUrl = storage.presignGet(saved.getSpaceKey(), safeFileName).url().toString();
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
 
         UploadPatientAttachmentResponseVM body = UploadPatientAttachmentResponseVM.ofEntity(saved, downloadUrl);
         return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
-    private static String getSafeFileName(String key) {
-        int i = key.lastIndexOf('/');
-        return i >= 0 ? key.substring(i + 1) : key;
+    /**
+     * {@code : POST/ patients/{patientId}/attachments/stream}: Upload new attachment for a patient from the raw request body.
+     * The body is streamed to Spaces in parts while it is received, without buffering the whole file; the request
+     * {@code Content-Type} is the attachment type and is checked against the file content.
+     *
+     * @param streamPatientAttachmentVM the attachment metadata, as query parameters.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and body of the uploaded attachment,
+     * or {@code 400 (Bad Request)} if the type is not allowed or does not match the content, or the file is too large.
+     **/
+    @PostMapping(value = "/patients/{patientId}/attachments/stream", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<UploadPatientAttachmentResponseVM> uploadStream(@PathVariable Long patientId, @ModelAttribute @Valid StreamPatientAttachmentVM streamPatientAttachmentVM, HttpServletRequest request) throws IOException {
+        LOG.debug("Streaming a patient attachment: {}", patientId);
+        PatientAttachments saved = streaming.upload(request.getInputStream(), request.getContentType(), request.getContentLengthLong(), ENTITY_NAME,
+                staged -> service.upload(patientId, streamPatientAttachmentVM, staged));
+        String downloadUrl = storage.presignGet(saved.getSpaceKey(), saved.getFilename()).url().toString();
+
+        UploadPatientAttachmentResponseVM body = UploadPatientAttachmentResponseVM.ofEntity(saved, downloadUrl);
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
     }
 
     /**
@@ -102,7 +125,7 @@ public class PatientAttachmentsController {
     }
 
     /**
-     * {@code DELETE/ patients/attachments/{id} }Soft delete for an attachment without remove it from spaces
+     * {@code DELETE/ patients/attachments/{id} }Soft delete for an attachment; the object is removed from spaces by the scheduled purge after the retention period
      *
      * @param id of attachment needs to delete
      */
@@ -143,15 +166,17 @@ public class PatientAttachmentsController {
      * receive last profile picture related to the patient
      *
      * @param patientId to get attachments by patient
+     * @param size      optional edge length in pixels; the smallest generated thumbnail covering it is returned,
+     *                  or the original while thumbnails are not available
      * @return the {@link ResponseEntity} with status {@code 200 (OK)}, an url and expires In seconds response
      **/
     @GetMapping("/patients/{patientId}/profile-picture")
-    public ResponseEntity<DownloadPatientAttachmentVM> getLatestProfilePicture(@PathVariable Long patientId) {
-        LOG.debug("last profile picture for patient: {}", patientId);
+    public ResponseEntity<DownloadPatientAttachmentVM> getLatestProfilePicture(@PathVariable Long patientId, @RequestParam(required = false) @Positive Integer size) {
+        LOG.debug("last profile picture for patient: {} size={}", patientId, size);
         PatientAttachments patientAttachments = repo.findFirstByPatientIdAndSourceAndDeletedAtIsNullOrderByCreatedDateDesc(patientId, PatientAttachmentSource.PATIENT_PROFILE_PICTURE)
                 .orElseThrow(() -> new BadRequestAlertException("No profile picture", ENTITY_NAME, "not_found"));
 
-        DownloadPatientAttachmentVM downloadTicket = service.downloadUrl(patientAttachments.getId());
+        DownloadPatientAttachmentVM downloadTicket = service.profilePictureUrl(patientAttachments, size);
         return ResponseEntity.ok(new DownloadPatientAttachmentVM(downloadTicket.url(), downloadTicket.expiresInSeconds()));
     }
 }
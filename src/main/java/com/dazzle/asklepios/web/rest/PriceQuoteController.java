@@ -0,0 +1,41 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.service.PriceQuoteService;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteRequestVM;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteVM;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/setup")
+public class PriceQuoteController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PriceQuoteController.class);
+
+    private final PriceQuoteService service;
+
+    public PriceQuoteController(PriceQuoteService service) {
+        this.service = service;
+    }
+
+    /**
+     * {@code POST /price-quotes}: prices of several services and procedures of a facility in one currency,
+     * replacing one {@code service/{id}} or {@code procedure-price-list/by-procedure/{procedureId}} call per item.
+     *
+     * @param request the facility, the currency and the items to quote.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the quote in the body,
+     * or {@code 400 (Bad Request)} if more than {@link PriceQuoteService#MAX_ITEMS} items of a type are requested.
+     */
+    @PostMapping("/price-quotes")
+    public ResponseEntity<PriceQuoteVM> quote(@Valid @RequestBody PriceQuoteRequestVM request) {
+        LOG.debug("REST request for price quote: facilityId={}, currency={}, serviceIds={}, procedureIds={}",
+                request.facilityId(), request.currency(), request.serviceIds(), request.procedureIds());
+        return ResponseEntity.ok(service.quote(request));
+    }
+}
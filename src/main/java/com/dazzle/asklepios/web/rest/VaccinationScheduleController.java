@@ -0,0 +1,43 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.service.VaccinationScheduleService;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.PatientVaccinationScheduleVM;
+import com.dazzle.asklepios.web.rest.vm.vaccinationSchedule.VaccinationScheduleEvaluateVM;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/setup")
+public class VaccinationScheduleController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VaccinationScheduleController.class);
+
+    private final VaccinationScheduleService service;
+
+    public VaccinationScheduleController(VaccinationScheduleService service) {
+        this.service = service;
+    }
+
+    /**
+     * {@code POST /vaccination-schedules/evaluate}: due, overdue and upcoming doses of a list of patients,
+     * e.g. a school class or a campaign list.
+     *
+     * @param request the patients with their birth date and administered doses.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the pending doses per patient in the body,
+     * or {@code 400 (Bad Request)} if more than {@link VaccinationScheduleService#MAX_PATIENTS} patients are sent.
+     */
+    @PostMapping("/vaccination-schedules/evaluate")
+    public ResponseEntity<List<PatientVaccinationScheduleVM>> evaluate(@Valid @RequestBody VaccinationScheduleEvaluateVM request) {
+        LOG.debug("REST request to evaluate vaccination schedules: patients={}, vaccineIds={}, asOf={}",
+                request.patients().size(), request.vaccineIds(), request.asOf());
+        return ResponseEntity.ok(service.evaluate(request));
+    }
+}
@@ -0,0 +1,58 @@
+package com.dazzle.asklepios.web.rest.errors;
+
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+
+/**
+ * Failure of one operation of a batch, which rolled the whole batch back.
+ * <p>
+ * Keeps the status, message and error key of the operation's own error and adds the {@code operationIndex} property.
+ */
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class BatchOperationException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String OPERATION_INDEX_KEY = "operationIndex";
+
+    private final int operationIndex;
+
+    public BatchOperationException(int operationIndex, String defaultMessage, String entityName, String errorKey) {
+        this(operationIndex, defaultMessage, entityName, errorKey, HttpStatus.BAD_REQUEST);
+    }
+
+    private BatchOperationException(int operationIndex, String defaultMessage, String entityName, String errorKey, HttpStatus status) {
+        super(ErrorConstants.DEFAULT_TYPE, defaultMessage, entityName, errorKey, status);
+        this.operationIndex = operationIndex;
+        getProblemDetailWithCause().setProperty(OPERATION_INDEX_KEY, operationIndex);
+    }
+
+    /**
+     * Attributes an alert thrown by a service to the operation at {@code operationIndex}.
+     */
+    public static BatchOperationException of(int operationIndex, ErrorResponseException error) {
+        HttpStatus status = HttpStatus.valueOf(error.getStatusCode().value());
+        if (error instanceof BadRequestAlertException alert) {
+            return new BatchOperationException(
+                operationIndex,
+                alert.getBody().getTitle(),
+                alert.getEntityName(),
+                alert.getErrorKey(),
+                status
+            );
+        }
+        Map<String, Object> properties = error.getBody().getProperties() != null ? error.getBody().getProperties() : Map.of();
+        return new BatchOperationException(
+            operationIndex,
+            error.getBody().getDetail() != null ? error.getBody().getDetail() : error.getBody().getTitle(),
+            String.valueOf(properties.getOrDefault("entityName", "batch")),
+            String.valueOf(properties.getOrDefault("errorKey", "http." + status.value())),
+            status
+        );
+    }
+
+    public int getOperationIndex() {
+        return operationIndex;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dazzle.asklepios.web.rest.vm;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Ids of records matching each other on every field of a duplication rule, in input order.
+ */
+public record DuplicateClusterVM(
+        List<String> recordIds
+) implements Serializable { }
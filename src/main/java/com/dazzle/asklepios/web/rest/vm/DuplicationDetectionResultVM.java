@@ -0,0 +1,18 @@
+package com.dazzle.asklepios.web.rest.vm;
+
+import com.dazzle.asklepios.domain.enumeration.DuplicationField;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Duplicate clusters found among a batch of records; {@code skipped} counts the records missing a value for one of
+ * the rule's fields, which cannot be matched.
+ */
+public record DuplicationDetectionResultVM(
+        String rule,
+        List<DuplicationField> fields,
+        int records,
+        int skipped,
+        List<DuplicateClusterVM> clusters
+) implements Serializable { }
@@ -0,0 +1,18 @@
+package com.dazzle.asklepios.web.rest.vm;
+
+import java.io.Serializable;
+
+/**
+ * A record checked for duplicates. Values are compared after normalization, so they can be sent as entered;
+ * {@code dob} accepts {@code yyyy-MM-dd}, {@code yyyy/MM/dd}, {@code dd/MM/yyyy}, {@code dd-MM-yyyy},
+ * {@code dd.MM.yyyy}, {@code yyyyMMdd} and ISO date-times.
+ */
+public record DuplicationRecordVM(
+        String id,
+        String firstName,
+        String lastName,
+        String dob,
+        String documentNo,
+        String mobileNumber,
+        String gender
+) implements Serializable { }
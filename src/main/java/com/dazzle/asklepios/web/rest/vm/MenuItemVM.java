@@ -4,13 +4,24 @@ package com.dazzle.asklepios.web.rest.vm;
 import com.dazzle.asklepios.domain.enumeration.Operation;
 import com.dazzle.asklepios.domain.enumeration.Screen;
 
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.Set;
 
 public record MenuItemVM(
-        Screen screen,                // backend enum value
-        EnumSet<Operation> operations // union of ops from all roles
+        Screen screen,              // backend enum value
+        Set<Operation> operations   // union of ops from all roles, in declaration order
 ) {
+    // Items are cached and shared between requests (see MenuService), so the operations are copied and read-only
+    public MenuItemVM {
+        EnumSet<Operation> ops = EnumSet.noneOf(Operation.class);
+        if (operations != null) {
+            ops.addAll(operations);
+        }
+        operations = Collections.unmodifiableSet(ops);
+    }
+
     public static MenuItemVM of(Screen screen, EnumSet<Operation> ops) {
-        return new MenuItemVM(screen, ops == null ? EnumSet.noneOf(Operation.class) : ops);
+        return new MenuItemVM(screen, ops);
     }
 }
@@ -0,0 +1,29 @@
+package com.dazzle.asklepios.web.rest.vm.activeIngredients;
+
+import com.dazzle.asklepios.web.rest.vm.activeIngredientAdverseEffects.ActiveIngredientAdverseEffectsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientContraindications.ActiveIngredientContraindicationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientDrugInteractions.ActiveIngredientDrugInteractionsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientFoodInteractions.ActiveIngredientFoodInteractionsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientIndications.ActiveIngredientIndicationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientPreRequestedTest.ActiveIngredientPreRequestedTestResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientSpecialPopulations.ActiveIngredientSpecialPopulationsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientSynonyms.ActiveIngredientSynonymsResponseVM;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Drug monograph: an active ingredient with all of its child collections.
+ */
+public record ActiveIngredientMonographVM(
+        ActiveIngredientsResponseVM activeIngredient,
+        List<ActiveIngredientAdverseEffectsResponseVM> adverseEffects,
+        List<ActiveIngredientContraindicationsResponseVM> contraindications,
+        List<ActiveIngredientDrugInteractionsResponseVM> drugInteractions,
+        List<ActiveIngredientFoodInteractionsResponseVM> foodInteractions,
+        List<ActiveIngredientIndicationsResponseVM> indications,
+        List<ActiveIngredientPreRequestedTestResponseVM> preRequestedTests,
+        List<ActiveIngredientSpecialPopulationsResponseVM> specialPopulations,
+        List<ActiveIngredientSynonymsResponseVM> synonyms
+) implements Serializable {
+}
@@ -0,0 +1,32 @@
+package com.dazzle.asklepios.web.rest.vm.activeIngredients;
+
+import com.dazzle.asklepios.repository.ActiveIngredientSummary;
+
+import java.io.Serializable;
+
+/**
+ * Active ingredient list item of the {@code /active-ingredients/summaries} endpoints.
+ */
+public record ActiveIngredientsSummaryVM(
+        Long id,
+        String name,
+        Long drugClassId,
+        String atcCode,
+        Boolean otc,
+        Boolean highRiskMed,
+        Boolean isControlled,
+        Boolean isActive
+) implements Serializable {
+    public static ActiveIngredientsSummaryVM ofProjection(ActiveIngredientSummary summary) {
+        return new ActiveIngredientsSummaryVM(
+                summary.getId(),
+                summary.getName(),
+                summary.getDrugClassId(),
+                summary.getAtcCode(),
+                summary.getOtc(),
+                summary.getHighRiskMed(),
+                summary.getIsControlled(),
+                summary.getIsActive()
+        );
+    }
+}
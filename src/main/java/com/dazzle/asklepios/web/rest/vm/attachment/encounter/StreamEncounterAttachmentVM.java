@@ -0,0 +1,17 @@
+package com.dazzle.asklepios.web.rest.vm.attachment.encounter;
+
+import com.dazzle.asklepios.domain.enumeration.EncounterAttachmentSource;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * View Model for the metadata of an encounter attachment streamed as the raw request body, bound from query parameters.
+ **/
+public record StreamEncounterAttachmentVM(
+        String filename,
+        String type,
+        String details,
+        @NotNull EncounterAttachmentSource source,
+        @NotNull Long sourceId
+) implements Serializable {}
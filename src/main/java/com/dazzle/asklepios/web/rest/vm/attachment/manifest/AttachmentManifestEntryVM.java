@@ -0,0 +1,23 @@
+package com.dazzle.asklepios.web.rest.vm.attachment.manifest;
+
+import com.dazzle.asklepios.domain.enumeration.AttachmentOwnerType;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * View Model of one live attachment in an {@link AttachmentManifestVM}, with its presigned download URL.
+ **/
+public record AttachmentManifestEntryVM(
+        AttachmentOwnerType ownerType,
+        Long ownerId,
+        Long id,
+        String filename,
+        String mimeType,
+        long sizeBytes,
+        String type,
+        String details,
+        String source,
+        Instant createdDate,
+        String downloadUrl
+) implements Serializable {}
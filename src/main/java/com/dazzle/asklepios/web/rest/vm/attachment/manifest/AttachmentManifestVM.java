@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.web.rest.vm.attachment.manifest;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model listing the live attachments of several owners, newest first per owner type.
+ **/
+public record AttachmentManifestVM(
+        List<AttachmentManifestEntryVM> attachments,
+        int expiresInSeconds
+) implements Serializable {}
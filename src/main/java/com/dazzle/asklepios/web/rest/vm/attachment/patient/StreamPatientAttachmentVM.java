@@ -0,0 +1,16 @@
+package com.dazzle.asklepios.web.rest.vm.attachment.patient;
+
+import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * View Model for the metadata of a patient attachment streamed as the raw request body, bound from query parameters.
+ **/
+public record StreamPatientAttachmentVM(
+        String filename,
+        String type,
+        String details,
+        @NotNull PatientAttachmentSource source
+) implements Serializable {}
@@ -0,0 +1,16 @@
+package com.dazzle.asklepios.web.rest.vm.batch;
+
+import com.dazzle.asklepios.domain.enumeration.BatchAction;
+import com.dazzle.asklepios.domain.enumeration.BatchEntity;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of the operation at {@code index} of a committed batch; {@code id} is the created, updated or deleted row.
+ */
+public record BatchOperationResultVM(
+        int index,
+        BatchEntity entity,
+        BatchAction action,
+        Long id
+) implements Serializable { }
@@ -0,0 +1,20 @@
+package com.dazzle.asklepios.web.rest.vm.batch;
+
+import com.dazzle.asklepios.domain.enumeration.BatchAction;
+import com.dazzle.asklepios.domain.enumeration.BatchEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * One operation of a batch. {@code payload} is the body the entity's own create or update endpoint takes, and is
+ * ignored on delete; {@code id} is required on update and delete.
+ */
+public record BatchOperationVM(
+        @NotNull BatchEntity entity,
+        @NotNull BatchAction action,
+        Long id,
+        Long parentId,
+        JsonNode payload
+) implements Serializable { }
@@ -0,0 +1,13 @@
+package com.dazzle.asklepios.web.rest.vm.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record BatchRequestVM(
+        @NotEmpty @Size(max = 500) List<@NotNull @Valid BatchOperationVM> operations
+) implements Serializable { }
@@ -0,0 +1,21 @@
+package com.dazzle.asklepios.web.rest.vm.bootstrap;
+
+import com.dazzle.asklepios.domain.Language;
+import com.dazzle.asklepios.web.rest.vm.FacilityResponseVM;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Part of the client bootstrap document that is the same for every user.
+ *
+ * @param enums      the constants of every enum in {@code com.dazzle.asklepios.domain.enumeration}, by simple name.
+ * @param facilities the active facilities.
+ * @param languages  all languages.
+ */
+public record BootstrapSharedVM(
+        Map<String, List<String>> enums,
+        List<FacilityResponseVM> facilities,
+        List<Language> languages
+) implements Serializable {}
@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.web.rest.vm.brandMedication;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One page of the brand medication search.
+ *
+ * @param items      matches, most relevant first.
+ * @param nextCursor value of {@code after} for the next page, {@code null} on the last page.
+ */
+public record BrandMedicationSearchResultVM(List<BrandMedicationSummaryVM> items, String nextCursor) implements Serializable {}
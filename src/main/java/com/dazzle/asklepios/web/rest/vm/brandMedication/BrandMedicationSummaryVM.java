@@ -0,0 +1,41 @@
+package com.dazzle.asklepios.web.rest.vm.brandMedication;
+
+import com.dazzle.asklepios.repository.BrandMedicationSearchRepository;
+import com.dazzle.asklepios.repository.BrandMedicationSummary;
+
+/**
+ * Brand medication list item of the {@code /brand-medication/summaries} endpoints and the search.
+ */
+public record BrandMedicationSummaryVM(
+        Long id,
+        String name,
+        String code,
+        String manufacturer,
+        String dosageForm,
+        String roa,
+        Boolean isActive
+) {
+    public static BrandMedicationSummaryVM ofProjection(BrandMedicationSummary summary) {
+        return new BrandMedicationSummaryVM(
+                summary.getId(),
+                summary.getName(),
+                summary.getCode(),
+                summary.getManufacturer(),
+                summary.getDosageForm(),
+                summary.getRoa(),
+                summary.getIsActive()
+        );
+    }
+
+    public static BrandMedicationSummaryVM ofSearchRow(BrandMedicationSearchRepository.SearchRow row) {
+        return new BrandMedicationSummaryVM(
+                row.id(),
+                row.name(),
+                row.code(),
+                row.manufacturer(),
+                row.dosageForm(),
+                row.roa(),
+                row.isActive()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.dazzle.asklepios.web.rest.vm.cdt;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model for replacing the services linked to one CDT code; an empty list unlinks them all.
+ **/
+public record CdtServiceMappingSyncVM(
+        @NotNull Long cdtId,
+        List<Long> serviceIds
+) implements Serializable {}
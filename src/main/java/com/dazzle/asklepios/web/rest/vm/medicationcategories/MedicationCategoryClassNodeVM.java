@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.web.rest.vm.medicationcategories;
+
+import java.io.Serializable;
+
+/**
+ * View Model for a drug class in the medication category hierarchy.
+ **/
+public record MedicationCategoryClassNodeVM(
+        Long id,
+        String name,
+        long activeIngredientCount
+) implements Serializable {}
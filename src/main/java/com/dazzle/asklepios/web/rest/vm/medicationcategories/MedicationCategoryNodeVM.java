@@ -0,0 +1,15 @@
+package com.dazzle.asklepios.web.rest.vm.medicationcategories;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model for a medication category with its drug classes and the number of active ingredients under it.
+ **/
+public record MedicationCategoryNodeVM(
+        Long id,
+        String name,
+        int classCount,
+        long activeIngredientCount,
+        List<MedicationCategoryClassNodeVM> classes
+) implements Serializable {}
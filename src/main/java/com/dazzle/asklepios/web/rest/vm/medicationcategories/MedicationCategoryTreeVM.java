@@ -0,0 +1,13 @@
+package com.dazzle.asklepios.web.rest.vm.medicationcategories;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model for the medication category hierarchy, categories and their drug classes sorted by name.
+ **/
+public record MedicationCategoryTreeVM(
+        List<MedicationCategoryNodeVM> categories,
+        int classCount,
+        long activeIngredientCount
+) implements Serializable {}
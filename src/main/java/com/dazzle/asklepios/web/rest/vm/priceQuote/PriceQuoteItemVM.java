@@ -0,0 +1,15 @@
+package com.dazzle.asklepios.web.rest.vm.priceQuote;
+
+import com.dazzle.asklepios.domain.enumeration.PricedItemType;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * View Model for the price of one quoted service or procedure.
+ **/
+public record PriceQuoteItemVM(
+        PricedItemType type,
+        Long id,
+        BigDecimal price
+) implements Serializable {}
@@ -0,0 +1,19 @@
+package com.dazzle.asklepios.web.rest.vm.priceQuote;
+
+import com.dazzle.asklepios.service.PriceQuoteService;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model for quoting the prices of services and procedures of a facility in one currency.
+ **/
+public record PriceQuoteRequestVM(
+        @NotNull Long facilityId,
+        @NotBlank String currency,
+        @Size(max = PriceQuoteService.MAX_ITEMS) List<Long> serviceIds,
+        @Size(max = PriceQuoteService.MAX_ITEMS) List<Long> procedureIds
+) implements Serializable {}
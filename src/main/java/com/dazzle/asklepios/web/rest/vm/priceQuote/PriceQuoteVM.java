@@ -0,0 +1,21 @@
+package com.dazzle.asklepios.web.rest.vm.priceQuote;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * View Model for a price quote. Items without an active price in the facility and currency are listed in
+ * {@code unpricedServiceIds} and {@code unpricedProcedureIds} and left out of the total; {@code pricesAsOf} is when
+ * the prices were last read from the database.
+ **/
+public record PriceQuoteVM(
+        Long facilityId,
+        String currency,
+        List<PriceQuoteItemVM> items,
+        BigDecimal total,
+        List<Long> unpricedServiceIds,
+        List<Long> unpricedProcedureIds,
+        Instant pricesAsOf
+) implements Serializable {}
@@ -0,0 +1,15 @@
+package com.dazzle.asklepios.web.rest.vm.vaccinationSchedule;
+
+import com.dazzle.asklepios.domain.enumeration.DoseNumber;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * View Model for a vaccine dose already given to a patient.
+ **/
+public record AdministeredDoseVM(
+        Long vaccineId,
+        DoseNumber doseNumber,
+        LocalDate date
+) implements Serializable {}
@@ -0,0 +1,12 @@
+package com.dazzle.asklepios.web.rest.vm.vaccinationSchedule;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * View Model listing the doses a patient has not received yet.
+ **/
+public record PatientVaccinationScheduleVM(
+        Long patientId,
+        List<VaccineDoseDueVM> doses
+) implements Serializable {}
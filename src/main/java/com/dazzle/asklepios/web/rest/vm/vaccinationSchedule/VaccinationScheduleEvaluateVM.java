@@ -0,0 +1,22 @@
+package com.dazzle.asklepios.web.rest.vm.vaccinationSchedule;
+
+import com.dazzle.asklepios.service.VaccinationScheduleService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * View Model for evaluating the vaccination schedules of a list of patients.
+ *
+ * @param asOf       the reference date, today if {@code null}.
+ * @param vaccineIds the vaccines to evaluate, all scheduled vaccines if {@code null} or empty.
+ **/
+public record VaccinationScheduleEvaluateVM(
+        LocalDate asOf,
+        List<Long> vaccineIds,
+        @NotEmpty @Size(max = VaccinationScheduleService.MAX_PATIENTS) List<@Valid VaccinationSchedulePatientVM> patients
+) implements Serializable {}
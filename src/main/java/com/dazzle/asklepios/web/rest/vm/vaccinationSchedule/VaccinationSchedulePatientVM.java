@@ -0,0 +1,16 @@
+package com.dazzle.asklepios.web.rest.vm.vaccinationSchedule;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * View Model for a patient whose vaccination schedule is evaluated.
+ **/
+public record VaccinationSchedulePatientVM(
+        @NotNull Long patientId,
+        @NotNull LocalDate birthDate,
+        List<AdministeredDoseVM> administered
+) implements Serializable {}
@@ -0,0 +1,39 @@
+package com.dazzle.asklepios.web.rest.vm.vaccinationSchedule;
+
+import com.dazzle.asklepios.domain.enumeration.DoseNumber;
+import com.dazzle.asklepios.domain.enumeration.VaccineDoseStatus;
+import com.dazzle.asklepios.service.VaccinationSchedule;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * View Model for a dose not given yet, with its window; {@code latestDate} is inclusive and {@code null} when the
+ * dose has no maximum age, {@code waitingFor} is the earlier dose to give first.
+ **/
+public record VaccineDoseDueVM(
+        Long vaccineId,
+        String vaccineName,
+        Long doseId,
+        DoseNumber doseNumber,
+        boolean booster,
+        VaccineDoseStatus status,
+        LocalDate earliestDate,
+        LocalDate latestDate,
+        DoseNumber waitingFor
+) implements Serializable {
+
+    public static VaccineDoseDueVM of(VaccinationSchedule schedule, VaccinationSchedule.PendingDose dose) {
+        return new VaccineDoseDueVM(
+                schedule.getVaccineId(),
+                schedule.getVaccineName(),
+                dose.dose().id(),
+                dose.dose().number(),
+                dose.dose().booster(),
+                dose.status(),
+                dose.earliestDate(),
+                dose.latestDate(),
+                dose.waitingFor()
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package com.dazzle.asklepios.aop.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MethodTimingAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger targetLog = (Logger) LoggerFactory.getLogger(SampleService.class);
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger(MethodTimingAspect.class)).setLevel(Level.INFO);
+        targetLog.setLevel(Level.DEBUG);
+        appender.start();
+        targetLog.addAppender(appender);
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(SampleService.class.getMethod("find", Long.class));
+        when(signature.getName()).thenReturn("find");
+        when(signature.getDeclaringTypeName()).thenReturn(SampleService.class.getName());
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getThis()).thenReturn(new SampleService());
+        when(joinPoint.getArgs()).thenReturn(new Object[] { 42L });
+    }
+
+    @AfterEach
+    void tearDown() {
+        targetLog.detachAppender(appender);
+        targetLog.setLevel(null);
+    }
+
+    @Test
+    void timeAround_UnsampledCallIsTimedWithoutLogging() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("found");
+        MethodTimingAspect aspect = new MethodTimingAspect(registry, 0.0, false);
+
+        assertThat(aspect.timeAround(joinPoint)).isEqualTo("found");
+        aspect.timeAround(joinPoint);
+
+        assertThat(timer("none").count()).isEqualTo(2);
+        assertThat(registry.getMeters()).hasSize(1);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void timeAround_SampledCallLogsArgumentsAndResult() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("found");
+        MethodTimingAspect aspect = new MethodTimingAspect(registry, 1.0, false);
+
+        aspect.timeAround(joinPoint);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("Enter: find() with argument[s] = [42]", "Exit: find() with result = found");
+        assertThat(timer("none").count()).isEqualTo(1);
+    }
+
+    @Test
+    void timeAround_ExceptionsAreTimedPerExceptionClassWithOneTimer() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("first"), new IllegalStateException("second"));
+        MethodTimingAspect aspect = new MethodTimingAspect(registry, 0.0, false);
+
+        assertThatThrownBy(() -> aspect.timeAround(joinPoint)).hasMessage("first");
+        Timer first = timer("IllegalStateException");
+        assertThatThrownBy(() -> aspect.timeAround(joinPoint)).hasMessage("second");
+
+        assertThat(timer("IllegalStateException")).isSameAs(first);
+        assertThat(first.count()).isEqualTo(2);
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void timeAround_ExceptionLoggedAtErrorWhenEnabledEvenUnsampled() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("bad id"));
+        MethodTimingAspect aspect = new MethodTimingAspect(registry, 0.0, true);
+
+        assertThatThrownBy(() -> aspect.timeAround(joinPoint)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.ERROR);
+            assertThat(event.getFormattedMessage()).isEqualTo("Exception in find() with cause = 'NULL' and exception = 'bad id'");
+            assertThat(event.getThrowableProxy()).isNotNull();
+        });
+    }
+
+    private Timer timer(String exception) {
+        return registry.get(MethodTimingAspect.METER_NAME)
+                .tag(MethodTimingAspect.CLASS_DIMENSION, "SampleService")
+                .tag(MethodTimingAspect.METHOD_DIMENSION, "find")
+                .tag(MethodTimingAspect.EXCEPTION_DIMENSION, exception)
+                .timer();
+    }
+
+    static class SampleService {
+
+        public String find(Long id) {
+            return "found";
+        }
+    }
+}
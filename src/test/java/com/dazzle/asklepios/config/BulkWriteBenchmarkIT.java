@@ -0,0 +1,208 @@
+package com.dazzle.asklepios.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the statements per second of representative bulk writes with the driver defaults and with the
+ * {@code jdbc-tuning} profile, both read from the configuration files so the benchmark follows them.
+ * <p>
+ * The workloads replay what Hibernate sends: batched inserts of assigned-id rows, as in
+ * {@code RolePermissionService}, and IN-list lookups padded to a power of two, as with
+ * {@code hibernate.query.in_clause_parameter_padding}. Results are logged; run
+ * {@code ./gradlew integrationTest --tests '*BulkWriteBenchmarkIT'} and compare the two lines.
+ */
+@Testcontainers
+class BulkWriteBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkWriteBenchmarkIT.class);
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari.data-source-properties.";
+    private static final String BATCH_SIZE = "spring.jpa.properties.hibernate.jdbc.batch_size";
+
+    private static final int ROWS = 4096;
+    private static final int LOOKUPS = 2000;
+    private static final int WARMUP_ITERATIONS = 2;
+    private static final int ITERATIONS = 5;
+
+    private static final String INSERT = "insert into role_screen (role_id, operation, screen) values (?, ?, ?)";
+
+    @Container
+    private static final PostgreSQLContainer<?> DB = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void createTable() throws SQLException {
+        try (HikariDataSource dataSource = dataSource(new Properties()); Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        create table role_screen (
+                            role_id bigint not null,
+                            screen varchar(100) not null,
+                            operation varchar(50) not null,
+                            primary key (role_id, screen, operation))""");
+            }
+            connection.commit();
+        }
+    }
+
+    @Test
+    void tunedProfile_RewritesBatchesAndReusesStatements() throws SQLException {
+        Properties defaults = yaml("config/application.yml");
+        Properties tuned = yaml("config/application.yml", "config/application-jdbc-tuning.yml");
+
+        Result before = run("default", defaults);
+        Result after = run("jdbc-tuning", tuned);
+
+        LOG.info("{}", before);
+        LOG.info("{}", after);
+        assertThat(before.rewritten).isFalse();
+        assertThat(after.rewritten).isTrue();
+    }
+
+    // Helpers
+
+    private record Result(String name, int batchSize, boolean rewritten, double insertsPerSecond, double lookupsPerSecond) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-12s batch_size=%-3d rewritten=%-5s inserts: %,10.0f statements/s   padded IN lookups: %,8.0f statements/s",
+                    name, batchSize, rewritten, insertsPerSecond, lookupsPerSecond
+            );
+        }
+    }
+
+    private static Result run(String name, Properties configuration) throws SQLException {
+        // YAML scalars are kept typed, so read them as objects
+        int batchSize = Integer.parseInt(String.valueOf(configuration.get(BATCH_SIZE)));
+        Properties driverProperties = new Properties();
+        configuration.forEach((key, value) -> {
+            if (key.toString().startsWith(HIKARI_PROPERTIES)) {
+                driverProperties.setProperty(key.toString().substring(HIKARI_PROPERTIES.length()), String.valueOf(value));
+            }
+        });
+
+        try (HikariDataSource dataSource = dataSource(driverProperties); Connection connection = dataSource.getConnection()) {
+            boolean rewritten = false;
+            double[] inserts = new double[ITERATIONS];
+            double[] lookups = new double[ITERATIONS];
+            for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("truncate role_screen");
+                }
+                connection.commit();
+
+                long start = System.nanoTime();
+                rewritten = insertRows(connection, batchSize);
+                connection.commit();
+                double insertSeconds = (System.nanoTime() - start) / 1e9;
+
+                start = System.nanoTime();
+                int found = lookupRows(connection);
+                connection.commit();
+                double lookupSeconds = (System.nanoTime() - start) / 1e9;
+
+                assertThat(count(connection)).isEqualTo(ROWS);
+                assertThat(found).isPositive();
+                if (i >= WARMUP_ITERATIONS) {
+                    inserts[i - WARMUP_ITERATIONS] = ROWS / insertSeconds;
+                    lookups[i - WARMUP_ITERATIONS] = LOOKUPS / lookupSeconds;
+                }
+            }
+            return new Result(name, batchSize, rewritten, median(inserts), median(lookups));
+        }
+    }
+
+    /**
+     * Inserts {@link #ROWS} rows in batches, like a Hibernate flush; returns whether the driver rewrote the batches.
+     */
+    private static boolean insertRows(Connection connection, int batchSize) throws SQLException {
+        boolean rewritten = false;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (int row = 0; row < ROWS; row++) {
+                insert.setLong(1, row / 64);
+                insert.setString(2, "OP_" + (row % 4));
+                insert.setString(3, "SCREEN_" + (row % 64 / 4));
+                insert.addBatch();
+                if ((row + 1) % batchSize == 0 || row == ROWS - 1) {
+                    // Rewritten multi-row inserts report SUCCESS_NO_INFO instead of one count per row
+                    rewritten = Arrays.stream(insert.executeBatch()).anyMatch(count -> count == Statement.SUCCESS_NO_INFO);
+                }
+            }
+        }
+        return rewritten;
+    }
+
+    /**
+     * Looks rows up by lists of 1 to 50 role ids, padded to a power of two as Hibernate does.
+     */
+    private static int lookupRows(Connection connection) throws SQLException {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            int size = i % 50 + 1;
+            int padded = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+            String sql = "select role_id, screen, operation from role_screen where role_id in ("
+                    + String.join(", ", Collections.nCopies(padded, "?")) + ")";
+            try (PreparedStatement select = connection.prepareStatement(sql)) {
+                for (int p = 0; p < padded; p++) {
+                    // Padding repeats the last value
+                    select.setLong(p + 1, (i + Math.min(p, size - 1)) % (ROWS / 64));
+                }
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static long count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery("select count(*) from role_screen")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static HikariDataSource dataSource(Properties driverProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(DB.getJdbcUrl());
+        dataSource.setUsername(DB.getUsername());
+        dataSource.setPassword(DB.getPassword());
+        dataSource.setAutoCommit(false);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setDataSourceProperties(driverProperties);
+        return dataSource;
+    }
+
+    private static Properties yaml(String... files) {
+        YamlPropertiesFactoryBean factory = new YamlPropertiesFactoryBean();
+        factory.setResources(Arrays.stream(files).map(ClassPathResource::new).toArray(ClassPathResource[]::new));
+        return factory.getObject();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,235 @@
+package com.dazzle.asklepios.config;
+
+import com.dazzle.asklepios.management.ReadReplicaMetersService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two independent Postgres containers stand for the primary and a replica; each holds a {@code node} row naming it, so
+ * a query tells which pool served the transaction.
+ */
+@Testcontainers
+class ReplicaRoutingDataSourceIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> PRIMARY_DB = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    private static final PostgreSQLContainer<?> REPLICA_DB = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaProperties properties;
+
+    private HikariDataSource primary;
+
+    private ReplicaRoutingDataSource routing;
+
+    private JdbcTemplate jdbc;
+
+    private TransactionTemplate reads;
+
+    private TransactionTemplate writes;
+
+    @BeforeAll
+    static void nameNodes() {
+        name(PRIMARY_DB, "primary");
+        name(REPLICA_DB, "replica");
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReadReplicaProperties();
+        properties.setStickiness(Duration.ofMinutes(1));
+
+        primary = new HikariDataSource();
+        primary.setJdbcUrl(PRIMARY_DB.getJdbcUrl());
+        primary.setUsername(PRIMARY_DB.getUsername());
+        primary.setPassword(PRIMARY_DB.getPassword());
+        primary.setPoolName("Hikari");
+        primary.setAutoCommit(false);
+
+        routing = new ReplicaRoutingDataSource(
+            primary,
+            Map.of("replica-1", ReadReplicaConfiguration.replicaPool(primary, properties, replica(), "replica-1", meterRegistry)),
+            properties,
+            new ReadReplicaMetersService(meterRegistry)
+        );
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactions_GoToTheReplica() {
+        assertThat(node(reads)).isEqualTo("replica");
+        assertThat(node(writes)).isEqualTo("primary");
+        assertThat(routed("replica-1", "read")).isEqualTo(1);
+    }
+
+    @Test
+    void laggingReplica_ReadsFallBackToThePrimary() {
+        properties.setLagQuery("select 60");
+        routing.checkReplicas();
+
+        assertThat(node(reads)).isEqualTo("primary");
+        assertThat(routed("primary", "lagging")).isEqualTo(1);
+        assertThat(meterRegistry.get(ReadReplicaMetersService.LAG_METER_NAME).tag("replica", "replica-1").gauge().value())
+            .isEqualTo(60);
+
+        properties.setLagQuery("select 0");
+        routing.checkReplicas();
+
+        assertThat(node(reads)).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplica_ReadsFallBackToThePrimary() {
+        properties.setLagQuery("select 1 / 0");
+        routing.checkReplicas();
+
+        assertThat(node(reads)).isEqualTo("primary");
+    }
+
+    @Test
+    void unmeasuredReplica_TakesNoReads() throws Exception {
+        // Started but not measured yet by the scheduler
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource started = new ReplicaRoutingDataSource(
+            primary,
+            Map.of("replica-1", ReadReplicaConfiguration.replicaPool(primary, properties, replica(), "replica-1", registry)),
+            properties,
+            new ReadReplicaMetersService(registry)
+        );
+        try {
+            started.afterPropertiesSet();
+            DataSource dataSource = new LazyConnectionDataSourceProxy(started);
+            TransactionTemplate startedReads = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            startedReads.setReadOnly(true);
+
+            String node = startedReads.execute(status -> new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+            assertThat(node).isEqualTo("primary");
+        } finally {
+            started.close();
+        }
+    }
+
+    @Test
+    void replicaPool_WaitsNoLongerThanTheLagCheckTimeout() {
+        properties.setLagCheckTimeout(Duration.ofMillis(500));
+
+        try (HikariDataSource pool = ReadReplicaConfiguration.replicaPool(primary, properties, replica(), "replica-2", meterRegistry)) {
+            assertThat(pool.getConnectionTimeout()).isEqualTo(500);
+            assertThat(pool.getValidationTimeout()).isLessThanOrEqualTo(500);
+            assertThat(pool.getInitializationFailTimeout()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void userReadsOwnWrites_OthersStillReadTheReplica() {
+        login("alice");
+        writes.executeWithoutResult(status -> jdbc.update("update node set name = name"));
+
+        assertThat(node(reads)).isEqualTo("primary");
+        assertThat(routed("primary", "sticky")).isEqualTo(1);
+
+        login("bob");
+        assertThat(node(reads)).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPinTheUser() {
+        login("alice");
+        writes.executeWithoutResult(status -> {
+            jdbc.update("update node set name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(node(reads)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaPool_PublishesItsOwnHikariMetrics() {
+        node(reads);
+
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "Hikari-replica-1").gauge()).isNotNull();
+    }
+
+    // Helpers
+
+    private static ReadReplicaProperties.Replica replica() {
+        ReadReplicaProperties.Replica replica = new ReadReplicaProperties.Replica();
+        replica.setUrl(REPLICA_DB.getJdbcUrl());
+        replica.setUsername(REPLICA_DB.getUsername());
+        replica.setPassword(REPLICA_DB.getPassword());
+        replica.setMaximumPoolSize(2);
+        return replica;
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("select name from node", String.class));
+    }
+
+    private double routed(String target, String reason) {
+        Counter counter = meterRegistry.find(ReadReplicaMetersService.ROUTED_METER_NAME)
+            .tag("target", target)
+            .tag("reason", reason)
+            .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private static void login(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(login, null));
+    }
+
+    private static void name(PostgreSQLContainer<?> database, String name) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            database.getJdbcUrl(),
+            database.getUsername(),
+            database.getPassword(),
+            true
+        );
+        try {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("create table if not exists node (name text not null)");
+            jdbc.update("delete from node");
+            jdbc.update("insert into node (name) values (?)", name);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dazzle.asklepios.config;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadsConfigurationTest {
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void undertowCustomizer_DispatchesServletRequestsOnVirtualThreads() throws Exception {
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory();
+        new VirtualThreadsConfiguration().undertowVirtualThreadsCustomizer().customize(factory);
+        DeploymentInfo deploymentInfo = new DeploymentInfo();
+
+        factory.getDeploymentInfoCustomizers().forEach(customizer -> customizer.customize(deploymentInfo));
+
+        assertThat(deploymentInfo.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+        CompletableFuture<String> threadName = new CompletableFuture<>();
+        deploymentInfo.getExecutor().execute(() -> threadName.complete(Thread.currentThread().getName()));
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("setup-request-");
+    }
+}
@@ -0,0 +1,46 @@
+package com.dazzle.asklepios.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper failing a test when the code under test runs more SQL than expected.
+ * <p>
+ * Requires the Hibernate hooks of {@code SqlBudgetConfiguration} to be active in the test context, e.g.
+ * <pre>
+ * SqlBudgetAssertions.assertStatementsAtMost(2, () -&gt; normalRangeService.findAll(PageRequest.of(0, 20)));
+ * </pre>
+ */
+public final class SqlBudgetAssertions {
+
+    private SqlBudgetAssertions() {}
+
+    /**
+     * Run the action inside a fresh {@link SqlBudget}.
+     *
+     * @param action the code to measure.
+     * @return the closed budget.
+     */
+    public static SqlBudget measure(Runnable action) {
+        SqlBudget budget = SqlBudget.open();
+        try {
+            action.run();
+        } finally {
+            budget.close();
+        }
+        return budget;
+    }
+
+    public static SqlBudget assertStatementsAtMost(int maxStatements, Runnable action) {
+        SqlBudget budget = measure(action);
+        assertThat(budget.getStatements()).as("SQL statements executed").isLessThanOrEqualTo(maxStatements);
+        return budget;
+    }
+
+    public static SqlBudget assertNoRepeatedStatement(int maxExecutions, Runnable action) {
+        SqlBudget budget = measure(action);
+        budget
+            .mostRepeatedStatement()
+            .ifPresent(entry -> assertThat(entry.getValue()).as("executions of %s", entry.getKey()).isLessThanOrEqualTo(maxExecutions));
+        return budget;
+    }
+}
@@ -0,0 +1,72 @@
+package com.dazzle.asklepios.management;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlBudgetTest {
+
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+
+    @Test
+    void measure_CountsStatementsAndRows() {
+        SqlBudget budget = SqlBudgetAssertions.measure(() -> {
+            inspector.inspect("select * from department where id=?");
+            inspector.onLoad(new Object(), (Object) 1L, null, null, null);
+            inspector.onLoad(new Object(), (Object) 2L, null, null, null);
+        });
+
+        assertThat(budget.getStatements()).isEqualTo(1);
+        assertThat(budget.getRows()).isEqualTo(2);
+        assertThat(SqlBudget.current()).isNull();
+    }
+
+    @Test
+    void measure_DetectsRepeatedStatement() {
+        SqlBudget budget = SqlBudgetAssertions.measure(() -> {
+            inspector.inspect("select * from diagnostic_test_normal_range limit ?");
+            for (int i = 0; i < 20; i++) {
+                inspector.inspect("select * from diagnostic_test_normal_range_lov where normal_range_id=?");
+            }
+        });
+
+        assertThat(budget.getStatements()).isEqualTo(21);
+        assertThat(budget.mostRepeatedStatement()).hasValueSatisfying(entry -> {
+            assertThat(entry.getKey()).contains("normal_range_lov");
+            assertThat(entry.getValue()).isEqualTo(20);
+        });
+    }
+
+    @Test
+    void nestedBudget_AlsoCountsIntoEnclosingBudget() {
+        SqlBudget outer = SqlBudget.open();
+        try {
+            inspector.inspect("select 1");
+            SqlBudget inner = SqlBudgetAssertions.measure(() -> inspector.inspect("select 2"));
+
+            assertThat(inner.getStatements()).isEqualTo(1);
+            assertThat(outer.getStatements()).isEqualTo(2);
+            assertThat(SqlBudget.current()).isSameAs(outer);
+        } finally {
+            outer.close();
+        }
+    }
+
+    @Test
+    void noBudget_StatementsAreIgnored() {
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(SqlBudget.current()).isNull();
+    }
+
+    @Test
+    void assertStatementsAtMost_FailsOverBudget() {
+        assertThrows(
+            AssertionError.class,
+            () -> SqlBudgetAssertions.assertStatementsAtMost(1, () -> {
+                inspector.inspect("select 1");
+                inspector.inspect("select 2");
+            })
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package com.dazzle.asklepios.management;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void sourceOf_DriverAndPoolFramesAreJdbc() {
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of(
+                "java.lang.Object",
+                "org.postgresql.core.v3.QueryExecutorImpl",
+                "com.dazzle.asklepios.service.LanguageService"
+        ))).isEqualTo("jdbc");
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of("com.zaxxer.hikari.pool.HikariPool"))).isEqualTo("jdbc");
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of("org.hibernate.internal.SessionImpl"))).isEqualTo("jdbc");
+    }
+
+    @Test
+    void sourceOf_AwsSdkAndHttpClientFramesAreS3() {
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of(
+                "software.amazon.awssdk.http.apache.ApacheHttpClient",
+                "com.dazzle.asklepios.service.AttachmentStorageService"
+        ))).isEqualTo("s3");
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of("org.apache.http.impl.conn.PoolingHttpClientConnectionManager")))
+                .isEqualTo("s3");
+    }
+
+    @Test
+    void sourceOf_InnermostKnownFrameWins() {
+        // An S3 call made while a JDBC frame is further down the stack is attributed to S3
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of(
+                "software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline",
+                "org.hibernate.internal.SessionImpl"
+        ))).isEqualTo("s3");
+    }
+
+    @Test
+    void sourceOf_AnythingElseIsOther() {
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of("java.util.concurrent.locks.ReentrantLock", "com.dazzle.asklepios.Foo")))
+                .isEqualTo("other");
+        assertThat(VirtualThreadPinningMonitor.sourceOf(List.of())).isEqualTo("other");
+    }
+}
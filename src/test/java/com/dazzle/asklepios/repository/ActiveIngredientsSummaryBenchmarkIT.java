@@ -0,0 +1,170 @@
+package com.dazzle.asklepios.repository;
+
+import com.dazzle.asklepios.domain.ActiveIngredients;
+import com.dazzle.asklepios.domain.MedicationCategoriesClass;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientsSummaryVM;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a page of active ingredients read the way {@code GET /active-ingredients} does (managed entities mapped to
+ * {@link ActiveIngredientsResponseVM}) with {@code GET /active-ingredients/summaries} (the {@link ActiveIngredientSummary}
+ * projection mapped to {@link ActiveIngredientsSummaryVM}). Both go through the repository against Postgres with the
+ * application's Hibernate mapping, and are serialized to JSON; the persistence context is cleared before every read, as
+ * for a new request.
+ * <p>
+ * Results are logged; run {@code ./gradlew integrationTest --tests '*ActiveIngredientsSummaryBenchmarkIT'}.
+ */
+@DataJpaTest(properties = { "spring.jpa.hibernate.ddl-auto=create-drop", "spring.datasource.hikari.auto-commit=false" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class ActiveIngredientsSummaryBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActiveIngredientsSummaryBenchmarkIT.class);
+
+    private static final int ROWS = 500;
+    private static final int PAGE_SIZE = 100;
+    private static final int REQUESTS = 200;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    @Container
+    private static final PostgreSQLContainer<?> DB = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", DB::getJdbcUrl);
+        registry.add("spring.datasource.username", DB::getUsername);
+        registry.add("spring.datasource.password", DB::getPassword);
+    }
+
+    @Autowired
+    private ActiveIngredientsRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void insertRows() {
+        MedicationCategoriesClass drugClass = entityManager.persist(
+                MedicationCategoriesClass.builder().name("Analgesics").medicationCategoriesId(1L).build());
+        String text = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore. ";
+        for (int i = 1; i <= ROWS; i++) {
+            ActiveIngredients entity = ActiveIngredients.builder()
+                    .name("Ingredient " + i)
+                    .drugClass(drugClass)
+                    .atcCode("N02BE" + i)
+                    .otc(true)
+                    .highRiskMed(false)
+                    .isControlled(false)
+                    .isActive(true)
+                    .blackBoxWarning(text)
+                    .toxicityDetails(text)
+                    .mechanismOfAction(text)
+                    .pharmaAbsorption(text)
+                    .pharmaMetabolism(text)
+                    .pregnancyNotes(text)
+                    .lactationRiskNotes(text)
+                    .build();
+            entity.setCreatedBy("benchmark");
+            entityManager.persist(entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void summaries_AreSmallerAndLighterThanFullItems() {
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+
+        Result full = run("full", () -> repository.findAll(pageable).map(ActiveIngredientsResponseVM::ofEntity).getContent());
+        Result summary = run("summary", () -> repository.findAllSummaries(pageable).map(ActiveIngredientsSummaryVM::ofProjection).getContent());
+
+        LOG.info("{}", full);
+        LOG.info("{}", summary);
+        assertThat(summary.bytes).isLessThan(full.bytes);
+        if (full.allocatedPerRequest > 0) {
+            assertThat(summary.allocatedPerRequest).isLessThan(full.allocatedPerRequest);
+        }
+    }
+
+    // Helpers
+
+    private record Result(String name, long bytes, double requestsPerSecond, long allocatedPerRequest) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-8s %d items: %,8d bytes   %,8.0f requests/s   %,10d bytes allocated/request",
+                    name, PAGE_SIZE, bytes, requestsPerSecond, allocatedPerRequest
+            );
+        }
+    }
+
+    private Result run(String name, Supplier<List<?>> page) {
+        long bytes = 0;
+        double[] throughput = new double[ITERATIONS];
+        long[] allocated = new long[ITERATIONS];
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            for (int r = 0; r < REQUESTS; r++) {
+                entityManager.clear();
+                bytes = write(page.get()).length;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (i >= WARMUP_ITERATIONS) {
+                throughput[i - WARMUP_ITERATIONS] = REQUESTS / seconds;
+                allocated[i - WARMUP_ITERATIONS] = allocatedBefore < 0 ? -1 : (allocatedBytes() - allocatedBefore) / REQUESTS;
+            }
+        }
+        Arrays.sort(throughput);
+        Arrays.sort(allocated);
+        return new Result(name, bytes, throughput[ITERATIONS / 2], allocated[ITERATIONS / 2]);
+    }
+
+    private byte[] write(List<?> items) {
+        assertThat(items).hasSize(PAGE_SIZE);
+        try {
+            return objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or -1 if the JVM cannot tell.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dazzle.asklepios.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrandMedicationSearchRepositoryImplTest {
+
+    @Test
+    void sql_OnlyPresentFiltersAreBound() {
+        Map<String, Object> params = new HashMap<>();
+        BrandMedicationSearchCriteria criteria =
+                new BrandMedicationSearchCriteria(" ", null, "50%_off", "", null, null, null, true, null);
+
+        String sql = BrandMedicationSearchRepositoryImpl.sql(criteria, null, params);
+
+        assertThat(params).containsOnly(Map.entry("manufacturer", "%50\\%\\_off%"), Map.entry("useSinglePatient", true));
+        assertThat(sql).doesNotContain("ts_rank", "dosage_form ilike", "afterId");
+        assertThat(sql).endsWith(" where b.manufacturer ilike :manufacturer escape '\\' and b.single_patient_use = :useSinglePatient"
+                + " order by b.id limit :limit");
+    }
+
+    @Test
+    void sql_TextSearchPagesByRankThenId() {
+        Map<String, Object> params = new HashMap<>();
+        BrandMedicationSearchCriteria criteria =
+                new BrandMedicationSearchCriteria(" amoxicillin ", null, null, null, null, null, null, null, true);
+
+        String sql = BrandMedicationSearchRepositoryImpl.sql(criteria, new BrandMedicationSearchRepository.Cursor(0.5f, 7L), params);
+
+        assertThat(params).containsEntry("q", "amoxicillin").containsEntry("qPattern", "%amoxicillin%")
+                .containsEntry("afterRank", 0.5f).containsEntry("afterId", 7L);
+        assertThat(sql).contains(BrandMedicationSearchRepositoryImpl.SEARCH_VECTOR + " @@ websearch_to_tsquery('simple', :q)");
+        assertThat(sql).endsWith(" where (s.rank < :afterRank or (s.rank = :afterRank and s.id > :afterId))"
+                + " order by s.rank desc, s.id limit :limit");
+    }
+}
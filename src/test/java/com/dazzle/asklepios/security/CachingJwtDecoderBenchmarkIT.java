@@ -0,0 +1,89 @@
+package com.dazzle.asklepios.security;
+
+import com.dazzle.asklepios.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares decodes per second of the plain {@link NimbusJwtDecoder} (HS512 signature check, parsing and claim
+ * validation on every request) with the {@link CachingJwtDecoder} in front of it, for a set of users presenting their
+ * tokens round robin. Results are logged; run {@code ./gradlew integrationTest --tests '*CachingJwtDecoderBenchmarkIT'}.
+ */
+class CachingJwtDecoderBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingJwtDecoderBenchmarkIT.class);
+
+    private static final SecretKey SECRET = new SecretKeySpec(new byte[64], "HmacSHA512");
+
+    private static final int USERS = 200;
+    private static final int DECODES = 50_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    void cachedDecode_IsFasterThanVerifyingEveryToken() {
+        String[] tokens = tokens();
+        JwtDecoder uncached = NimbusJwtDecoder.withSecretKey(SECRET).macAlgorithm(MacAlgorithm.HS512).build();
+        JwtDecoder cached = new CachingJwtDecoder(uncached, new SecurityMetersService(new SimpleMeterRegistry()), 10_000);
+
+        double before = decodesPerSecond(uncached, tokens);
+        double after = decodesPerSecond(cached, tokens);
+
+        LOG.info(String.format("uncached: %,12.0f decodes/s", before));
+        LOG.info(String.format("cached:   %,12.0f decodes/s (%.1fx)", after, after / before));
+        assertThat(after).isGreaterThan(before);
+    }
+
+    // Helpers
+
+    private static double decodesPerSecond(JwtDecoder decoder, String[] tokens) {
+        double[] results = new double[ITERATIONS];
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            for (int d = 0; d < DECODES; d++) {
+                checksum += decoder.decode(tokens[d % tokens.length]).getSubject().length();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (i >= WARMUP_ITERATIONS) {
+                results[i - WARMUP_ITERATIONS] = DECODES / seconds;
+            }
+        }
+        // Keeps the decoded values alive so the loop is not optimized away
+        assertThat(checksum).isPositive();
+        Arrays.sort(results);
+        return results[results.length / 2];
+    }
+
+    private static String[] tokens() {
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(SECRET));
+        Instant now = Instant.now();
+        return IntStream.range(0, USERS)
+                .mapToObj(user -> JwtClaimsSet.builder()
+                        .subject("user-" + user)
+                        .issuedAt(now)
+                        .expiresAt(now.plusSeconds(3600))
+                        .claim("auth", "ROLE_USER")
+                        .build())
+                .map(claims -> encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims)).getTokenValue())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,205 @@
+package com.dazzle.asklepios.security;
+
+import com.dazzle.asklepios.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.BadJWSException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private static final SecretKey SECRET = new SecretKeySpec(new byte[64], "HmacSHA512");
+
+    private JwtDecoder delegate;
+    private SimpleMeterRegistry registry;
+    private SecurityMetersService metersService;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        registry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(registry);
+    }
+
+    @Test
+    void decode_RepeatedTokenVerifiedOnce() {
+        when(delegate.decode("t1")).thenReturn(jwt("t1", NOW.plusSeconds(3600)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        Jwt first = decoder.decode("t1");
+        Jwt second = decoder.decode("t1");
+
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).decode("t1");
+        assertThat(cacheCount("hit")).isEqualTo(1.0);
+        assertThat(cacheCount("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void decode_ExpiredEntryIsVerifiedAgain() {
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(61));
+        when(delegate.decode("t1"))
+                .thenReturn(jwt("t1", NOW.plusSeconds(60)))
+                .thenThrow(new BadJwtException("expired"));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 10, clock);
+
+        decoder.decode("t1");
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("t1"));
+        verify(delegate, times(2)).decode("t1");
+    }
+
+    @Test
+    void decode_FailuresAreNotCached() {
+        when(delegate.decode(anyString())).thenThrow(new BadJwtException("bad"));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 10, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+        verify(delegate, times(2)).decode("bad");
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void decode_CacheStaysBounded() {
+        when(delegate.decode(anyString())).thenAnswer(inv -> jwt(inv.getArgument(0), NOW.plusSeconds(3600)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 20, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        for (int i = 0; i < 100; i++) {
+            decoder.decode("token-" + i);
+        }
+
+        assertThat(decoder.size()).isLessThanOrEqualTo(20);
+    }
+
+    @Test
+    void decode_DisabledWhenMaxEntriesIsZero() {
+        when(delegate.decode("t1")).thenReturn(jwt("t1", NOW.plusSeconds(3600)));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, metersService, 0, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        decoder.decode("t1");
+        decoder.decode("t1");
+
+        verify(delegate, times(2)).decode("t1");
+    }
+
+    @Test
+    void failureCause_ClassifiedByExceptionType() {
+        assertThat(JwtFailureCause.of(new BadJwtException("x", new BadJWSException("sig"))))
+                .isEqualTo(JwtFailureCause.INVALID_SIGNATURE);
+        assertThat(JwtFailureCause.of(new BadJwtException("x", new ParseException("p", 0))))
+                .isEqualTo(JwtFailureCause.MALFORMED);
+        assertThat(JwtFailureCause.of(new IllegalStateException("boom"))).isEqualTo(JwtFailureCause.UNKNOWN);
+    }
+
+    @Test
+    void failureCause_ValidationErrorsClassifiedByFailingClaim() {
+        Instant now = Instant.now();
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(SECRET).macAlgorithm(MacAlgorithm.HS512).build();
+        decoder.setJwtValidator(new JwtLifetimeValidator());
+
+        String expired = sign(JwtClaimsSet.builder().subject("admin").issuedAt(now.minusSeconds(7200)).expiresAt(now.minusSeconds(3600)));
+        String notYetValid = sign(JwtClaimsSet.builder().subject("admin").notBefore(now.plusSeconds(3600)).expiresAt(now.plusSeconds(7200)));
+        String otherIssuer = sign(JwtClaimsSet.builder().subject("admin").issuer("https://other").expiresAt(now.plusSeconds(3600)));
+
+        assertThat(causeOf(decoder, expired)).isEqualTo(JwtFailureCause.EXPIRED);
+        assertThat(causeOf(decoder, notYetValid)).isEqualTo(JwtFailureCause.NOT_YET_VALID);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(new JwtLifetimeValidator(), new JwtIssuerValidator("https://setup")));
+        assertThat(causeOf(decoder, otherIssuer)).isEqualTo(JwtFailureCause.INVALID_CLAIMS);
+    }
+
+    @Test
+    void lifetimeValidator_ReportsEachClaimWithItsOwnCode() {
+        JwtLifetimeValidator validator = new JwtLifetimeValidator(Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(validator.validate(lifetime(null, NOW.minusSeconds(61))).getErrors())
+                .extracting(OAuth2Error::getErrorCode).containsExactly(JwtLifetimeValidator.EXPIRED);
+        assertThat(validator.validate(lifetime(null, NOW.minusSeconds(30))).hasErrors()).isFalse();
+        assertThat(validator.validate(lifetime(NOW.plusSeconds(30), NOW.plusSeconds(3600))).hasErrors()).isFalse();
+        assertThat(validator.validate(lifetime(NOW.plusSeconds(120), NOW.plusSeconds(3600))).getErrors())
+                .extracting(OAuth2Error::getErrorCode).containsExactly(JwtLifetimeValidator.NOT_YET_VALID);
+    }
+
+    @Test
+    void trackInvalidToken_CountsEachCauseSeparately() {
+        metersService.trackInvalidToken(JwtFailureCause.NOT_YET_VALID);
+        metersService.trackInvalidToken(JwtFailureCause.INVALID_CLAIMS);
+
+        assertThat(invalidCount("not-yet-valid")).isEqualTo(1.0);
+        assertThat(invalidCount("invalid-claims")).isEqualTo(1.0);
+        assertThat(invalidCount("expired")).isZero();
+    }
+
+    private static JwtFailureCause causeOf(JwtDecoder decoder, String token) {
+        JwtValidationException e = assertThrows(JwtValidationException.class, () -> decoder.decode(token));
+        return JwtFailureCause.of(e);
+    }
+
+    private static String sign(JwtClaimsSet.Builder claims) {
+        JwtEncoder encoder = new NimbusJwtEncoder(new ImmutableSecret<>(SECRET));
+        return encoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS512).build(), claims.build())).getTokenValue();
+    }
+
+    private double invalidCount(String cause) {
+        return registry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME)
+                .tag(SecurityMetersService.INVALID_TOKENS_METER_CAUSE_DIMENSION, cause)
+                .counter()
+                .count();
+    }
+
+    private double cacheCount(String result) {
+        return registry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME)
+                .tag(SecurityMetersService.TOKEN_CACHE_METER_RESULT_DIMENSION, result)
+                .counter()
+                .count();
+    }
+
+    private static Jwt lifetime(Instant notBefore, Instant expiresAt) {
+        Jwt.Builder jwt = Jwt.withTokenValue("t1").header("alg", "HS512").subject("admin").expiresAt(expiresAt);
+        return notBefore != null ? jwt.notBefore(notBefore).build() : jwt.build();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .subject("admin")
+                .issuedAt(NOW.minusSeconds(10))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,254 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.ActiveIngredientAdverseEffects;
+import com.dazzle.asklepios.domain.ActiveIngredientContraindications;
+import com.dazzle.asklepios.domain.ActiveIngredientDrugInteractions;
+import com.dazzle.asklepios.domain.ActiveIngredientFoodInteractions;
+import com.dazzle.asklepios.domain.ActiveIngredientIndications;
+import com.dazzle.asklepios.domain.ActiveIngredientPreRequestedTest;
+import com.dazzle.asklepios.domain.ActiveIngredientSpecialPopulations;
+import com.dazzle.asklepios.domain.ActiveIngredientSynonyms;
+import com.dazzle.asklepios.domain.ActiveIngredients;
+import com.dazzle.asklepios.repository.ActiveIngredientAdverseEffectsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientContraindicationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientDrugInteractionsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientFoodInteractionsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientIndicationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientPreRequestedTestRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientSpecialPopulationsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientSynonymsRepository;
+import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
+import com.dazzle.asklepios.repository.DiagnosticTestRepository;
+import com.dazzle.asklepios.repository.Icd10Repository;
+import com.dazzle.asklepios.repository.MedicationCategoriesClassRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientAdverseEffects.ActiveIngredientAdverseEffectsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientAdverseEffects.ActiveIngredientAdverseEffectsUpdateVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredientSynonyms.ActiveIngredientSynonymsResponseVM;
+import com.dazzle.asklepios.web.rest.vm.activeIngredients.ActiveIngredientMonographVM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveIngredientMonographServiceTest {
+
+    @Mock
+    private ActiveIngredientsRepository activeRepo;
+
+    @Mock
+    private ActiveIngredientAdverseEffectsRepository adverseEffectsRepo;
+
+    @Mock
+    private ActiveIngredientContraindicationsRepository contraindicationsRepo;
+
+    @Mock
+    private ActiveIngredientDrugInteractionsRepository drugInteractionsRepo;
+
+    @Mock
+    private ActiveIngredientFoodInteractionsRepository foodInteractionsRepo;
+
+    @Mock
+    private ActiveIngredientIndicationsRepository indicationsRepo;
+
+    @Mock
+    private ActiveIngredientPreRequestedTestRepository preRequestedTestRepo;
+
+    @Mock
+    private ActiveIngredientSpecialPopulationsRepository specialPopulationsRepo;
+
+    @Mock
+    private ActiveIngredientSynonymsRepository synonymsRepo;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private ActiveIngredientMonographService service;
+
+    private final ActiveIngredients paracetamol = ActiveIngredients.builder().id(1L).name("Paracetamol").build();
+    private final ActiveIngredients ibuprofen = ActiveIngredients.builder().id(2L).name("Ibuprofen").build();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ActiveIngredientMonographService(
+                activeRepo, adverseEffectsRepo, contraindicationsRepo, drugInteractionsRepo, foodInteractionsRepo,
+                indicationsRepo, preRequestedTestRepo, specialPopulationsRepo, synonymsRepo, cacheManager);
+        when(activeRepo.findAllById(anyCollection())).thenAnswer(inv -> Stream.of(paracetamol, ibuprofen)
+                .filter(ingredient -> inv.<Collection<Long>>getArgument(0).contains(ingredient.getId()))
+                .toList());
+        when(adverseEffectsRepo.findByActiveIngredientIdIn(anyCollection())).thenReturn(List.of(
+                ActiveIngredientAdverseEffects.builder().id(10L).activeIngredient(paracetamol).adverseEffect("Rash").build(),
+                ActiveIngredientAdverseEffects.builder().id(11L).activeIngredient(ibuprofen).adverseEffect("Nausea").build(),
+                ActiveIngredientAdverseEffects.builder().id(12L).activeIngredient(paracetamol).adverseEffect("Hepatotoxicity").build()
+        ));
+        when(synonymsRepo.findByActiveIngredientIdIn(anyCollection())).thenReturn(List.of(
+                ActiveIngredientSynonyms.builder().id(20L).activeIngredient(ibuprofen).synonym("Isobutylphenylpropionic acid").build()
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findAll_LoadsChildrenWithOneQueryPerTable() {
+        List<ActiveIngredientMonographVM> monographs = service.findAll(List.of(2L, 99L, 1L));
+
+        assertThat(monographs).extracting(m -> m.activeIngredient().id()).containsExactly(2L, 1L);
+        assertThat(monographs.get(1).adverseEffects()).extracting(ActiveIngredientAdverseEffectsResponseVM::adverseEffect)
+                .containsExactly("Rash", "Hepatotoxicity");
+        assertThat(monographs.get(0).synonyms()).extracting(ActiveIngredientSynonymsResponseVM::synonym)
+                .containsExactly("Isobutylphenylpropionic acid");
+        assertThat(monographs.get(1).synonyms()).isEmpty();
+        assertThat(monographs.get(1).indications()).isEmpty();
+        verify(activeRepo, times(1)).findAllById(anyCollection());
+        verify(adverseEffectsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(contraindicationsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(drugInteractionsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(foodInteractionsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(indicationsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(preRequestedTestRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(specialPopulationsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+        verify(synonymsRepo, times(1)).findByActiveIngredientIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void findAll_OnlyCacheMissesAreLoaded() {
+        service.findOne(1L);
+
+        List<ActiveIngredientMonographVM> monographs = service.findAll(List.of(1L, 2L));
+
+        assertThat(monographs).extracting(m -> m.activeIngredient().id()).containsExactly(1L, 2L);
+        verify(activeRepo, times(1)).findAllById(List.of(1L));
+        verify(activeRepo, times(1)).findAllById(List.of(2L));
+        assertThat(service.findAll(List.of(2L, 1L))).hasSize(2);
+        verify(activeRepo, times(2)).findAllById(anyCollection());
+    }
+
+    @Test
+    void findAll_TooManyIdsRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, ActiveIngredientMonographService.MAX_BULK_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> service.findAll(ids)).isInstanceOf(BadRequestAlertException.class);
+        verify(activeRepo, never()).findAllById(any());
+    }
+
+    @Test
+    void findAll_LoadOverlappingAnEvictionIsNotCached() {
+        // A write to ibuprofen commits while paracetamol is being loaded
+        when(contraindicationsRepo.findByActiveIngredientIdIn(anyCollection())).thenAnswer(inv -> {
+            service.evict(2L);
+            return List.of();
+        });
+
+        assertThat(service.findOne(1L)).isPresent();
+
+        assertThat(cache().get(1L)).isNull();
+    }
+
+    @Test
+    void evict_InTransactionAppliedAfterCommit() {
+        service.findOne(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.evict(1L);
+
+        assertThat(cache().get(1L)).isNotNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache().get(1L)).isNull();
+    }
+
+    @Test
+    void childServices_EvictTheIngredientOnDelete() {
+        ActiveIngredientMonographService monographs = mock(ActiveIngredientMonographService.class);
+
+        ActiveIngredientAdverseEffectsRepository adverseEffects = mock(ActiveIngredientAdverseEffectsRepository.class);
+        when(adverseEffects.findById(1L)).thenReturn(Optional.of(ActiveIngredientAdverseEffects.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientAdverseEffectsService(adverseEffects, activeRepo, monographs).hardDelete(1L);
+
+        ActiveIngredientContraindicationsRepository contraindications = mock(ActiveIngredientContraindicationsRepository.class);
+        when(contraindications.findById(2L)).thenReturn(Optional.of(ActiveIngredientContraindications.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientContraindicationsService(contraindications, mock(Icd10Repository.class), activeRepo, monographs).hardDelete(2L);
+
+        ActiveIngredientDrugInteractionsRepository drugInteractions = mock(ActiveIngredientDrugInteractionsRepository.class);
+        when(drugInteractions.findById(3L)).thenReturn(Optional.of(ActiveIngredientDrugInteractions.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientDrugInteractionsService(drugInteractions, activeRepo, monographs).hardDelete(3L);
+
+        ActiveIngredientFoodInteractionsRepository foodInteractions = mock(ActiveIngredientFoodInteractionsRepository.class);
+        when(foodInteractions.findById(4L)).thenReturn(Optional.of(ActiveIngredientFoodInteractions.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientFoodInteractionsService(foodInteractions, activeRepo, monographs).hardDelete(4L);
+
+        ActiveIngredientIndicationsRepository indications = mock(ActiveIngredientIndicationsRepository.class);
+        when(indications.findById(5L)).thenReturn(Optional.of(ActiveIngredientIndications.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientIndicationsService(indications, mock(Icd10Repository.class), activeRepo, monographs).hardDelete(5L);
+
+        ActiveIngredientPreRequestedTestRepository preRequestedTests = mock(ActiveIngredientPreRequestedTestRepository.class);
+        when(preRequestedTests.findById(6L)).thenReturn(Optional.of(ActiveIngredientPreRequestedTest.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientPreRequestedTestService(preRequestedTests, activeRepo, mock(DiagnosticTestRepository.class), monographs).hardDelete(6L);
+
+        ActiveIngredientSpecialPopulationsRepository specialPopulations = mock(ActiveIngredientSpecialPopulationsRepository.class);
+        when(specialPopulations.findById(7L)).thenReturn(Optional.of(ActiveIngredientSpecialPopulations.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientSpecialPopulationsService(specialPopulations, activeRepo, monographs).hardDelete(7L);
+
+        ActiveIngredientSynonymsRepository synonyms = mock(ActiveIngredientSynonymsRepository.class);
+        when(synonyms.findById(8L)).thenReturn(Optional.of(ActiveIngredientSynonyms.builder().activeIngredient(ibuprofen).build()));
+        new ActiveIngredientSynonymsService(synonyms, activeRepo, monographs).hardDelete(8L);
+
+        verify(monographs, times(8)).evict(2L);
+    }
+
+    @Test
+    void childServices_EvictBothIngredientsWhenARowMoves() {
+        ActiveIngredientMonographService monographs = mock(ActiveIngredientMonographService.class);
+        ActiveIngredientAdverseEffectsRepository adverseEffects = mock(ActiveIngredientAdverseEffectsRepository.class);
+        when(adverseEffects.findById(10L)).thenReturn(Optional.of(
+                ActiveIngredientAdverseEffects.builder().id(10L).activeIngredient(paracetamol).adverseEffect("Rash").build()));
+        when(adverseEffects.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(activeRepo.findById(2L)).thenReturn(Optional.of(ibuprofen));
+
+        new ActiveIngredientAdverseEffectsService(adverseEffects, activeRepo, monographs)
+                .update(new ActiveIngredientAdverseEffectsUpdateVM(10L, 2L, "Rash"));
+
+        verify(monographs).evict(1L, 2L);
+    }
+
+    @Test
+    void activeIngredientsService_EvictsOnToggleActive() {
+        ActiveIngredientMonographService monographs = mock(ActiveIngredientMonographService.class);
+        when(activeRepo.findById(1L)).thenReturn(Optional.of(paracetamol));
+        when(activeRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        new ActiveIngredientsService(activeRepo, mock(MedicationCategoriesClassRepository.class), monographs,
+                mock(MedicationCategoryHierarchyService.class)).toggleActive(1L);
+
+        verify(monographs).evict(1L);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(ActiveIngredientsRepository.MONOGRAPHS);
+    }
+}
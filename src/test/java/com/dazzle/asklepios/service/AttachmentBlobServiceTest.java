@@ -0,0 +1,147 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.AttachmentBlob;
+import com.dazzle.asklepios.repository.AttachmentBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentBlobServiceTest {
+
+    // sha256("test")
+    private static final String SHA = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String KEY = "blobs/9f/" + SHA;
+
+    @Mock
+    private AttachmentBlobRepository repo;
+
+    @Mock
+    private AttachmentStorageService storage;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AttachmentBlobService service;
+
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "a.txt", "text/plain", "test".getBytes(StandardCharsets.US_ASCII));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(repo.findById(SHA)).thenReturn(Optional.empty());
+        service = new AttachmentBlobService(repo, storage, transactionManager);
+    }
+
+    @Test
+    void store_NewContentIsUploadedBeforeTheTransaction() throws Exception {
+        when(repo.acquire(eq(SHA), eq(KEY), eq("text/plain"), eq(4L), any())).thenReturn(true);
+
+        var blob = service.store(file, "text/plain", Function.identity());
+
+        assertThat(blob.sha256()).isEqualTo(SHA);
+        assertThat(blob.spaceKey()).isEqualTo(KEY);
+        assertThat(blob.uploaded()).isTrue();
+        InOrder order = inOrder(storage, transactionManager, repo);
+        order.verify(storage).put(eq(KEY), eq("text/plain"), eq(4L), any());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repo).acquire(eq(SHA), eq(KEY), eq("text/plain"), eq(4L), any());
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void store_ReferencedContentSkipsUpload() throws Exception {
+        when(repo.findById(SHA)).thenReturn(Optional.of(blob(1L)));
+        when(repo.acquire(eq(SHA), eq(KEY), anyString(), anyLong(), any())).thenReturn(false);
+
+        var blob = service.store(file, "text/plain", Function.identity());
+
+        assertThat(blob.spaceKey()).isEqualTo(KEY);
+        assertThat(blob.uploaded()).isFalse();
+        verify(storage, never()).put(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void store_PurgedBeforeAcquireIsUploadedAgain() throws Exception {
+        when(repo.findById(SHA)).thenReturn(Optional.of(blob(1L)));
+        when(repo.acquire(eq(SHA), eq(KEY), anyString(), anyLong(), any())).thenReturn(true);
+
+        var blob = service.store(file, "text/plain", Function.identity());
+
+        assertThat(blob.uploaded()).isTrue();
+        verify(storage).put(eq(KEY), eq("text/plain"), eq(4L), any());
+    }
+
+    @Test
+    void store_FailedSaveLeavesAnUnreferencedBlob() {
+        when(repo.acquire(eq(SHA), eq(KEY), anyString(), anyLong(), any())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> service.store(file, "text/plain", blob -> {
+            throw new IllegalStateException("save failed");
+        }));
+
+        verify(transactionManager).rollback(any());
+        verify(repo).register(eq(SHA), eq(KEY), eq("text/plain"), eq(4L), any());
+    }
+
+    @Test
+    void store_FailedSaveOfReferencedContentRegistersNothing() {
+        when(repo.findById(SHA)).thenReturn(Optional.of(blob(2L)));
+
+        assertThrows(IllegalStateException.class, () -> service.store(file, "text/plain", blob -> {
+            throw new IllegalStateException("save failed");
+        }));
+
+        verify(repo, never()).register(anyString(), anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void store_StreamedContentIsCopiedFromStaging() {
+        when(repo.acquire(eq(SHA), eq(KEY), eq("text/plain"), eq(4L), any())).thenReturn(true);
+
+        var blob = service.store(new AttachmentStreamingUploadService.StagedUpload(SHA, "text/plain", 4L, null, "uploads/u1"), Function.identity());
+
+        assertThat(blob.uploaded()).isTrue();
+        verify(storage, times(1)).copy("uploads/u1", KEY);
+        verify(storage, never()).put(anyString(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void release_IgnoresLegacyRows() {
+        service.release(null);
+        service.release(SHA);
+
+        verify(repo).release(SHA);
+        verify(repo, never()).release(null);
+    }
+
+    private static AttachmentBlob blob(long references) {
+        AttachmentBlob blob = new AttachmentBlob();
+        blob.setSha256(SHA);
+        blob.setSpaceKey(KEY);
+        blob.setReferenceCount(references);
+        return blob;
+    }
+}
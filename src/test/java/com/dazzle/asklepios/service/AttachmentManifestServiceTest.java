@@ -0,0 +1,143 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.config.AttachmentManifestConfiguration;
+import com.dazzle.asklepios.domain.EncounterAttachments;
+import com.dazzle.asklepios.domain.PatientAttachments;
+import com.dazzle.asklepios.domain.enumeration.AttachmentOwnerType;
+import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
+import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
+import com.dazzle.asklepios.repository.InventoryTransactionAttachmentsRepository;
+import com.dazzle.asklepios.repository.InventoryTransferAttachmentsRepository;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.attachment.manifest.AttachmentManifestEntryVM;
+import com.dazzle.asklepios.web.rest.vm.attachment.manifest.AttachmentManifestVM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URL;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentManifestServiceTest {
+
+    @Mock
+    private PatientAttachmentsRepository patientRepo;
+
+    @Mock
+    private EncounterAttachementsRepository encounterRepo;
+
+    @Mock
+    private InventoryTransactionAttachmentsRepository inventoryTransactionRepo;
+
+    @Mock
+    private InventoryTransferAttachmentsRepository inventoryTransferRepo;
+
+    @Mock
+    private AttachmentStorageService storage;
+
+    @Mock
+    private AttachmentProperties props;
+
+    private final AttachmentProperties.PresignPool presignPool = new AttachmentProperties.PresignPool();
+
+    private ThreadPoolTaskExecutor presignExecutor;
+
+    private AttachmentManifestService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(props.getPresignExpirySeconds()).thenReturn(300);
+        presignPool.setSize(2);
+        presignPool.setQueueCapacity(2);
+        presignPool.setChunkSize(16);
+        when(props.getPresignPool()).thenReturn(presignPool);
+        presignExecutor = new AttachmentManifestConfiguration().presignTaskExecutor(props);
+        presignExecutor.initialize();
+        // Presigning runs on the pool threads, where stubbing a fresh mock is not safe; url() is the only call made.
+        when(storage.presignGet(anyString(), anyString())).thenAnswer(inv -> {
+            URL url = new URL("https://files.example/" + inv.getArgument(0));
+            return mock(PresignedGetObjectRequest.class, call -> url);
+        });
+        service = new AttachmentManifestService(
+                patientRepo, encounterRepo, inventoryTransactionRepo, inventoryTransferRepo, storage, props, presignExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presignExecutor.shutdown();
+    }
+
+    @Test
+    void manifest_CombinesOwnerTypesWithUrls() {
+        when(patientRepo.findByPatientIdInAndDeletedAtIsNullOrderByCreatedDateDesc(List.of(1L), Limit.of(2001))).thenReturn(List.of(
+                PatientAttachments.builder().id(10L).patientId(1L).spaceKey("p10").filename("a.pdf").sizeBytes(1L)
+                        .source(PatientAttachmentSource.PATIENT_PROFILE_ATTACHMENT).build()));
+        when(encounterRepo.findByEncounterIdInAndDeletedAtIsNullOrderByCreatedDateDesc(List.of(2L), Limit.of(2000))).thenReturn(List.of(
+                EncounterAttachments.builder().id(20L).encounterId(2L).spaceKey("e20").filename("b.png").sizeBytes(2L).build()));
+
+        AttachmentManifestVM manifest = service.manifest(List.of(1L), List.of(2L), null, List.of());
+
+        assertThat(manifest.expiresInSeconds()).isEqualTo(300);
+        assertThat(manifest.attachments()).extracting(AttachmentManifestEntryVM::ownerType)
+                .containsExactly(AttachmentOwnerType.PATIENT, AttachmentOwnerType.ENCOUNTER);
+        assertThat(manifest.attachments()).extracting(AttachmentManifestEntryVM::downloadUrl)
+                .containsExactly("https://files.example/p10", "https://files.example/e20");
+        assertThat(manifest.attachments().get(0).source()).isEqualTo("PATIENT_PROFILE_ATTACHMENT");
+        verify(inventoryTransactionRepo, never()).findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(any(), any());
+        verify(inventoryTransferRepo, never()).findByTransactionIdInAndDeletedAtIsNullOrderByCreatedDateDesc(any(), any());
+    }
+
+    @Test
+    void manifest_ParallelPresigningKeepsRowOrderWhenTheQueueOverflows() {
+        List<PatientAttachments> rows = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> PatientAttachments.builder().id(id).patientId(1L).spaceKey("k" + id).filename("f").sizeBytes(1L).build())
+                .toList();
+        when(patientRepo.findByPatientIdInAndDeletedAtIsNullOrderByCreatedDateDesc(eq(List.of(1L)), any())).thenReturn(rows);
+
+        AttachmentManifestVM manifest = service.manifest(List.of(1L), null, null, null);
+
+        assertThat(manifest.attachments()).hasSize(500);
+        for (AttachmentManifestEntryVM entry : manifest.attachments()) {
+            assertThat(entry.downloadUrl()).isEqualTo("https://files.example/k" + entry.id());
+        }
+    }
+
+    @Test
+    void manifest_TooManyAttachmentsRejectedBeforeLaterQueries() {
+        List<PatientAttachments> rows = LongStream.rangeClosed(1, AttachmentManifestService.MAX_ATTACHMENTS + 1)
+                .mapToObj(id -> PatientAttachments.builder().id(id).patientId(1L).spaceKey("k" + id).filename("f").sizeBytes(1L).build())
+                .toList();
+        when(patientRepo.findByPatientIdInAndDeletedAtIsNullOrderByCreatedDateDesc(List.of(1L), Limit.of(AttachmentManifestService.MAX_ATTACHMENTS + 1)))
+                .thenReturn(rows);
+
+        assertThrows(BadRequestAlertException.class, () -> service.manifest(List.of(1L), List.of(2L), null, null));
+        verify(encounterRepo, never()).findByEncounterIdInAndDeletedAtIsNullOrderByCreatedDateDesc(any(), any(Limit.class));
+        verify(storage, never()).presignGet(anyString(), anyString());
+    }
+
+    @Test
+    void manifest_TooManyOwnersRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, AttachmentManifestService.MAX_OWNER_IDS + 1).boxed().toList();
+
+        assertThrows(BadRequestAlertException.class, () -> service.manifest(ids, null, null, null));
+    }
+}
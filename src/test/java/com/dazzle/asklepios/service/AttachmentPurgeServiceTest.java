@@ -0,0 +1,153 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.domain.AttachmentBlob;
+import com.dazzle.asklepios.repository.AttachmentBlobRepository;
+import com.dazzle.asklepios.repository.AttachmentPurgeCandidate;
+import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
+import com.dazzle.asklepios.repository.InventoryTransactionAttachmentsRepository;
+import com.dazzle.asklepios.repository.InventoryTransferAttachmentsRepository;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentPurgeServiceTest {
+
+    private static final Instant CUTOFF = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private PatientAttachmentsRepository patientRepo;
+
+    @Mock
+    private EncounterAttachementsRepository encounterRepo;
+
+    @Mock
+    private InventoryTransactionAttachmentsRepository inventoryTransactionRepo;
+
+    @Mock
+    private InventoryTransferAttachmentsRepository inventoryTransferRepo;
+
+    @Mock
+    private AttachmentBlobRepository blobRepo;
+
+    @Mock
+    private AttachmentStorageService storage;
+
+    @Mock
+    private AttachmentProperties props;
+
+    private AttachmentPurgeService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(props.getThumbnailSizes()).thenReturn(List.of(64));
+        service = new AttachmentPurgeService(
+                patientRepo, encounterRepo, inventoryTransactionRepo, inventoryTransferRepo, blobRepo, storage, props);
+    }
+
+    @Test
+    void purgeAttachments_KeepsRowsWhoseObjectsFailed() {
+        when(patientRepo.findPurgeCandidates(CUTOFF, 0L, 10)).thenReturn(List.of(
+                new Candidate(1L, "patients/1/a.pdf", null, 100L, false),
+                new Candidate(2L, "patients/1/b.png", null, 200L, true),
+                new Candidate(3L, "blobs/9f/9f86", "9f86", 300L, false)
+        ));
+        when(storage.deleteAll(List.of("patients/1/a.pdf", "patients/1/b.png", "thumbnails/patients/1/b.png/64.jpg")))
+                .thenReturn(List.of("thumbnails/patients/1/b.png/64.jpg"));
+
+        AttachmentPurgeService.PurgeBatch<Long> batch = service.purgeAttachments("patient_attachments", CUTOFF, 0L, 10);
+
+        // Content-addressed row 3 owns no object: its blob is purged separately.
+        verify(patientRepo).deleteAllByIdInBatch(List.of(1L, 3L));
+        assertThat(batch).isEqualTo(new AttachmentPurgeService.PurgeBatch<>(3, 3L, 2, 1, 100L, 1));
+    }
+
+    @Test
+    void purgeAttachments_EmptyBatchTouchesNothing() {
+        when(encounterRepo.findPurgeCandidates(CUTOFF, 5L, 10)).thenReturn(List.of());
+
+        AttachmentPurgeService.PurgeBatch<Long> batch = service.purgeAttachments("encounter_attachments", CUTOFF, 5L, 10);
+
+        assertThat(batch.scanned()).isZero();
+        verify(storage, never()).deleteAll(any());
+        verify(encounterRepo, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void purgeBlobs_DeletesContentAndThumbnails() {
+        AttachmentBlob blob = AttachmentBlob.builder().sha256("abc").spaceKey("blobs/ab/abc").sizeBytes(4096L).referenceCount(0L).build();
+        when(blobRepo.findPurgeCandidates("", 10)).thenReturn(List.of(blob));
+        when(storage.deleteAll(List.of("blobs/ab/abc", "thumbnails/abc/64.jpg"))).thenReturn(List.of());
+
+        AttachmentPurgeService.PurgeBatch<String> batch = service.purgeBlobs("", 10);
+
+        verify(blobRepo).deleteAllByIdInBatch(List.of("abc"));
+        assertThat(batch).isEqualTo(new AttachmentPurgeService.PurgeBatch<>(1, "abc", 1, 2, 4096L, 0));
+    }
+
+    @Test
+    void purgeBlobs_CountsDeletedKeysLikeAttachments() {
+        AttachmentBlob kept = AttachmentBlob.builder().sha256("abc").spaceKey("blobs/ab/abc").sizeBytes(4096L).referenceCount(0L).build();
+        AttachmentBlob purged = AttachmentBlob.builder().sha256("def").spaceKey("blobs/de/def").sizeBytes(1024L).referenceCount(0L).build();
+        when(blobRepo.findPurgeCandidates("", 10)).thenReturn(List.of(kept, purged));
+        when(storage.deleteAll(List.of("blobs/ab/abc", "thumbnails/abc/64.jpg", "blobs/de/def", "thumbnails/def/64.jpg")))
+                .thenReturn(List.of("thumbnails/abc/64.jpg"));
+
+        AttachmentPurgeService.PurgeBatch<String> batch = service.purgeBlobs("", 10);
+
+        verify(blobRepo).deleteAllByIdInBatch(List.of("def"));
+        assertThat(batch).isEqualTo(new AttachmentPurgeService.PurgeBatch<>(2, "def", 1, 2, 1024L, 1));
+    }
+
+    @Test
+    void lag_MeasuredFromOldestDeletionPastCutoff() {
+        when(patientRepo.findOldestDeletedAt()).thenReturn(Optional.of(CUTOFF.minusSeconds(90)));
+        when(encounterRepo.findOldestDeletedAt()).thenReturn(Optional.of(CUTOFF.plusSeconds(90)));
+
+        assertThat(service.lag("patient_attachments", CUTOFF)).isEqualTo(Duration.ofSeconds(90));
+        assertThat(service.lag("encounter_attachments", CUTOFF)).isEqualTo(Duration.ZERO);
+    }
+
+    private record Candidate(Long id, String spaceKey, String contentSha256, Long sizeBytes, Boolean thumbnailsGenerated)
+            implements AttachmentPurgeCandidate {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getSpaceKey() {
+            return spaceKey;
+        }
+
+        @Override
+        public String getContentSha256() {
+            return contentSha256;
+        }
+
+        @Override
+        public Long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        @Override
+        public Boolean getThumbnailsGenerated() {
+            return thumbnailsGenerated;
+        }
+    }
+}
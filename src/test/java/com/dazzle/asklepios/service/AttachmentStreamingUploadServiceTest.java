@@ -0,0 +1,141 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentStreamingUploadServiceTest {
+
+    private static final int PART_SIZE = 16;
+
+    @Mock
+    private S3AsyncClient s3;
+
+    @Mock
+    private AttachmentStorageService storage;
+
+    @Mock
+    private AttachmentProperties props;
+
+    @InjectMocks
+    private AttachmentStreamingUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(props.getBucket()).thenReturn("bucket");
+        when(props.getAllowed()).thenReturn(Set.of("application/pdf", "text/plain"));
+        when(props.getMaxBytes()).thenReturn(100L);
+        when(props.getStreamingPartSize()).thenReturn(PART_SIZE);
+        when(props.getStreamingMaxInFlightParts()).thenReturn(2);
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("u1").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag").build()));
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+    }
+
+    @Test
+    void stage_SmallBodyStaysInMemory() throws Exception {
+        byte[] body = "%PDF-1.7 small".getBytes(StandardCharsets.US_ASCII);
+
+        AttachmentStreamingUploadService.StagedUpload staged =
+                service.stage(new ByteArrayInputStream(body), "application/pdf", body.length, "test");
+
+        assertThat(staged.content()).isEqualTo(body);
+        assertThat(staged.stagingKey()).isNull();
+        assertThat(staged.sha256()).isEqualTo(sha256(body));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void stage_LargeBodyIsUploadedInParts() throws Exception {
+        byte[] body = pdf(40);
+
+        AttachmentStreamingUploadService.StagedUpload staged =
+                service.stage(new ByteArrayInputStream(body), "application/pdf; qs=0.9", -1, "test");
+
+        assertThat(staged.content()).isNull();
+        assertThat(staged.stagingKey()).startsWith("uploads/");
+        assertThat(staged.size()).isEqualTo(40);
+        assertThat(staged.mimeType()).isEqualTo("application/pdf");
+        assertThat(staged.sha256()).isEqualTo(sha256(body));
+        verify(s3, times(3)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts()).extracting(p -> p.partNumber()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void stage_OversizedBodyIsAbortedWhileReading() {
+        byte[] body = pdf(120);
+
+        assertThrows(BadRequestAlertException.class,
+                () -> service.stage(new ByteArrayInputStream(body), "application/pdf", -1, "test"));
+
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void stage_ContentNotMatchingTypeIsRejected() {
+        byte[] body = {0x4D, 0x5A, 0, 0};
+
+        assertThrows(BadRequestAlertException.class,
+                () -> service.stage(new ByteArrayInputStream(body), "application/pdf", body.length, "test"));
+        assertThrows(BadRequestAlertException.class,
+                () -> service.stage(new ByteArrayInputStream(body), "text/plain", body.length, "test"));
+    }
+
+    @Test
+    void stage_DeclaredLengthOverLimitIsRejectedBeforeReading() {
+        assertThrows(BadRequestAlertException.class,
+                () -> service.stage(new ByteArrayInputStream(new byte[0]), "application/pdf", 101, "test"));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    private static byte[] pdf(int size) {
+        byte[] body = new byte[size];
+        Arrays.fill(body, (byte) 'x');
+        System.arraycopy("%PDF-".getBytes(StandardCharsets.US_ASCII), 0, body, 0, 5);
+        return body;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
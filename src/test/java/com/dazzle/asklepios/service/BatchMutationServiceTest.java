@@ -0,0 +1,218 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.AgeGroup;
+import com.dazzle.asklepios.domain.VaccineDoses;
+import com.dazzle.asklepios.domain.VisitDuration;
+import com.dazzle.asklepios.domain.enumeration.BatchAction;
+import com.dazzle.asklepios.domain.enumeration.BatchEntity;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.errors.BatchOperationException;
+import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchOperationResultVM;
+import com.dazzle.asklepios.web.rest.vm.batch.BatchOperationVM;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchMutationServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private AgeGroupService ageGroupService;
+
+    @Mock
+    private VisitDurationService visitDurationService;
+
+    @Mock
+    private VaccineDosesService vaccineDosesService;
+
+    @Mock
+    private ServiceItemsService serviceItemsService;
+
+    @Mock
+    private ProcedureCodingService procedureCodingService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BatchMutationService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        service = new BatchMutationService(
+                transactionManager,
+                entityManager,
+                objectMapper,
+                validator,
+                ageGroupService,
+                visitDurationService,
+                vaccineDosesService,
+                serviceItemsService,
+                procedureCodingService
+        );
+        when(ageGroupService.stageCreate(eq(3L), any())).thenReturn(AgeGroup.builder().id(11L).build());
+        when(visitDurationService.stageUpdate(eq(5L), any())).thenReturn(VisitDuration.builder().id(5L).build());
+        when(ageGroupService.delete(9L)).thenReturn(true);
+        when(vaccineDosesService.stageUpdate(eq(6L), any())).thenReturn(VaccineDoses.builder().id(6L).build());
+        when(vaccineDosesService.stageCreate(eq(2L), any())).thenReturn(VaccineDoses.builder().id(12L).build());
+    }
+
+    @Test
+    void execute_AppliesOperationsInOrderWithOneFlush() throws Exception {
+        List<BatchOperationResultVM> results = service.execute(List.of(createAgeGroup(), updateVisitDuration(), deleteServiceItem()));
+
+        assertThat(results).extracting(BatchOperationResultVM::index).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BatchOperationResultVM::id).containsExactly(11L, 5L, 8L);
+        verify(serviceItemsService).delete(8L);
+        verify(entityManager, times(1)).flush();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void execute_DeleteIsFlushedBeforeCreateReusingItsKey() throws Exception {
+        // Same facility and age range: the insert would hit uq_facility_age_range if the delete were still pending
+        List<BatchOperationResultVM> results = service.execute(List.of(deleteAgeGroup(), createAgeGroup()));
+
+        assertThat(results).extracting(BatchOperationResultVM::id).containsExactly(9L, 11L);
+        InOrder order = inOrder(ageGroupService, entityManager);
+        order.verify(ageGroupService).delete(9L);
+        order.verify(entityManager).flush();
+        order.verify(ageGroupService).stageCreate(eq(3L), any());
+        verify(entityManager, times(2)).flush();
+    }
+
+    @Test
+    void execute_UpdateIsFlushedBeforeCreateReusingItsKey() throws Exception {
+        // The dose is renumbered, then a dose is created with its former number
+        List<BatchOperationResultVM> results = service.execute(List.of(updateVaccineDose(), createVaccineDose()));
+
+        assertThat(results).extracting(BatchOperationResultVM::id).containsExactly(6L, 12L);
+        InOrder order = inOrder(vaccineDosesService, entityManager);
+        order.verify(vaccineDosesService).stageUpdate(eq(6L), any());
+        order.verify(entityManager).flush();
+        order.verify(vaccineDosesService).stageCreate(eq(2L), any());
+    }
+
+    @Test
+    void execute_FlushBeforeCreateFailureIsReplayedToFindTheOperation() throws Exception {
+        BadRequestAlertException duplicate = new BadRequestAlertException("duplicate", "visitDuration", "unique.visitDuration.global");
+        when(visitDurationService.handleConstraintViolationOnSave(eq("update"), any())).thenReturn(duplicate);
+        doThrow(new PersistenceException("duplicate key")) // flush before the create
+                .doThrow(new PersistenceException("duplicate key")) // replay, after operation 0
+                .when(entityManager).flush();
+
+        assertThatThrownBy(() -> service.execute(List.of(updateVisitDuration(), createAgeGroup())))
+                .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                    assertThat(e.getOperationIndex()).isZero();
+                    assertThat(e.getErrorKey()).isEqualTo("unique.visitDuration.global");
+                });
+        verify(ageGroupService, never()).stageCreate(any(), any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void execute_FailingOperationCarriesItsIndex() throws Exception {
+        when(visitDurationService.stageUpdate(eq(5L), any()))
+                .thenThrow(new NotFoundAlertException("VisitDuration not found with id 5", "visitDuration", "notfound"));
+
+        assertThatThrownBy(() -> service.execute(List.of(createAgeGroup(), updateVisitDuration(), deleteServiceItem())))
+                .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                    assertThat(e.getOperationIndex()).isEqualTo(1);
+                    assertThat(e.getErrorKey()).isEqualTo("notfound");
+                    assertThat(e.getStatusCode().value()).isEqualTo(404);
+                });
+        verify(serviceItemsService, never()).delete(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void execute_FlushFailureIsReplayedToFindTheOperation() throws Exception {
+        BadRequestAlertException duplicate = new BadRequestAlertException("duplicate", "visitDuration", "unique.visitDuration.global");
+        when(visitDurationService.handleConstraintViolationOnSave(eq("update"), any())).thenReturn(duplicate);
+        doThrow(new PersistenceException("duplicate key")) // final flush of the batch
+                .doNothing() // replay, after operation 0
+                .doThrow(new PersistenceException("duplicate key")) // replay, after operation 1
+                .when(entityManager).flush();
+
+        assertThatThrownBy(() -> service.execute(List.of(createAgeGroup(), updateVisitDuration(), deleteServiceItem())))
+                .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                    assertThat(e.getOperationIndex()).isEqualTo(1);
+                    assertThat(e.getErrorKey()).isEqualTo("unique.visitDuration.global");
+                });
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void execute_UnsupportedActionIsRejected() {
+        BatchOperationVM deleteDose = new BatchOperationVM(BatchEntity.VACCINE_DOSE, BatchAction.DELETE, 4L, null, null);
+
+        assertThatThrownBy(() -> service.execute(List.of(deleteDose)))
+                .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                    assertThat(e.getOperationIndex()).isZero();
+                    assertThat(e.getErrorKey()).isEqualTo("action.unsupported");
+                });
+    }
+
+    private BatchOperationVM createAgeGroup() throws Exception {
+        JsonNode payload = objectMapper.readTree(
+                "{\"ageGroup\":\"ADULT\",\"fromAge\":18,\"toAge\":64,\"fromAgeUnit\":\"YEARS\",\"toAgeUnit\":\"YEARS\"}");
+        return new BatchOperationVM(BatchEntity.AGE_GROUP, BatchAction.CREATE, null, 3L, payload);
+    }
+
+    private BatchOperationVM updateVisitDuration() throws Exception {
+        JsonNode payload = objectMapper.readTree("{\"visitType\":\"CONSULTATION\",\"durationInMinutes\":30,\"resourceSpecific\":false}");
+        return new BatchOperationVM(BatchEntity.VISIT_DURATION, BatchAction.UPDATE, 5L, null, payload);
+    }
+
+    private BatchOperationVM updateVaccineDose() throws Exception {
+        JsonNode payload = objectMapper.readTree("{\"doseNumber\":\"THIRD\",\"fromAge\":2,\"toAge\":3,\"fromAgeUnit\":\"YEARS\","
+                + "\"toAgeUnit\":\"YEARS\",\"isBooster\":false,\"isActive\":true}");
+        return new BatchOperationVM(BatchEntity.VACCINE_DOSE, BatchAction.UPDATE, 6L, null, payload);
+    }
+
+    private BatchOperationVM createVaccineDose() throws Exception {
+        JsonNode payload = objectMapper.readTree("{\"doseNumber\":\"SECOND\",\"fromAge\":1,\"toAge\":2,\"fromAgeUnit\":\"YEARS\","
+                + "\"toAgeUnit\":\"YEARS\",\"isBooster\":false,\"isActive\":true}");
+        return new BatchOperationVM(BatchEntity.VACCINE_DOSE, BatchAction.CREATE, null, 2L, payload);
+    }
+
+    private static BatchOperationVM deleteAgeGroup() {
+        return new BatchOperationVM(BatchEntity.AGE_GROUP, BatchAction.DELETE, 9L, null, null);
+    }
+
+    private static BatchOperationVM deleteServiceItem() {
+        return new BatchOperationVM(BatchEntity.SERVICE_ITEM, BatchAction.DELETE, 8L, null, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.Facility;
+import com.dazzle.asklepios.domain.Language;
+import com.dazzle.asklepios.domain.enumeration.Operation;
+import com.dazzle.asklepios.domain.enumeration.Screen;
+import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.repository.LanguageRepository;
+import com.dazzle.asklepios.web.rest.vm.MenuItemVM;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BootstrapServiceTest {
+
+    @Mock
+    private EnumRegistry enumRegistry;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private LanguageRepository languageRepository;
+
+    @Mock
+    private MenuService menuService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BootstrapService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new BootstrapService(enumRegistry, facilityRepository, languageRepository, menuService, objectMapper);
+        when(enumRegistry.getAll()).thenReturn(Map.of("Operation", List.of("VIEW", "EDIT")));
+        when(facilityRepository.findByIsActiveTrueOrderByIdAsc()).thenReturn(List.of(Facility.builder().id(1L).name("Main").code("M").build()));
+        when(languageRepository.findAll()).thenReturn(List.of(Language.builder().id(1L).langKey("en").langName("English").build()));
+        when(menuService.getMenu("admin", 1L)).thenReturn(List.of(new MenuItemVM(Screen.LEDGER_ACCOUNT, EnumSet.of(Operation.VIEW))));
+        when(menuService.getMenu("guest", 1L)).thenReturn(List.of());
+    }
+
+    @Test
+    void render_MergesSharedPartAndMenu() throws Exception {
+        JsonNode document = objectMapper.readTree(service.render("admin", 1L).body());
+
+        assertThat(document.get("version").asText()).isNotBlank();
+        assertThat(document.at("/shared/enums/Operation/1").asText()).isEqualTo("EDIT");
+        assertThat(document.at("/shared/facilities/0/name").asText()).isEqualTo("Main");
+        assertThat(document.at("/shared/languages/0/langKey").asText()).isEqualTo("en");
+        assertThat(document.at("/menu/0/screen").asText()).isEqualTo("LEDGER_ACCOUNT");
+    }
+
+    @Test
+    void render_SharedPartBuiltOnceUntilEvicted() {
+        BootstrapService.BootstrapDocument admin = service.render("admin", 1L);
+        BootstrapService.BootstrapDocument guest = service.render("guest", 1L);
+        verify(facilityRepository, times(1)).findByIsActiveTrueOrderByIdAsc();
+
+        service.evict();
+        BootstrapService.BootstrapDocument again = service.render("admin", 1L);
+
+        verify(facilityRepository, times(2)).findByIsActiveTrueOrderByIdAsc();
+        assertThat(guest.etag()).isNotEqualTo(admin.etag());
+        assertThat(again.etag()).isEqualTo(admin.etag());
+    }
+
+    @Test
+    void render_BuildOverlappingAnEvictionIsNotCached() {
+        // The write commits, and evicts, while the facilities are being read
+        when(facilityRepository.findByIsActiveTrueOrderByIdAsc()).thenAnswer(inv -> {
+            service.evict();
+            return List.of(Facility.builder().id(1L).name("Main").code("M").build());
+        });
+        service.render("admin", 1L);
+        when(facilityRepository.findByIsActiveTrueOrderByIdAsc()).thenReturn(List.of());
+
+        service.render("admin", 1L);
+        service.render("admin", 1L);
+
+        verify(facilityRepository, times(2)).findByIsActiveTrueOrderByIdAsc();
+    }
+
+    @Test
+    void render_EtagFollowsSharedData() {
+        String before = service.render("admin", 1L).etag();
+        when(languageRepository.findAll()).thenReturn(List.of());
+
+        service.evict();
+
+        assertThat(service.render("admin", 1L).etag()).isNotEqualTo(before);
+    }
+}
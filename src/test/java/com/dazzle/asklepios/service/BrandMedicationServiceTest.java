@@ -0,0 +1,84 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.repository.BrandMedicationRepository;
+import com.dazzle.asklepios.repository.BrandMedicationSearchCriteria;
+import com.dazzle.asklepios.repository.BrandMedicationSearchRepository.Cursor;
+import com.dazzle.asklepios.repository.BrandMedicationSearchRepository.SearchRow;
+import com.dazzle.asklepios.repository.UomGroupRepository;
+import com.dazzle.asklepios.repository.UomGroupUnitRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSearchResultVM;
+import com.dazzle.asklepios.web.rest.vm.brandMedication.BrandMedicationSummaryVM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BrandMedicationServiceTest {
+
+    private static final BrandMedicationSearchCriteria CRITERIA =
+            new BrandMedicationSearchCriteria("amox", null, null, null, null, null, null, null, true);
+
+    @Mock
+    private BrandMedicationRepository brandMedicationRepository;
+
+    @Mock
+    private UomGroupRepository uomGroupRepository;
+
+    @Mock
+    private UomGroupUnitRepository uomGroupUnitRepository;
+
+    private BrandMedicationService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new BrandMedicationService(brandMedicationRepository, uomGroupRepository, uomGroupUnitRepository);
+    }
+
+    @Test
+    void search_FullPageReturnsCursorOfItsLastRow() {
+        when(brandMedicationRepository.search(eq(CRITERIA), isNull(), eq(3)))
+                .thenReturn(List.of(row(4L, 0.6f), row(9L, 0.3f), row(2L, 0.1f)));
+
+        BrandMedicationSearchResultVM page = service.search(CRITERIA, null, 2);
+
+        assertThat(page.items()).extracting(BrandMedicationSummaryVM::id).containsExactly(4L, 9L);
+        assertThat(BrandMedicationService.decodeCursor(page.nextCursor())).isEqualTo(new Cursor(0.3f, 9L));
+    }
+
+    @Test
+    void search_LastPageHasNoCursor() {
+        String after = BrandMedicationService.encodeCursor(row(9L, 0.3f));
+        when(brandMedicationRepository.search(eq(CRITERIA), eq(new Cursor(0.3f, 9L)), eq(3)))
+                .thenReturn(List.of(row(2L, 0.1f)));
+
+        BrandMedicationSearchResultVM page = service.search(CRITERIA, after, 2);
+
+        assertThat(page.items()).extracting(BrandMedicationSummaryVM::id).containsExactly(2L);
+        assertThat(page.nextCursor()).isNull();
+        verify(brandMedicationRepository).search(any(), eq(new Cursor(0.3f, 9L)), eq(3));
+    }
+
+    @Test
+    void search_RejectsMalformedCursorAndSize() {
+        assertThatThrownBy(() -> service.search(CRITERIA, "not-a-cursor", 20))
+                .isInstanceOfSatisfying(BadRequestAlertException.class, e -> assertThat(e.getErrorKey()).isEqualTo("search.cursor"));
+        assertThatThrownBy(() -> service.search(CRITERIA, null, BrandMedicationService.MAX_SEARCH_SIZE + 1))
+                .isInstanceOfSatisfying(BadRequestAlertException.class, e -> assertThat(e.getErrorKey()).isEqualTo("search.size"));
+    }
+
+    private static SearchRow row(Long id, float rank) {
+        return new SearchRow(id, "Amoxil " + id, "AMX" + id, "GSK", "Capsule", "Oral", true, rank);
+    }
+}
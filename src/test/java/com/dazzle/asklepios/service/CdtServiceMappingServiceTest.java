@@ -0,0 +1,125 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.CdtCode;
+import com.dazzle.asklepios.repository.CdtCodeRepository;
+import com.dazzle.asklepios.repository.CdtServiceMappingRepository;
+import com.dazzle.asklepios.repository.CdtServiceMappingSyncCounts;
+import com.dazzle.asklepios.service.dto.CdtServiceMappingSyncResultDTO;
+import com.dazzle.asklepios.web.rest.errors.NotFoundAlertException;
+import com.dazzle.asklepios.web.rest.vm.cdt.CdtServiceMappingSyncVM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CdtServiceMappingServiceTest {
+
+    @Mock
+    private CdtServiceMappingRepository mappingRepository;
+
+    @Mock
+    private CdtCodeRepository cdtRepository;
+
+    @InjectMocks
+    private CdtServiceMappingService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void sync_CountsFromOneStatement() {
+        when(cdtRepository.existsById(1L)).thenReturn(true);
+        when(mappingRepository.sync(eq(1L), any(), any(), any())).thenReturn(counts(3, 1, 2));
+
+        CdtServiceMappingSyncResultDTO result = service.sync(1L, Arrays.asList(10L, 11L, null, 10L));
+
+        assertThat(result).isEqualTo(new CdtServiceMappingSyncResultDTO(3, 2, 1, 4));
+        verify(mappingRepository).sync(eq(1L), eq(Set.of(10L, 11L)), any(), any());
+    }
+
+    @Test
+    void sync_EmptyListClearsMappings() {
+        when(cdtRepository.existsById(1L)).thenReturn(true);
+        when(mappingRepository.clear(1L)).thenReturn(counts(2, 2, 0));
+
+        CdtServiceMappingSyncResultDTO result = service.sync(1L, List.of());
+
+        assertThat(result).isEqualTo(new CdtServiceMappingSyncResultDTO(2, 0, 2, 0));
+        verify(mappingRepository, never()).sync(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void sync_UnknownCdt() {
+        when(cdtRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundAlertException.class, () -> service.sync(1L, List.of(10L)));
+        verify(mappingRepository, never()).sync(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void syncAll_ResultPerCdtInRequestOrder() {
+        when(cdtRepository.findAllById(any())).thenReturn(List.of(cdt(2L), cdt(1L)));
+        when(mappingRepository.sync(eq(2L), any(), any(), any())).thenReturn(counts(0, 0, 1));
+        when(mappingRepository.clear(1L)).thenReturn(counts(1, 1, 0));
+
+        Map<Long, CdtServiceMappingSyncResultDTO> results = service.syncAll(List.of(
+                new CdtServiceMappingSyncVM(2L, List.of(10L)),
+                new CdtServiceMappingSyncVM(1L, null)
+        ));
+
+        assertThat(results).containsOnlyKeys(2L, 1L);
+        assertThat(results.keySet()).containsExactly(2L, 1L);
+        assertThat(results.get(2L)).isEqualTo(new CdtServiceMappingSyncResultDTO(0, 1, 0, 1));
+        assertThat(results.get(1L)).isEqualTo(new CdtServiceMappingSyncResultDTO(1, 0, 1, 0));
+    }
+
+    @Test
+    void syncAll_UnknownCdtSyncsNothing() {
+        when(cdtRepository.findAllById(any())).thenReturn(List.of(cdt(1L)));
+
+        assertThrows(NotFoundAlertException.class, () -> service.syncAll(List.of(
+                new CdtServiceMappingSyncVM(1L, List.of(10L)),
+                new CdtServiceMappingSyncVM(2L, List.of(11L))
+        )));
+        verify(mappingRepository, never()).sync(anyLong(), any(), any(), any());
+    }
+
+    private static CdtCode cdt(Long id) {
+        CdtCode cdt = new CdtCode();
+        cdt.setId(id);
+        return cdt;
+    }
+
+    private static CdtServiceMappingSyncCounts counts(long before, long removed, long added) {
+        return new CdtServiceMappingSyncCounts() {
+            public Long getBefore() {
+                return before;
+            }
+
+            public Long getRemoved() {
+                return removed;
+            }
+
+            public Long getAdded() {
+                return added;
+            }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.DuplicationCandidate;
+import com.dazzle.asklepios.domain.Facility;
+import com.dazzle.asklepios.domain.enumeration.DuplicationField;
+import com.dazzle.asklepios.repository.DuplicationCandidateRepository;
+import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.DuplicateClusterVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationDetectionResultVM;
+import com.dazzle.asklepios.web.rest.vm.DuplicationRecordVM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DuplicationDetectionServiceTest {
+
+    @Mock
+    private DuplicationCandidateRepository repository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DuplicationDetectionService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new DuplicationDetectionService(repository, facilityRepository, transactionManager);
+        when(facilityRepository.findById(1L)).thenReturn(Optional.of(Facility.builder().id(1L).ruleId(10L).build()));
+        when(repository.findById(10L)).thenReturn(Optional.of(rule(Map.of("firstName", true, "LAST_NAME", true, "dob", true, "gender", false))));
+    }
+
+    @Test
+    void compile_AcceptsEnumAndCamelCaseKeys() {
+        DuplicationRule rule = DuplicationRule.compile(rule(Map.of("mobileNumber", true, "DOCUMENT_NO", true, "gender", false, "unknown", true)));
+
+        assertThat(rule.getFields()).containsExactly(DuplicationField.DOCUMENT_NO, DuplicationField.MOBILE_NUMBER);
+    }
+
+    @Test
+    void normalizers_FoldSpellingAndFormatVariants() {
+        assertThat(DuplicationRule.soundex("robert")).isEqualTo("R163");
+        assertThat(DuplicationRule.soundex("ashcraft")).isEqualTo("A261");
+        assertThat(DuplicationRule.name("Mohammed")).isEqualTo(DuplicationRule.name("muhammad")).isEqualTo("M530");
+        assertThat(DuplicationRule.name("José")).isEqualTo(DuplicationRule.name("JOSE"));
+        assertThat(DuplicationRule.name("محمد")).isEqualTo("محمد");
+
+        assertThat(DuplicationRule.date("1990-02-03")).isEqualTo("1990-02-03");
+        assertThat(DuplicationRule.date("03/02/1990")).isEqualTo("1990-02-03");
+        assertThat(DuplicationRule.date("1990-02-03T00:00:00Z")).isEqualTo("1990-02-03");
+        assertThat(DuplicationRule.date("31/02/1990")).isNull();
+
+        assertThat(DuplicationRule.mobile("+962 79 123 4567")).isEqualTo(DuplicationRule.mobile("0791234567")).isEqualTo("791234567");
+        assertThat(DuplicationRule.mobile("٠٧٩١٢٣٤٥٦٧")).isEqualTo("791234567");
+        assertThat(DuplicationRule.document(" ab-123 456 ")).isEqualTo("AB123456");
+        assertThat(DuplicationRule.gender("female")).isEqualTo("F");
+    }
+
+    @Test
+    void detect_ClustersRecordsWithEqualKeys() {
+        DuplicationDetectionResultVM result = service.detect(1L, List.of(
+                record("a", "Mohammed", "Ali", "1990-02-03"),
+                record("b", "Muhammad", "ALI", "03/02/1990"),
+                record("c", "Mohammed", "Ali", "1991-02-03"),
+                record("d", "Mohamed", "Aly", "1990/02/03"),
+                record("e", null, "Ali", "1990-02-03")
+        ).iterator());
+
+        assertThat(result.records()).isEqualTo(5);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.clusters()).extracting(DuplicateClusterVM::recordIds).containsExactly(List.of("a", "b", "d"));
+    }
+
+    @Test
+    void detect_RuleTransactionEndsBeforeRecordsAreRead() {
+        Iterator<DuplicationRecordVM> records = List.of(record("a", "A", "B", "1990-01-01")).iterator();
+        Iterator<DuplicationRecordVM> checked = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                verify(transactionManager).commit(any());
+                return records.hasNext();
+            }
+
+            @Override
+            public DuplicationRecordVM next() {
+                return records.next();
+            }
+        };
+
+        assertThat(service.detect(1L, checked).records()).isEqualTo(1);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void detect_CachedRuleNeedsNoTransaction() {
+        service.findRule(1L);
+
+        service.detect(1L, List.<DuplicationRecordVM>of().iterator());
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void detect_RejectsRecordsWithoutId() {
+        List<DuplicationRecordVM> records = List.of(record(null, "A", "B", "1990-01-01"));
+
+        assertThrows(BadRequestAlertException.class, () -> service.detect(1L, records.iterator()));
+    }
+
+    @Test
+    void detect_RejectsFacilityWithoutActiveRule() {
+        DuplicationCandidate inactive = rule(Map.of("firstName", true));
+        inactive.setIsActive(false);
+        when(repository.findById(10L)).thenReturn(Optional.of(inactive));
+
+        assertThrows(BadRequestAlertException.class, () -> service.detect(1L, List.<DuplicationRecordVM>of().iterator()));
+    }
+
+    @Test
+    void findRule_CachedUntilEvicted() {
+        service.findRule(1L);
+        service.findRule(1L);
+        verify(repository, times(1)).findById(10L);
+
+        service.evictRule(10L);
+        service.findRule(1L);
+        verify(repository, times(2)).findById(10L);
+
+        service.evictFacility(1L);
+        service.findRule(1L);
+        verify(facilityRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void findRule_LoadOverlappingAnEvictionIsNotCached() {
+        // A write to the rule commits while it is being loaded
+        DuplicationCandidate candidate = rule(Map.of("firstName", true));
+        when(repository.findById(10L)).thenAnswer(inv -> {
+            service.evictRule(10L);
+            return Optional.of(candidate);
+        });
+
+        assertThat(service.findRule(1L)).isPresent();
+        service.findRule(1L);
+
+        verify(repository, times(2)).findById(10L);
+    }
+
+    private static DuplicationCandidate rule(Map<String, Boolean> fields) {
+        DuplicationCandidate candidate = DuplicationCandidate.builder().id(10L).rule("R1").fields(fields).build();
+        candidate.setIsActive(true);
+        return candidate;
+    }
+
+    private static DuplicationRecordVM record(String id, String firstName, String lastName, String dob) {
+        return new DuplicationRecordVM(id, firstName, lastName, dob, null, null, null);
+    }
+}
@@ -15,12 +15,12 @@ import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.net.URL;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,7 +28,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -46,6 +45,9 @@ class InventoryTransactionAttachmentsServiceTest {
     @Mock
     private AttachmentStorageService storage;
 
+    @Mock
+    private AttachmentBlobService blobs;
+
     @InjectMocks
     private InventoryTransactionAttachmentsService service;
 
@@ -76,6 +78,9 @@ class InventoryTransactionAttachmentsServiceTest {
         ArgumentCaptor<InventoryTransactionAttachments> cap = ArgumentCaptor.forClass(InventoryTransactionAttachments.class);
         when(repo.save(cap.capture())).thenAnswer(inv -> inv.getArgument(0));
 
+        when(blobs.store(eq(file), eq("image/png"), any()))
+                .thenAnswer(inv -> inv.<Function<AttachmentBlobService.StoredBlob, ?>>getArgument(2).apply(new AttachmentBlobService.StoredBlob("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", true)));
+
         var result = service.upload(55L, vm);
 
         InventoryTransactionAttachments saved = cap.getValue();
@@ -84,12 +89,9 @@ class InventoryTransactionAttachmentsServiceTest {
         assertThat(saved.getMimeType()).isEqualTo("image/png");
         assertThat(saved.getSizeBytes()).isEqualTo(1024L);
 
-        verify(storage).put(
-                startsWith("inventoryTransactions/55/"),
-                eq("image/png"),
-                eq(1024L),
-                any(InputStream.class)
-        );
+        assertThat(saved.getSpaceKey()).isEqualTo("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        assertThat(saved.getContentSha256()).isEqualTo("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        verify(blobs).store(eq(file), eq("image/png"), any());
     }
 
     @Test
@@ -0,0 +1,157 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.MedicationCategories;
+import com.dazzle.asklepios.domain.MedicationCategoriesClass;
+import com.dazzle.asklepios.repository.ActiveIngredientsRepository;
+import com.dazzle.asklepios.repository.DrugClassIngredientCount;
+import com.dazzle.asklepios.repository.MedicationCategoriesClassRepository;
+import com.dazzle.asklepios.repository.MedicationCategoriesRepository;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryClassNodeVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryNodeVM;
+import com.dazzle.asklepios.web.rest.vm.medicationcategories.MedicationCategoryTreeVM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MedicationCategoryHierarchyServiceTest {
+
+    @Mock
+    private MedicationCategoriesRepository categoriesRepository;
+
+    @Mock
+    private MedicationCategoriesClassRepository classesRepository;
+
+    @Mock
+    private ActiveIngredientsRepository activeIngredientsRepository;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private MedicationCategoryHierarchyService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new MedicationCategoryHierarchyService(
+                categoriesRepository, classesRepository, activeIngredientsRepository, cacheManager);
+        when(categoriesRepository.findAll()).thenReturn(List.of(
+                new MedicationCategories(1L, "Cardiovascular"),
+                new MedicationCategories(2L, "Anti-infectives"),
+                new MedicationCategories(3L, "Dermatology")
+        ));
+        when(classesRepository.findAll()).thenReturn(List.of(
+                new MedicationCategoriesClass(10L, "Beta blockers", 1L),
+                new MedicationCategoriesClass(11L, "ACE inhibitors", 1L),
+                new MedicationCategoriesClass(20L, "Penicillins", 2L)
+        ));
+        when(activeIngredientsRepository.countByDrugClass()).thenReturn(List.of(count(10L, 4L), count(11L, 2L), count(20L, 7L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void findTree_CountsPerNode() {
+        MedicationCategoryTreeVM tree = service.findTree();
+
+        assertThat(tree.categories()).extracting(MedicationCategoryNodeVM::name)
+                .containsExactly("Anti-infectives", "Cardiovascular", "Dermatology");
+        MedicationCategoryNodeVM cardiovascular = tree.categories().get(1);
+        assertThat(cardiovascular.classes()).containsExactly(
+                new MedicationCategoryClassNodeVM(11L, "ACE inhibitors", 2L),
+                new MedicationCategoryClassNodeVM(10L, "Beta blockers", 4L)
+        );
+        assertThat(cardiovascular.classCount()).isEqualTo(2);
+        assertThat(cardiovascular.activeIngredientCount()).isEqualTo(6L);
+        assertThat(tree.categories().get(2).classes()).isEmpty();
+        assertThat(tree.classCount()).isEqualTo(3);
+        assertThat(tree.activeIngredientCount()).isEqualTo(13L);
+    }
+
+    @Test
+    void findTree_CachedUntilEvicted() {
+        service.findTree();
+        service.findCategory(1L);
+        verify(categoriesRepository, times(1)).findAll();
+
+        service.evict();
+        service.findTree();
+
+        verify(categoriesRepository, times(2)).findAll();
+        verify(activeIngredientsRepository, times(2)).countByDrugClass();
+    }
+
+    @Test
+    void findTree_BuiltAcrossAnEvictionIsNotCached() {
+        // A write to a class commits while the tree is being built
+        when(classesRepository.findAll()).thenAnswer(inv -> {
+            service.evict();
+            return List.of(new MedicationCategoriesClass(10L, "Beta blockers", 1L));
+        });
+
+        assertThat(service.findTree().classCount()).isEqualTo(1);
+
+        assertThat(cacheManager.getCache(MedicationCategoriesRepository.HIERARCHY).get("all")).isNull();
+    }
+
+    @Test
+    void evict_InTransactionAppliedAfterCommit() {
+        service.findTree();
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.evict();
+
+        assertThat(cacheManager.getCache(MedicationCategoriesRepository.HIERARCHY).get("all")).isNotNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cacheManager.getCache(MedicationCategoriesRepository.HIERARCHY).get("all")).isNull();
+    }
+
+    @Test
+    void findTree_FilteredByCategoryOrClassName() {
+        MedicationCategoryTreeVM tree = service.findTree(" beta ");
+
+        assertThat(tree.categories()).hasSize(1);
+        MedicationCategoryNodeVM cardiovascular = tree.categories().get(0);
+        assertThat(cardiovascular.classes()).extracting(MedicationCategoryClassNodeVM::id).containsExactly(10L);
+        assertThat(cardiovascular.classCount()).isEqualTo(2);
+
+        assertThat(service.findTree("anti").categories()).extracting(MedicationCategoryNodeVM::id).containsExactly(2L);
+    }
+
+    @Test
+    void findCategory_Subtree() {
+        assertThat(service.findCategory(2L)).hasValueSatisfying(category -> {
+            assertThat(category.classes()).extracting(MedicationCategoryClassNodeVM::id).containsExactly(20L);
+            assertThat(category.activeIngredientCount()).isEqualTo(7L);
+        });
+        assertThat(service.findCategory(99L)).isEmpty();
+    }
+
+    private static DrugClassIngredientCount count(Long drugClassId, Long activeIngredients) {
+        return new DrugClassIngredientCount() {
+            public Long getDrugClassId() {
+                return drugClassId;
+            }
+
+            public Long getActiveIngredients() {
+                return activeIngredients;
+            }
+        };
+    }
+}
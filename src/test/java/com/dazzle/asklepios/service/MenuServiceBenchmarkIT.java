@@ -0,0 +1,126 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.enumeration.Operation;
+import com.dazzle.asklepios.domain.enumeration.Screen;
+import com.dazzle.asklepios.repository.MenuRepository;
+import com.dazzle.asklepios.web.rest.vm.MenuItemVM;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares menus built per second from the rows of the menu query by {@link MenuService} (precomputed decoding maps,
+ * operation bit sets and shared items) with the decoding it replaced ({@code Enum.valueOf} with exceptions for
+ * unknown values, an {@code EnumMap} of new {@code EnumSet}s and a sorted stream per request). The repository is left
+ * out so only the decoding is timed. Results are logged, not asserted, as timings depend on the machine; run
+ * {@code ./gradlew integrationTest --tests '*MenuServiceBenchmarkIT'}.
+ */
+class MenuServiceBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MenuServiceBenchmarkIT.class);
+
+    private static final int SCREENS = 40;
+    private static final int MENUS = 200_000;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    void precomputedDecoding_ComparedWithParsingEveryRow() {
+        List<MenuRepository.MenuRow> rows = rows();
+        MenuService service = new MenuService(null);
+
+        assertThat(previousMenu(rows)).isEqualTo(service.toMenu(rows, "admin"));
+        double before = menusPerSecond(MenuServiceBenchmarkIT::previousMenu, rows);
+        double after = menusPerSecond(r -> service.toMenu(r, "admin"), rows);
+
+        LOG.info("previous decoding: {} menus/s", Math.round(before));
+        LOG.info("precomputed decoding: {} menus/s ({}x)", Math.round(after), Math.round(after / before * 10) / 10.0);
+    }
+
+    // Helpers
+
+    private static double menusPerSecond(Function<List<MenuRepository.MenuRow>, List<MenuItemVM>> menu, List<MenuRepository.MenuRow> rows) {
+        double[] results = new double[ITERATIONS];
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            for (int m = 0; m < MENUS; m++) {
+                for (MenuItemVM item : menu.apply(rows)) {
+                    checksum += item.operations().size();
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (i >= WARMUP_ITERATIONS) {
+                results[i - WARMUP_ITERATIONS] = MENUS / seconds;
+            }
+        }
+        // Keeps the menus alive so the loop is not optimized away
+        assertThat(checksum).isPositive();
+        Arrays.sort(results);
+        return results[results.length / 2];
+    }
+
+    /**
+     * A user granted {@link #SCREENS} screens, every one to view and one in four to edit, with some legacy padded
+     * or lower case values.
+     */
+    private static List<MenuRepository.MenuRow> rows() {
+        List<MenuRepository.MenuRow> rows = new ArrayList<>();
+        Screen[] screens = Screen.values();
+        for (int s = 0; s < Math.min(SCREENS, screens.length); s++) {
+            String screen = screens[s].name();
+            rows.add(row(s % 10 == 0 ? screen + " " : screen, "VIEW"));
+            if (s % 4 == 0) {
+                rows.add(row(screen, s % 8 == 0 ? "edit " : "EDIT"));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The decoding {@link MenuService} used before the menu items were precomputed.
+     */
+    private static List<MenuItemVM> previousMenu(List<MenuRepository.MenuRow> rows) {
+        Map<Screen, EnumSet<Operation>> byScreen = new EnumMap<>(Screen.class);
+        for (MenuRepository.MenuRow row : rows) {
+            Screen screen;
+            Operation op;
+            try {
+                screen = Screen.valueOf(row.getScreen().trim());
+                op = Operation.valueOf(row.getOperation().trim().toUpperCase());
+            } catch (Exception e) {
+                continue;
+            }
+            byScreen.computeIfAbsent(screen, k -> EnumSet.noneOf(Operation.class)).add(op);
+        }
+        return byScreen.entrySet().stream()
+                .sorted(Comparator.comparing(e -> e.getKey().name()))
+                .map(e -> MenuItemVM.of(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    private static MenuRepository.MenuRow row(String screen, String operation) {
+        return new MenuRepository.MenuRow() {
+            @Override
+            public String getScreen() {
+                return screen;
+            }
+
+            @Override
+            public String getOperation() {
+                return operation;
+            }
+        };
+    }
+}
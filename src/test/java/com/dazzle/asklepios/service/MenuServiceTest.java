@@ -0,0 +1,113 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.enumeration.Operation;
+import com.dazzle.asklepios.domain.enumeration.Screen;
+import com.dazzle.asklepios.repository.MenuRepository;
+import com.dazzle.asklepios.web.rest.vm.MenuItemVM;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MenuServiceTest {
+
+    @Mock
+    private MenuRepository menuRepository;
+
+    private MenuService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new MenuService(menuRepository);
+    }
+
+    @Test
+    void getMenu_ByLoginMergesOperationsAndSortsByName() {
+        when(menuRepository.findScreensForLoginAndFacility("admin", 1L)).thenReturn(List.of(
+                row("WAREHOUSE_SETUP", "VIEW"),
+                row("LEDGER_ACCOUNT", "EDIT"),
+                row("WAREHOUSE_SETUP", "EDIT"),
+                row("LEDGER_ACCOUNT", "edit "),
+                row("NO_SUCH_SCREEN", "VIEW"),
+                row("SCHEDULING_SCREEN", "DELETE")
+        ));
+
+        List<MenuItemVM> menu = service.getMenu("admin", 1L);
+
+        assertThat(menu).containsExactly(
+                new MenuItemVM(Screen.LEDGER_ACCOUNT, EnumSet.of(Operation.EDIT)),
+                new MenuItemVM(Screen.WAREHOUSE_SETUP, EnumSet.of(Operation.VIEW, Operation.EDIT))
+        );
+        verify(menuRepository, never()).findScreensForUserAndFacility(anyLong(), anyLong());
+    }
+
+    @Test
+    void getMenu_ReusesPrecomputedItems() {
+        when(menuRepository.findScreensForLoginAndFacility("admin", 1L)).thenReturn(List.of(row("LEDGER_ACCOUNT", "VIEW")));
+
+        MenuItemVM first = service.getMenu("admin", 1L).get(0);
+        MenuItemVM second = service.getMenu("admin", 1L).get(0);
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void getMenu_SharedItemsAreReadOnly() {
+        when(menuRepository.findScreensForLoginAndFacility("admin", 1L)).thenReturn(List.of(row("LEDGER_ACCOUNT", "VIEW")));
+        MenuItemVM item = service.getMenu("admin", 1L).get(0);
+
+        assertThatThrownBy(() -> item.operations().add(Operation.EDIT)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(service.getMenu("admin", 1L).get(0).operations()).containsExactly(Operation.VIEW);
+    }
+
+    @Test
+    void menuItem_CopiesTheGivenOperations() {
+        EnumSet<Operation> ops = EnumSet.of(Operation.VIEW);
+        MenuItemVM item = MenuItemVM.of(Screen.LEDGER_ACCOUNT, ops);
+
+        ops.add(Operation.EDIT);
+
+        assertThat(item.operations()).containsExactly(Operation.VIEW);
+        assertThat(MenuItemVM.of(Screen.LEDGER_ACCOUNT, null).operations()).isEmpty();
+    }
+
+    @Test
+    void getMenu_EmptyWithoutScreens() {
+        when(menuRepository.findScreensForLoginAndFacility("nobody", 1L)).thenReturn(List.of());
+
+        assertThat(service.getMenu("nobody", 1L)).isEmpty();
+    }
+
+    @Test
+    void decoding_ToleratesPaddingOnly() {
+        assertThat(MenuService.screenPosition(" LEDGER_ACCOUNT ")).isEqualTo(MenuService.screenPosition("LEDGER_ACCOUNT"));
+        assertThat(MenuService.screenPosition("ledger_account")).isEqualTo(-1);
+        assertThat(MenuService.operationOrdinal("view")).isEqualTo(Operation.VIEW.ordinal());
+        assertThat(MenuService.operationOrdinal(null)).isEqualTo(-1);
+    }
+
+    private static MenuRepository.MenuRow row(String screen, String operation) {
+        return new MenuRepository.MenuRow() {
+            @Override
+            public String getScreen() {
+                return screen;
+            }
+
+            @Override
+            public String getOperation() {
+                return operation;
+            }
+        };
+    }
+}
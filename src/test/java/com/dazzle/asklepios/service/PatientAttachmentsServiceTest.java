@@ -12,6 +12,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
@@ -21,6 +22,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,7 +30,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -46,6 +47,15 @@ class PatientAttachmentsServiceTest {
     @Mock
     private AttachmentStorageService storage;
 
+    @Mock
+    private AttachmentBlobService blobs;
+
+    @Mock
+    private ProfilePictureThumbnailService thumbnails;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private PatientAttachmentsService service;
 
@@ -79,6 +89,9 @@ class PatientAttachmentsServiceTest {
         ArgumentCaptor<PatientAttachments> cap = ArgumentCaptor.forClass(PatientAttachments.class);
         when(repo.save(cap.capture())).thenAnswer(inv -> inv.getArgument(0));
 
+        when(blobs.store(eq(file), eq("image/png"), any()))
+                .thenAnswer(inv -> inv.<Function<AttachmentBlobService.StoredBlob, ?>>getArgument(2).apply(new AttachmentBlobService.StoredBlob("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", true)));
+
         var result = service.upload(55L, vm);
 
         PatientAttachments saved = cap.getValue();
@@ -90,7 +103,9 @@ class PatientAttachmentsServiceTest {
         assertThat(saved.getDetails()).isEqualTo("scan");
         assertThat(saved.getSource()).isEqualTo(PatientAttachmentSource.PATIENT_PROFILE_ATTACHMENT);
 
-        verify(storage).put(startsWith("patients/55/"), eq("image/png"), eq(1024L), any());
+        assertThat(saved.getSpaceKey()).isEqualTo("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        assertThat(saved.getContentSha256()).isEqualTo("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+        verify(blobs).store(eq(file), eq("image/png"), any());
     }
 
     @Test
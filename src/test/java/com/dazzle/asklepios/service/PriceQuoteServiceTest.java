@@ -0,0 +1,190 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.config.PriceQuoteProperties;
+import com.dazzle.asklepios.domain.enumeration.Currency;
+import com.dazzle.asklepios.domain.enumeration.PricedItemType;
+import com.dazzle.asklepios.management.PriceQuoteMetersService;
+import com.dazzle.asklepios.repository.ProcedurePriceListRepository;
+import com.dazzle.asklepios.repository.ProcedurePriceRow;
+import com.dazzle.asklepios.repository.ServicePriceRow;
+import com.dazzle.asklepios.repository.ServiceRepository;
+import com.dazzle.asklepios.web.rest.errors.BadRequestAlertException;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteItemVM;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteRequestVM;
+import com.dazzle.asklepios.web.rest.vm.priceQuote.PriceQuoteVM;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PriceQuoteServiceTest {
+
+    private static final Long FACILITY_ID = 1L;
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private ProcedurePriceListRepository procedurePriceListRepository;
+
+    private SimpleMeterRegistry registry;
+    private PriceQuoteService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        registry = new SimpleMeterRegistry();
+        service = new PriceQuoteService(
+                serviceRepository, procedurePriceListRepository, new PriceQuoteMetersService(registry), new PriceQuoteProperties());
+        when(serviceRepository.findPriceRows()).thenReturn(List.of(
+                service(10L, FACILITY_ID, Currency.USD, "25.00", true),
+                service(11L, FACILITY_ID, Currency.EUR, "30.00", true),
+                service(12L, FACILITY_ID, Currency.USD, "40.00", false),
+                service(13L, 2L, Currency.USD, "50.00", true)
+        ));
+        when(procedurePriceListRepository.findPriceRows()).thenReturn(List.of(
+                procedure(20L, FACILITY_ID, "usd", "100.00", true),
+                procedure(20L, FACILITY_ID, "USD ", "120.00", true),
+                procedure(21L, FACILITY_ID, "EUR", "80.00", true)
+        ));
+    }
+
+    @Test
+    void quote_PricesMatchingFacilityAndCurrency() {
+        PriceQuoteVM quote = service.quote(new PriceQuoteRequestVM(FACILITY_ID, "usd", List.of(10L, 11L, 12L, 13L, 10L), List.of(20L, 21L)));
+
+        assertThat(quote.currency()).isEqualTo("USD");
+        assertThat(quote.items()).containsExactly(
+                new PriceQuoteItemVM(PricedItemType.SERVICE, 10L, new BigDecimal("25.00")),
+                // The latest row of a currency wins.
+                new PriceQuoteItemVM(PricedItemType.PROCEDURE, 20L, new BigDecimal("120.00"))
+        );
+        assertThat(quote.total()).isEqualByComparingTo("145.00");
+        assertThat(quote.unpricedServiceIds()).containsExactly(11L, 12L, 13L);
+        assertThat(quote.unpricedProcedureIds()).containsExactly(21L);
+        assertThat(quote.pricesAsOf()).isNotNull();
+        assertThat(registry.get(PriceQuoteMetersService.QUOTE_METER_NAME).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void quote_IndexLoadedOnce() {
+        PriceQuoteRequestVM request = new PriceQuoteRequestVM(FACILITY_ID, "USD", List.of(10L), List.of());
+
+        service.quote(request);
+        service.quote(request);
+
+        verify(serviceRepository, times(1)).findPriceRows();
+        verify(procedurePriceListRepository, times(1)).findPriceRows();
+    }
+
+    @Test
+    void quote_TooManyItems() {
+        List<Long> ids = LongStream.rangeClosed(1, PriceQuoteService.MAX_ITEMS + 1).boxed().toList();
+
+        assertThrows(BadRequestAlertException.class, () -> service.quote(new PriceQuoteRequestVM(FACILITY_ID, "USD", ids, List.of())));
+        verify(serviceRepository, never()).findPriceRows();
+    }
+
+    @Test
+    void onPricesChanged_ReloadsOnlyChangedItems() {
+        PriceQuoteRequestVM request = new PriceQuoteRequestVM(FACILITY_ID, "USD", List.of(10L, 12L), List.of(20L));
+        service.quote(request);
+        when(serviceRepository.findPriceRowsByIdIn(any())).thenReturn(List.of(
+                service(10L, FACILITY_ID, Currency.USD, "27.50", false),
+                service(12L, FACILITY_ID, Currency.USD, "40.00", true)
+        ));
+        // The last price row of procedure 20 was deleted.
+        when(procedurePriceListRepository.findPriceRowsByProcedureIdIn(any())).thenReturn(List.of());
+
+        service.onPricesChanged(new PriceQuoteService.PricesChanged(List.of(10L, 12L), List.of(20L)));
+        PriceQuoteVM quote = service.quote(request);
+
+        assertThat(quote.items()).containsExactly(new PriceQuoteItemVM(PricedItemType.SERVICE, 12L, new BigDecimal("40.00")));
+        assertThat(quote.unpricedServiceIds()).containsExactly(10L);
+        assertThat(quote.unpricedProcedureIds()).containsExactly(20L);
+        verify(serviceRepository, times(1)).findPriceRows();
+    }
+
+    @Test
+    void poll_IncrementalRefreshReadsModifiedRows() {
+        service.quote(new PriceQuoteRequestVM(FACILITY_ID, "USD", List.of(10L), List.of()));
+        when(serviceRepository.findPriceRowsModifiedSince(any())).thenReturn(List.of(service(10L, FACILITY_ID, Currency.USD, "26.00", true)));
+        when(procedurePriceListRepository.findProcedureIdsModifiedSince(any())).thenReturn(List.of(21L));
+        when(procedurePriceListRepository.findPriceRowsByProcedureIdIn(List.of(21L))).thenReturn(List.of(procedure(21L, FACILITY_ID, "USD", "90.00", true)));
+
+        service.refresh(false);
+        PriceQuoteVM quote = service.quote(new PriceQuoteRequestVM(FACILITY_ID, "USD", List.of(10L), List.of(21L)));
+
+        assertThat(quote.total()).isEqualByComparingTo("116.00");
+        verify(serviceRepository, times(1)).findPriceRows();
+    }
+
+    @Test
+    void poll_NothingBeforeFirstQuote() {
+        service.poll();
+
+        verify(serviceRepository, never()).findPriceRows();
+        verify(serviceRepository, never()).findPriceRowsModifiedSince(any());
+    }
+
+    private static ServicePriceRow service(Long id, Long facilityId, Currency currency, String price, boolean active) {
+        return new ServicePriceRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getFacilityId() {
+                return facilityId;
+            }
+
+            public Currency getCurrency() {
+                return currency;
+            }
+
+            public BigDecimal getPrice() {
+                return new BigDecimal(price);
+            }
+
+            public Boolean getActive() {
+                return active;
+            }
+        };
+    }
+
+    private static ProcedurePriceRow procedure(Long procedureId, Long facilityId, String currency, String price, boolean active) {
+        return new ProcedurePriceRow() {
+            public Long getProcedureId() {
+                return procedureId;
+            }
+
+            public Long getFacilityId() {
+                return facilityId;
+            }
+
+            public Boolean getActive() {
+                return active;
+            }
+
+            public String getCurrency() {
+                return currency;
+            }
+
+            public BigDecimal getPrice() {
+                return new BigDecimal(price);
+            }
+        };
+    }
+}
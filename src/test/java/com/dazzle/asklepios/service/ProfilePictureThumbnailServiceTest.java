@@ -0,0 +1,107 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.domain.PatientAttachments;
+import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfilePictureThumbnailServiceTest {
+
+    @Mock
+    private PatientAttachmentsRepository repo;
+
+    @Mock
+    private AttachmentStorageService storage;
+
+    @Mock
+    private AttachmentProperties props;
+
+    @InjectMocks
+    private ProfilePictureThumbnailService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(props.getThumbnailSizes()).thenReturn(List.of(64, 128, 256));
+    }
+
+    @Test
+    void resolveSize_PicksSmallestCoveringThumbnail() {
+        PatientAttachments ready = PatientAttachments.builder().thumbnailsGeneratedAt(Instant.now()).build();
+
+        assertThat(service.resolveSize(ready, 100)).isEqualTo(128);
+        assertThat(service.resolveSize(ready, 64)).isEqualTo(64);
+        assertThat(service.resolveSize(ready, 4000)).isEqualTo(256);
+        assertThat(service.resolveSize(ready, null)).isNull();
+        assertThat(service.resolveSize(new PatientAttachments(), 64)).isNull();
+    }
+
+    @Test
+    void onProfilePictureUploaded_StoresEverySizeAsJpeg() throws Exception {
+        ResponseInputStream<GetObjectResponse> original =
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(png(1200, 800)));
+        when(storage.open("blobs/ab/abc")).thenReturn(original);
+
+        service.onProfilePictureUploaded(new ProfilePictureThumbnailService.ProfilePictureUploaded(7L, "blobs/ab/abc", "abc"));
+
+        for (int size : List.of(64, 128, 256)) {
+            ArgumentCaptor<InputStream> body = ArgumentCaptor.forClass(InputStream.class);
+            verify(storage).put(eq("thumbnails/abc/" + size + ".jpg"), eq("image/jpeg"), anyLong(), body.capture());
+            BufferedImage thumbnail = ImageIO.read(body.getValue());
+            assertThat(thumbnail.getWidth()).isEqualTo(size);
+            assertThat(thumbnail.getHeight()).isEqualTo(size);
+        }
+        verify(repo).markThumbnailsGenerated(eq(7L), eq("abc"), any());
+    }
+
+    @Test
+    void onProfilePictureUploaded_ReusesThumbnailsOfSameContent() {
+        when(repo.existsByContentSha256AndThumbnailsGeneratedAtIsNotNull("abc")).thenReturn(true);
+
+        service.onProfilePictureUploaded(new ProfilePictureThumbnailService.ProfilePictureUploaded(8L, "blobs/ab/abc", "abc"));
+
+        verify(storage, never()).open(any());
+        verify(repo).markThumbnailsGenerated(eq(8L), eq("abc"), any());
+    }
+
+    @Test
+    void onProfilePictureUploaded_UnreadableImageLeavesRowUnflagged() {
+        ResponseInputStream<GetObjectResponse> original =
+                new ResponseInputStream<>(GetObjectResponse.builder().build(), new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        when(storage.open("k")).thenReturn(original);
+
+        service.onProfilePictureUploaded(new ProfilePictureThumbnailService.ProfilePictureUploaded(9L, "k", null));
+
+        verify(repo, never()).markThumbnailsGenerated(any(), any(), any());
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
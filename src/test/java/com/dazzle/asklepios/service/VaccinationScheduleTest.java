@@ -0,0 +1,99 @@
+package com.dazzle.asklepios.service;
+
+import com.dazzle.asklepios.domain.enumeration.AgeUnit;
+import com.dazzle.asklepios.domain.enumeration.DoseNumber;
+import com.dazzle.asklepios.domain.enumeration.VaccineDoseStatus;
+import com.dazzle.asklepios.service.VaccinationSchedule.AdministeredDose;
+import com.dazzle.asklepios.service.VaccinationSchedule.Age;
+import com.dazzle.asklepios.service.VaccinationSchedule.Dose;
+import com.dazzle.asklepios.service.VaccinationSchedule.Interval;
+import com.dazzle.asklepios.service.VaccinationSchedule.PendingDose;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VaccinationScheduleTest {
+
+    private static final LocalDate BIRTH = LocalDate.of(2024, 1, 15);
+
+    // Three doses at 2, 4 and 6 months, each at least 4 weeks after the previous one, the last before 2 years.
+    private final VaccinationSchedule schedule = new VaccinationSchedule(
+            1L,
+            "DTaP",
+            List.of(
+                    new Dose(12L, DoseNumber.SECOND, false, age(4, AgeUnit.MONTHS), age(12, AgeUnit.MONTHS)),
+                    new Dose(11L, DoseNumber.FIRST, false, age(2, AgeUnit.MONTHS), age(6, AgeUnit.MONTHS)),
+                    new Dose(13L, DoseNumber.THIRD, true, age(6, AgeUnit.MONTHS), age(2, AgeUnit.YEARS))
+            ),
+            List.of(
+                    new Interval(11L, 12L, age(4, AgeUnit.WEEKS)),
+                    new Interval(12L, 13L, age(4, AgeUnit.WEEKS))
+            )
+    );
+
+    @Test
+    void evaluate_NothingGivenBeforeFirstWindow() {
+        List<PendingDose> pending = schedule.evaluate(BIRTH, List.of(), LocalDate.of(2024, 2, 1));
+
+        assertThat(pending).extracting(PendingDose::status)
+                .containsExactly(VaccineDoseStatus.UPCOMING, VaccineDoseStatus.UPCOMING, VaccineDoseStatus.UPCOMING);
+        assertThat(pending.get(0).earliestDate()).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(pending.get(0).latestDate()).isEqualTo(LocalDate.of(2024, 7, 15));
+        assertThat(pending.get(1).waitingFor()).isEqualTo(DoseNumber.FIRST);
+    }
+
+    @Test
+    void evaluate_IntervalPushesEarliestDate() {
+        // First dose given late: the second one opens 4 weeks after it rather than at 4 months.
+        List<PendingDose> pending = schedule.evaluate(
+                BIRTH, List.of(new AdministeredDose(DoseNumber.FIRST, LocalDate.of(2024, 5, 1))), LocalDate.of(2024, 5, 20));
+
+        assertThat(pending).hasSize(2);
+        assertThat(pending.get(0).dose().number()).isEqualTo(DoseNumber.SECOND);
+        assertThat(pending.get(0).status()).isEqualTo(VaccineDoseStatus.UPCOMING);
+        assertThat(pending.get(0).earliestDate()).isEqualTo(LocalDate.of(2024, 5, 29));
+        // 4 weeks after the projected second dose is still before the third dose opens at 6 months.
+        assertThat(pending.get(1).earliestDate()).isEqualTo(LocalDate.of(2024, 7, 15));
+        assertThat(pending.get(1).waitingFor()).isEqualTo(DoseNumber.SECOND);
+    }
+
+    @Test
+    void evaluate_DueAndOverdue() {
+        List<PendingDose> due = schedule.evaluate(BIRTH, List.of(), LocalDate.of(2024, 7, 15));
+        List<PendingDose> overdue = schedule.evaluate(BIRTH, List.of(), LocalDate.of(2024, 7, 16));
+
+        assertThat(due.get(0).status()).isEqualTo(VaccineDoseStatus.DUE);
+        assertThat(overdue.get(0).status()).isEqualTo(VaccineDoseStatus.OVERDUE);
+        assertThat(overdue.get(1).status()).isEqualTo(VaccineDoseStatus.UPCOMING);
+    }
+
+    @Test
+    void evaluate_CompleteSeriesHasNothingPending() {
+        List<PendingDose> pending = schedule.evaluate(BIRTH, List.of(
+                new AdministeredDose(DoseNumber.FIRST, LocalDate.of(2024, 3, 15)),
+                new AdministeredDose(DoseNumber.SECOND, LocalDate.of(2024, 5, 15)),
+                new AdministeredDose(DoseNumber.THIRD, LocalDate.of(2024, 7, 15))
+        ), LocalDate.of(2025, 1, 1));
+
+        assertThat(pending).isEmpty();
+    }
+
+    @Test
+    void plus_ConvertsUnits() {
+        LocalDate date = LocalDate.of(2024, 1, 31);
+
+        assertThat(VaccinationSchedule.plus(date, age(1, AgeUnit.MONTHS))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(VaccinationSchedule.plus(date, new Age(new BigDecimal("1.5"), AgeUnit.YEARS))).isEqualTo(LocalDate.of(2025, 7, 31));
+        assertThat(VaccinationSchedule.plus(date, new Age(new BigDecimal("0.5"), AgeUnit.MONTHS))).isEqualTo(LocalDate.of(2024, 2, 15));
+        assertThat(VaccinationSchedule.plus(date, age(2, AgeUnit.WEEKS))).isEqualTo(LocalDate.of(2024, 2, 14));
+        assertThat(VaccinationSchedule.plus(date, age(48, AgeUnit.HOURS))).isEqualTo(LocalDate.of(2024, 2, 2));
+    }
+
+    private static Age age(int amount, AgeUnit unit) {
+        return new Age(BigDecimal.valueOf(amount), unit);
+    }
+}
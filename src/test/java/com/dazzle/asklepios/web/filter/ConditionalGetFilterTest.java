@@ -0,0 +1,148 @@
+package com.dazzle.asklepios.web.filter;
+
+import com.dazzle.asklepios.config.ConditionalGetProperties;
+import com.dazzle.asklepios.management.ConditionalGetMetersService;
+import com.dazzle.asklepios.service.ResourceVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConditionalGetFilterTest {
+
+    private static final byte[] BODY = "[{\"id\":1,\"name\":\"Peanut\"}]".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private ResourceVersionService versionService;
+
+    @Mock
+    private ConditionalGetMetersService metersService;
+
+    private ConditionalGetFilter filter;
+
+    private int controllerCalls;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ConditionalGetProperties.Resource allergens = new ConditionalGetProperties.Resource();
+        allergens.setPaths(List.of("/api/setup/allergen", "/api/setup/allergen/by-*/**"));
+        allergens.setEntities(List.of("Allergens"));
+        ConditionalGetProperties properties = new ConditionalGetProperties();
+        properties.setResources(List.of(allergens));
+        filter = new ConditionalGetFilter(properties, versionService, metersService);
+        when(versionService.version(any())).thenReturn("Allergens:2026-01-01T00:00:00Z:1;");
+    }
+
+    @Test
+    void firstRequest_AddsEtagAndRunsController() throws Exception {
+        MockHttpServletResponse response = perform(get(null));
+
+        assertThat(controllerCalls).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("W/\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getContentAsByteArray()).isEqualTo(BODY);
+        verify(metersService).trackModified("/api/setup/allergen");
+    }
+
+    @Test
+    void matchingIfNoneMatch_AnswersNotModifiedWithoutController() throws Exception {
+        String etag = perform(get(null)).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = perform(get(etag));
+
+        assertThat(controllerCalls).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        verify(metersService).trackNotModified("/api/setup/allergen", BODY.length);
+    }
+
+    @Test
+    void changedVersion_SendsTheBodyAgain() throws Exception {
+        String etag = perform(get(null)).getHeader(HttpHeaders.ETAG);
+        when(versionService.version(any())).thenReturn("Allergens:2026-01-02T00:00:00Z:1;");
+
+        MockHttpServletResponse response = perform(get(etag));
+
+        assertThat(controllerCalls).isEqualTo(2);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        verify(metersService, never()).trackNotModified(any(), anyLong());
+    }
+
+    @Test
+    void queryString_IsPartOfTheEtag() throws Exception {
+        MockHttpServletRequest firstPage = get(null);
+        firstPage.setQueryString("page=0");
+        MockHttpServletRequest secondPage = get(null);
+        secondPage.setQueryString("page=1");
+
+        assertThat(perform(firstPage).getHeader(HttpHeaders.ETAG)).isNotEqualTo(perform(secondPage).getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void unregisteredPathAndWrites_AreNotValidated() throws Exception {
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/setup/facility");
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/setup/allergen");
+
+        assertThat(perform(other).getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(perform(post).getHeader(HttpHeaders.ETAG)).isNull();
+        verify(versionService, never()).version(any());
+    }
+
+    @Test
+    void errorResponse_CarriesNoEtag() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain failing = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(404);
+            res.getOutputStream().write(BODY);
+        };
+
+        filter.doFilter(get(null), response, failing);
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void matches_UsesWeakComparison() {
+        assertThat(ConditionalGetFilter.matches("\"abc\"", "W/\"abc\"")).isTrue();
+        assertThat(ConditionalGetFilter.matches("W/\"x\", W/\"abc\"", "W/\"abc\"")).isTrue();
+        assertThat(ConditionalGetFilter.matches("*", "W/\"abc\"")).isTrue();
+        assertThat(ConditionalGetFilter.matches("W/\"abd\"", "W/\"abc\"")).isFalse();
+        assertThat(ConditionalGetFilter.matches(null, "W/\"abc\"")).isFalse();
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/setup/allergen");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            controllerCalls++;
+            res.getOutputStream().write(BODY);
+        });
+        return response;
+    }
+}
@@ -0,0 +1,147 @@
+package com.dazzle.asklepios.web.rest;
+
+import com.dazzle.asklepios.config.TestSecurityConfig;
+import com.dazzle.asklepios.domain.ActiveIngredients;
+import com.dazzle.asklepios.domain.MedicationCategoriesClass;
+import com.dazzle.asklepios.repository.ActiveIngredientSummary;
+import com.dazzle.asklepios.service.ActiveIngredientMonographService;
+import com.dazzle.asklepios.service.ActiveIngredientsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ActiveIngredientsController.class)
+@Import(TestSecurityConfig.class)
+@AutoConfigureMockMvc
+class ActiveIngredientsControllerTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ActiveIngredientsService activeIngredientsService;
+
+    @MockitoBean
+    private ActiveIngredientMonographService activeIngredientMonographService;
+
+    @Test
+    void getAllSummaries_ReadsProjection() throws Exception {
+        stubPages();
+
+        mockMvc.perform(get("/api/setup/active-ingredients/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", String.valueOf(ROWS)))
+                .andExpect(jsonPath("$[0].name").value("Ingredient 1"))
+                .andExpect(jsonPath("$[0].drugClassId").value(7))
+                .andExpect(jsonPath("$[0].mechanismOfAction").doesNotExist());
+
+        verify(activeIngredientsService, never()).getAll(any(Pageable.class));
+    }
+
+    @Test
+    void getAll_ReturnsFullItems() throws Exception {
+        stubPages();
+
+        mockMvc.perform(get("/api/setup/active-ingredients"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mechanismOfAction").exists());
+
+        verify(activeIngredientsService, never()).getAllSummaries(any(Pageable.class));
+    }
+
+    private void stubPages() {
+        PageRequest pageable = PageRequest.of(0, ROWS);
+        List<ActiveIngredients> entities = LongStream.rangeClosed(1, ROWS).mapToObj(ActiveIngredientsControllerTest::entity).toList();
+        List<ActiveIngredientSummary> summaries = LongStream.rangeClosed(1, ROWS).mapToObj(ActiveIngredientsControllerTest::summary).toList();
+        when(activeIngredientsService.getAll(any(Pageable.class))).thenReturn(new PageImpl<>(entities, pageable, ROWS));
+        when(activeIngredientsService.getAllSummaries(any(Pageable.class))).thenReturn(new PageImpl<>(summaries, pageable, ROWS));
+    }
+
+    private static ActiveIngredients entity(long id) {
+        MedicationCategoriesClass drugClass = new MedicationCategoriesClass();
+        drugClass.setId(7L);
+        String text = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore. ";
+        return ActiveIngredients.builder()
+                .id(id)
+                .name("Ingredient " + id)
+                .drugClass(drugClass)
+                .atcCode("N02BE01")
+                .otc(true)
+                .highRiskMed(false)
+                .isControlled(false)
+                .isActive(true)
+                .blackBoxWarning(text)
+                .toxicityDetails(text)
+                .mechanismOfAction(text)
+                .pharmaAbsorption(text)
+                .pharmaMetabolism(text)
+                .pregnancyNotes(text)
+                .lactationRiskNotes(text)
+                .build();
+    }
+
+    private static ActiveIngredientSummary summary(long id) {
+        return new ActiveIngredientSummary() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Ingredient " + id;
+            }
+
+            @Override
+            public Long getDrugClassId() {
+                return 7L;
+            }
+
+            @Override
+            public String getAtcCode() {
+                return "N02BE01";
+            }
+
+            @Override
+            public Boolean getOtc() {
+                return true;
+            }
+
+            @Override
+            public Boolean getHighRiskMed() {
+                return false;
+            }
+
+            @Override
+            public Boolean getIsControlled() {
+                return false;
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return true;
+            }
+        };
+    }
+}
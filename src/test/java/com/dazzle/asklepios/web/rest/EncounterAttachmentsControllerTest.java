@@ -5,6 +5,7 @@ import com.dazzle.asklepios.domain.EncounterAttachments;
 import com.dazzle.asklepios.domain.enumeration.EncounterAttachmentSource;
 import com.dazzle.asklepios.repository.EncounterAttachementsRepository;
 import com.dazzle.asklepios.service.AttachmentStorageService;
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.service.EncounterAttachmentsService;
 import com.dazzle.asklepios.web.rest.vm.attachment.encounter.DownloadEncounterAttachmentVM;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,13 +49,16 @@ class EncounterAttachmentsControllerTest {
     @MockitoBean
     private AttachmentStorageService storage;
 
+    @MockitoBean
+    private AttachmentStreamingUploadService streaming;
+
     @Test
     void upload_returnsResponseVMWithPresignedUrl() throws Exception {
         // given saved entity returned by service
         var entity = EncounterAttachments.builder()
                 .id(11L)
                 .encounterId(55L)
-                .spaceKey("encounters/55/2025/10/UUID_file.png")
+                .spaceKey("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
                 .filename("file.png")
                 .mimeType("image/png")
                 .sizeBytes(123L)
@@ -66,10 +70,10 @@ class EncounterAttachmentsControllerTest {
 
         when(service.upload(eq(55L), any())).thenReturn(entity);
 
-        // presign on controller mapping: uses key and the safe filename from key's tail
+        // presign on controller mapping: uses the content key and the original filename
         PresignedGetObjectRequest pre = org.mockito.Mockito.mock(PresignedGetObjectRequest.class);
         when(pre.url()).thenReturn(new URL("https://files.example/encounters/55/2025/10/UUID_file.png?sig=1"));
-        when(storage.presignGet("encounters/55/2025/10/UUID_file.png", "UUID_file.png")).thenReturn(pre);
+        when(storage.presignGet("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "file.png")).thenReturn(pre);
 
         MockMultipartFile mf = new MockMultipartFile("file", "file.png", "image/png", new byte[]{1, 2, 3});
 
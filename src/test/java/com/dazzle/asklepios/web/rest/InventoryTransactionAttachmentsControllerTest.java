@@ -4,6 +4,7 @@ import com.dazzle.asklepios.config.TestSecurityConfig;
 import com.dazzle.asklepios.domain.InventoryTransactionAttachments;
 import com.dazzle.asklepios.repository.InventoryTransactionAttachmentsRepository;
 import com.dazzle.asklepios.service.AttachmentStorageService;
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.service.InventoryTransactionAttachmentsService;
 import com.dazzle.asklepios.web.rest.vm.attachment.inventoryTransaction.DownloadInventoryTransactionAttachmentVM;
 import org.junit.jupiter.api.Test;
@@ -46,13 +47,16 @@ class InventoryTransactionAttachmentsControllerTest {
     @MockitoBean
     private AttachmentStorageService storage;
 
+    @MockitoBean
+    private AttachmentStreamingUploadService streaming;
+
     @Test
     void upload_returnsResponseVMWithPresignedUrl() throws Exception {
         // given saved entity returned by service
         var entity = InventoryTransactionAttachments.builder()
                 .id(11L)
                 .transactionId(55L)
-                .spaceKey("inventoryTransaction/55/2025/10/UUID_file.png")
+                .spaceKey("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
                 .filename("file.png")
                 .mimeType("image/png")
                 .sizeBytes(123L)
@@ -60,10 +64,10 @@ class InventoryTransactionAttachmentsControllerTest {
 
         when(service.upload(eq(55L), any())).thenReturn(entity);
 
-        // presign on controller mapping: uses key and the safe filename from key's tail
+        // presign on controller mapping: uses the content key and the original filename
         PresignedGetObjectRequest pre = org.mockito.Mockito.mock(PresignedGetObjectRequest.class);
         when(pre.url()).thenReturn(new URL("https://files.example/inventoryTransaction/55/2025/10/UUID_file.png?sig=1"));
-        when(storage.presignGet("inventoryTransaction/55/2025/10/UUID_file.png", "UUID_file.png")).thenReturn(pre);
+        when(storage.presignGet("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "file.png")).thenReturn(pre);
 
         MockMultipartFile mf = new MockMultipartFile("file", "file.png", "image/png", new byte[]{1, 2, 3});
 
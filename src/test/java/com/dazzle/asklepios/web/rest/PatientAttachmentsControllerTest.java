@@ -5,6 +5,7 @@ import com.dazzle.asklepios.domain.PatientAttachments;
 import com.dazzle.asklepios.domain.enumeration.PatientAttachmentSource;
 import com.dazzle.asklepios.repository.PatientAttachmentsRepository;
 import com.dazzle.asklepios.service.AttachmentStorageService;
+import com.dazzle.asklepios.service.AttachmentStreamingUploadService;
 import com.dazzle.asklepios.service.PatientAttachmentsService;
 import com.dazzle.asklepios.web.rest.vm.attachment.patient.DownloadPatientAttachmentVM;
 import org.junit.jupiter.api.Test;
@@ -50,13 +51,16 @@ class PatientAttachmentsControllerTest {
     @MockitoBean
     private AttachmentStorageService storage;
 
+    @MockitoBean
+    private AttachmentStreamingUploadService streaming;
+
     @Test
     void upload_returnsResponseVMWithPresignedUrl() throws Exception {
         // given saved entity returned by service
         var entity = PatientAttachments.builder()
                 .id(11L)
                 .patientId(55L)
-                .spaceKey("patients/55/2025/10/UUID_file.png")
+                .spaceKey("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
                 .filename("file.png")
                 .mimeType("image/png")
                 .sizeBytes(123L)
@@ -67,10 +71,10 @@ class PatientAttachmentsControllerTest {
 
         when(service.upload(eq(55L), any())).thenReturn(entity);
 
-        // presign on controller mapping: uses key and the safe filename from key's tail
+        // presign on controller mapping: uses the content key and the original filename
         PresignedGetObjectRequest pre = org.mockito.Mockito.mock(PresignedGetObjectRequest.class);
         when(pre.url()).thenReturn(new URL("https://files.example/patients/55/2025/10/UUID_file.png?sig=1"));
-        when(storage.presignGet("patients/55/2025/10/UUID_file.png", "UUID_file.png")).thenReturn(pre);
+        when(storage.presignGet("blobs/9f/9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", "file.png")).thenReturn(pre);
 
 
         MockMultipartFile mf = new MockMultipartFile("file", "file.png", "image/png", new byte[]{1, 2, 3});
@@ -0,0 +1,287 @@
+package gatling.simulations;
+
+import com.dazzle.asklepios.SetupApp;
+import com.dazzle.asklepios.attachments.AttachmentProperties;
+import com.dazzle.asklepios.domain.Department;
+import com.dazzle.asklepios.domain.Facility;
+import com.dazzle.asklepios.domain.Icd10Code;
+import com.dazzle.asklepios.domain.Language;
+import com.dazzle.asklepios.domain.LanguageTranslation;
+import com.dazzle.asklepios.domain.LoincCode;
+import com.dazzle.asklepios.domain.Practitioner;
+import com.dazzle.asklepios.domain.User;
+import com.dazzle.asklepios.domain.enumeration.Currency;
+import com.dazzle.asklepios.domain.enumeration.DepartmentType;
+import com.dazzle.asklepios.domain.enumeration.Direction;
+import com.dazzle.asklepios.domain.enumeration.FacilityType;
+import com.dazzle.asklepios.domain.enumeration.LoincCategory;
+import com.dazzle.asklepios.domain.enumeration.Specialty;
+import com.dazzle.asklepios.repository.DepartmentsRepository;
+import com.dazzle.asklepios.repository.FacilityRepository;
+import com.dazzle.asklepios.repository.Icd10Repository;
+import com.dazzle.asklepios.repository.LanguageRepository;
+import com.dazzle.asklepios.repository.LanguageTranslationRepository;
+import com.dazzle.asklepios.repository.LoincCodeRepository;
+import com.dazzle.asklepios.repository.PractitionersRepository;
+import com.dazzle.asklepios.repository.UserRepository;
+import com.dazzle.asklepios.security.AuthoritiesConstants;
+import com.dazzle.asklepios.security.SecurityUtils;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Target of the load-test simulations.
+ * <p>
+ * With {@code -DbaseUrl} set, the simulations run against that instance and {@code -DjwtSecret} / {@code -DfacilityId}
+ * must match it. Otherwise Postgres, Redis and MinIO are started with Testcontainers, the application is started
+ * in-process on a random port with a generated schema, and a reference data set is seeded. {@code -Dprofiles} adds
+ * profiles to {@code dev} for the in-process application, e.g. {@code virtual-threads}.
+ */
+final class SetupLoadTestEnvironment {
+
+    static final String LOGIN = "loadtest";
+    static final String BUCKET = "asklepios-loadtest";
+
+    static final int DEPARTMENTS = 40;
+    static final int PRACTITIONERS = 400;
+    static final int ICD10_CODES = 20_000;
+    static final int LOINC_CODES = 5_000;
+    static final int TRANSLATION_KEYS = 3_000;
+    static final List<String> LANGUAGES = List.of("en", "ar");
+
+    private static SetupLoadTestEnvironment instance;
+
+    private final String baseUrl;
+    private final String jwtSecret;
+    private final long facilityId;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    private SetupLoadTestEnvironment(String baseUrl, String jwtSecret, long facilityId) {
+        this.baseUrl = baseUrl;
+        this.jwtSecret = jwtSecret;
+        this.facilityId = facilityId;
+    }
+
+    static synchronized SetupLoadTestEnvironment get() {
+        if (instance == null) {
+            String baseUrl = System.getProperty("baseUrl");
+            instance = baseUrl != null
+                    ? new SetupLoadTestEnvironment(baseUrl, System.getProperty("jwtSecret"), Long.getLong("facilityId", 1L))
+                    : startLocal();
+        }
+        return instance;
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    long facilityId() {
+        return facilityId;
+    }
+
+    /**
+     * A bearer token for {@link #LOGIN}, signed the same way as the ones issued by the authentication service.
+     */
+    String bearerToken() {
+        byte[] key = Base64.getDecoder().decode(jwtSecret);
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(
+                new ImmutableSecret<>(new SecretKeySpec(key, SecurityUtils.JWT_ALGORITHM.getName())));
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(LOGIN)
+                .issuedAt(now)
+                .expiresAt(now.plus(Duration.ofHours(2)))
+                .claim(SecurityUtils.AUTHORITIES_CLAIM, AuthoritiesConstants.ADMIN)
+                .claim(SecurityUtils.FACILITY_KEY, String.valueOf(facilityId))
+                .build();
+        JwsHeader header = JwsHeader.with(SecurityUtils.JWT_ALGORITHM).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    synchronized void stop() {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception ignored) {
+                // best effort, containers are reaped by Ryuk anyway
+            }
+        }
+        resources.clear();
+        instance = null;
+    }
+
+    // Helpers
+
+    private static SetupLoadTestEnvironment startLocal() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        MinIOContainer minio = new MinIOContainer("minio/minio:RELEASE.2024-10-13T13-34-11Z");
+        postgres.start();
+        redis.start();
+        minio.start();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.data.redis.host", redis.getHost());
+        properties.put("spring.data.redis.port", redis.getMappedPort(6379));
+        properties.put("spring.data.redis.password", "");
+        properties.put("setup.attachments.bucket", BUCKET);
+        properties.put("setup.attachments.region", "us-east-1");
+        properties.put("setup.attachments.endpoint", minio.getS3URL());
+        properties.put("setup.attachments.accessKeyId", minio.getUserName());
+        properties.put("setup.attachments.secretAccessKey", minio.getPassword());
+        properties.put("setup.attachments.pathStyleAccess", true);
+        properties.put("setup.method-timing.sample-rate", 0.0);
+        properties.put("logging.level.ROOT", "WARN");
+        properties.put("logging.level.com.dazzle.asklepios", "WARN");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SetupApp.class)
+                .profiles(profiles())
+                .properties(properties)
+                .run();
+
+        context.getBean(S3Client.class).createBucket(b -> b.bucket(context.getBean(AttachmentProperties.class).getBucket()));
+        long facilityId = seed(context);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String secret = context.getEnvironment().getProperty("setup.security.authentication.jwt.base64-secret");
+        SetupLoadTestEnvironment environment = new SetupLoadTestEnvironment("http://localhost:" + port, secret, facilityId);
+        environment.resources.add(minio);
+        environment.resources.add(redis);
+        environment.resources.add(postgres);
+        environment.resources.add(context);
+        return environment;
+    }
+
+    private static String[] profiles() {
+        List<String> profiles = new ArrayList<>(List.of("dev"));
+        for (String profile : System.getProperty("profiles", "").split(",")) {
+            if (!profile.isBlank()) {
+                profiles.add(profile.trim());
+            }
+        }
+        return profiles.toArray(String[]::new);
+    }
+
+    private static long seed(ConfigurableApplicationContext context) {
+        context.getBean(UserRepository.class).save(User.builder().login(LOGIN).activated(true).build());
+
+        Facility facility = context.getBean(FacilityRepository.class).save(Facility.builder()
+                .name("Load test hospital")
+                .code("LT-01")
+                .type(FacilityType.HOSPITAL)
+                .defaultCurrency(Currency.USD)
+                .isActive(true)
+                .build());
+
+        List<Department> departments = new ArrayList<>();
+        DepartmentType[] departmentTypes = DepartmentType.values();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(Department.builder()
+                    .facility(facility)
+                    .name("Department " + i)
+                    .code("DEP-" + i)
+                    .type(departmentTypes[i % departmentTypes.length])
+                    .appointable(i % 2 == 0)
+                    .isActive(true)
+                    .hasMedicalSheets(false)
+                    .hasNurseMedicalSheets(false)
+                    .build());
+        }
+        context.getBean(DepartmentsRepository.class).saveAll(departments);
+
+        List<Practitioner> practitioners = new ArrayList<>();
+        Specialty[] specialties = Specialty.values();
+        for (int i = 0; i < PRACTITIONERS; i++) {
+            practitioners.add(Practitioner.builder()
+                    .facility(facility)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .specialty(specialties[i % specialties.length])
+                    .appointable(true)
+                    .isActive(true)
+                    .build());
+        }
+        context.getBean(PractitionersRepository.class).saveAll(practitioners);
+
+        Instant now = Instant.now();
+        List<Icd10Code> icd10Codes = new ArrayList<>();
+        for (int i = 0; i < ICD10_CODES; i++) {
+            icd10Codes.add(Icd10Code.builder()
+                    .code(String.format("%c%02d.%d", (char) ('A' + i % 26), (i / 26) % 100, i / 2600))
+                    .description(SearchTerms.ICD10.get(i % SearchTerms.ICD10.size()) + " condition " + i)
+                    .isActive(true)
+                    .lastUpdated(now)
+                    .build());
+        }
+        context.getBean(Icd10Repository.class).saveAll(icd10Codes);
+
+        List<LoincCode> loincCodes = new ArrayList<>();
+        LoincCategory[] categories = LoincCategory.values();
+        for (int i = 0; i < LOINC_CODES; i++) {
+            loincCodes.add(LoincCode.builder()
+                    .code(i + "-" + i % 10)
+                    .category(categories[i % categories.length])
+                    .description(SearchTerms.LOINC.get(i % SearchTerms.LOINC.size()) + " measurement " + i)
+                    .lastUpdated(now)
+                    .build());
+        }
+        context.getBean(LoincCodeRepository.class).saveAll(loincCodes);
+
+        List<Language> languages = new ArrayList<>();
+        List<LanguageTranslation> translations = new ArrayList<>();
+        for (String langKey : LANGUAGES) {
+            languages.add(Language.builder()
+                    .langKey(langKey)
+                    .langName(langKey)
+                    .direction("ar".equals(langKey) ? Direction.RTL : Direction.LTR)
+                    .build());
+            for (int i = 0; i < TRANSLATION_KEYS; i++) {
+                translations.add(LanguageTranslation.builder()
+                        .langKey(langKey)
+                        .translationKey("screen.label." + i)
+                        .translationText(langKey + " text " + i)
+                        .verified(true)
+                        .translated(true)
+                        .build());
+            }
+        }
+        context.getBean(LanguageRepository.class).saveAll(languages);
+        context.getBean(LanguageTranslationRepository.class).saveAll(translations);
+
+        return facility.getId();
+    }
+
+    /**
+     * Terms typed into the code pickers; the seeded descriptions contain them so searches return realistic pages.
+     */
+    static final class SearchTerms {
+        static final List<String> ICD10 = List.of("diabetes", "fracture", "asthma", "hypertension", "infection", "anemia", "migraine", "pneumonia");
+        static final List<String> LOINC = List.of("glucose", "hemoglobin", "sodium", "potassium", "creatinine", "cholesterol", "platelets");
+
+        private SearchTerms() {}
+    }
+}
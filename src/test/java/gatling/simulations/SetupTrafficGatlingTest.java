@@ -0,0 +1,204 @@
+package gatling.simulations;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.OpenInjectionStep;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.ByteArrayBodyPart;
+import static io.gatling.javaapi.core.CoreDsl.StringBodyPart;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.details;
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.feed;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.group;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.listFeeder;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Production traffic mix of the setup service.
+ * <p>
+ * Arrival rates are per second for the whole run and scale with {@code -Dusers} (default 10); the run lasts
+ * {@code -DdurationSeconds} (default 120) after a 30 second ramp. Each scenario is a Gatling group so its
+ * p50/p95/p99 can be asserted on its own.
+ * <p>
+ * To compare request handling on virtual threads with the Undertow worker pool, run the simulation twice on a Java 21
+ * runtime with the same {@code -Pusers}, once plain and once with {@code -Pprofiles=virtual-threads}, then
+ * {@code ./gradlew gatlingCompare} prints the throughput and p99 of each group in the two reports side by side.
+ */
+public class SetupTrafficGatlingTest extends Simulation {
+
+    private static final String MENU = "login menu";
+    private static final String TRANSLATIONS = "translation bundle";
+    private static final String CODE_PICKER = "code picker";
+    private static final String FACILITY_LISTS = "facility lists";
+    private static final String ATTACHMENTS = "attachments";
+
+    private final SetupLoadTestEnvironment environment = SetupLoadTestEnvironment.get();
+    private final double users = Double.parseDouble(System.getProperty("users", "10"));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("durationSeconds", 120L));
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(environment.baseUrl())
+            .acceptHeader("application/json")
+            .shareConnections();
+
+    // Not set on the protocol: presigned S3 URLs reject requests that also carry an Authorization header.
+    private final String authorization = "Bearer " + environment.bearerToken();
+
+    private final ChainBuilder menu = group(MENU).on(
+            exec(api("GET /menu").get("/api/setup/menu").check(status().is(200)))
+    );
+
+    private final FeederBuilder<Object> languages = listFeeder(
+            SetupLoadTestEnvironment.LANGUAGES.stream().map(lang -> Map.<String, Object>of("lang", lang)).toList()
+    ).random();
+
+    private final ChainBuilder translations = group(TRANSLATIONS).on(
+            feed(languages)
+                    .exec(api("GET /translations/by-lang").get("/api/setup/translations/by-lang/#{lang}").check(status().is(200)))
+    );
+
+    // Pickers search while the user types, so every term is sent as a growing prefix.
+    private final ChainBuilder codePicker = group(CODE_PICKER).on(
+            feed(searchTerms())
+                    .exec(api("GET /icd10/search").get("/api/setup/icd10/search/#{icd10}?page=0&size=20").check(status().is(200)))
+                    .exec(api("GET /loinc/by-description").get("/api/setup/loinc/by-description/#{loinc}?page=0&size=20").check(status().is(200)))
+    );
+
+    private final ChainBuilder facilityLists = group(FACILITY_LISTS).on(
+            exec(api("GET /department/facility/active/list")
+                    .get("/api/setup/department/facility/" + environment.facilityId() + "/active/list")
+                    .check(status().is(200)))
+                    .exec(api("GET /practitioner/by-facility")
+                            .get("/api/setup/practitioner/by-facility/" + environment.facilityId() + "?page=0&size=50")
+                            .check(status().is(200)))
+    );
+
+    private final ChainBuilder attachments = group(ATTACHMENTS).on(
+            exec(session -> session.set("patientId", ThreadLocalRandom.current().nextLong(1, 10_000)))
+                    .exec(api("POST /patients/attachments")
+                            .post("/api/setup/patients/#{patientId}/attachments")
+                            .bodyPart(StringBodyPart("source", "PATIENT_PROFILE_ATTACHMENT"))
+                            .bodyPart(StringBodyPart("type", "LAB_REPORT"))
+                            .bodyPart(ByteArrayBodyPart("file", attachmentBytes()).fileName("report.txt").contentType("text/plain"))
+                            .check(status().is(201))
+                            .check(jsonPath("$.id").saveAs("attachmentId")))
+                    .exec(api("POST /patients/attachmentDownloadUrl")
+                            .post("/api/setup/patients/attachmentDownloadUrl/#{attachmentId}")
+                            .check(status().is(200))
+                            .check(jsonPath("$.url").saveAs("downloadUrl")))
+                    .exec(http("GET presigned object").get("#{downloadUrl}").check(status().is(200)))
+    );
+
+    {
+        ScenarioBuilder menuScenario = scenario(MENU).exec(menu);
+        ScenarioBuilder translationScenario = scenario(TRANSLATIONS).exec(translations);
+        ScenarioBuilder codePickerScenario = scenario(CODE_PICKER).repeat(4).on(codePicker);
+        ScenarioBuilder facilityListScenario = scenario(FACILITY_LISTS).exec(facilityLists);
+        ScenarioBuilder attachmentScenario = scenario(ATTACHMENTS).exec(attachments);
+
+        setUp(
+                menuScenario.injectOpen(profile(1.0)),
+                translationScenario.injectOpen(profile(1.0)),
+                codePickerScenario.injectOpen(profile(2.0)),
+                facilityListScenario.injectOpen(profile(1.5)),
+                attachmentScenario.injectOpen(profile(0.2))
+        )
+                .protocols(httpProtocol)
+                .assertions(
+                        global().failedRequests().percent().lt(1.0),
+                        details(MENU).responseTime().percentile(50.0).lt(50),
+                        details(MENU).responseTime().percentile(95.0).lt(150),
+                        details(MENU).responseTime().percentile(99.0).lt(300),
+                        details(TRANSLATIONS).responseTime().percentile(50.0).lt(100),
+                        details(TRANSLATIONS).responseTime().percentile(95.0).lt(250),
+                        details(TRANSLATIONS).responseTime().percentile(99.0).lt(500),
+                        details(CODE_PICKER).responseTime().percentile(50.0).lt(80),
+                        details(CODE_PICKER).responseTime().percentile(95.0).lt(200),
+                        details(CODE_PICKER).responseTime().percentile(99.0).lt(400),
+                        details(FACILITY_LISTS).responseTime().percentile(50.0).lt(60),
+                        details(FACILITY_LISTS).responseTime().percentile(95.0).lt(150),
+                        details(FACILITY_LISTS).responseTime().percentile(99.0).lt(300),
+                        details(ATTACHMENTS).responseTime().percentile(50.0).lt(300),
+                        details(ATTACHMENTS).responseTime().percentile(95.0).lt(800),
+                        details(ATTACHMENTS).responseTime().percentile(99.0).lt(1500)
+                );
+    }
+
+    @Override
+    public void after() {
+        environment.stop();
+    }
+
+    // Helpers
+
+    private Api api(String name) {
+        return new Api(name);
+    }
+
+    /**
+     * {@code http(name)} with the bearer token of the load-test user.
+     */
+    private final class Api {
+        private final String name;
+
+        private Api(String name) {
+            this.name = name;
+        }
+
+        HttpRequestActionBuilder get(String url) {
+            return http(name).get(url).header("Authorization", authorization);
+        }
+
+        HttpRequestActionBuilder post(String url) {
+            return http(name).post(url).header("Authorization", authorization);
+        }
+    }
+
+    private OpenInjectionStep[] profile(double share) {
+        double rate = users * share;
+        return new OpenInjectionStep[] {
+                rampUsersPerSec(0.1).to(rate).during(Duration.ofSeconds(30)),
+                constantUsersPerSec(rate).during(duration)
+        };
+    }
+
+    private static Iterator<Map<String, Object>> searchTerms() {
+        List<String> icd10 = SetupLoadTestEnvironment.SearchTerms.ICD10;
+        List<String> loinc = SetupLoadTestEnvironment.SearchTerms.LOINC;
+        return Stream.generate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String icd10Term = icd10.get(random.nextInt(icd10.size()));
+            String loincTerm = loinc.get(random.nextInt(loinc.size()));
+            return Map.<String, Object>of(
+                    "icd10", icd10Term.substring(0, random.nextInt(3, icd10Term.length() + 1)),
+                    "loinc", loincTerm.substring(0, random.nextInt(3, loincTerm.length() + 1))
+            );
+        }).iterator();
+    }
+
+    private static byte[] attachmentBytes() {
+        byte[] bytes = new byte[64 * 1024];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ('a' + (bytes[i] & 0x0f));
+        }
+        return bytes;
+    }
+}